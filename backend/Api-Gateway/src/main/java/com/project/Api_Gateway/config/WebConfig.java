@@ -17,6 +17,9 @@ public class WebConfig {
 
         config.addAllowedMethod("*");
         config.addAllowedHeader("*");
+        // search-service typeahead hints, read by the browser
+        config.addExposedHeader("X-Suggest-Debounce-Ms");
+        config.addExposedHeader("X-Suggest-Min-Chars");
 
         config.setAllowCredentials(true);
 
@@ -0,0 +1,10 @@
+-- One-off backfill of users.follower_count / following_count after the columns are added.
+-- The nightly FollowCountReconciliationJob keeps them in line afterwards.
+
+UPDATE users u
+SET follower_count  = COALESCE(fr.cnt, 0),
+    following_count = COALESCE(fg.cnt, 0)
+FROM users x
+LEFT JOIN (SELECT following_id AS id, COUNT(*) AS cnt FROM follows GROUP BY following_id) fr ON fr.id = x.id
+LEFT JOIN (SELECT follower_id AS id, COUNT(*) AS cnt FROM follows GROUP BY follower_id) fg ON fg.id = x.id
+WHERE u.id = x.id;
@@ -0,0 +1,8 @@
+-- One-off backfill of groups.member_count after the column is added.
+-- Counts the member rows plus the leader, who has no row of their own.
+
+UPDATE groups g
+SET member_count = 1 + COALESCE(m.cnt, 0)
+FROM groups x
+LEFT JOIN (SELECT group_id AS id, COUNT(*) AS cnt FROM group_member GROUP BY group_id) m ON m.id = x.id
+WHERE g.id = x.id;
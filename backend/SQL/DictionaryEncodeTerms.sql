@@ -0,0 +1,33 @@
+-- One-off backfill from the old free-text collections into the dictionary-encoded tables.
+-- Run after recommendation-service has started once so Hibernate has created the new tables.
+
+INSERT INTO term_dictionary (term_type, term)
+SELECT DISTINCT 'CATEGORY', cc.category FROM content_categories cc
+UNION
+SELECT DISTINCT 'GENRE', cg.genre FROM content_genres cg
+UNION
+SELECT DISTINCT 'TAG', ct.tag FROM content_tags ct
+ON CONFLICT (term_type, term) DO NOTHING;
+
+INSERT INTO content_category_ids (content_id, category_id)
+SELECT cc.content_id, td.id
+FROM content_categories cc
+JOIN term_dictionary td ON td.term_type = 'CATEGORY' AND td.term = cc.category
+ON CONFLICT DO NOTHING;
+
+INSERT INTO content_genre_ids (content_id, genre_id)
+SELECT cg.content_id, td.id
+FROM content_genres cg
+JOIN term_dictionary td ON td.term_type = 'GENRE' AND td.term = cg.genre
+ON CONFLICT DO NOTHING;
+
+INSERT INTO content_tag_ids (content_id, tag_id)
+SELECT ct.content_id, td.id
+FROM content_tags ct
+JOIN term_dictionary td ON td.term_type = 'TAG' AND td.term = ct.tag
+ON CONFLICT DO NOTHING;
+
+-- Once the feed has been verified against the new tables:
+-- DROP TABLE content_categories;
+-- DROP TABLE content_genres;
+-- DROP TABLE content_tags;
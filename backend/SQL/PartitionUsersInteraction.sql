@@ -0,0 +1,57 @@
+-- Converts users_interaction into a table range-partitioned by month on interact_month.
+-- recommendation-service creates upcoming partitions itself and, every night, folds
+-- partitions older than the hot window into user_affinity_rollup before detaching them.
+-- interact_month is the partition column so that (user, content, month) can stay unique.
+
+BEGIN;
+
+ALTER TABLE users_interaction RENAME TO users_interaction_legacy;
+
+CREATE TABLE users_interaction (
+    id                 uuid         NOT NULL,
+    user_id            uuid         NOT NULL,
+    content_content_id uuid         REFERENCES content (content_id),
+    is_liked           boolean,
+    is_disliked        boolean,
+    is_commented       boolean,
+    is_shared          boolean,
+    interact_at        timestamp(6) NOT NULL,
+    interact_month     date         NOT NULL,
+    PRIMARY KEY (id, interact_month),
+    CONSTRAINT uk_user_content_month UNIQUE (user_id, content_content_id, interact_month)
+) PARTITION BY RANGE (interact_month);
+
+DO $$
+DECLARE
+    m date;
+BEGIN
+    FOR m IN
+        SELECT generate_series(lo, hi, INTERVAL '1 month')::date
+        FROM (
+            SELECT
+                date_trunc('month', COALESCE(MIN(interact_at), NOW())) AS lo,
+                date_trunc('month', NOW()) + INTERVAL '2 months'       AS hi
+            FROM users_interaction_legacy
+        ) bounds
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF users_interaction FOR VALUES FROM (%L) TO (%L)',
+            'users_interaction_y' || to_char(m, 'YYYY') || 'm' || to_char(m, 'MM'),
+            m,
+            (m + INTERVAL '1 month')::date
+        );
+    END LOOP;
+END $$;
+
+INSERT INTO users_interaction (id, user_id, content_content_id, is_liked, is_disliked, is_commented, is_shared,
+                               interact_at, interact_month)
+SELECT id, user_id, content_content_id, is_liked, is_disliked, is_commented, is_shared,
+       COALESCE(interact_at, NOW()), date_trunc('month', COALESCE(interact_at, NOW()))::date
+FROM users_interaction_legacy;
+
+CREATE INDEX idx_users_interaction_user_time ON users_interaction (user_id, interact_at);
+
+COMMIT;
+
+-- Once verified:
+-- DROP TABLE users_interaction_legacy;
@@ -1,9 +1,12 @@
 package com.project.auth_service.configeration;
 
 import com.project.auth_service.domain.dtos.TokenInfo;
+import com.project.auth_service.domain.enums.Roles;
 import com.project.auth_service.domain.enums.TokenType;
 import com.project.auth_service.service.JwtService;
-import com.project.auth_service.service.UserDetailService;
+import com.project.auth_service.service.RolePermissionMapping;
+import com.project.auth_service.service.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +14,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,12 +22,14 @@ import org.springframework.web.servlet.HandlerExceptionResolver;
 import java.io.IOException;
 import java.util.UUID;
 
+// Authenticates from the verified claims alone: the user id is the principal and the role in the
+// token grants the authorities, so no user is loaded per request. Revoked tokens are refused.
 @Component
 @AllArgsConstructor
 public class JwtFilterChain extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailService userDetailService;
+    private final TokenRevocationService tokenRevocationService;
     private final HandlerExceptionResolver handlerExceptionResolver;
 
 
@@ -48,23 +52,26 @@ public class JwtFilterChain extends OncePerRequestFilter {
 
             String token = authHeader.substring(7);
 
-            if (!jwtService.isTokenValid(token)) {
+            TokenInfo tokenInfo;
+            try {
+                // one parse verifies the signature and expiry and yields the claims
+                tokenInfo = jwtService.extractClaim(token);
+            } catch (JwtException | IllegalArgumentException e) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            TokenInfo tokenInfo = jwtService.extractClaim(token);
-
-            if(!tokenInfo.getTokenType().equals(TokenType.ACCESS.toString())){
+            if(!TokenType.ACCESS.toString().equals(tokenInfo.getTokenType())){
                 filterChain.doFilter(request , response);
+                return;
             }
 
             UUID userId = UUID.fromString(tokenInfo.getId());
 
-            if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetail = userDetailService.loadUserById(userId);
-
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetail, null, userDetail.getAuthorities());
+            if (SecurityContextHolder.getContext().getAuthentication() == null
+                    && !tokenRevocationService.isRevoked(userId, tokenInfo.getIssuedAt())) {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userId, null,
+                        RolePermissionMapping.getGrantedAuthorities(Roles.valueOf(tokenInfo.getRoles())));
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
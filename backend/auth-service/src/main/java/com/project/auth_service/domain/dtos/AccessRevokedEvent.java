@@ -0,0 +1,16 @@
+package com.project.auth_service.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Published when the access tokens a user already holds must stop working, e.g. after a password reset
+@Getter
+@AllArgsConstructor
+public class AccessRevokedEvent {
+    private UUID userId;
+    // access tokens issued before this are refused
+    private Instant revokedAt;
+}
@@ -12,6 +12,7 @@ import java.util.Date;
 public class TokenInfo {
     private String id;
     private String roles;
+    private Date issuedAt;
     private Date expirationAt;
     private String tokenType;
 }
@@ -13,6 +13,7 @@ import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tomcat.websocket.AuthenticationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,6 +25,7 @@ import org.springframework.stereotype.Service;
 
 import javax.security.auth.login.AccountNotFoundException;
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.UUID;
@@ -40,6 +42,7 @@ public class AuthControllerService {
     private final JwtService jwtService;
     private final RefreshTokenRepo refreshTokenRepo;
     private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String SIGN_PREFIX = "SIGN_";
     private static final String RESET_PREFIX = "RESET_";
@@ -214,6 +217,8 @@ public class AuthControllerService {
         redisService.delete(RESET_PREFIX + user.getId());
 
         refreshTokenRepo.disableAllByUserId(user.getId());
+        // access tokens are not looked up per request, so the ones already out are revoked explicitly
+        eventPublisher.publishEvent(new AccessRevokedEvent(user.getId(), Instant.now()));
 
         TokenVerificationResponseDto tokens =
                 jwtService.getTokens(user.getId(), user.getRoles().toString());
@@ -6,8 +6,10 @@ import com.project.auth_service.domain.dtos.TokenVerificationResponseDto;
 import com.project.auth_service.domain.enums.TokenType;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -29,6 +31,16 @@ public class JwtService {
     @Value("${SECURITY_JWT_SECRET}")
     private String secret;
 
+    // Built once, both are immutable and thread safe
+    private SecretKey key;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+    }
+
     public String generateToken(UUID id , String role , long expireTime , String type){
         Map<String , String> claims = new HashMap<>();
         claims.put("role" , role);
@@ -75,13 +87,12 @@ public class JwtService {
     }
 
     public SecretKey key(){
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return key;
     }
 
+    // Verifies the signature and expiry, throws JwtException otherwise
     public Claims extractAllClaims(String token){
-        return Jwts.parser()
-                .verifyWith(key())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -91,6 +102,7 @@ public class JwtService {
         TokenInfo tokenInfo = new TokenInfo();
         tokenInfo.setId(claims.getSubject());
         tokenInfo.setRoles(claims.get("role", String.class));
+        tokenInfo.setIssuedAt(claims.getIssuedAt());
         tokenInfo.setExpirationAt(claims.getExpiration());
         tokenInfo.setTokenType(claims.get("type" , String.class));
 
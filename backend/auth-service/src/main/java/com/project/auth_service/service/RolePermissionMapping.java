@@ -60,5 +60,12 @@ public class RolePermissionMapping {
                 .collect(Collectors.toSet());
     }
 
+    // Permissions of the role plus the ROLE_ authority, as granted to an authenticated user
+    public static Set<SimpleGrantedAuthority> getGrantedAuthorities(Roles role) {
+        Set<SimpleGrantedAuthority> authorities = new HashSet<>(getAuthoritiesForRole(role));
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + role.toString()));
+        return authorities;
+    }
+
 
 }
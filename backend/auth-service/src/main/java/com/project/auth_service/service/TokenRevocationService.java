@@ -0,0 +1,50 @@
+package com.project.auth_service.service;
+
+import com.project.auth_service.domain.dtos.AccessRevokedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens are trusted on their signature alone, so the few that must die before they expire
+ * are tracked here: per user, the instant before which tokens are refused. An entry is only needed
+ * for one access token lifetime, after that every token it could refuse has expired anyway.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final long expirationMsAccess;
+    private final Map<UUID, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(@Value("${security.jwt.expiration}") long expirationMsAccess) {
+        this.expirationMsAccess = expirationMsAccess;
+    }
+
+    @EventListener
+    public void onAccessRevoked(AccessRevokedEvent event) {
+        // iat has second precision, tokens issued in the same second as the revocation are kept
+        Instant cutoff = event.getRevokedAt().truncatedTo(ChronoUnit.SECONDS);
+        revokedBefore.merge(event.getUserId(), cutoff, (old, now) -> now.isAfter(old) ? now : old);
+
+        Instant expired = Instant.now().minusMillis(expirationMsAccess);
+        revokedBefore.values().removeIf(instant -> instant.isBefore(expired));
+        log.info("Access tokens of user : {} issued before {} are revoked", event.getUserId(), cutoff);
+    }
+
+    public boolean isRevoked(UUID userId, Date issuedAt) {
+        if (revokedBefore.isEmpty()) {
+            return false;
+        }
+        Instant cutoff = revokedBefore.get(userId);
+        return cutoff != null && (issuedAt == null || issuedAt.toInstant().isBefore(cutoff));
+    }
+}
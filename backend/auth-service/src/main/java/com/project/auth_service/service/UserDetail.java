@@ -5,12 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.jspecify.annotations.Nullable;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
 
 @AllArgsConstructor
 @Builder
@@ -20,10 +17,7 @@ public class UserDetail implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        Set<SimpleGrantedAuthority> authoritySet = new HashSet<>();
-        authoritySet.addAll(RolePermissionMapping.getAuthoritiesForRole(user.getRoles()));
-        authoritySet.add(new SimpleGrantedAuthority("ROLE_"+user.getRoles().toString()));
-        return authoritySet;
+        return RolePermissionMapping.getGrantedAuthorities(user.getRoles());
     }
 
     public UserProfile getUser() {
@@ -9,8 +9,6 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
-
 @Slf4j
 @Service
 @AllArgsConstructor
@@ -32,17 +30,4 @@ public class UserDetailService implements UserDetailsService {
             throw new UsernameNotFoundException(username);
         }
     }
-
-    public UserDetails loadUserById(UUID userId) {
-        try {
-            UserProfile userProfile = userRepo.findById(userId)
-                    .orElseThrow(() -> new UsernameNotFoundException(userId.toString()));
-
-            return new UserDetail(userProfile);
-
-        } catch (Exception e) {
-            log.error("User Detail Service : {} " ,e.getMessage());
-            throw new UsernameNotFoundException(userId.toString());
-        }
-    }
 }
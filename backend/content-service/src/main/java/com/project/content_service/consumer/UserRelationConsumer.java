@@ -0,0 +1,44 @@
+package com.project.content_service.consumer;
+
+import com.project.content_service.domain.dto.kafka.DataTransfer;
+import com.project.content_service.domain.enums.KafkaDataTransferFields;
+import com.project.content_service.service.HiddenAuthorsService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class UserRelationConsumer {
+
+    private final HiddenAuthorsService hiddenAuthorsService;
+
+    // Every instance holds its own filters, so each one reads the topic in its own group
+    @KafkaListener(topics = "UserRelation", groupId = "content-relation-${random.uuid}")
+    public void consume(DataTransfer transfer) {
+        try {
+            UUID ownerId = UUID.fromString(transfer.getMap().get(KafkaDataTransferFields.ID.toString()));
+            UUID targetId = UUID.fromString(transfer.getMap().get(KafkaDataTransferFields.TARGET_ID.toString()));
+
+            switch (KafkaDataTransferFields.valueOf(transfer.getType())) {
+                case USER_BLOCK -> {
+                    hiddenAuthorsService.hide(ownerId, targetId);
+                    hiddenAuthorsService.hide(targetId, ownerId);
+                }
+                case USER_MUTE -> hiddenAuthorsService.hide(ownerId, targetId);
+                case USER_UNBLOCK -> {
+                    hiddenAuthorsService.evict(ownerId);
+                    hiddenAuthorsService.evict(targetId);
+                }
+                case USER_UNMUTE -> hiddenAuthorsService.evict(ownerId);
+                default -> log.warn("Unhandled relation type : {}", transfer.getType());
+            }
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.error("Invalid relation event received : {}", transfer.getType(), e);
+        }
+    }
+}
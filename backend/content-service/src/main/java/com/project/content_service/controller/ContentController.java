@@ -128,8 +128,9 @@ public class ContentController {
     @GetMapping("/comments")
     public ResponseEntity<Page<CommentResponse>> getCommentsByContentId(
             @RequestParam UUID contentId,
+            @RequestParam(required = false) UUID currentUserId,
             @RequestParam(defaultValue = "0") int page) {
-        Page<CommentResponse> comments = contentService.getCommentsByContentId(contentId, page);
+        Page<CommentResponse> comments = contentService.getCommentsByContentId(contentId, currentUserId, page);
         return ResponseEntity.ok(comments);
     }
 
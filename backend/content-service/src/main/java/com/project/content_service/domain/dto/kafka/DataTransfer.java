@@ -0,0 +1,16 @@
+package com.project.content_service.domain.dto.kafka;
+
+import lombok.*;
+
+import java.util.Map;
+
+// Event shape published by user-service
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataTransfer {
+    private String type;
+    private Map<String , String> map;
+}
@@ -0,0 +1,11 @@
+package com.project.content_service.domain.enums;
+
+// The user-service event types and fields content-service reads
+public enum KafkaDataTransferFields {
+    USER_BLOCK,
+    USER_UNBLOCK,
+    USER_MUTE,
+    USER_UNMUTE,
+    ID,
+    TARGET_ID
+}
@@ -16,5 +16,7 @@ public enum KafkaDomain {
     DISLIKE,
     COMMENT,
     SHARE,
-    USERNAME
+    USERNAME,
+    CONTENT_BIO,
+    DISPLAY_NAME
 }
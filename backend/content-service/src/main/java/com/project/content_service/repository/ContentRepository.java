@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -133,7 +134,7 @@ public interface ContentRepository extends JpaRepository<Content, UUID> {
                 WHERE c.userID IN :userIds AND c.enable = true
                 ORDER BY c.created DESC
             """)
-    Page<ContentDetailResponse> getContentDetailsByUserIds(@Param("userIds") List<UUID> userIds,
+    Page<ContentDetailResponse> getContentDetailsByUserIds(@Param("userIds") Collection<UUID> userIds,
                                                           @Param("currentUserId") UUID currentUserId, Pageable pageable);
 
     @Query("SELECT cm.id FROM Content cm WHERE cm.userID = :userId AND cm.enable = true ORDER BY cm.created DESC")
@@ -23,6 +23,7 @@ import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -50,6 +51,7 @@ public class ContentServiceImpl {
     private final RedisService redisService;
     private final KafkaServices kafkaService;
     private final EntityManager entityManager;
+    private final HiddenAuthorsService hiddenAuthorsService;
 
     private static final long MAX_MEDIA_SIZE = 5L * 1024 * 1024;
     private static final int PAGE_SIZE = 12;
@@ -146,6 +148,9 @@ public class ContentServiceImpl {
         objectMap.put(KafkaDomain.CONTENT_CATEGORY.name(), content.getAnimeCategories());
         objectMap.put(KafkaDomain.CONTENT_GENRE.name(), content.getGenre());
         objectMap.put(KafkaDomain.CONTENT_TAG.name(), content.getTags());
+        objectMap.put(KafkaDomain.CONTENT_BIO.name(), content.getBio());
+        objectMap.put(KafkaDomain.USER_ID.name(), content.getUserID().toString());
+        objectMap.put(KafkaDomain.DISPLAY_NAME.name(), content.getDisplayName());
 
         try {
             entityManager.flush();
@@ -419,6 +424,11 @@ public class ContentServiceImpl {
 
         Pageable pageable = PageRequest.of(page, PAGE_SIZE);
 
+        if (hiddenAuthorsService.forViewer(currentUserId).hides(userId)) {
+            log.info("User ID: {} is hidden from viewer ID: {}", userId, currentUserId);
+            return Page.empty(pageable);
+        }
+
         Page<ContentDetailResponse> responsePage = contentRepository.getContentDetailsByUserId(userId, currentUserId,
                 pageable);
 
@@ -479,7 +489,7 @@ public class ContentServiceImpl {
         return responsePage;
     }
 
-    public Page<CommentResponse> getCommentsByContentId(UUID contentId, int page) {
+    public Page<CommentResponse> getCommentsByContentId(UUID contentId, UUID currentUserId, int page) {
         log.info("Fetching comments for content ID: {}, page: {}", contentId, page);
 
         if (contentId == null) {
@@ -493,6 +503,16 @@ public class ContentServiceImpl {
         Pageable pageable = PageRequest.of(page, COMMENTS_PAGE_SIZE);
         Page<CommentResponse> comments = commentsRepository.getCommentsByContentId(contentId, pageable);
 
+        // Comments of hidden authors are dropped from the page rather than filtered in the query
+        HiddenAuthors hidden = hiddenAuthorsService.forViewer(currentUserId);
+        if (!hidden.isEmpty()) {
+            List<CommentResponse> visible = comments.getContent().stream()
+                    .filter(comment -> !hidden.hides(comment.getUserId()))
+                    .toList();
+            long dropped = comments.getNumberOfElements() - visible.size();
+            comments = new PageImpl<>(visible, pageable, comments.getTotalElements() - dropped);
+        }
+
         log.info("Found {} comments for content ID: {}", comments.getNumberOfElements(), contentId);
         return comments;
     }
@@ -4,18 +4,29 @@ import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import recommendation.RecommendationGrpc;
+import recommendation.v2.IdChunk;
+import recommendation.v2.IdRequest;
+import recommendation.v2.RecommendationV2Grpc;
 
-import java.awt.geom.GeneralPath;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
 
 @Service
 public class GrpcServices {
-        private final recommendation.RecommendationGrpc.RecommendationBlockingStub blockingStub;
+
+        // Follow and member sets kept per id so repeat lookups only pull the delta since their version;
+        // the generation tells user-service which graph that version came from
+        private static final int MAX_CACHED_SETS = 10_000;
+        private static final long CACHE_TTL_MILLIS = Duration.ofMinutes(30).toMillis();
+
+        // The set is never changed once cached, so callers get a read-only view of it without a copy
+        private record VersionedIds(long version, long generation, Set<UUID> ids, long loadedAt) {
+        }
+
+        private final RecommendationV2Grpc.RecommendationV2BlockingStub blockingStub;
+        private final IdSetCache followingCache = new IdSetCache();
+        private final IdSetCache groupMemberCache = new IdSetCache();
 
         public GrpcServices(
                         @Value("${user.service.address}") String address, @Value("${user.service.port}") int port) {
@@ -24,51 +35,92 @@ public class GrpcServices {
                                 .usePlaintext()
                                 .build();
 
-                blockingStub = RecommendationGrpc.newBlockingStub(channel);
+                blockingStub = RecommendationV2Grpc.newBlockingStub(channel);
         }
 
-        public List<UUID> getUserFollowing(UUID id) {
-                recommendation.GetUserFollowingUserId request = recommendation.GetUserFollowingUserId
-                                .newBuilder()
-                                .setUserId(id.toString())
-                                .build();
-
-                recommendation.GetUserIds response = blockingStub.getUserFollowingByUserId(request);
-
-                return response.getUserIdsList()
-                                .stream()
-                                .map(UUID::fromString)
-                                .collect(Collectors.toList());
+        public Set<UUID> getUserFollowing(UUID id) {
+                return fetch(id, followingCache, blockingStub::getUserFollowing);
         }
 
-        public List<UUID> getUserGroupMembersByGroupId(UUID groupId) {
-                recommendation.GetUserGroupMemberByGroupId request = recommendation.GetUserGroupMemberByGroupId
-                                .newBuilder()
-                                .setGroupId(groupId.toString())
-                                .build();
-
-                recommendation.GetUserIds response = blockingStub.getUserGroupMembersByGroupId(request);
+        public Set<UUID> getUserGroupMembersByGroupId(UUID groupId) {
+                return fetch(groupId, groupMemberCache, blockingStub::getGroupMembers);
+        }
 
-                return response.getUserIdsList()
-                                .stream()
-                                .map(UUID::fromString)
-                                .collect(Collectors.toList());
+        public Set<UUID> getUserAllGroupsMembersByUserId(UUID userId) {
+                return fetch(userId, null, blockingStub::getUserAllGroupsMembers);
         }
 
-        public List<UUID> getUserAllGroupsMembersByUserId(UUID userId) {
-                recommendation.GetUserGroupMemberByUserId request = recommendation.GetUserGroupMemberByUserId
-                                .newBuilder()
-                                .setUserId(userId.toString())
-                                .build();
+        public Set<UUID> getHiddenUsers(UUID userId) {
+                return fetch(userId, null, blockingStub::getHiddenUsers);
+        }
 
-                recommendation.GetUserIds response = blockingStub.getUserAllGroupsMembersByUserId(request);
+        private Set<UUID> fetch(UUID id, IdSetCache cache,
+                        Function<IdRequest, Iterator<IdChunk>> call) {
+                VersionedIds cached = cache == null ? null : cache.get(id);
 
-                System.out.println(response.getUserIdsList().toString());
+                IdRequest request = IdRequest.newBuilder()
+                                .setMsb(id.getMostSignificantBits())
+                                .setLsb(id.getLeastSignificantBits())
+                                .setSinceVersion(cached == null ? 0 : cached.version())
+                                .setGeneration(cached == null ? 0 : cached.generation())
+                                .build();
 
-                return response.getUserIdsList()
-                                .stream()
-                                .map(UUID::fromString)
-                                .collect(Collectors.toList());
+                Iterator<IdChunk> chunks = call.apply(request);
+                Set<UUID> ids = null;
+                long version = 0;
+                long generation = 0;
+
+                while (chunks.hasNext()) {
+                        IdChunk chunk = chunks.next();
+                        if (ids == null) {
+                                ids = chunk.getFull() || cached == null
+                                                ? new HashSet<>(chunk.getIdsCount())
+                                                : new HashSet<>(cached.ids());
+                        }
+                        version = chunk.getVersion();
+                        generation = chunk.getGeneration();
+
+                        for (int i = 0; i + 1 < chunk.getIdsCount(); i += 2) {
+                                ids.add(new UUID(chunk.getIds(i), chunk.getIds(i + 1)));
+                        }
+                        for (int i = 0; i + 1 < chunk.getRemovedIdsCount(); i += 2) {
+                                ids.remove(new UUID(chunk.getRemovedIds(i), chunk.getRemovedIds(i + 1)));
+                        }
+                }
+
+                if (ids == null) {
+                        ids = new HashSet<>();
+                }
+
+                if (cache != null) {
+                        cache.put(id, new VersionedIds(version, generation, ids, System.currentTimeMillis()));
+                }
+
+                return Collections.unmodifiableSet(ids);
         }
 
-}
\ No newline at end of file
+        // Least recently used sets go first once the cache is full, and a set older than the TTL is
+        // fetched in full again so a missed delta can't live on forever
+        private static final class IdSetCache {
+
+                private final Map<UUID, VersionedIds> entries = new LinkedHashMap<>(256, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<UUID, VersionedIds> eldest) {
+                                return size() > MAX_CACHED_SETS;
+                        }
+                };
+
+                synchronized VersionedIds get(UUID id) {
+                        VersionedIds cached = entries.get(id);
+                        if (cached != null && System.currentTimeMillis() - cached.loadedAt() > CACHE_TTL_MILLIS) {
+                                entries.remove(id);
+                                return null;
+                        }
+                        return cached;
+                }
+
+                synchronized void put(UUID id, VersionedIds ids) {
+                        entries.put(id, ids);
+                }
+        }
+}
@@ -0,0 +1,109 @@
+package com.project.content_service.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Authors one viewer must not see. A small Bloom filter answers the common "not hidden" case
+ * with a few bit probes; only a hit consults the exact set, so false positives never hide
+ * anyone. Immutable: {@link #with} copies the bits and sets the new ones instead of rehashing
+ * every id, and only rebuilds once the filter outgrows its size.
+ */
+public final class HiddenAuthors {
+
+    public static final HiddenAuthors EMPTY = new HiddenAuthors(new long[0], Set.of());
+
+    // ~10 bits per id with 3 probes keeps false positives around 1-2%
+    private static final int BITS_PER_ID = 10;
+    private static final int PROBES = 3;
+    private static final int MIN_BITS = 256;
+
+    private final long[] bits;
+    private final Set<UUID> ids;
+
+    private HiddenAuthors(long[] bits, Set<UUID> ids) {
+        this.bits = bits;
+        this.ids = ids;
+    }
+
+    public static HiddenAuthors of(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return EMPTY;
+        }
+        Set<UUID> exact = Set.copyOf(ids);
+        long[] bits = new long[sizeFor(exact.size()) >>> 6];
+        exact.forEach(id -> set(bits, id));
+        return new HiddenAuthors(bits, exact);
+    }
+
+    public boolean hides(UUID authorId) {
+        return authorId != null && mightContain(authorId) && ids.contains(authorId);
+    }
+
+    public boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public HiddenAuthors with(UUID authorId) {
+        if (ids.contains(authorId)) {
+            return this;
+        }
+        Set<UUID> exact = new HashSet<>(ids);
+        exact.add(authorId);
+        if (sizeFor(exact.size()) > bits.length * 64L) {
+            return of(exact);
+        }
+        long[] copy = Arrays.copyOf(bits, bits.length);
+        set(copy, authorId);
+        return new HiddenAuthors(copy, Set.copyOf(exact));
+    }
+
+    private boolean mightContain(UUID id) {
+        if (bits.length == 0) {
+            return false;
+        }
+        long hash = hash(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int mask = bits.length * 64 - 1;
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void set(long[] bits, UUID id) {
+        long hash = hash(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int mask = bits.length * 64 - 1;
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // power of two so a probe is a mask rather than a modulo
+    private static int sizeFor(int count) {
+        int wanted = Math.max(MIN_BITS, count * BITS_PER_ID);
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+
+    private static long hash(UUID id) {
+        long h = id.getMostSignificantBits() * 0x9E3779B97F4A7C15L ^ id.getLeastSignificantBits();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.content_service.service;
+
+import io.grpc.StatusRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per viewer filters of blocked and muted authors, held in an LRU of recent viewers. A filter is
+ * loaded in full from user-service on first use and then kept current from the UserRelation
+ * events: new blocks and mutes are added in place, removals drop the affected filters so they
+ * reload, since a user may still be hidden for another reason. The TTL bounds how long a missed
+ * event can go unnoticed.
+ */
+@Slf4j
+@Service
+public class HiddenAuthorsService {
+
+    private record Entry(HiddenAuthors authors, long expiresAt) {
+    }
+
+    private final GrpcServices grpcServices;
+    private final long ttlMillis;
+    private final Map<UUID, Entry> filters;
+    // bumped on every event, a load that overlaps one is served but not kept
+    private final AtomicLong changes = new AtomicLong();
+
+    public HiddenAuthorsService(
+            GrpcServices grpcServices,
+            @Value("${content.hidden-authors.local-size:50000}") int localSize,
+            @Value("${content.hidden-authors.ttl-seconds:600}") long ttlSeconds) {
+        this.grpcServices = grpcServices;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.filters = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > localSize;
+            }
+        });
+    }
+
+    // Anonymous viewers hide nobody
+    public HiddenAuthors forViewer(UUID viewerId) {
+        if (viewerId == null) {
+            return HiddenAuthors.EMPTY;
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = filters.get(viewerId);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.authors();
+        }
+
+        long seen = changes.get();
+        HiddenAuthors loaded;
+        try {
+            loaded = HiddenAuthors.of(grpcServices.getHiddenUsers(viewerId));
+        } catch (StatusRuntimeException e) {
+            // feeds keep working on the last known filter while user-service is unreachable
+            log.warn("Hidden authors of viewer {} could not be loaded : {}", viewerId, e.getStatus());
+            return entry != null ? entry.authors() : HiddenAuthors.EMPTY;
+        }
+
+        if (changes.get() == seen) {
+            filters.put(viewerId, new Entry(loaded, now + ttlMillis));
+        }
+        return loaded;
+    }
+
+    public void hide(UUID viewerId, UUID authorId) {
+        changes.incrementAndGet();
+        filters.computeIfPresent(viewerId, (id, entry) -> new Entry(entry.authors().with(authorId), entry.expiresAt()));
+    }
+
+    public void evict(UUID viewerId) {
+        changes.incrementAndGet();
+        filters.remove(viewerId);
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.content_service.service;
 
 import com.project.content_service.domain.dto.KafkaDto;
+import com.project.content_service.domain.enums.KafkaDomain;
 import com.project.content_service.domain.enums.KafkaType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +18,8 @@ public class KafkaServices {
     private final KafkaTemplate<String, KafkaDto> kafkaTemplate;
     private static final String CONTENT_TOPIC = "ContentRecommendation";
 
+    // Keyed by content id so every event of one post lands on the same partition, in order;
+    // search-service rejects older writes by comparing offsets within a partition
     public void sendContentEvent(KafkaType type, Map<String, Object> payload) {
 
         KafkaDto dto = KafkaDto.builder()
@@ -24,7 +27,8 @@ public class KafkaServices {
                 .map(payload)
                 .build();
         try {
-            kafkaTemplate.send(CONTENT_TOPIC, dto);
+            Object contentId = payload.get(KafkaDomain.CONTENT_ID.toString());
+            kafkaTemplate.send(CONTENT_TOPIC, contentId == null ? null : contentId.toString(), dto);
             log.info("Kafka event sent: {} with data {}", type, payload);
         } catch (Exception e) {
             log.error("Failed to send Kafka event: {} with data {}", type, payload);
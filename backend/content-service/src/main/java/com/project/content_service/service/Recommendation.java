@@ -19,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -36,6 +37,7 @@ public class Recommendation {
     private final ShareRepository shareRepository;
     private final RedisService redisService;
     private final GrpcServices grpcServices;
+    private final HiddenAuthorsService hiddenAuthorsService;
 
     private static final long MAX_MEDIA_SIZE = 5L * 1024 * 1024;
     private static final int PAGE_SIZE = 12;
@@ -56,7 +58,7 @@ public class Recommendation {
         return getContentByUserIds(grpcServices.getUserAllGroupsMembersByUserId(userId), userId, pageNumber);
     }
 
-    private Page<ContentDetailResponse> getContentByUserIds(List<UUID> ids, UUID currentUserId, int pageNumber) {
+    private Page<ContentDetailResponse> getContentByUserIds(Collection<UUID> ids, UUID currentUserId, int pageNumber) {
         if (ids == null || ids.isEmpty()) {
             throw new NoFollowingException("No user/group members found");
         }
@@ -67,6 +69,15 @@ public class Recommendation {
             pageNumber = 0;
         }
         Pageable pageable = PageRequest.of(pageNumber, PAGE_SIZE);
+
+        // Hidden authors are taken out of the id list, so pages stay full
+        HiddenAuthors hidden = hiddenAuthorsService.forViewer(currentUserId);
+        if (!hidden.isEmpty()) {
+            ids = ids.stream().filter(id -> !hidden.hides(id)).toList();
+            if (ids.isEmpty()) {
+                return Page.empty(pageable);
+            }
+        }
         Page<ContentDetailResponse> responsePage = contentRepository.getContentDetailsByUserIds(ids, currentUserId,
                 pageable);
 
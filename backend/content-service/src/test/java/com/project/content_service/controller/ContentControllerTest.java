@@ -305,7 +305,7 @@ class ContentControllerTest {
                                         .userName("testuser")
                                         .build();
                         Page<CommentResponse> page = new PageImpl<>(List.of(comment));
-                        when(contentService.getCommentsByContentId(contentId, 0)).thenReturn(page);
+                        when(contentService.getCommentsByContentId(contentId, null, 0)).thenReturn(page);
 
                         mockMvc.perform(get("/content/comments")
                                         .param("contentId", contentId.toString())
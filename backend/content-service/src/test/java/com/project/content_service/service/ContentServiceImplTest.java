@@ -64,6 +64,9 @@ class ContentServiceImplTest {
     @Mock
     private RedisService redisService;
 
+    @Mock
+    private HiddenAuthorsService hiddenAuthorsService;
+
     @InjectMocks
     private ContentServiceImpl contentService;
 
@@ -125,6 +128,8 @@ class ContentServiceImplTest {
                 "test.jpg",
                 "image/jpeg",
                 "test image content".getBytes());
+
+        lenient().when(hiddenAuthorsService.forViewer(any())).thenReturn(HiddenAuthors.EMPTY);
     }
 
     @Nested
@@ -506,6 +511,18 @@ class ContentServiceImplTest {
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessage("User ID is required");
         }
+
+        @Test
+        @DisplayName("Should not query the contents of an author hidden from the viewer")
+        void getContentsByUserId_WithHiddenAuthor_ReturnsEmpty() {
+            UUID viewerId = UUID.randomUUID();
+            when(hiddenAuthorsService.forViewer(viewerId)).thenReturn(HiddenAuthors.of(List.of(userId)));
+
+            Page<ContentDetailResponse> result = contentService.getContentsByUserId(userId, viewerId, 0, false);
+
+            assertThat(result.getContent()).isEmpty();
+            verify(contentRepository, never()).getContentDetailsByUserId(any(), any(), any(Pageable.class));
+        }
     }
 
     @Nested
@@ -522,7 +539,7 @@ class ContentServiceImplTest {
             Page<CommentResponse> page = new PageImpl<>(List.of(comment));
             when(commentsRepository.getCommentsByContentId(eq(contentId), any(Pageable.class))).thenReturn(page);
 
-            Page<CommentResponse> result = contentService.getCommentsByContentId(contentId, 0);
+            Page<CommentResponse> result = contentService.getCommentsByContentId(contentId, null, 0);
 
             assertThat(result.getContent()).hasSize(1);
         }
@@ -530,10 +547,27 @@ class ContentServiceImplTest {
         @Test
         @DisplayName("Should throw exception when content ID is null")
         void getCommentsByContentId_WithNullId_ThrowsException() {
-            assertThatThrownBy(() -> contentService.getCommentsByContentId(null, 0))
+            assertThatThrownBy(() -> contentService.getCommentsByContentId(null, null, 0))
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessage("Content ID is required");
         }
+
+        @Test
+        @DisplayName("Should drop comments of authors hidden from the viewer")
+        void getCommentsByContentId_WithHiddenAuthor_DropsComment() {
+            UUID viewerId = UUID.randomUUID();
+            UUID blockedId = UUID.randomUUID();
+            CommentResponse visible = CommentResponse.builder().id(UUID.randomUUID()).userId(userId).build();
+            CommentResponse hidden = CommentResponse.builder().id(UUID.randomUUID()).userId(blockedId).build();
+            when(commentsRepository.getCommentsByContentId(eq(contentId), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of(visible, hidden)));
+            when(hiddenAuthorsService.forViewer(viewerId)).thenReturn(HiddenAuthors.of(List.of(blockedId)));
+
+            Page<CommentResponse> result = contentService.getCommentsByContentId(contentId, viewerId, 0);
+
+            assertThat(result.getContent()).containsExactly(visible);
+            assertThat(result.getTotalElements()).isEqualTo(1);
+        }
     }
 
     @Nested
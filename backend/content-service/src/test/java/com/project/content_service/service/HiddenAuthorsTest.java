@@ -0,0 +1,66 @@
+package com.project.content_service.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HiddenAuthorsTest {
+
+    @Test
+    @DisplayName("Should hide exactly the given authors")
+    void hidesExactlyGivenAuthors() {
+        List<UUID> hidden = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            hidden.add(UUID.randomUUID());
+        }
+
+        HiddenAuthors authors = HiddenAuthors.of(hidden);
+
+        assertThat(hidden).allMatch(authors::hides);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(authors.hides(UUID.randomUUID())).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should add authors without changing the original filter")
+    void withAddsAuthor() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        HiddenAuthors authors = HiddenAuthors.of(List.of(first));
+
+        HiddenAuthors updated = authors.with(second);
+
+        assertThat(updated.hides(first)).isTrue();
+        assertThat(updated.hides(second)).isTrue();
+        assertThat(authors.hides(second)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep hiding every author after outgrowing its size")
+    void withGrowsFilter() {
+        List<UUID> hidden = new ArrayList<>();
+        HiddenAuthors authors = HiddenAuthors.EMPTY;
+        for (int i = 0; i < 500; i++) {
+            UUID id = UUID.randomUUID();
+            hidden.add(id);
+            authors = authors.with(id);
+        }
+
+        assertThat(authors.size()).isEqualTo(500);
+        assertThat(hidden).allMatch(authors::hides);
+    }
+
+    @Test
+    @DisplayName("Should hide nobody when empty")
+    void emptyHidesNobody() {
+        assertThat(HiddenAuthors.of(List.of()).isEmpty()).isTrue();
+        assertThat(HiddenAuthors.EMPTY.hides(UUID.randomUUID())).isFalse();
+        assertThat(HiddenAuthors.EMPTY.hides(null)).isFalse();
+    }
+}
@@ -2,13 +2,20 @@ package com.project.recommendation_service.controller;
 
 import com.project.recommendation_service.domain.dto.FirstRecommendationRequest;
 import com.project.recommendation_service.domain.dto.RecommendationResult;
+import com.project.recommendation_service.domain.dto.RecomputeStatus;
+import com.project.recommendation_service.domain.dto.ShadowScoreReport;
+import com.project.recommendation_service.domain.entity.RankingProfile;
+import com.project.recommendation_service.service.RankingProfileService;
 import com.project.recommendation_service.service.RecommendationService;
+import com.project.recommendation_service.service.RecomputeJobService;
+import com.project.recommendation_service.service.ShadowScoringService;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -18,19 +25,58 @@ import java.util.UUID;
 public class Controller {
 
     private final RecommendationService recommendationService;
+    private final RecomputeJobService recomputeJobService;
+    private final RankingProfileService rankingProfileService;
+    private final ShadowScoringService shadowScoringService;
 
     @GetMapping("/get")
     @PreAuthorize("authentication.principal.id.equals(#id)")
     public ResponseEntity<Set<RecommendationResult>> getFeed(
-            @RequestParam("userId")UUID id
+            @RequestParam("userId")UUID id,
+            @RequestParam(value = "profile", required = false) String profile
     ){
-        return new ResponseEntity<>(recommendationService.getRecommendation(id) ,HttpStatus.OK);
+        return new ResponseEntity<>(recommendationService.getRecommendation(id, profile) ,HttpStatus.OK);
     }
 
     @PostMapping("/first/get")
     public ResponseEntity<Set<RecommendationResult>> getFirstFeed(
-            @RequestBody FirstRecommendationRequest request
+            @RequestBody FirstRecommendationRequest request,
+            @RequestParam(value = "profile", required = false) String profile
             ){
-        return new ResponseEntity<>(recommendationService.getFirstRecommendation(request),HttpStatus.OK);
+        return new ResponseEntity<>(recommendationService.getFirstRecommendation(request, profile),HttpStatus.OK);
+    }
+
+    @PostMapping("/recompute")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecomputeStatus> startRecompute(
+            @RequestParam("jobId") String jobId
+    ){
+        return new ResponseEntity<>(recomputeJobService.start(jobId), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/recompute/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecomputeStatus> getRecomputeStatus(){
+        return new ResponseEntity<>(recomputeJobService.status(), HttpStatus.OK);
+    }
+
+    @GetMapping("/ranking/profiles")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<RankingProfile>> getRankingProfiles(){
+        return new ResponseEntity<>(rankingProfileService.getAll(), HttpStatus.OK);
+    }
+
+    @PutMapping("/ranking/profiles")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RankingProfile> saveRankingProfile(
+            @RequestBody RankingProfile profile
+    ){
+        return new ResponseEntity<>(rankingProfileService.save(profile), HttpStatus.OK);
+    }
+
+    @GetMapping("/ranking/shadow")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ShadowScoreReport> getShadowReport(){
+        return new ResponseEntity<>(shadowScoringService.report(), HttpStatus.OK);
     }
 }
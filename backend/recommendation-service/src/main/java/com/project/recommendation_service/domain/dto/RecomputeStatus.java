@@ -0,0 +1,23 @@
+package com.project.recommendation_service.domain.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RecomputeStatus {
+
+    private String jobId;
+    private boolean running;
+    private int totalShards;
+    private int completedShards;
+    private long processedUsers;
+    private long failedUsers;
+    private double usersPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
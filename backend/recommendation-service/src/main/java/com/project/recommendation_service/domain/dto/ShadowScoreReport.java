@@ -0,0 +1,21 @@
+package com.project.recommendation_service.domain.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ShadowScoreReport {
+
+    private String primaryProfile;
+    private String shadowProfile;
+    private long samples;
+    private double avgPrimaryMillis;
+    private double avgShadowMillis;
+    private double avgPrimaryResults;
+    private double avgShadowResults;
+    // share of the primary feed that the shadow profile also returned
+    private double avgOverlap;
+}
@@ -31,15 +31,21 @@ public class Content {
 
     @BatchSize(size = 10)
     @ElementCollection(fetch = FetchType.LAZY)
-    @CollectionTable(name = "content_genres", joinColumns = @JoinColumn(name = "content_id"))
-    @Column(name = "genre", nullable = false)
-    private Set<String> genre;
+    @CollectionTable(
+            name = "content_genre_ids",
+            joinColumns = @JoinColumn(name = "content_id"),
+            indexes = @Index(name = "idx_content_genre_ids_genre", columnList = "genre_id"))
+    @Column(name = "genre_id", nullable = false)
+    private Set<Integer> genre;
 
     @BatchSize(size = 10)
     @ElementCollection(fetch = FetchType.LAZY)
-    @CollectionTable(name = "content_categories", joinColumns = @JoinColumn(name = "content_id"))
-    @Column(name = "category", nullable = false)
-    private Set<String> category;
+    @CollectionTable(
+            name = "content_category_ids",
+            joinColumns = @JoinColumn(name = "content_id"),
+            indexes = @Index(name = "idx_content_category_ids_category", columnList = "category_id"))
+    @Column(name = "category_id", nullable = false)
+    private Set<Integer> category;
 
     @Column(nullable = false)
     private LocalDateTime timeOfCreation;
@@ -59,9 +65,12 @@ public class Content {
 
     @BatchSize(size = 10)
     @ElementCollection(fetch = FetchType.LAZY)
-    @CollectionTable(name = "content_tags", joinColumns = @JoinColumn(name = "content_id"))
-    @Column(name = "tag", nullable = false)
-    private Set<String> contentTag;
+    @CollectionTable(
+            name = "content_tag_ids",
+            joinColumns = @JoinColumn(name = "content_id"),
+            indexes = @Index(name = "idx_content_tag_ids_tag", columnList = "tag_id"))
+    @Column(name = "tag_id", nullable = false)
+    private Set<Integer> contentTag;
 
     @PrePersist
     private void atStart() {
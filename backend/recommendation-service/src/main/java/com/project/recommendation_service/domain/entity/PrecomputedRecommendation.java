@@ -0,0 +1,36 @@
+package com.project.recommendation_service.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Table(
+        name = "precomputed_recommendation",
+        indexes = @Index(name = "idx_precomputed_user_rank", columnList = "user_id, rank_position")
+)
+@Entity
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrecomputedRecommendation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "content_id", nullable = false)
+    private UUID contentId;
+
+    @Column(name = "rank_position", nullable = false)
+    private int rankPosition;
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,41 @@
+package com.project.recommendation_service.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Named set of ranking constants bound into the recommendation queries.
+ * Powers weight an interaction by its kind, factors weight the term affinities,
+ * half-lives are in interactions (index) or days (time).
+ */
+@Table(name = "ranking_profile")
+@Entity
+@Setter
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankingProfile {
+
+    @Id
+    private String name;
+
+    private int likedPower;
+    private int commentPower;
+    private int dislikePower;
+    private int sharePower;
+
+    private double categoryFactor;
+    private double genreFactor;
+    private double tagFactor;
+
+    private double interactionIndexHalfLife;
+    private double interactionTimeHalfLife;
+    private double contentTimeHalfLife;
+
+    private double meanScoreWeight;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.project.recommendation_service.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Table(name = "recompute_checkpoint")
+@Entity
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecomputeCheckpoint {
+
+    // <jobId>-<shardIndex>
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String jobId;
+
+    @Column(nullable = false)
+    private int shardIndex;
+
+    private UUID lastUserId;
+
+    private long processedUsers;
+
+    private boolean completed;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
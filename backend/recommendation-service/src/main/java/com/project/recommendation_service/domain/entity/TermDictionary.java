@@ -0,0 +1,36 @@
+package com.project.recommendation_service.domain.entity;
+
+import com.project.recommendation_service.domain.enums.TermType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Maps every tag / genre / category string to a compact int id so the
+ * scoring queries join and group on ints instead of free text.
+ */
+@Table(
+        name = "term_dictionary",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_term_type_term",
+                columnNames = {"term_type", "term"}
+        )
+)
+@Entity
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TermDictionary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "term_type", nullable = false, length = 16)
+    private TermType type;
+
+    @Column(nullable = false)
+    private String term;
+}
@@ -0,0 +1,49 @@
+package com.project.recommendation_service.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-user affinity folded out of detached users_interaction partitions.
+ * score_sum is already time-decayed up to rolled_at.
+ */
+@Table(
+        name = "user_affinity_rollup",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_rollup_user_term",
+                columnNames = {"user_id", "term_type", "term_id"}
+        )
+)
+@Entity
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAffinityRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "term_type", nullable = false, length = 16)
+    private String termType;
+
+    @Column(name = "term_id", nullable = false)
+    private Integer termId;
+
+    @Column(nullable = false)
+    private double scoreSum;
+
+    @Column(nullable = false)
+    private long interactionCount;
+
+    @Column(nullable = false)
+    private LocalDateTime rolledAt;
+}
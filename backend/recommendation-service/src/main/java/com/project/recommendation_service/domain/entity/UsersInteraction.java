@@ -3,15 +3,20 @@ package com.project.recommendation_service.domain.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+// Range-partitioned on interact_month (see backend/SQL/PartitionUsersInteraction.sql). A unique key
+// has to include the partition column, so a user has at most one row per content and month, the same
+// granularity the rollup folds at. Rows are written through InteractRepository.upsertInteraction.
 @Table(
         name = "users_interaction",
         uniqueConstraints = @UniqueConstraint(
-                name = "uk_user_content",
-                columnNames = {"user_id", "content_id"}
-        )
+                name = "uk_user_content_month",
+                columnNames = {"user_id", "content_content_id", "interact_month"}
+        ),
+        indexes = @Index(name = "idx_users_interaction_user_time", columnList = "user_id, interact_at")
 )
 @Entity
 @Setter
@@ -43,7 +48,15 @@ public class UsersInteraction {
     @Column(name = "is_shared")
     private Boolean share;
 
-    @Column
+    @Column(nullable = false)
     private LocalDateTime interactAt;
 
+    @Column(nullable = false)
+    private LocalDate interactMonth;
+
+    @PrePersist
+    private void setInteractMonth() {
+        interactMonth = interactAt.toLocalDate().withDayOfMonth(1);
+    }
+
 }
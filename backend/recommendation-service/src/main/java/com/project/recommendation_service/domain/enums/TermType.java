@@ -0,0 +1,7 @@
+package com.project.recommendation_service.domain.enums;
+
+public enum TermType {
+    TAG,
+    GENRE,
+    CATEGORY
+}
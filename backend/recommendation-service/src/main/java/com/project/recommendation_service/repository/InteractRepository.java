@@ -3,12 +3,15 @@ package com.project.recommendation_service.repository;
 import com.project.recommendation_service.domain.dto.CategoryAffinityProjection;
 import com.project.recommendation_service.domain.dto.GenreAffinityProjection;
 import com.project.recommendation_service.domain.dto.RecommendationResult;
+import com.project.recommendation_service.domain.entity.RankingProfile;
 import com.project.recommendation_service.domain.entity.UsersInteraction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -16,28 +19,55 @@ import java.util.UUID;
 @Repository
 public interface InteractRepository extends JpaRepository<UsersInteraction, UUID> {
 
-    @Query("SELECT i FROM UsersInteraction i WHERE i.userId = :userId AND i.content.contentId = :contentId")
-    UsersInteraction findByUserIdAndContent(
+    // Latest row still attached; older months may already be folded into user_affinity_rollup
+    UsersInteraction findFirstByUserIdAndContent_ContentIdOrderByInteractAtDesc(UUID userId, UUID contentId);
+
+    // One row per (user, content, month): a null flag keeps what the row already has
+    @Modifying
+    @Query(value = """
+            INSERT INTO users_interaction (id, user_id, content_content_id, is_liked, is_disliked, is_commented, is_shared,
+                                           interact_at, interact_month)
+            VALUES (
+                gen_random_uuid(), :userId, :contentId,
+                COALESCE(CAST(:like AS boolean), false),
+                COALESCE(CAST(:dislike AS boolean), false),
+                COALESCE(CAST(:comment AS boolean), false),
+                COALESCE(CAST(:share AS boolean), false),
+                :interactAt,
+                CAST(date_trunc('month', CAST(:interactAt AS timestamp)) AS date)
+            )
+            ON CONFLICT (user_id, content_content_id, interact_month) DO UPDATE SET
+                is_liked     = COALESCE(CAST(:like AS boolean), users_interaction.is_liked),
+                is_disliked  = COALESCE(CAST(:dislike AS boolean), users_interaction.is_disliked),
+                is_commented = COALESCE(CAST(:comment AS boolean), users_interaction.is_commented),
+                is_shared    = COALESCE(CAST(:share AS boolean), users_interaction.is_shared)
+            """, nativeQuery = true)
+    int upsertInteraction(
             @Param("userId") UUID userId,
-            @Param("contentId") UUID contentId);
+            @Param("contentId") UUID contentId,
+            @Param("interactAt") LocalDateTime interactAt,
+            @Param("like") Boolean like,
+            @Param("dislike") Boolean dislike,
+            @Param("comment") Boolean comment,
+            @Param("share") Boolean share);
 
     @Query(value = """
             WITH constants AS (
                 SELECT
-            		2    ::int AS liked_power,
-            		4    ::int AS comment_power,
-            		-5   ::int AS dislike_power,
-                    6    ::int AS share_power,
+                    CAST(:#{#profile.likedPower} AS int)                   AS liked_power,
+                    CAST(:#{#profile.commentPower} AS int)                 AS comment_power,
+                    CAST(:#{#profile.dislikePower} AS int)                 AS dislike_power,
+                    CAST(:#{#profile.sharePower} AS int)                   AS share_power,
 
-                    0.5  ::numeric AS category_factor,
-                    1.0  ::numeric AS genre_factor,
-                    0.8  ::numeric AS tag_factor,
+                    CAST(:#{#profile.categoryFactor} AS numeric)           AS category_factor,
+                    CAST(:#{#profile.genreFactor} AS numeric)              AS genre_factor,
+                    CAST(:#{#profile.tagFactor} AS numeric)                AS tag_factor,
 
-                    20.0 ::numeric AS interaction_index_half_life,
-                    45.0 ::numeric AS interaction_time_half_life,
-                    30.0 ::numeric AS content_time_half_life,
+                    CAST(:#{#profile.interactionIndexHalfLife} AS numeric) AS interaction_index_half_life,
+                    CAST(:#{#profile.interactionTimeHalfLife} AS numeric)  AS interaction_time_half_life,
+                    CAST(:#{#profile.contentTimeHalfLife} AS numeric)      AS content_time_half_life,
 
-                    0.4  ::numeric AS mean_score_weight
+                    CAST(:#{#profile.meanScoreWeight} AS numeric)          AS mean_score_weight
             ),
 
             ordered_interactions AS (
@@ -72,19 +102,49 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
                 CROSS JOIN constants c
             ),
 
+            rollup_scores AS (
+                SELECT
+                    r.term_type,
+                    r.term_id,
+                    r.interaction_count,
+                    r.score_sum
+                    * EXP(-LN(2) * EXTRACT(DAY FROM (NOW() - r.rolled_at)) / c.interaction_time_half_life)
+                    * EXP(-LN(2) * (SELECT COUNT(*) FROM ordered_interactions) / c.interaction_index_half_life)
+                    AS score_sum
+                FROM user_affinity_rollup r
+                CROSS JOIN constants c
+                WHERE r.user_id = :id
+            ),
+
             category_stats AS (
                 SELECT
-                    cc.category,
-                    SUM(iscore.score) / SQRT(COUNT(*)) AS raw_category_score
-                FROM interaction_scores iscore
-                JOIN content_categories cc
-                    ON cc.content_id = iscore.content_content_id
-                GROUP BY cc.category
+                    category_id,
+                    SUM(score_sum) / SQRT(SUM(score_count)) AS raw_category_score
+                FROM (
+                    SELECT
+                        cc.category_id,
+                        SUM(iscore.score) AS score_sum,
+                        COUNT(*) AS score_count
+                    FROM interaction_scores iscore
+                    JOIN content_category_ids cc
+                        ON cc.content_id = iscore.content_content_id
+                    GROUP BY cc.category_id
+
+                    UNION ALL
+
+                    SELECT
+                        rs.term_id,
+                        rs.score_sum,
+                        rs.interaction_count
+                    FROM rollup_scores rs
+                    WHERE rs.term_type = 'CATEGORY'
+                ) category_scores
+                GROUP BY category_id
             ),
 
             category_affinity AS (
                 SELECT
-                    category,
+                    category_id,
                     EXP(raw_category_score)
                     / SUM(EXP(raw_category_score)) OVER () AS category_weight
                 FROM category_stats
@@ -92,17 +152,33 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
 
             genre_stats AS (
                 SELECT
-                    cg.genre,
-                    SUM(iscore.score) / SQRT(COUNT(*)) AS raw_genre_score
-                FROM interaction_scores iscore
-                JOIN content_genres cg
-                    ON cg.content_id = iscore.content_content_id
-                GROUP BY cg.genre
+                    genre_id,
+                    SUM(score_sum) / SQRT(SUM(score_count)) AS raw_genre_score
+                FROM (
+                    SELECT
+                        cg.genre_id,
+                        SUM(iscore.score) AS score_sum,
+                        COUNT(*) AS score_count
+                    FROM interaction_scores iscore
+                    JOIN content_genre_ids cg
+                        ON cg.content_id = iscore.content_content_id
+                    GROUP BY cg.genre_id
+
+                    UNION ALL
+
+                    SELECT
+                        rs.term_id,
+                        rs.score_sum,
+                        rs.interaction_count
+                    FROM rollup_scores rs
+                    WHERE rs.term_type = 'GENRE'
+                ) genre_scores
+                GROUP BY genre_id
             ),
 
             genre_affinity AS (
                 SELECT
-                    genre,
+                    genre_id,
                     EXP(raw_genre_score)
                     / SUM(EXP(raw_genre_score)) OVER () AS genre_weight
                 FROM genre_stats
@@ -110,17 +186,33 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
 
             tag_stats AS (
                 SELECT
-                    tg.tag,
-                    SUM(iscore.score) / SQRT(COUNT(*)) AS raw_tag_score
-                FROM interaction_scores iscore
-                JOIN content_tags tg
-                    ON tg.content_id = iscore.content_content_id
-                GROUP BY tg.tag
+                    tag_id,
+                    SUM(score_sum) / SQRT(SUM(score_count)) AS raw_tag_score
+                FROM (
+                    SELECT
+                        tg.tag_id,
+                        SUM(iscore.score) AS score_sum,
+                        COUNT(*) AS score_count
+                    FROM interaction_scores iscore
+                    JOIN content_tag_ids tg
+                        ON tg.content_id = iscore.content_content_id
+                    GROUP BY tg.tag_id
+
+                    UNION ALL
+
+                    SELECT
+                        rs.term_id,
+                        rs.score_sum,
+                        rs.interaction_count
+                    FROM rollup_scores rs
+                    WHERE rs.term_type = 'TAG'
+                ) tag_scores
+                GROUP BY tag_id
             ),
 
             tag_affinity AS (
                 SELECT
-                    tag,
+                    tag_id,
                     EXP(raw_tag_score)
                     / SUM(EXP(raw_tag_score)) OVER () AS tag_weight
                 FROM tag_stats
@@ -136,14 +228,14 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
                     c.comment_count,
                     (
                         cns.mean_score_weight
-                        * (2 * COALESCE(c.like_count, 0)
-                        + 4 * COALESCE(c.comment_count, 0)
-                        + 6 * COALESCE(c.share_count, 0))::numeric
+                        * (cns.liked_power * COALESCE(c.like_count, 0)
+                        + cns.comment_power * COALESCE(c.comment_count, 0)
+                        + cns.share_power * COALESCE(c.share_count, 0))::numeric
                         / NULLIF(
-                            2 * COALESCE(c.like_count, 0)
-                            + 5 * COALESCE(c.dislike_count, 0)
-                            + 6 * COALESCE(c.share_count, 0)
-                            + 4 * COALESCE(c.comment_count, 0),
+                            cns.liked_power * COALESCE(c.like_count, 0)
+                            + ABS(cns.dislike_power) * COALESCE(c.dislike_count, 0)
+                            + cns.share_power * COALESCE(c.share_count, 0)
+                            + cns.comment_power * COALESCE(c.comment_count, 0),
                             0
                         )
                         + 1
@@ -155,7 +247,7 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
                     SELECT 1
                     FROM users_interaction ui
                     WHERE ui.content_content_id = c.content_id
-                      AND ui.user_id = '1b3d1f03-eab5-433f-82bd-a89946b41a16'
+                      AND ui.user_id = :id
                       AND ui.interact_at >= NOW() - INTERVAL '30 days'
                 )
             ),
@@ -178,20 +270,20 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
                 FROM raw_content_scores rcs
                 CROSS JOIN constants c
 
-                LEFT JOIN content_categories cc
+                LEFT JOIN content_category_ids cc
                     ON cc.content_id = rcs.content_id
                 LEFT JOIN category_affinity ca
-                    ON ca.category = cc.category
+                    ON ca.category_id = cc.category_id
 
-                LEFT JOIN content_genres cg
+                LEFT JOIN content_genre_ids cg
                     ON cg.content_id = rcs.content_id
                 LEFT JOIN genre_affinity ga
-                    ON ga.genre = cg.genre
+                    ON ga.genre_id = cg.genre_id
 
-                LEFT JOIN content_tags ct
+                LEFT JOIN content_tag_ids ct
                     ON ct.content_id = rcs.content_id
                 LEFT JOIN tag_affinity ta
-                    ON ta.tag = ct.tag
+                    ON ta.tag_id = ct.tag_id
 
                 GROUP BY
                     rcs.content_id,
@@ -223,15 +315,19 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
             ORDER BY final_score DESC
             LIMIT 20;
             """, nativeQuery = true)
-    Set<RecommendationResult> getRecommendation(@Param("id") UUID id);
+    Set<RecommendationResult> getRecommendation(@Param("id") UUID id, @Param("profile") RankingProfile profile);
 
     @Query(value = """
                   WITH constants AS (
                       SELECT
-                          0.5  ::numeric AS category_factor,
-                          1.0  ::numeric AS genre_factor,
-                          30.0 ::numeric AS content_time_half_life,
-                          0.4  ::numeric AS mean_score_weight
+                          CAST(:#{#profile.likedPower} AS int)              AS liked_power,
+                          CAST(:#{#profile.commentPower} AS int)            AS comment_power,
+                          CAST(:#{#profile.dislikePower} AS int)            AS dislike_power,
+                          CAST(:#{#profile.sharePower} AS int)              AS share_power,
+                          CAST(:#{#profile.categoryFactor} AS numeric)      AS category_factor,
+                          CAST(:#{#profile.genreFactor} AS numeric)         AS genre_factor,
+                          CAST(:#{#profile.contentTimeHalfLife} AS numeric) AS content_time_half_life,
+                          CAST(:#{#profile.meanScoreWeight} AS numeric)     AS mean_score_weight
                   ),
 
                   raw_content_scores AS (
@@ -244,14 +340,14 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
                           c.comment_count,
                           (
                               cns.mean_score_weight
-                              * (2 * COALESCE(c.like_count, 0)
-                            + 4 * COALESCE(c.comment_count, 0)
-                            + 6 * COALESCE(c.share_count, 0))::numeric
+                              * (cns.liked_power * COALESCE(c.like_count, 0)
+                            + cns.comment_power * COALESCE(c.comment_count, 0)
+                            + cns.share_power * COALESCE(c.share_count, 0))::numeric
                             / NULLIF(
-                                2 * COALESCE(c.like_count, 0)
-                                + 5 * COALESCE(c.dislike_count, 0)
-                                + 6 * COALESCE(c.share_count, 0)
-                                + 4 * COALESCE(c.comment_count, 0),
+                                cns.liked_power * COALESCE(c.like_count, 0)
+                                + ABS(cns.dislike_power) * COALESCE(c.dislike_count, 0)
+                                + cns.share_power * COALESCE(c.share_count, 0)
+                                + cns.comment_power * COALESCE(c.comment_count, 0),
                                 0
                             )
                               + 1
@@ -265,26 +361,26 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
                       SELECT
                           rcs.*,
 
-                          COUNT(DISTINCT cc.category) AS category_match_count,
-                          COUNT(DISTINCT cg.genre)    AS genre_match_count,
+                          COUNT(DISTINCT cc.category_id) AS category_match_count,
+                          COUNT(DISTINCT cg.genre_id)    AS genre_match_count,
 
                           (rcs.mean_score + 1) *
                           (
                               1
-                              + c.category_factor * COUNT(DISTINCT cc.category)
-                              + c.genre_factor    * COUNT(DISTINCT cg.genre)
+                              + c.category_factor * COUNT(DISTINCT cc.category_id)
+                              + c.genre_factor    * COUNT(DISTINCT cg.genre_id)
                           ) AS weighted_score
 
                       FROM raw_content_scores rcs
                       CROSS JOIN constants c
 
-                      LEFT JOIN content_categories cc
+                      LEFT JOIN content_category_ids cc
                           ON cc.content_id = rcs.content_id
-                         AND cc.category IN (:categories)
+                         AND cc.category_id IN (:categories)
 
-                      LEFT JOIN content_genres cg
+                      LEFT JOIN content_genre_ids cg
                           ON cg.content_id = rcs.content_id
-                         AND cg.genre IN (:genres)
+                         AND cg.genre_id IN (:genres)
 
                       GROUP BY
                           rcs.content_id,
@@ -319,7 +415,8 @@ public interface InteractRepository extends JpaRepository<UsersInteraction, UUID
 
             """, nativeQuery = true)
     Set<RecommendationResult> getRecommendationByPreferences(
-            @Param("categories") Set<String> categories,
-            @Param("genres") Set<String> genres);
+            @Param("categories") Set<Integer> categories,
+            @Param("genres") Set<Integer> genres,
+            @Param("profile") RankingProfile profile);
 
 }
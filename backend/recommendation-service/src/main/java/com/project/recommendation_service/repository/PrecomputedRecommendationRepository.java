@@ -0,0 +1,39 @@
+package com.project.recommendation_service.repository;
+
+import com.project.recommendation_service.domain.dto.RecommendationResult;
+import com.project.recommendation_service.domain.entity.PrecomputedRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface PrecomputedRecommendationRepository extends JpaRepository<PrecomputedRecommendation, UUID> {
+
+    @Modifying
+    @Query("DELETE FROM PrecomputedRecommendation p WHERE p.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    @Query(value = """
+            SELECT
+                c.content_id,
+                c.content_title,
+                c.username,
+                c.like_count,
+                c.dislike_count,
+                c.comment_count,
+                c.time_of_creation
+            FROM precomputed_recommendation pr
+            JOIN content c
+                ON c.content_id = pr.content_id
+            WHERE pr.user_id = :id
+              AND pr.computed_at >= :since
+            ORDER BY pr.rank_position
+            """, nativeQuery = true)
+    Set<RecommendationResult> getPrecomputed(@Param("id") UUID id, @Param("since") LocalDateTime since);
+}
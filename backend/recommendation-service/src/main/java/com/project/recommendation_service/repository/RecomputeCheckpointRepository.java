@@ -0,0 +1,9 @@
+package com.project.recommendation_service.repository;
+
+import com.project.recommendation_service.domain.entity.RecomputeCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecomputeCheckpointRepository extends JpaRepository<RecomputeCheckpoint, String> {
+}
@@ -0,0 +1,26 @@
+package com.project.recommendation_service.repository;
+
+import com.project.recommendation_service.domain.entity.TermDictionary;
+import com.project.recommendation_service.domain.enums.TermType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TermDictionaryRepository extends JpaRepository<TermDictionary, Integer> {
+
+    List<TermDictionary> findByTypeAndTermIn(TermType type, Collection<String> terms);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO term_dictionary (term_type, term)
+            VALUES (:type, :term)
+            ON CONFLICT (term_type, term) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("type") String type, @Param("term") String term);
+}
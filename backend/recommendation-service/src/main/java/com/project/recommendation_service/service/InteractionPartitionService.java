@@ -0,0 +1,200 @@
+package com.project.recommendation_service.service;
+
+import com.project.recommendation_service.domain.entity.RankingProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+public class InteractionPartitionService {
+
+    private static final String PARENT_TABLE = "users_interaction";
+    private static final Pattern PARTITION_NAME = Pattern.compile("users_interaction_y(\\d{4})m(\\d{2})");
+
+    private static final String IS_PARTITIONED = """
+            SELECT EXISTS (
+                SELECT 1
+                FROM pg_partitioned_table pt
+                JOIN pg_class c ON c.oid = pt.partrelid
+                WHERE c.relname = ?
+            )
+            """;
+
+    private static final String ATTACHED_PARTITIONS = """
+            SELECT child.relname
+            FROM pg_inherits i
+            JOIN pg_class parent ON parent.oid = i.inhparent
+            JOIN pg_class child ON child.oid = i.inhrelid
+            WHERE parent.relname = ?
+            """;
+
+    // Scores every interaction of one month the same way ordered_interactions/interaction_scores do
+    // (minus the per-user index decay, which the ranking query re-applies to the whole rollup)
+    // and merges it into the running per-user aggregate. Uses the default ranking profile at fold time.
+    private static final String FOLD_MONTH = """
+            WITH constants AS (
+                SELECT
+                    CAST(? AS int)     AS liked_power,
+                    CAST(? AS int)     AS comment_power,
+                    CAST(? AS int)     AS dislike_power,
+                    CAST(? AS int)     AS share_power,
+                    CAST(? AS numeric) AS interaction_time_half_life
+            ),
+
+            scored AS (
+                SELECT
+                    ui.user_id,
+                    ui.content_content_id,
+                    CASE
+                        WHEN ui.is_liked     THEN  c.liked_power
+                        WHEN ui.is_commented THEN  c.comment_power
+                        WHEN ui.is_disliked  THEN  c.dislike_power
+                        WHEN ui.is_shared THEN c.share_power
+                        ELSE 0
+                    END
+                    * EXP(-LN(2) * EXTRACT(DAY FROM (NOW() - ui.interact_at)) / c.interaction_time_half_life)
+                    AS score
+                FROM users_interaction ui
+                CROSS JOIN constants c
+                WHERE ui.interact_month = ?
+            ),
+
+            terms AS (
+                SELECT s.user_id, 'CATEGORY' AS term_type, cc.category_id AS term_id, s.score
+                FROM scored s
+                JOIN content_category_ids cc ON cc.content_id = s.content_content_id
+                UNION ALL
+                SELECT s.user_id, 'GENRE', cg.genre_id, s.score
+                FROM scored s
+                JOIN content_genre_ids cg ON cg.content_id = s.content_content_id
+                UNION ALL
+                SELECT s.user_id, 'TAG', ct.tag_id, s.score
+                FROM scored s
+                JOIN content_tag_ids ct ON ct.content_id = s.content_content_id
+            )
+
+            INSERT INTO user_affinity_rollup (id, user_id, term_type, term_id, score_sum, interaction_count, rolled_at)
+            SELECT gen_random_uuid(), t.user_id, t.term_type, t.term_id, SUM(t.score), COUNT(*), NOW()
+            FROM terms t
+            GROUP BY t.user_id, t.term_type, t.term_id
+            ON CONFLICT (user_id, term_type, term_id) DO UPDATE SET
+                score_sum = user_affinity_rollup.score_sum
+                    * EXP(-LN(2) * EXTRACT(DAY FROM (NOW() - user_affinity_rollup.rolled_at)) / CAST(? AS numeric))
+                    + EXCLUDED.score_sum,
+                interaction_count = user_affinity_rollup.interaction_count + EXCLUDED.interaction_count,
+                rolled_at = NOW()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RankingProfileService rankingProfileService;
+    private final int monthsAhead;
+    private final int hotWindowDays;
+    private final boolean dropDetached;
+
+    public InteractionPartitionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            RankingProfileService rankingProfileService,
+            @Value("${recommendation.interaction.partition.months-ahead:2}") int monthsAhead,
+            @Value("${recommendation.interaction.partition.hot-window-days:90}") int hotWindowDays,
+            @Value("${recommendation.interaction.partition.drop-detached:false}") boolean dropDetached) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rankingProfileService = rankingProfileService;
+        this.monthsAhead = monthsAhead;
+        this.hotWindowDays = hotWindowDays;
+        this.dropDetached = dropDetached;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void atStartup() {
+        if (isPartitioned()) {
+            createUpcomingPartitions();
+        } else {
+            log.warn("Table {} is not partitioned, run backend/SQL/PartitionUsersInteraction.sql to enable rollups",
+                    PARENT_TABLE);
+        }
+    }
+
+    @Scheduled(cron = "${recommendation.interaction.partition.rollup-cron:0 30 3 * * *}")
+    public void nightlyMaintenance() {
+        if (!isPartitioned()) {
+            return;
+        }
+        createUpcomingPartitions();
+        rollupExpiredPartitions();
+    }
+
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                    + " PARTITION OF " + PARENT_TABLE
+                    + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        log.info("Interaction partitions ensured up to {}", current.plusMonths(monthsAhead));
+    }
+
+    public void rollupExpiredPartitions() {
+        LocalDate hotWindowStart = LocalDate.now().minusDays(hotWindowDays);
+        List<String> partitions = jdbcTemplate.queryForList(ATTACHED_PARTITIONS, String.class, PARENT_TABLE);
+
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.plusMonths(1).atDay(1).isAfter(hotWindowStart)) {
+                rollupPartition(partition, month);
+            }
+        }
+    }
+
+    private void rollupPartition(String partition, YearMonth month) {
+        // Fold and detach in one transaction so the ranking query never counts a month twice or not at all
+        RankingProfile profile = rankingProfileService.getDefault();
+        Integer folded = transactionTemplate.execute(status -> {
+            int rows = jdbcTemplate.update(FOLD_MONTH,
+                    profile.getLikedPower(),
+                    profile.getCommentPower(),
+                    profile.getDislikePower(),
+                    profile.getSharePower(),
+                    profile.getInteractionTimeHalfLife(),
+                    Date.valueOf(month.atDay(1)),
+                    profile.getInteractionTimeHalfLife());
+            jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+            return rows;
+        });
+        log.info("Partition {} folded into {} rollup rows and detached", partition, folded);
+
+        if (dropDetached) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+            log.info("Detached partition {} dropped by retention policy", partition);
+        }
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class, PARENT_TABLE));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("%s_y%04dm%02d", PARENT_TABLE, month.getYear(), month.getMonthValue());
+    }
+}
@@ -3,10 +3,12 @@ package com.project.recommendation_service.service;
 import com.project.recommendation_service.domain.entity.Content;
 import com.project.recommendation_service.domain.entity.UsersInteraction;
 import com.project.recommendation_service.domain.enums.KafkaDomain;
+import com.project.recommendation_service.domain.enums.TermType;
 import com.project.recommendation_service.exception.ContentNotFoundException;
 import com.project.recommendation_service.exception.InteractionNotFoundException;
 import com.project.recommendation_service.repository.ContentRepository;
 import com.project.recommendation_service.repository.InteractRepository;
+import com.project.recommendation_service.repository.PrecomputedRecommendationRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -23,6 +25,8 @@ public class KafkaService {
 
     private final ContentRepository contentRepository;
     private final InteractRepository interactRepository;
+    private final PrecomputedRecommendationRepository precomputedRecommendationRepository;
+    private final TermDictionaryService termDictionaryService;
 
     @Transactional
     public void createContent(Map<String , Object> requestMap){
@@ -39,9 +43,12 @@ public class KafkaService {
                 timeList.get(3), timeList.get(4), timeList.get(5), timeList.get(6)
         );
 
-        Set<String> category = new HashSet<>((List<String>) requestMap.getOrDefault(KafkaDomain.CONTENT_CATEGORY.toString(), List.of()));
-        Set<String> genre = new HashSet<>((List<String>) requestMap.getOrDefault(KafkaDomain.CONTENT_GENRE.toString(), List.of()));
-        Set<String> tags = new HashSet<>((List<String>) requestMap.getOrDefault(KafkaDomain.CONTENT_TAG.toString(), List.of()));
+        Set<Integer> category = termDictionaryService.assignIds(TermType.CATEGORY,
+                new HashSet<>((List<String>) requestMap.getOrDefault(KafkaDomain.CONTENT_CATEGORY.toString(), List.of())));
+        Set<Integer> genre = termDictionaryService.assignIds(TermType.GENRE,
+                new HashSet<>((List<String>) requestMap.getOrDefault(KafkaDomain.CONTENT_GENRE.toString(), List.of())));
+        Set<Integer> tags = termDictionaryService.assignIds(TermType.TAG,
+                new HashSet<>((List<String>) requestMap.getOrDefault(KafkaDomain.CONTENT_TAG.toString(), List.of())));
 
 
         Content content = Content
@@ -117,30 +124,11 @@ public class KafkaService {
                     log.error("Content : {} doesn't found in Like" , contentId);
                     throw new ContentNotFoundException("Content not found with id : " + contentId.toString());
                 });
-        UsersInteraction interaction = interactRepository.findByUserIdAndContent(userId , contentId);
-
-        if(interaction == null){
-            interaction = UsersInteraction
-                    .builder()
-                    .userId(userId)
-                    .content(content)
-                    .like(true)
-                    .dislike(false)
-                    .share(false)
-                    .comment(false)
-                    .interactAt(dateTime)
-                    .build();
-
-            interactRepository.save(interaction);
-        }else{
-            interaction.setLike(true);
-            interaction.setDislike(false);
-
-            interactRepository.save(interaction);
-        }
+        interactRepository.upsertInteraction(userId, contentId, dateTime, true, false, null, null);
 
         content.setLikeCount(content.getLikeCount() + 1);
         contentRepository.save(content);
+        precomputedRecommendationRepository.deleteByUserId(userId);
         log.info("User : {} liked the content with Id : {}", userId ,contentId );
     }
 
@@ -160,30 +148,10 @@ public class KafkaService {
                     log.error("Content : {} doesn't found in Dislike" , contentId);
                     throw new ContentNotFoundException("Content not found with id : " + contentId.toString());
                 });
-        UsersInteraction interaction = interactRepository.findByUserIdAndContent(userId , contentId);
-
-        if(interaction == null){
-
-            interaction = UsersInteraction
-                    .builder()
-                    .userId(userId)
-                    .content(content)
-                    .like(false)
-                    .dislike(true)
-                    .share(false)
-                    .comment(false)
-                    .interactAt(dateTime)
-                    .build();
-
-            interactRepository.save(interaction);
-        }else{
-            interaction.setLike(false);
-            interaction.setDislike(true);
-
-            interactRepository.save(interaction);
-        }
+        interactRepository.upsertInteraction(userId, contentId, dateTime, false, true, null, null);
         content.setDislikeCount(content.getDislikeCount() + 1);
         contentRepository.save(content);
+        precomputedRecommendationRepository.deleteByUserId(userId);
         log.info("User : {} disliked the content with Id : {}", userId ,contentId );
     }
 
@@ -203,29 +171,10 @@ public class KafkaService {
                     log.error("Content : {} doesn't found in Share" , contentId);
                     throw new ContentNotFoundException("Content not found with id : " + contentId.toString());
                 });
-        UsersInteraction interaction = interactRepository.findByUserIdAndContent(userId , contentId);
-
-        if(interaction == null){
-
-            interaction = UsersInteraction
-                    .builder()
-                    .userId(userId)
-                    .content(content)
-                    .like(false)
-                    .dislike(false)
-                    .share(true)
-                    .comment(false)
-                    .interactAt(dateTime)
-                    .build();
-
-            interactRepository.save(interaction);
-        }else{
-            interaction.setShare(true);
-
-            interactRepository.save(interaction);
-        }
+        interactRepository.upsertInteraction(userId, contentId, dateTime, null, null, null, true);
         content.setShareCount(content.getShareCount() + 1);
         contentRepository.save(content);
+        precomputedRecommendationRepository.deleteByUserId(userId);
         log.info("User : {} shared the content with Id : {}", userId ,contentId );
     }
 
@@ -246,31 +195,11 @@ public class KafkaService {
                     throw new ContentNotFoundException("Content not found with id : " + contentId.toString());
                 });
 
-        UsersInteraction interaction = interactRepository.findByUserIdAndContent(userId , contentId);
-
-        if(interaction == null){
-
-
-            interaction = UsersInteraction
-                    .builder()
-                    .userId(userId)
-                    .content(content)
-                    .like(false)
-                    .dislike(false)
-                    .share(false)
-                    .comment(true)
-                    .interactAt(dateTime)
-                    .build();
-
-            interactRepository.save(interaction);
-        }else{
-            interaction.setComment(true);
-
-            interactRepository.save(interaction);
-        }
+        interactRepository.upsertInteraction(userId, contentId, dateTime, null, null, true, null);
 
         content.setCommentCount(content.getCommentCount() + 1);
         contentRepository.save(content);
+        precomputedRecommendationRepository.deleteByUserId(userId);
         log.info("User : {} comment the content with Id : {}", userId ,contentId );
     }
 
@@ -286,7 +215,7 @@ public class KafkaService {
                 timeList.get(3), timeList.get(4), timeList.get(5), timeList.get(6)
         );
 
-        UsersInteraction interaction = interactRepository.findByUserIdAndContent(userId , contentId);
+        UsersInteraction interaction = interactRepository.findFirstByUserIdAndContent_ContentIdOrderByInteractAtDesc(userId , contentId);
 
         if(interaction == null){
             throw new InteractionNotFoundException("Interaction id Remove Like with id : " + userId);
@@ -296,6 +225,7 @@ public class KafkaService {
             interactRepository.save(interaction);
         }
         contentRepository.decreamentLikeCount(contentId);
+        precomputedRecommendationRepository.deleteByUserId(userId);
         log.info("User : {} remove like the content with Id : {}", userId ,contentId );
     }
 
@@ -310,7 +240,7 @@ public class KafkaService {
                 timeList.get(3), timeList.get(4), timeList.get(5), timeList.get(6)
         );
 
-        UsersInteraction interaction = interactRepository.findByUserIdAndContent(userId , contentId);
+        UsersInteraction interaction = interactRepository.findFirstByUserIdAndContent_ContentIdOrderByInteractAtDesc(userId , contentId);
 
         if(interaction == null){
             throw new InteractionNotFoundException("Interaction id Remove DisLike with id : " + userId);
@@ -321,6 +251,7 @@ public class KafkaService {
         }
 
         contentRepository.decreamentDislikeCount(contentId);
+        precomputedRecommendationRepository.deleteByUserId(userId);
         log.info("User : {} remove dislike the content with Id : {}", userId ,contentId );
     }
 
@@ -335,7 +266,7 @@ public class KafkaService {
                 timeList.get(3), timeList.get(4), timeList.get(5), timeList.get(6)
         );
 
-        UsersInteraction interaction = interactRepository.findByUserIdAndContent(userId , contentId);
+        UsersInteraction interaction = interactRepository.findFirstByUserIdAndContent_ContentIdOrderByInteractAtDesc(userId , contentId);
 
         if(interaction == null){
             throw new InteractionNotFoundException("Interaction id dislike to like with id : " + userId);
@@ -346,6 +277,7 @@ public class KafkaService {
             interactRepository.save(interaction);
             contentRepository.dislikeToLikeCount(contentId);
         }
+        precomputedRecommendationRepository.deleteByUserId(userId);
         log.info("User : {} remove dislike to like the content with Id : {}", userId ,contentId );
     }
 
@@ -360,7 +292,7 @@ public class KafkaService {
                 timeList.get(3), timeList.get(4), timeList.get(5), timeList.get(6)
         );
 
-        UsersInteraction interaction = interactRepository.findByUserIdAndContent(userId , contentId);
+        UsersInteraction interaction = interactRepository.findFirstByUserIdAndContent_ContentIdOrderByInteractAtDesc(userId , contentId);
 
         if(interaction == null){
             throw new InteractionNotFoundException("Interaction id like to dislike with id : " + userId);
@@ -371,6 +303,7 @@ public class KafkaService {
             interactRepository.save(interaction);
             contentRepository.likeToDisLikeCount(contentId);
         }
+        precomputedRecommendationRepository.deleteByUserId(userId);
         log.info("User : {} remove like to dislike the content with Id : {}", userId ,contentId );
     }
 
@@ -0,0 +1,108 @@
+package com.project.recommendation_service.service;
+
+import com.project.recommendation_service.domain.entity.RankingProfile;
+import com.project.recommendation_service.repository.RankingProfileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the ranking_profile table in memory and re-reads it on a fixed delay,
+ * so edits to a profile take effect without a redeploy.
+ */
+@Slf4j
+@Service
+public class RankingProfileService {
+
+    private final RankingProfileRepository rankingProfileRepository;
+    private final String defaultProfileName;
+
+    private volatile Map<String, RankingProfile> profiles = Map.of();
+
+    public RankingProfileService(
+            RankingProfileRepository rankingProfileRepository,
+            @Value("${recommendation.ranking.default-profile:default}") String defaultProfileName) {
+        this.rankingProfileRepository = rankingProfileRepository;
+        this.defaultProfileName = defaultProfileName;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void atStartup() {
+        if (!rankingProfileRepository.existsById(defaultProfileName)) {
+            rankingProfileRepository.save(builtIn(defaultProfileName));
+            log.info("Seeded ranking profile {}", defaultProfileName);
+        }
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${recommendation.ranking.reload-interval-ms:30000}")
+    public void reload() {
+        profiles = rankingProfileRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(RankingProfile::getName, Function.identity()));
+    }
+
+    public RankingProfile getDefault() {
+        RankingProfile profile = profiles.get(defaultProfileName);
+        return profile != null ? profile : builtIn(defaultProfileName);
+    }
+
+    public RankingProfile get(String name) {
+        if (name == null || name.isBlank()) {
+            return getDefault();
+        }
+        return find(name).orElseThrow(() -> new IllegalArgumentException("Unknown ranking profile " + name));
+    }
+
+    public Optional<RankingProfile> find(String name) {
+        return Optional.ofNullable(profiles.get(name));
+    }
+
+    public List<RankingProfile> getAll() {
+        return List.copyOf(profiles.values());
+    }
+
+    public RankingProfile save(RankingProfile profile) {
+        if (profile.getName() == null || profile.getName().isBlank()) {
+            throw new IllegalArgumentException("Profile name is required");
+        }
+        if (profile.getInteractionIndexHalfLife() <= 0
+                || profile.getInteractionTimeHalfLife() <= 0
+                || profile.getContentTimeHalfLife() <= 0) {
+            throw new IllegalArgumentException("Half-lives must be positive");
+        }
+
+        profile.setUpdatedAt(LocalDateTime.now());
+        RankingProfile saved = rankingProfileRepository.save(profile);
+        reload();
+        return saved;
+    }
+
+    // The constants the queries shipped with before profiles existed
+    private static RankingProfile builtIn(String name) {
+        return RankingProfile.builder()
+                .name(name)
+                .likedPower(2)
+                .commentPower(4)
+                .dislikePower(-5)
+                .sharePower(6)
+                .categoryFactor(0.5)
+                .genreFactor(1.0)
+                .tagFactor(0.8)
+                .interactionIndexHalfLife(20.0)
+                .interactionTimeHalfLife(45.0)
+                .contentTimeHalfLife(30.0)
+                .meanScoreWeight(0.4)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -2,25 +2,66 @@ package com.project.recommendation_service.service;
 
 import com.project.recommendation_service.domain.dto.FirstRecommendationRequest;
 import com.project.recommendation_service.domain.dto.RecommendationResult;
+import com.project.recommendation_service.domain.entity.PrecomputedRecommendation;
+import com.project.recommendation_service.domain.enums.TermType;
 import com.project.recommendation_service.exception.ContentNotFoundException;
 import com.project.recommendation_service.repository.InteractRepository;
-import lombok.AllArgsConstructor;
+import com.project.recommendation_service.repository.PrecomputedRecommendationRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 @Service
-@AllArgsConstructor
 public class RecommendationService {
 
     private final InteractRepository interactRepository;
+    private final TermDictionaryService termDictionaryService;
+    private final PrecomputedRecommendationRepository precomputedRecommendationRepository;
+    private final RankingProfileService rankingProfileService;
+    private final ShadowScoringService shadowScoringService;
+    private final boolean servePrecomputed;
+    private final long precomputedTtlMinutes;
+
+    public RecommendationService(
+            InteractRepository interactRepository,
+            TermDictionaryService termDictionaryService,
+            PrecomputedRecommendationRepository precomputedRecommendationRepository,
+            RankingProfileService rankingProfileService,
+            ShadowScoringService shadowScoringService,
+            @Value("${recommendation.feed.serve-precomputed:false}") boolean servePrecomputed,
+            @Value("${recommendation.feed.precomputed-ttl-minutes:30}") long precomputedTtlMinutes) {
+        this.interactRepository = interactRepository;
+        this.termDictionaryService = termDictionaryService;
+        this.precomputedRecommendationRepository = precomputedRecommendationRepository;
+        this.rankingProfileService = rankingProfileService;
+        this.shadowScoringService = shadowScoringService;
+        this.servePrecomputed = servePrecomputed;
+        this.precomputedTtlMinutes = precomputedTtlMinutes;
+    }
 
     @Transactional
-    public Set<RecommendationResult> getRecommendation(UUID id){
-        Set<RecommendationResult> results = interactRepository.getRecommendation(id);
+    public Set<RecommendationResult> getRecommendation(UUID id, String profileName){
+        Set<RecommendationResult> results;
+        if(profileName == null || profileName.isBlank()){
+            // Precomputed feeds are always ranked with the default profile. They are opt-in and short-lived;
+            // KafkaService also drops a user's rows on their next interaction so the feed reflects it
+            results = servePrecomputed
+                    ? precomputedRecommendationRepository
+                            .getPrecomputed(id, LocalDateTime.now().minusMinutes(precomputedTtlMinutes))
+                    : Set.of();
+            if(results.isEmpty()){
+                results = interactRepository.getRecommendation(id, rankingProfileService.getDefault());
+            }
+            shadowScoringService.maybeShadow(id);
+        }else{
+            results = interactRepository.getRecommendation(id, rankingProfileService.get(profileName));
+        }
 
         if(!results.isEmpty()){
             return results;
@@ -30,12 +71,21 @@ public class RecommendationService {
     }
 
     @Transactional
-    public Set<RecommendationResult> getFirstRecommendation(FirstRecommendationRequest request){
+    public Set<RecommendationResult> getFirstRecommendation(FirstRecommendationRequest request, String profileName){
         if(request.getCategory() == null || request.getCategory().isEmpty() || request.getGenre() == null || request.getGenre().isEmpty()){
             throw new IllegalArgumentException("Illegal Argument");
         }
 
-        Set<RecommendationResult> results = interactRepository.getRecommendationByPreferences(request.getCategory() , request.getGenre());
+        Set<Integer> categoryIds = termDictionaryService.lookupIds(TermType.CATEGORY, request.getCategory());
+        Set<Integer> genreIds = termDictionaryService.lookupIds(TermType.GENRE, request.getGenre());
+        if (categoryIds.isEmpty()) {
+            categoryIds.add(TermDictionaryService.UNKNOWN_TERM_ID);
+        }
+        if (genreIds.isEmpty()) {
+            genreIds.add(TermDictionaryService.UNKNOWN_TERM_ID);
+        }
+
+        Set<RecommendationResult> results = interactRepository.getRecommendationByPreferences(categoryIds , genreIds, rankingProfileService.get(profileName));
 
         if(!results.isEmpty()){
             return results;
@@ -44,4 +94,25 @@ public class RecommendationService {
         }
 
     }
+
+    @Transactional
+    public int recomputeForUser(UUID id){
+        Set<RecommendationResult> results = interactRepository.getRecommendation(id, rankingProfileService.getDefault());
+        LocalDateTime computedAt = LocalDateTime.now();
+
+        List<PrecomputedRecommendation> rows = new ArrayList<>(results.size());
+        int position = 0;
+        for (RecommendationResult result : results) {
+            rows.add(PrecomputedRecommendation.builder()
+                    .userId(id)
+                    .contentId(result.getContentId())
+                    .rankPosition(position++)
+                    .computedAt(computedAt)
+                    .build());
+        }
+
+        precomputedRecommendationRepository.deleteByUserId(id);
+        precomputedRecommendationRepository.saveAll(rows);
+        return rows.size();
+    }
 }
@@ -0,0 +1,269 @@
+package com.project.recommendation_service.service;
+
+import com.project.recommendation_service.domain.dto.RecomputeStatus;
+import com.project.recommendation_service.domain.entity.RecomputeCheckpoint;
+import com.project.recommendation_service.repository.RecomputeCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Re-ranks every user with interactions in the attached partitions and stores the result in
+ * precomputed_recommendation. Users are split into id-range shards that run on a dedicated
+ * fork-join pool; each shard walks its range with a server-side cursor and hands batches of
+ * users to virtual threads for the per-user queries. The last user of every finished batch is
+ * checkpointed, so a job started again with the same id picks up where it stopped.
+ */
+@Slf4j
+@Service
+public class RecomputeJobService {
+
+    private static final String SHARD_USERS = """
+            SELECT DISTINCT ui.user_id
+            FROM users_interaction ui
+            WHERE ui.user_id %s ?
+            %s
+            ORDER BY ui.user_id
+            """;
+
+    private final RecommendationService recommendationService;
+    private final RecomputeCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate cursorTransaction;
+    private final TransactionTemplate checkpointTransaction;
+    private final int shardCount;
+    private final int parallelism;
+    private final int batchSize;
+    private final int fetchSize;
+    private final int ioConcurrency;
+    private final double maxUsersPerSecond;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger completedShards = new AtomicInteger();
+    private volatile boolean running;
+    private volatile String currentJobId;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public RecomputeJobService(
+            RecommendationService recommendationService,
+            RecomputeCheckpointRepository checkpointRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${recommendation.recompute.shards:16}") int shardCount,
+            @Value("${recommendation.recompute.parallelism:2}") int parallelism,
+            @Value("${recommendation.recompute.batch-size:200}") int batchSize,
+            @Value("${recommendation.recompute.fetch-size:500}") int fetchSize,
+            @Value("${recommendation.recompute.io-concurrency:4}") int ioConcurrency,
+            @Value("${recommendation.recompute.max-users-per-second:100}") double maxUsersPerSecond) {
+        if (shardCount < 1 || shardCount > 65536) {
+            throw new IllegalArgumentException("recommendation.recompute.shards must be between 1 and 65536");
+        }
+        this.recommendationService = recommendationService;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorTransaction = new TransactionTemplate(transactionManager);
+        this.cursorTransaction.setReadOnly(true);
+        this.checkpointTransaction = new TransactionTemplate(transactionManager);
+        this.checkpointTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardCount = shardCount;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+        this.ioConcurrency = ioConcurrency;
+        this.maxUsersPerSecond = maxUsersPerSecond;
+    }
+
+    public synchronized RecomputeStatus start(String jobId) {
+        if (running) {
+            return status();
+        }
+
+        running = true;
+        currentJobId = jobId;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        processed.set(0);
+        failed.set(0);
+        completedShards.set(0);
+
+        Thread.ofPlatform().name("recommendation-recompute").start(() -> {
+            try {
+                run(jobId);
+            } catch (Exception e) {
+                log.error("Recompute job {} aborted", jobId, e);
+            } finally {
+                finishedAt = LocalDateTime.now();
+                running = false;
+            }
+        });
+        return status();
+    }
+
+    public RecomputeStatus status() {
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        double seconds = startedAt == null ? 0 : Duration.between(startedAt, end).toMillis() / 1000.0;
+
+        return RecomputeStatus.builder()
+                .jobId(currentJobId)
+                .running(running)
+                .totalShards(shardCount)
+                .completedShards(completedShards.get())
+                .processedUsers(processed.get())
+                .failedUsers(failed.get())
+                .usersPerSecond(seconds > 0 ? processed.get() / seconds : 0)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+
+    private void run(String jobId) {
+        RecomputeRateLimiter rateLimiter = new RecomputeRateLimiter(maxUsersPerSecond);
+        Semaphore ioPermits = new Semaphore(ioConcurrency);
+        ForkJoinPool shardPool = new ForkJoinPool(parallelism);
+
+        try (ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<ForkJoinTask<?>> shards = new ArrayList<>(shardCount);
+            for (int shard = 0; shard < shardCount; shard++) {
+                int index = shard;
+                shards.add(shardPool.submit(() -> runShard(jobId, index, rateLimiter, ioPermits, ioExecutor)));
+            }
+            shards.forEach(ForkJoinTask::join);
+        } finally {
+            shardPool.shutdown();
+        }
+
+        RecomputeStatus status = status();
+        log.info("Recompute job {} finished: {} users, {} failed, {} users/sec",
+                jobId, status.getProcessedUsers(), status.getFailedUsers(),
+                String.format("%.1f", status.getUsersPerSecond()));
+    }
+
+    private void runShard(String jobId, int shard, RecomputeRateLimiter rateLimiter,
+                          Semaphore ioPermits, ExecutorService ioExecutor) {
+        RecomputeCheckpoint checkpoint = checkpointRepository.findById(jobId + "-" + shard)
+                .orElseGet(() -> RecomputeCheckpoint.builder()
+                        .id(jobId + "-" + shard)
+                        .jobId(jobId)
+                        .shardIndex(shard)
+                        .build());
+
+        if (checkpoint.isCompleted()) {
+            completedShards.incrementAndGet();
+            return;
+        }
+
+        long shardStart = System.nanoTime();
+        long before = checkpoint.getProcessedUsers();
+
+        streamShard(shard, checkpoint.getLastUserId(), batch -> {
+            processBatch(batch, rateLimiter, ioPermits, ioExecutor);
+            checkpoint.setLastUserId(batch.getLast());
+            checkpoint.setProcessedUsers(checkpoint.getProcessedUsers() + batch.size());
+            saveCheckpoint(checkpoint);
+        });
+
+        checkpoint.setCompleted(true);
+        saveCheckpoint(checkpoint);
+        completedShards.incrementAndGet();
+
+        double seconds = (System.nanoTime() - shardStart) / 1_000_000_000.0;
+        long users = checkpoint.getProcessedUsers() - before;
+        log.info("Recompute job {} shard {}/{} done: {} users, {} users/sec",
+                jobId, shard + 1, shardCount, users, String.format("%.1f", seconds > 0 ? users / seconds : 0));
+    }
+
+    // Postgres orders uuid by its raw bytes, so splitting on the top 16 bits gives contiguous ranges
+    private void streamShard(int shard, UUID resumeAfter, Consumer<List<UUID>> batchConsumer) {
+        UUID lower = resumeAfter != null ? resumeAfter : shardBound(shard);
+        UUID upper = shard + 1 < shardCount ? shardBound(shard + 1) : null;
+        String sql = String.format(SHARD_USERS,
+                resumeAfter != null ? ">" : ">=",
+                upper != null ? "AND ui.user_id < ?" : "");
+
+        // The cursor only streams inside a transaction; batches are written on other connections
+        cursorTransaction.executeWithoutResult(status -> {
+            List<UUID> batch = new ArrayList<>(batchSize);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setObject(1, lower);
+                if (upper != null) {
+                    statement.setObject(2, upper);
+                }
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                batch.add(rs.getObject(1, UUID.class));
+                if (batch.size() >= batchSize) {
+                    batchConsumer.accept(List.copyOf(batch));
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                batchConsumer.accept(List.copyOf(batch));
+            }
+        });
+    }
+
+    private void processBatch(List<UUID> users, RecomputeRateLimiter rateLimiter,
+                              Semaphore ioPermits, ExecutorService ioExecutor) {
+        List<Future<?>> pending = new ArrayList<>(users.size());
+        for (UUID userId : users) {
+            rateLimiter.acquire();
+            pending.add(ioExecutor.submit(() -> {
+                ioPermits.acquireUninterruptibly();
+                try {
+                    recommendationService.recomputeForUser(userId);
+                    processed.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    log.warn("Recompute failed for user {}", userId, e);
+                } finally {
+                    ioPermits.release();
+                }
+            }));
+        }
+
+        // The checkpoint may only move past this batch once every user in it is written
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Recompute interrupted");
+            } catch (ExecutionException e) {
+                failed.incrementAndGet();
+            }
+        }
+    }
+
+    // Called from inside the read-only cursor transaction, so it needs its own to be flushed
+    private void saveCheckpoint(RecomputeCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointTransaction.executeWithoutResult(status -> checkpointRepository.save(checkpoint));
+    }
+
+    private UUID shardBound(int shard) {
+        long prefix = (long) shard * 65536 / shardCount;
+        return new UUID(prefix << 48, 0L);
+    }
+}
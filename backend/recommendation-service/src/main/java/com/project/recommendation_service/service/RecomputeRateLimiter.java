@@ -0,0 +1,37 @@
+package com.project.recommendation_service.service;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Evenly spaced permits, shared by every shard, so a recompute run never
+ * pushes more users per second at the database than configured.
+ */
+class RecomputeRateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeAt = System.nanoTime();
+
+    RecomputeRateLimiter(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (1_000_000_000L / permitsPerSecond) : 0L;
+    }
+
+    void acquire() {
+        if (intervalNanos == 0L) {
+            return;
+        }
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (nextFreeAt < now) {
+                nextFreeAt = now;
+            }
+            waitNanos = nextFreeAt - now;
+            nextFreeAt += intervalNanos;
+        }
+
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.recommendation_service.service;
+
+import com.project.recommendation_service.domain.dto.RecommendationResult;
+import com.project.recommendation_service.domain.dto.ShadowScoreReport;
+import com.project.recommendation_service.domain.entity.RankingProfile;
+import com.project.recommendation_service.repository.InteractRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Re-scores a sample of feed requests with a candidate profile off the request thread
+ * and aggregates latency and result overlap against the default profile.
+ */
+@Slf4j
+@Service
+public class ShadowScoringService {
+
+    private final InteractRepository interactRepository;
+    private final RankingProfileService rankingProfileService;
+    private final String shadowProfileName;
+    private final double sampleRate;
+    private final Semaphore inFlight;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder primaryNanos = new LongAdder();
+    private final LongAdder shadowNanos = new LongAdder();
+    private final LongAdder primaryResults = new LongAdder();
+    private final LongAdder shadowResults = new LongAdder();
+    private final DoubleAdder overlap = new DoubleAdder();
+
+    public ShadowScoringService(
+            InteractRepository interactRepository,
+            RankingProfileService rankingProfileService,
+            @Value("${recommendation.ranking.shadow-profile:}") String shadowProfileName,
+            @Value("${recommendation.ranking.shadow-sample-rate:0.01}") double sampleRate,
+            @Value("${recommendation.ranking.shadow-max-in-flight:2}") int maxInFlight) {
+        this.interactRepository = interactRepository;
+        this.rankingProfileService = rankingProfileService;
+        this.shadowProfileName = shadowProfileName;
+        this.sampleRate = sampleRate;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public void maybeShadow(UUID userId) {
+        if (shadowProfileName.isBlank() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        // Drop the sample rather than queue behind a slow database
+        if (!inFlight.tryAcquire()) {
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                compare(userId);
+            } catch (Exception e) {
+                log.warn("Shadow scoring failed for user {}", userId, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    public ShadowScoreReport report() {
+        long count = samples.sum();
+        double divisor = Math.max(count, 1);
+
+        return ShadowScoreReport.builder()
+                .primaryProfile(rankingProfileService.getDefault().getName())
+                .shadowProfile(shadowProfileName)
+                .samples(count)
+                .avgPrimaryMillis(primaryNanos.sum() / divisor / 1_000_000.0)
+                .avgShadowMillis(shadowNanos.sum() / divisor / 1_000_000.0)
+                .avgPrimaryResults(primaryResults.sum() / divisor)
+                .avgShadowResults(shadowResults.sum() / divisor)
+                .avgOverlap(overlap.sum() / divisor)
+                .build();
+    }
+
+    private void compare(UUID userId) {
+        Optional<RankingProfile> shadow = rankingProfileService.find(shadowProfileName);
+        if (shadow.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Set<UUID> primaryIds = contentIds(interactRepository.getRecommendation(userId, rankingProfileService.getDefault()));
+        long primaryDone = System.nanoTime();
+        Set<UUID> shadowIds = contentIds(interactRepository.getRecommendation(userId, shadow.get()));
+        long shadowDone = System.nanoTime();
+
+        long shared = primaryIds.stream().filter(shadowIds::contains).count();
+
+        samples.increment();
+        primaryNanos.add(primaryDone - start);
+        shadowNanos.add(shadowDone - primaryDone);
+        primaryResults.add(primaryIds.size());
+        shadowResults.add(shadowIds.size());
+        overlap.add(primaryIds.isEmpty() ? 1.0 : (double) shared / primaryIds.size());
+    }
+
+    private static Set<UUID> contentIds(Set<RecommendationResult> results) {
+        return results.stream().map(RecommendationResult::getContentId).collect(Collectors.toSet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
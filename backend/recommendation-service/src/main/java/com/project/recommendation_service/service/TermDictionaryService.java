@@ -0,0 +1,87 @@
+package com.project.recommendation_service.service;
+
+import com.project.recommendation_service.domain.entity.TermDictionary;
+import com.project.recommendation_service.domain.enums.TermType;
+import com.project.recommendation_service.repository.TermDictionaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TermDictionaryService {
+
+    // Never assigned by the identity column, used so "IN (:ids)" stays valid when nothing resolves
+    public static final int UNKNOWN_TERM_ID = -1;
+
+    private final TermDictionaryRepository termDictionaryRepository;
+
+    private final Map<TermType, Map<String, Integer>> cache = new ConcurrentHashMap<>();
+
+    // Own transaction so a cached id can never point at a rolled-back dictionary row
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Set<Integer> assignIds(TermType type, Set<String> terms) {
+        if (terms == null || terms.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<String> missing = collectMissing(type, terms);
+        if (!missing.isEmpty()) {
+            missing.forEach(term -> termDictionaryRepository.insertIfAbsent(type.name(), term));
+            load(type, missing);
+            log.info("Dictionary assigned ids for {} new {} terms", missing.size(), type);
+        }
+
+        return toIds(type, terms);
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Integer> lookupIds(TermType type, Set<String> terms) {
+        if (terms == null || terms.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<String> missing = collectMissing(type, terms);
+        if (!missing.isEmpty()) {
+            load(type, missing);
+        }
+
+        return toIds(type, terms);
+    }
+
+    private Set<String> collectMissing(TermType type, Set<String> terms) {
+        Map<String, Integer> ids = cache.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        Set<String> missing = new HashSet<>();
+        for (String term : terms) {
+            if (!ids.containsKey(term)) {
+                missing.add(term);
+            }
+        }
+        return missing;
+    }
+
+    private void load(TermType type, Set<String> terms) {
+        Map<String, Integer> ids = cache.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        for (TermDictionary entry : termDictionaryRepository.findByTypeAndTermIn(type, terms)) {
+            ids.put(entry.getTerm(), entry.getId());
+        }
+    }
+
+    private Set<Integer> toIds(TermType type, Set<String> terms) {
+        Map<String, Integer> ids = cache.get(type);
+        Set<Integer> result = new HashSet<>();
+        for (String term : terms) {
+            Integer id = ids.get(term);
+            if (id != null) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+}
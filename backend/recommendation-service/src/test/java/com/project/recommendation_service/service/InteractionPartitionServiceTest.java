@@ -0,0 +1,122 @@
+package com.project.recommendation_service.service;
+
+import com.project.recommendation_service.domain.entity.RankingProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InteractionPartitionService Tests")
+class InteractionPartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RankingProfileService rankingProfileService;
+
+    private RankingProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = RankingProfile.builder()
+                .name("default")
+                .likedPower(2)
+                .commentPower(4)
+                .dislikePower(-5)
+                .sharePower(6)
+                .interactionTimeHalfLife(45.0)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should create the current month and the months ahead, rolling over into the next year")
+    void testCreateUpcomingPartitions() {
+        service(13, false).createUpcomingPartitions();
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= 13; i++) {
+            YearMonth month = current.plusMonths(i);
+            verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS " + name(month)
+                    + " PARTITION OF users_interaction"
+                    + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        verify(jdbcTemplate, never()).execute(contains(name(current.plusMonths(14))));
+    }
+
+    @Test
+    @DisplayName("Should fold and detach only the months that left the hot window")
+    void testRollupExpiredPartitions() {
+        YearMonth expired = YearMonth.now().minusMonths(6);
+        YearMonth hot = YearMonth.now();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("users_interaction")))
+                .thenReturn(List.of(name(expired), name(hot), "users_interaction_default"));
+        when(rankingProfileService.getDefault()).thenReturn(profile);
+
+        service(2, false).rollupExpiredPartitions();
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(contains("INSERT INTO user_affinity_rollup"),
+                eq(2), eq(4), eq(-5), eq(6), eq(45.0), eq(Date.valueOf(expired.atDay(1))), eq(45.0));
+        order.verify(jdbcTemplate).execute("ALTER TABLE users_interaction DETACH PARTITION " + name(expired));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION " + name(hot)));
+        verify(jdbcTemplate, never()).execute(contains("DROP TABLE"));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should drop a folded partition when the retention policy asks for it")
+    void testRollupDropsDetached() {
+        YearMonth expired = YearMonth.now().minusMonths(6);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("users_interaction")))
+                .thenReturn(List.of(name(expired)));
+        when(rankingProfileService.getDefault()).thenReturn(profile);
+
+        service(2, true).rollupExpiredPartitions();
+
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS " + name(expired));
+    }
+
+    @Test
+    @DisplayName("Should leave an unpartitioned table alone")
+    void testNightlyMaintenanceSkipsUnpartitioned() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq("users_interaction")))
+                .thenReturn(false);
+
+        service(2, false).nightlyMaintenance();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(rankingProfileService, never()).getDefault();
+    }
+
+    private InteractionPartitionService service(int monthsAhead, boolean dropDetached) {
+        return new InteractionPartitionService(jdbcTemplate, transactionManager, rankingProfileService,
+                monthsAhead, 90, dropDetached);
+    }
+
+    private static String name(YearMonth month) {
+        return String.format("users_interaction_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
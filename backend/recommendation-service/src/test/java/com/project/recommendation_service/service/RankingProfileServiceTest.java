@@ -0,0 +1,106 @@
+package com.project.recommendation_service.service;
+
+import com.project.recommendation_service.domain.entity.RankingProfile;
+import com.project.recommendation_service.repository.RankingProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RankingProfileService Tests")
+class RankingProfileServiceTest {
+
+    @Mock
+    private RankingProfileRepository rankingProfileRepository;
+
+    private RankingProfileService rankingProfileService;
+
+    @BeforeEach
+    void setUp() {
+        rankingProfileService = new RankingProfileService(rankingProfileRepository, "default");
+    }
+
+    @Test
+    @DisplayName("Should pick up edited profiles on the next reload")
+    void testReloadPicksUpEdits() {
+        when(rankingProfileRepository.findAll())
+                .thenReturn(List.of(profile("default", 2)))
+                .thenReturn(List.of(profile("default", 3), profile("fresh", 1)));
+
+        rankingProfileService.reload();
+        assertThat(rankingProfileService.getDefault().getLikedPower()).isEqualTo(2);
+        assertThat(rankingProfileService.find("fresh")).isEmpty();
+
+        rankingProfileService.reload();
+        assertThat(rankingProfileService.getDefault().getLikedPower()).isEqualTo(3);
+        assertThat(rankingProfileService.get("fresh").getLikedPower()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the built-in constants before anything is loaded")
+    void testDefaultBeforeLoad() {
+        RankingProfile profile = rankingProfileService.getDefault();
+
+        assertThat(profile.getName()).isEqualTo("default");
+        assertThat(profile.getLikedPower()).isEqualTo(2);
+        assertThat(profile.getInteractionTimeHalfLife()).isEqualTo(45.0);
+    }
+
+    @Test
+    @DisplayName("Should seed the default profile once at startup")
+    void testStartupSeedsDefault() {
+        when(rankingProfileRepository.existsById("default")).thenReturn(false);
+
+        rankingProfileService.atStartup();
+
+        verify(rankingProfileRepository).save(any(RankingProfile.class));
+        verify(rankingProfileRepository).findAll();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown names and non-positive half-lives")
+    void testRejectsInvalid() {
+        assertThatThrownBy(() -> rankingProfileService.get("missing"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        RankingProfile broken = profile("broken", 2).toBuilder().interactionTimeHalfLife(0).build();
+        assertThatThrownBy(() -> rankingProfileService.save(broken))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(rankingProfileRepository, never()).save(any(RankingProfile.class));
+    }
+
+    @Test
+    @DisplayName("Should reload right after a profile is saved")
+    void testSaveReloads() {
+        RankingProfile saved = profile("fresh", 5);
+        when(rankingProfileRepository.save(saved)).thenReturn(saved);
+        when(rankingProfileRepository.findAll()).thenReturn(List.of(saved));
+
+        rankingProfileService.save(saved);
+
+        assertThat(saved.getUpdatedAt()).isNotNull();
+        assertThat(rankingProfileService.get("fresh").getLikedPower()).isEqualTo(5);
+    }
+
+    private static RankingProfile profile(String name, int likedPower) {
+        return RankingProfile.builder()
+                .name(name)
+                .likedPower(likedPower)
+                .interactionIndexHalfLife(20.0)
+                .interactionTimeHalfLife(45.0)
+                .contentTimeHalfLife(30.0)
+                .build();
+    }
+}
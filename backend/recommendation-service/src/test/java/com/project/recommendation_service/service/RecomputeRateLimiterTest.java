@@ -0,0 +1,62 @@
+package com.project.recommendation_service.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecomputeRateLimiter Tests")
+class RecomputeRateLimiterTest {
+
+    @Test
+    @DisplayName("Should never block when no rate is configured")
+    void testUnlimited() {
+        RecomputeRateLimiter rateLimiter = new RecomputeRateLimiter(0);
+
+        long elapsed = time(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                rateLimiter.acquire();
+            }
+        });
+
+        assertThat(elapsed).isLessThan(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    @DisplayName("Should space permits evenly at the configured rate")
+    void testSpacesPermits() {
+        RecomputeRateLimiter rateLimiter = new RecomputeRateLimiter(100);
+
+        // The first permit is free, the next 20 are 10 ms apart
+        long elapsed = time(() -> {
+            for (int i = 0; i < 21; i++) {
+                rateLimiter.acquire();
+            }
+        });
+
+        assertThat(elapsed).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(190));
+    }
+
+    @Test
+    @DisplayName("Should hand out one permit right away after idling, without saving up a burst")
+    void testRefillAfterIdle() throws InterruptedException {
+        RecomputeRateLimiter rateLimiter = new RecomputeRateLimiter(10);
+        rateLimiter.acquire();
+
+        Thread.sleep(350);
+
+        long first = time(rateLimiter::acquire);
+        long second = time(rateLimiter::acquire);
+
+        assertThat(first).isLessThan(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(second).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    private static long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+}
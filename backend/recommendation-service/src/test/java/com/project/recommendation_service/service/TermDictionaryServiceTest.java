@@ -0,0 +1,97 @@
+package com.project.recommendation_service.service;
+
+import com.project.recommendation_service.domain.entity.TermDictionary;
+import com.project.recommendation_service.domain.enums.TermType;
+import com.project.recommendation_service.repository.TermDictionaryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TermDictionaryService Tests")
+class TermDictionaryServiceTest {
+
+    @Mock
+    private TermDictionaryRepository termDictionaryRepository;
+
+    @InjectMocks
+    private TermDictionaryService termDictionaryService;
+
+    @Test
+    @DisplayName("Should insert unknown terms and return their dictionary ids")
+    void testAssignIdsInsertsMissingTerms() {
+        when(termDictionaryRepository.findByTypeAndTermIn(TermType.TAG, Set.of("anime", "music")))
+                .thenReturn(List.of(entry(1, TermType.TAG, "anime"), entry(2, TermType.TAG, "music")));
+
+        Set<Integer> ids = termDictionaryService.assignIds(TermType.TAG, Set.of("anime", "music"));
+
+        assertThat(ids).containsExactlyInAnyOrder(1, 2);
+        verify(termDictionaryRepository).insertIfAbsent("TAG", "anime");
+        verify(termDictionaryRepository).insertIfAbsent("TAG", "music");
+    }
+
+    @Test
+    @DisplayName("Should serve known terms from the cache without touching the repository")
+    void testAssignIdsUsesCache() {
+        when(termDictionaryRepository.findByTypeAndTermIn(TermType.TAG, Set.of("anime")))
+                .thenReturn(List.of(entry(1, TermType.TAG, "anime")));
+        termDictionaryService.assignIds(TermType.TAG, Set.of("anime"));
+
+        Set<Integer> ids = termDictionaryService.assignIds(TermType.TAG, Set.of("anime"));
+
+        assertThat(ids).containsExactly(1);
+        verify(termDictionaryRepository, times(1)).insertIfAbsent(anyString(), anyString());
+        verify(termDictionaryRepository, times(1)).findByTypeAndTermIn(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the ids of different term types apart")
+    void testIdsArePerType() {
+        when(termDictionaryRepository.findByTypeAndTermIn(TermType.TAG, Set.of("action")))
+                .thenReturn(List.of(entry(1, TermType.TAG, "action")));
+        when(termDictionaryRepository.findByTypeAndTermIn(TermType.GENRE, Set.of("action")))
+                .thenReturn(List.of(entry(7, TermType.GENRE, "action")));
+
+        assertThat(termDictionaryService.assignIds(TermType.TAG, Set.of("action"))).containsExactly(1);
+        assertThat(termDictionaryService.assignIds(TermType.GENRE, Set.of("action"))).containsExactly(7);
+    }
+
+    @Test
+    @DisplayName("Should never insert while looking up and leave unknown terms out")
+    void testLookupIdsDoesNotInsert() {
+        when(termDictionaryRepository.findByTypeAndTermIn(TermType.TAG, Set.of("anime", "unknown")))
+                .thenReturn(List.of(entry(1, TermType.TAG, "anime")));
+
+        Set<Integer> ids = termDictionaryService.lookupIds(TermType.TAG, Set.of("anime", "unknown"));
+
+        assertThat(ids).containsExactly(1);
+        verify(termDictionaryRepository, never()).insertIfAbsent(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should return an empty set for empty or null terms")
+    void testEmptyTerms() {
+        assertThat(termDictionaryService.assignIds(TermType.TAG, Set.of())).isEmpty();
+        assertThat(termDictionaryService.lookupIds(TermType.TAG, null)).isEmpty();
+        verifyNoInteractions(termDictionaryRepository);
+    }
+
+    private static TermDictionary entry(int id, TermType type, String term) {
+        return TermDictionary.builder().id(id).type(type).term(term).build();
+    }
+}
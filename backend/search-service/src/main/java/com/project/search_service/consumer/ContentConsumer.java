@@ -0,0 +1,60 @@
+package com.project.search_service.consumer;
+
+import com.project.search_service.domain.dto.kafka.KafkaDto;
+import com.project.search_service.domain.enums.KafkaDomain;
+import com.project.search_service.service.BulkIndexer;
+import com.project.search_service.service.ContentService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@Profile("!lucene")
+public class ContentConsumer extends AbstractConsumerSeekAware {
+
+    private final ContentService contentService;
+    private final BulkIndexer bulkIndexer;
+
+    public ContentConsumer(ContentService contentService, BulkIndexer bulkIndexer) {
+        this.contentService = contentService;
+        this.bulkIndexer = bulkIndexer;
+    }
+
+    // Same batching as the user events; the topic carries KafkaDto rather than DataTransfer
+    @KafkaListener(topics = "ContentRecommendation", groupId = "search", batch = "true",
+            properties = "spring.json.value.default.type=com.project.search_service.domain.dto.kafka.KafkaDto")
+    public void consumeBatch(List<ConsumerRecord<String, KafkaDto>> records) {
+        for (ConsumerRecord<String, KafkaDto> record : records) {
+            KafkaDto event = record.value();
+            if (event == null || event.getMap() == null) {
+                log.info("Empty content record at offset : {}", record.offset());
+                continue;
+            }
+            if (event.getTopicType() == null || !(event.getMap().get(KafkaDomain.CONTENT_ID.toString()) instanceof String)) {
+                log.error("Content event without type or content id at offset : {}", record.offset());
+                continue;
+            }
+            event.setPartition(record.partition());
+            event.setOffset(record.offset());
+            try {
+                contentService.apply(event);
+            } catch (IllegalArgumentException | ClassCastException e) {
+                log.error("Invalid content event at offset {} : {}", record.offset(), event.getTopicType(), e);
+            }
+        }
+        bulkIndexer.flush();
+    }
+
+    // Replays the whole topic into a freshly created index, the large batches go through the bulk-load path
+    public void reindex() {
+        contentService.recreateIndex();
+        seekToBeginning();
+        log.info("Content topic rewound for reindex");
+    }
+}
@@ -3,21 +3,43 @@ package com.project.search_service.consumer;
 import com.project.search_service.domain.dto.kafka.DataTransfer;
 import com.project.search_service.domain.enums.KafkaDataTransferFields;
 import com.project.search_service.service.KafkaService;
+import com.project.search_service.service.SearchBackend;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 public class KafkaConsumers {
 
     private final KafkaService kafkaService;
+    private final SearchBackend searchBackend;
 
-    public KafkaConsumers(KafkaService kafkaService) {
+    public KafkaConsumers(KafkaService kafkaService, SearchBackend searchBackend) {
         this.kafkaService = kafkaService;
+        this.searchBackend = searchBackend;
+    }
+
+    // One poll at a time; its writes are flushed to the backend before the offsets are committed.
+    // The record position versions the writes, so replays never overwrite newer data
+    @KafkaListener(topics = "SaveUserDatabase", batch = "true")
+    public void consumeBatch(List<ConsumerRecord<String, DataTransfer>> records) {
+        for (ConsumerRecord<String, DataTransfer> record : records) {
+            DataTransfer transfer = record.value();
+            if (transfer == null) {
+                log.info("Empty Kafka record at offset : {}", record.offset());
+                continue;
+            }
+            transfer.setPartition(record.partition());
+            transfer.setOffset(record.offset());
+            consumers(transfer);
+        }
+        searchBackend.flush();
     }
 
-    @KafkaListener(topics = "SaveUserDatabase")
     public void consumers(DataTransfer transfer) {
         if (transfer.getType().equals(KafkaDataTransferFields.USER_SAVE.toString())) {
             kafkaService.createUser(transfer);
@@ -25,7 +47,9 @@ public class KafkaConsumers {
             kafkaService.updateUser(transfer);
         } else if (transfer.getType().equals(KafkaDataTransferFields.GROUP_SAVE.toString())) {
             kafkaService.saveGroup(transfer);
-        }else {
+        } else if (transfer.getType().equals(KafkaDataTransferFields.GROUP_UPDATE.toString())) {
+            kafkaService.updateGroup(transfer);
+        } else {
             log.info("The Kafka Field is Undefined with type : {}", transfer.getType());
         }
     }
@@ -0,0 +1,159 @@
+package com.project.search_service.controller;
+
+import com.project.search_service.consumer.ContentConsumer;
+import com.project.search_service.domain.dto.BulkIndexStats;
+import com.project.search_service.domain.dto.ContentSearchResponseDto;
+import com.project.search_service.domain.dto.CursorPageDto;
+import com.project.search_service.domain.dto.FederatedSearchDto;
+import com.project.search_service.domain.dto.GroupSearchResponseDto;
+import com.project.search_service.domain.dto.IndexRebuildStatus;
+import com.project.search_service.domain.dto.QueryCacheStats;
+import com.project.search_service.domain.dto.SuggestionDto;
+import com.project.search_service.domain.dto.UserSearchResponseDto;
+import com.project.search_service.domain.enums.Permission;
+import com.project.search_service.service.BulkIndexer;
+import com.project.search_service.service.ContentService;
+import com.project.search_service.service.CursorSearchService;
+import com.project.search_service.service.FederatedSearchService;
+import com.project.search_service.service.IndexRebuildService;
+import com.project.search_service.service.QueryCache;
+import com.project.search_service.service.SuggestService;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Content search, cursors, typeahead and index administration, not available under the lucene profile
+@RestController
+@Profile("!lucene")
+@AllArgsConstructor
+public class ElasticsearchController {
+
+    private final ContentService contentService;
+    private final CursorSearchService cursorSearchService;
+    private final FederatedSearchService federatedSearchService;
+    private final SuggestService suggestService;
+    private final ContentConsumer contentConsumer;
+    private final BulkIndexer bulkIndexer;
+    private final IndexRebuildService indexRebuildService;
+    private final QueryCache queryCache;
+
+    // Cursor paged variants; pass nextCursor back until it is null, pit=true pins the results on the first call
+    @GetMapping("/user/search")
+    public ResponseEntity<CursorPageDto<UserSearchResponseDto>> searchUserByCursor(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean pit) {
+        return ResponseEntity.ok().body(cursorSearchService.searchUsers(keyword, cursor, pit));
+    }
+
+    @GetMapping("/group/search")
+    public ResponseEntity<CursorPageDto<GroupSearchResponseDto>> searchGroupByCursor(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean pit) {
+        return ResponseEntity.ok().body(cursorSearchService.searchGroups(keyword, cursor, pit));
+    }
+
+    // users, groups and content at once; each section pages on its own cursor, content needs content:search
+    @GetMapping("/all/get")
+    public ResponseEntity<FederatedSearchDto> searchAll(
+            @RequestParam String keyword,
+            @RequestParam(required = false) Set<String> section,
+            @RequestParam(required = false) String userCursor,
+            @RequestParam(required = false) String groupCursor,
+            @RequestParam(required = false) String contentCursor,
+            Authentication authentication) {
+        Set<String> sections = new HashSet<>(section == null || section.isEmpty()
+                ? Set.of(FederatedSearchService.USERS, FederatedSearchService.GROUPS, FederatedSearchService.CONTENT)
+                : section);
+        boolean contentAllowed = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> Permission.CONTENT_SEARCH.getPermission().equals(authority.getAuthority()));
+        if (!contentAllowed) {
+            sections.remove(FederatedSearchService.CONTENT);
+        }
+
+        Map<String, String> cursors = new HashMap<>();
+        cursors.put(FederatedSearchService.USERS, userCursor);
+        cursors.put(FederatedSearchService.GROUPS, groupCursor);
+        cursors.put(FederatedSearchService.CONTENT, contentCursor);
+        return ResponseEntity.ok().body(federatedSearchService.search(keyword, sections, cursors));
+    }
+
+    @GetMapping("/user/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggestUser(@RequestParam String prefix) {
+        return suggestResponse(suggestService.suggestUsers(prefix));
+    }
+
+    @GetMapping("/group/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggestGroup(@RequestParam String prefix) {
+        return suggestResponse(suggestService.suggestGroups(prefix));
+    }
+
+    @PreAuthorize("hasAuthority(T(com.project.search_service.domain.enums.Permission).CONTENT_SEARCH.getPermission())")
+    @GetMapping("/content/get")
+    public ResponseEntity<Page<ContentSearchResponseDto>> searchContent(
+            @RequestParam int page,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Set<String> genre,
+            @RequestParam(required = false) Set<String> category) {
+        return ResponseEntity.ok().body(contentService.searchContent(keyword, genre, category, page));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/content/reindex")
+    public ResponseEntity<Void> reindexContent() {
+        contentConsumer.reindex();
+        return ResponseEntity.accepted().build();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/index/stats")
+    public ResponseEntity<BulkIndexStats> getIndexStats() {
+        return ResponseEntity.ok().body(bulkIndexer.stats());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<QueryCacheStats> getCacheStats() {
+        return ResponseEntity.ok().body(queryCache.stats());
+    }
+
+    // users or groups; a rebuild already running is returned instead of starting another
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/index/rebuild/{alias}")
+    public ResponseEntity<IndexRebuildStatus> rebuildIndex(@PathVariable String alias) {
+        return ResponseEntity.accepted().body(indexRebuildService.start(alias));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/index/rebuild")
+    public ResponseEntity<List<IndexRebuildStatus>> getRebuildStatus() {
+        return ResponseEntity.ok().body(indexRebuildService.status());
+    }
+
+    // Tells clients how long to wait between keystrokes and from which length to start asking
+    private ResponseEntity<List<SuggestionDto>> suggestResponse(List<SuggestionDto> suggestions) {
+        return ResponseEntity.ok()
+                .header("X-Suggest-Debounce-Ms", String.valueOf(suggestService.getDebounceMillis()))
+                .header("X-Suggest-Min-Chars", String.valueOf(suggestService.getMinChars()))
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePrivate())
+                .body(suggestions);
+    }
+
+}
@@ -1,9 +1,9 @@
 package com.project.search_service.controller;
 
-import com.project.search_service.domain.dto.UserSearchResponseDto;
 import com.project.search_service.domain.dto.GroupSearchResponseDto;
-import com.project.search_service.service.UserService;
+import com.project.search_service.domain.dto.UserSearchResponseDto;
 import com.project.search_service.service.GroupService;
+import com.project.search_service.service.UserService;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
@@ -12,8 +12,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Set;
-
+// Served by whichever SearchBackend is active; Elasticsearch only endpoints are in ElasticsearchController
 @RestController
 @AllArgsConstructor
 public class SearchController {
@@ -0,0 +1,25 @@
+package com.project.search_service.domain.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkIndexStats {
+
+    // _bulk requests sent, retries included
+    private long requests;
+    private long documents;
+    // items given up on after a non retryable error or the last retry
+    private long failed;
+    private long retries;
+    private double avgBatchSize;
+    private double avgRequestMillis;
+    private double maxRequestMillis;
+    // documents written per second of time spent in _bulk requests
+    private double documentsPerSecond;
+    // refresh is relaxed while large batches keep arriving
+    private boolean bulkLoading;
+}
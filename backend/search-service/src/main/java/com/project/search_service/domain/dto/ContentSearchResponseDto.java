@@ -0,0 +1,28 @@
+package com.project.search_service.domain.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentSearchResponseDto {
+
+    private String id;
+    private String title;
+    private String bio;
+    private Set<String> tags;
+    private Set<String> genres;
+    private Set<String> categories;
+    private String userId;
+    private String username;
+    private String displayName;
+    private LocalDateTime created;
+    private long likeCount;
+    private long commentCount;
+    private long shareCount;
+}
@@ -0,0 +1,20 @@
+package com.project.search_service.domain.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> content;
+    // null on the last page
+    private String nextCursor;
+    // counted up to search.cursor.track-total-hits-up-to, null when counting is off
+    private Long total;
+    private boolean totalIsLowerBound;
+}
@@ -0,0 +1,22 @@
+package com.project.search_service.domain.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FederatedSearchDto {
+
+    // null when the section was not asked for or did not answer in time
+    private CursorPageDto<UserSearchResponseDto> users;
+    private CursorPageDto<GroupSearchResponseDto> groups;
+    private CursorPageDto<ContentSearchResponseDto> content;
+
+    // sections cut off by the deadline or failed, the others are complete
+    private List<String> timedOut;
+    private List<String> failed;
+}
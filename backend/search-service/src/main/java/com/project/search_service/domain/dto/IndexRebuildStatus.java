@@ -0,0 +1,25 @@
+package com.project.search_service.domain.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexRebuildStatus {
+
+    // alias being rebuilt, users or groups
+    private String alias;
+    // physical index the alias is moved to
+    private String index;
+    // RUNNING, SWAPPING, DONE or FAILED
+    private String state;
+    private long exported;
+    private double documentsPerSecond;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
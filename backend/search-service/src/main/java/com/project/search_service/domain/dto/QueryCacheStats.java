@@ -0,0 +1,20 @@
+package com.project.search_service.domain.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class QueryCacheStats {
+
+    private long hits;
+    private long misses;
+    // misses whose results were stored, the query being one of the heavy hitters
+    private long admitted;
+    // hits on an entry written before the last write to its index
+    private long stale;
+    private int size;
+    private double hitRatio;
+}
@@ -17,4 +17,8 @@ public class SearchGroupDto {
     private String leaderUsername;
     private String leaderDisplayName;
 
+    // Kafka position of the source event
+    private int partition;
+
+    private long offset;
 }
@@ -18,4 +18,9 @@ public class SearchUserDto {
     private String displayName;
 
     private String bio;
+
+    // Kafka position of the source event
+    private int partition;
+
+    private long offset;
 }
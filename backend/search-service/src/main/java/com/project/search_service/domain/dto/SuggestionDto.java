@@ -0,0 +1,16 @@
+package com.project.search_service.domain.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+
+    private String id;
+    // username of a user, groupName of a group
+    private String name;
+    private String displayName;
+}
@@ -0,0 +1,14 @@
+package com.project.search_service.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// UserSearchResponseDto built from a Users hit, for queries that do not go through the repository
+@Getter
+@AllArgsConstructor
+public class UserSearchHit implements UserSearchResponseDto {
+
+    private String id;
+    private String username;
+    private String displayName;
+}
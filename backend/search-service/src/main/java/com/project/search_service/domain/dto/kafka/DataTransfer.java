@@ -12,4 +12,9 @@ import java.util.Map;
 public class DataTransfer {
     private String type;
     private Map<String , String> map;
+
+    // Taken from the consumed record, not part of the event
+    private int partition;
+
+    private long offset;
 }
@@ -0,0 +1,22 @@
+package com.project.search_service.domain.dto.kafka;
+
+import lombok.*;
+
+import java.util.Map;
+
+// Event shape published by content-service on ContentRecommendation
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class KafkaDto {
+
+    private String TopicType;
+    private Map<String , Object> map;
+
+    // Taken from the consumed record, not part of the event
+    private int partition;
+
+    private long offset;
+}
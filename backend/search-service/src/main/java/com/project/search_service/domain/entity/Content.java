@@ -0,0 +1,73 @@
+package com.project.search_service.domain.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(indexName = "content")
+public class Content {
+
+    @Id
+    private String id;
+
+    @Field(name = "title", type = FieldType.Text, analyzer = "standard")
+    private String title;
+
+    @Field(name = "bio", type = FieldType.Text, analyzer = "standard")
+    private String bio;
+
+    @Field(name = "tags", type = FieldType.Text, analyzer = "standard")
+    private Set<String> tags;
+
+    // enum names from content-service, filtered on exactly
+    @Field(name = "genres", type = FieldType.Keyword)
+    private Set<String> genres;
+
+    @Field(name = "categories", type = FieldType.Keyword)
+    private Set<String> categories;
+
+    @Field(name = "user_id", type = FieldType.Keyword)
+    private String userId;
+
+    @Field(name = "username", type = FieldType.Keyword)
+    private String username;
+
+    @Field(name = "display_name", type = FieldType.Text, analyzer = "standard")
+    private String displayName;
+
+    @Field(name = "created", type = FieldType.Date, format = DateFormat.date_hour_minute_second_millis)
+    private LocalDateTime created;
+
+    // Reaction counters, moved by ContentService's periodic increments
+    @Field(name = "like_count", type = FieldType.Long)
+    private Long likeCount;
+
+    @Field(name = "dislike_count", type = FieldType.Long)
+    private Long dislikeCount;
+
+    @Field(name = "comment_count", type = FieldType.Long)
+    private Long commentCount;
+
+    @Field(name = "share_count", type = FieldType.Long)
+    private Long shareCount;
+
+    private Boolean enable;
+
+    // Kafka position of the last event applied, written by BulkIndexer's versioned upserts
+    @Field(name = "event_partition", type = FieldType.Integer)
+    private Integer eventPartition;
+
+    @Field(name = "event_version", type = FieldType.Long)
+    private Long eventVersion;
+}
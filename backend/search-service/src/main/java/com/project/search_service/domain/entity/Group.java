@@ -5,6 +5,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 
 @Getter
 @Setter
@@ -17,7 +19,10 @@ public class Group {
     @Id
     private String id;
 
-    @Field(name = "groupName", type = FieldType.Text)
+    // .suggest is edge n-grammed for the autocomplete endpoint
+    @MultiField(
+            mainField = @Field(name = "groupName", type = FieldType.Text),
+            otherFields = @InnerField(suffix = "suggest", type = FieldType.Search_As_You_Type))
     private String groupName;
 
     @Field(name = "bio", type = FieldType.Text, analyzer = "standard")
@@ -30,4 +35,11 @@ public class Group {
     private String leaderDisplayName;
 
     private Boolean enable;
+
+    // Kafka position of the last event applied, written by BulkIndexer's versioned upserts
+    @Field(name = "event_partition", type = FieldType.Integer)
+    private Integer eventPartition;
+
+    @Field(name = "event_version", type = FieldType.Long)
+    private Long eventVersion;
 }
@@ -5,6 +5,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 
 import java.util.UUID;
 
@@ -19,14 +21,26 @@ public class Users {
     @Id
     private String id;
 
-    @Field(name = "username", type = FieldType.Text)
+    // .suggest is edge n-grammed for the autocomplete endpoint
+    @MultiField(
+            mainField = @Field(name = "username", type = FieldType.Text),
+            otherFields = @InnerField(suffix = "suggest", type = FieldType.Search_As_You_Type))
     private String username;
 
-    @Field(name = "display_name", type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(name = "display_name", type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "suggest", type = FieldType.Search_As_You_Type))
     private String displayName;
 
     @Field(name = "bio", type = FieldType.Text, analyzer = "standard")
     private String bio;
 
     private Boolean enable;
+
+    // Kafka position of the last event applied, written by BulkIndexer's versioned upserts
+    @Field(name = "event_partition", type = FieldType.Integer)
+    private Integer eventPartition;
+
+    @Field(name = "event_version", type = FieldType.Long)
+    private Long eventVersion;
 }
@@ -0,0 +1,14 @@
+package com.project.search_service.domain.enums;
+
+public enum KafkaDomain {
+    CONTENT_ID,
+    CONTENT_TITLE,
+    CONTENT_GENRE,
+    CONTENT_CATEGORY,
+    CONTENT_TAG,
+    CONTENT_BIO,
+    TIME_OF_CREATION,
+    USER_ID,
+    USERNAME,
+    DISPLAY_NAME
+}
@@ -0,0 +1,16 @@
+package com.project.search_service.domain.enums;
+
+public enum KafkaType {
+    CREATE,
+    LIKE,
+    DISLIKE,
+    SHARE,
+    COMMENT,
+    DELETE,
+    DISABLE,
+    ENABLE,
+    REMOVE_LIKE,
+    REMOVE_DISLIKE,
+    CHANGE_TO_LIKE,
+    CHANGE_TO_DISLIKE
+}
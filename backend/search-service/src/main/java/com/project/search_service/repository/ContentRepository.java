@@ -0,0 +1,10 @@
+package com.project.search_service.repository;
+
+import com.project.search_service.domain.entity.Content;
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.data.elasticsearch.repository.config.EnableElasticsearchRepositories;
+
+// Keyword search needs optional filters and a function score, so it is built in ContentSearchService
+@EnableElasticsearchRepositories
+public interface ContentRepository extends ElasticsearchRepository<Content, String> {
+}
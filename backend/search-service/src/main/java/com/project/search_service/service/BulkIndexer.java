@@ -0,0 +1,415 @@
+package com.project.search_service.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.json.JsonData;
+import com.project.search_service.domain.dto.BulkIndexStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Buffers document writes and sends them as _bulk requests, cut by action count and payload
+ * size, and always at the end of a Kafka batch so offsets are only committed once the writes
+ * are in. Items rejected for load (429 / 5xx) are retried with backoff; anything else is logged
+ * and dropped so one bad document never blocks the topic. While batches keep arriving at the
+ * bulk-load size the written indices refresh less often, and go back to normal afterwards.
+ * Writes are buffered per calling thread and a flush only sends the caller's own, so the Kafka
+ * listeners, the counter flush and a rebuild backfill never send or fail each other's writes.
+ */
+@Slf4j
+@Service
+@Profile("!lucene")
+public class BulkIndexer {
+
+    private static final Set<Integer> RETRYABLE = Set.of(429, 502, 503, 504);
+
+    // Applies the fields unless the document already holds a later event of the same partition;
+    // replays and redeliveries then become no-ops and the index converges on the latest event
+    private static final String VERSIONED_UPDATE = """
+            if (ctx._source.event_partition == params.partition && ctx._source.event_version != null
+                    && ctx._source.event_version >= params.version) {
+              ctx.op = 'none';
+            } else {
+              for (entry in params.fields.entrySet()) {
+                ctx._source[entry.getKey()] = entry.getValue();
+              }
+              ctx._source.event_partition = params.partition;
+              ctx._source.event_version = params.version;
+            }
+            """;
+
+    // Adds counter deltas, never below zero. Sent as a scripted upsert: the create of a new post
+    // may still sit in a listener's buffer, it then fills in the rest without touching the counters
+    private static final String INCREMENT = """
+            for (entry in params.deltas.entrySet()) {
+              def current = ctx._source[entry.getKey()];
+              ctx._source[entry.getKey()] = Math.max(0, (current == null ? 0 : current) + entry.getValue());
+            }
+            """;
+
+    // Fills only the fields a document does not have yet, so a backfilled snapshot never
+    // overwrites what a live event already wrote into the new index
+    private static final String FILL = """
+            for (entry in params.fields.entrySet()) {
+              if (ctx._source[entry.getKey()] == null) {
+                ctx._source[entry.getKey()] = entry.getValue();
+              }
+            }
+            """;
+
+    private record Pending(String index, String id, BulkOperation operation, long bytes) {
+    }
+
+    private static final class Buffer {
+        private final List<Pending> pending = new ArrayList<>();
+        private long bytes;
+    }
+
+    private final ElasticsearchClient client;
+    private final ElasticsearchConverter converter;
+    private final int maxActions;
+    private final long maxBytes;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final int bulkLoadThreshold;
+    private final String refreshInterval;
+    private final String bulkRefreshInterval;
+
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+    private final Set<String> loadingIndices = new HashSet<>();
+    // bumped after every bulk request touching an index, QueryCache drops results older than it
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    // alias -> index being rebuilt for it, which receives a copy of every write to the alias
+    private final Map<String, String> shadows = new ConcurrentHashMap<>();
+    private volatile boolean bulkLoading;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder requestNanos = new LongAdder();
+    private final AtomicLong maxRequestNanos = new AtomicLong();
+
+    public BulkIndexer(
+            ElasticsearchClient client,
+            ElasticsearchConverter converter,
+            @Value("${search.bulk.max-actions:1000}") int maxActions,
+            @Value("${search.bulk.max-bytes:5242880}") long maxBytes,
+            @Value("${search.bulk.max-retries:3}") int maxRetries,
+            @Value("${search.bulk.retry-backoff-millis:200}") long retryBackoffMillis,
+            @Value("${search.bulk.load-threshold:200}") int bulkLoadThreshold,
+            @Value("${search.bulk.refresh-interval:1s}") String refreshInterval,
+            @Value("${search.bulk.load-refresh-interval:30s}") String bulkRefreshInterval) {
+        this.client = client;
+        this.converter = converter;
+        this.maxActions = maxActions;
+        this.maxBytes = maxBytes;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.bulkLoadThreshold = bulkLoadThreshold;
+        this.refreshInterval = refreshInterval;
+        this.bulkRefreshInterval = bulkRefreshInterval;
+    }
+
+    // Whole document write, into the index of the entity's @Document
+    public void index(String id, Object entity) {
+        Document document = converter.mapObject(entity);
+        add(indexOf(entity.getClass()), id, document.toJson().length(),
+                index -> BulkOperation.of(o -> o.index(i -> i.index(index).id(id).document(document))));
+    }
+
+    // Whole document from an event, applied only if no later event reached it first
+    public void upsert(String id, Object entity, int partition, long offset) {
+        Document document = converter.mapObject(entity);
+        addVersioned(indexOf(entity.getClass()), id, document, partition, offset);
+    }
+
+    // Partial update from an event, keyed by entity property names; null values are left out
+    public void update(String id, Class<?> type, Map<String, Object> properties, int partition, long offset) {
+        ElasticsearchPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(type);
+        Map<String, Object> fields = new HashMap<>();
+        properties.forEach((property, value) -> {
+            if (value != null) {
+                fields.put(entity.getRequiredPersistentProperty(property).getFieldName(), value);
+            }
+        });
+        if (fields.isEmpty()) {
+            return;
+        }
+        addVersioned(entity.getIndexCoordinates().getIndexName(), id, fields, partition, offset);
+    }
+
+    // Deletes of documents that are already gone come back as 404 and are ignored
+    public void delete(String id, Class<?> type) {
+        add(indexOf(type), id, id.length() + 64, index -> BulkOperation.of(o -> o.delete(d -> d.index(index).id(id))));
+    }
+
+    // Counter deltas keyed by entity property names, not versioned as they are summed before sending.
+    // A document created by the counters alone has no enable flag, so searches skip it
+    public void increment(String id, Class<?> type, Map<String, Long> deltas) {
+        ElasticsearchPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(type);
+        Map<String, Long> fields = new HashMap<>();
+        deltas.forEach((property, delta) -> {
+            if (delta != null && delta != 0) {
+                fields.put(entity.getRequiredPersistentProperty(property).getFieldName(), delta);
+            }
+        });
+        if (fields.isEmpty()) {
+            return;
+        }
+        add(entity.getIndexCoordinates().getIndexName(), id, INCREMENT.length() + fields.size() * 32L,
+                index -> BulkOperation.of(o -> o.update(u -> u
+                        .index(index)
+                        .id(id)
+                        .action(a -> a
+                                .script(script -> script
+                                        .source(s -> s.scriptString(INCREMENT))
+                                        .lang("painless")
+                                        .params("deltas", JsonData.of(fields)))
+                                .scriptedUpsert(true)
+                                .upsert(Map.of())))));
+    }
+
+    // Backfill write of a whole entity into the given physical index, see FILL
+    public void fill(String index, String id, Object entity) {
+        Document document = converter.mapObject(entity);
+        Map<String, JsonData> params = Map.of("fields", JsonData.of(document));
+        BulkOperation operation = BulkOperation.of(o -> o.update(u -> u
+                .index(index)
+                .id(id)
+                .action(a -> a
+                        .script(script -> script.source(s -> s.scriptString(FILL)).lang("painless").params(params))
+                        .scriptedUpsert(true)
+                        .upsert(Map.of()))));
+        addPending(new Pending(index, id, operation, FILL.length() + document.toJson().length()));
+    }
+
+    // Until stopShadow, writes to the alias are also sent to the index, each with its own result
+    public void startShadow(String alias, String index) {
+        shadows.put(alias, index);
+    }
+
+    public void stopShadow(String alias) {
+        shadows.remove(alias);
+    }
+
+    // Sends what the calling thread has buffered; a failure is thrown to that caller only
+    public void flush() {
+        Buffer buffer = buffers.get();
+        if (buffer.pending.isEmpty()) {
+            return;
+        }
+        List<Pending> batch = new ArrayList<>(buffer.pending);
+        buffer.pending.clear();
+        buffer.bytes = 0;
+        send(batch);
+    }
+
+    // Drops what the calling thread has buffered, for a caller giving up on its writes
+    public void discard() {
+        Buffer buffer = buffers.get();
+        buffer.pending.clear();
+        buffer.bytes = 0;
+    }
+
+    public long generation(String index) {
+        AtomicLong generation = generations.get(index);
+        return generation == null ? 0 : generation.get();
+    }
+
+    // For changes made outside of bulk requests, like moving an alias to a rebuilt index
+    public void markWritten(String index) {
+        generations.computeIfAbsent(index, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public BulkIndexStats stats() {
+        long count = requests.sum();
+        double seconds = requestNanos.sum() / 1_000_000_000.0;
+        return BulkIndexStats.builder()
+                .requests(count)
+                .documents(documents.sum())
+                .failed(failed.sum())
+                .retries(retries.sum())
+                .avgBatchSize(count == 0 ? 0 : (double) (documents.sum() + failed.sum()) / count)
+                .avgRequestMillis(count == 0 ? 0 : requestNanos.sum() / 1_000_000.0 / count)
+                .maxRequestMillis(maxRequestNanos.get() / 1_000_000.0)
+                .documentsPerSecond(seconds == 0 ? 0 : documents.sum() / seconds)
+                .bulkLoading(bulkLoading)
+                .build();
+    }
+
+    // A scripted upsert, so an update reaching a missing document still creates it
+    private void addVersioned(String index, String id, Map<String, Object> fields, int partition, long offset) {
+        Map<String, JsonData> params = Map.of(
+                "fields", JsonData.of(fields),
+                "partition", JsonData.of(partition),
+                "version", JsonData.of(offset));
+        long bytes = VERSIONED_UPDATE.length() + fields.values().stream()
+                .mapToLong(value -> String.valueOf(value).length() + 16)
+                .sum();
+        add(index, id, bytes, target -> BulkOperation.of(o -> o.update(u -> u
+                .index(target)
+                .id(id)
+                .action(a -> a
+                        .script(script -> script.source(s -> s.scriptString(VERSIONED_UPDATE)).lang("painless").params(params))
+                        .scriptedUpsert(true)
+                        .upsert(Map.of())))));
+    }
+
+    private void add(String index, String id, long bytes, Function<String, BulkOperation> operation) {
+        addPending(new Pending(index, id, operation.apply(index), bytes));
+        String shadow = shadows.get(index);
+        if (shadow != null) {
+            addPending(new Pending(shadow, id, operation.apply(shadow), bytes));
+        }
+    }
+
+    private void addPending(Pending pending) {
+        Buffer buffer = buffers.get();
+        buffer.pending.add(pending);
+        buffer.bytes += pending.bytes();
+        if (buffer.pending.size() >= maxActions || buffer.bytes >= maxBytes) {
+            flush();
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        boolean large = batch.size() >= bulkLoadThreshold;
+        if (large) {
+            startBulkLoad(batch);
+        }
+
+        List<Pending> remaining = batch;
+        for (int attempt = 0; !remaining.isEmpty(); attempt++) {
+            if (attempt > 0) {
+                retries.add(remaining.size());
+                sleep(retryBackoffMillis << (attempt - 1));
+            }
+            try {
+                remaining = execute(remaining);
+            } catch (IOException | ElasticsearchException e) {
+                if (attempt >= maxRetries) {
+                    // rethrown so the listener container redelivers the Kafka batch
+                    throw new IllegalStateException("Bulk request of " + remaining.size() + " actions failed", e);
+                }
+                log.warn("Bulk request of {} actions failed, retrying : {}", remaining.size(), e.getMessage());
+                continue;
+            }
+            if (!remaining.isEmpty() && attempt >= maxRetries) {
+                failed.add(remaining.size());
+                log.error("Giving up on {} bulk actions after {} retries, first : {}/{}",
+                        remaining.size(), maxRetries, remaining.getFirst().index(), remaining.getFirst().id());
+                break;
+            }
+        }
+
+        batch.stream().map(Pending::index).distinct().forEach(this::markWritten);
+
+        if (!large) {
+            endBulkLoad();
+        }
+    }
+
+    // Returns the actions rejected with a retryable status
+    private List<Pending> execute(List<Pending> batch) throws IOException {
+        BulkRequest request = BulkRequest.of(b -> b.operations(batch.stream().map(Pending::operation).toList()));
+
+        long start = System.nanoTime();
+        BulkResponse response = client.bulk(request);
+        long took = System.nanoTime() - start;
+        requests.increment();
+        requestNanos.add(took);
+        maxRequestNanos.accumulateAndGet(took, Math::max);
+
+        if (!response.errors()) {
+            documents.add(batch.size());
+            return List.of();
+        }
+
+        List<Pending> retry = new ArrayList<>();
+        List<BulkResponseItem> items = response.items();
+        for (int i = 0; i < items.size(); i++) {
+            BulkResponseItem item = items.get(i);
+            if (item.error() == null) {
+                documents.increment();
+            } else if (item.status() == 404) {
+                // a delete of a document removed in the meantime
+                log.debug("Bulk {} of {}/{} found no document", item.operationType(), item.index(), item.id());
+            } else if (RETRYABLE.contains(item.status())) {
+                retry.add(batch.get(i));
+            } else {
+                failed.increment();
+                log.error("Bulk {} of {}/{} failed with {} : {}", item.operationType(), item.index(), item.id(),
+                        item.status(), item.error().reason());
+            }
+        }
+        return retry;
+    }
+
+    private synchronized void startBulkLoad(List<Pending> batch) {
+        Set<String> indices = new HashSet<>();
+        batch.forEach(pending -> indices.add(pending.index()));
+        indices.removeAll(loadingIndices);
+        if (indices.isEmpty()) {
+            return;
+        }
+        if (putRefreshInterval(indices, bulkRefreshInterval)) {
+            loadingIndices.addAll(indices);
+            bulkLoading = true;
+            log.info("Bulk load started on {}, refresh interval {}", indices, bulkRefreshInterval);
+        }
+    }
+
+    // Also called when a backfill ends, as its last flush may have been a large one
+    public synchronized void endBulkLoad() {
+        if (loadingIndices.isEmpty()) {
+            return;
+        }
+        if (putRefreshInterval(loadingIndices, refreshInterval)) {
+            log.info("Bulk load ended on {}, refresh interval {}", loadingIndices, refreshInterval);
+            loadingIndices.clear();
+            bulkLoading = false;
+        }
+    }
+
+    // A failed settings change only delays refreshes, so it is logged rather than thrown
+    private boolean putRefreshInterval(Collection<String> indices, String interval) {
+        try {
+            client.indices().putSettings(p -> p
+                    .index(List.copyOf(indices))
+                    .settings(s -> s.refreshInterval(t -> t.time(interval))));
+            return true;
+        } catch (IOException | ElasticsearchException e) {
+            log.warn("Refresh interval of {} could not be set to {} : {}", indices, interval, e.getMessage());
+            return false;
+        }
+    }
+
+    private String indexOf(Class<?> type) {
+        return converter.getMappingContext().getRequiredPersistentEntity(type).getIndexCoordinates().getIndexName();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
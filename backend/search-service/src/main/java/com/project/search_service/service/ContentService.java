@@ -0,0 +1,233 @@
+package com.project.search_service.service;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.FieldValueFactorModifier;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionBoostMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionScoreMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.project.search_service.domain.dto.ContentSearchResponseDto;
+import com.project.search_service.domain.dto.CursorPageDto;
+import com.project.search_service.domain.dto.kafka.KafkaDto;
+import com.project.search_service.domain.entity.Content;
+import com.project.search_service.domain.enums.KafkaDomain;
+import com.project.search_service.domain.enums.KafkaType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHitSupport;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Keeps the content index in step with the ContentRecommendation events. Creates, enables and
+ * disables are versioned writes like the user and group ones; reactions only move counters, so
+ * they are summed per post in memory and sent as increments on a schedule instead of one update
+ * per like.
+ */
+@Slf4j
+@Service
+@Profile("!lucene")
+public class ContentService {
+
+    private static final int PAGE_LENGTH = 12;
+
+    private final BulkIndexer bulkIndexer;
+    private final ElasticsearchOperations operations;
+    private final CursorSearchService cursorSearchService;
+
+    // content id -> property name -> delta since the last counter flush
+    private Map<String, Map<String, Long>> pendingCounters = new HashMap<>();
+
+    public ContentService(BulkIndexer bulkIndexer, ElasticsearchOperations operations,
+                          CursorSearchService cursorSearchService) {
+        this.bulkIndexer = bulkIndexer;
+        this.operations = operations;
+        this.cursorSearchService = cursorSearchService;
+    }
+
+    public void apply(KafkaDto event) {
+        Map<String, Object> map = event.getMap();
+        String id = (String) map.get(KafkaDomain.CONTENT_ID.toString());
+
+        switch (KafkaType.valueOf(event.getTopicType())) {
+            case CREATE -> bulkIndexer.upsert(id, toContent(id, map), event.getPartition(), event.getOffset());
+            case ENABLE -> bulkIndexer.update(id, Content.class, Map.of("enable", true),
+                    event.getPartition(), event.getOffset());
+            case DISABLE -> bulkIndexer.update(id, Content.class, Map.of("enable", false),
+                    event.getPartition(), event.getOffset());
+            case DELETE -> {
+                synchronized (this) {
+                    pendingCounters.remove(id);
+                }
+                bulkIndexer.delete(id, Content.class);
+            }
+            case LIKE -> count(id, "likeCount", 1);
+            case DISLIKE -> count(id, "dislikeCount", 1);
+            case REMOVE_LIKE -> count(id, "likeCount", -1);
+            case REMOVE_DISLIKE -> count(id, "dislikeCount", -1);
+            case CHANGE_TO_LIKE -> {
+                count(id, "likeCount", 1);
+                count(id, "dislikeCount", -1);
+            }
+            case CHANGE_TO_DISLIKE -> {
+                count(id, "dislikeCount", 1);
+                count(id, "likeCount", -1);
+            }
+            case COMMENT -> count(id, "commentCount", 1);
+            case SHARE -> count(id, "shareCount", 1);
+        }
+    }
+
+    // Sent from the scheduler thread in its own bulk buffer, so a failure here never touches the
+    // listener's writes; increments upsert, so counters reaching a post before its create still count
+    @Scheduled(fixedDelayString = "${search.content.counter-flush-millis:5000}")
+    public void flushCounters() {
+        Map<String, Map<String, Long>> counters;
+        synchronized (this) {
+            if (pendingCounters.isEmpty()) {
+                return;
+            }
+            counters = pendingCounters;
+            pendingCounters = new HashMap<>();
+        }
+        counters.forEach((id, deltas) -> bulkIndexer.increment(id, Content.class, deltas));
+        bulkIndexer.flush();
+        log.info("Counter increments sent for {} contents", counters.size());
+    }
+
+    // Drops the index and recreates it from the mapping; the caller replays the topic into it
+    public synchronized void recreateIndex() {
+        pendingCounters.clear();
+        IndexOperations indexOps = operations.indexOps(Content.class);
+        indexOps.delete();
+        indexOps.createWithMapping();
+        log.info("Content index recreated");
+    }
+
+    public Page<ContentSearchResponseDto> searchContent(String keyword, Set<String> genres,
+                                                        Set<String> categories, int page) {
+        if (page < 0) {
+            page = 0;
+        }
+        Pageable pageable = PageRequest.of(page, PAGE_LENGTH);
+        NativeQuery nativeQuery = NativeQuery.builder()
+                .withQuery(query(keyword, genres, categories))
+                .withPageable(pageable)
+                .build();
+        SearchHits<Content> hits = operations.search(nativeQuery, Content.class);
+        return SearchHitSupport.searchPageFor(hits, pageable).map(hit -> toResponse(hit.getContent()));
+    }
+
+    // Same ranking as searchContent, paged by cursor for the federated search
+    public CursorPageDto<ContentSearchResponseDto> searchContent(String keyword, String cursor) {
+        return cursorSearchService.search(query(keyword, null, null), Content.class, cursor, false,
+                ContentService::toResponse);
+    }
+
+    private static Query query(String keyword, Set<String> genres, Set<String> categories) {
+        // BM25 on the text fields, scaled by 1 + ln(1 + likes) + 2 ln(1 + shares)
+        return Query.of(q -> q.functionScore(fs -> fs
+                .query(inner -> inner.bool(b -> {
+                    b.filter(f -> f.term(t -> t.field("enable").value(true)));
+                    if (genres != null && !genres.isEmpty()) {
+                        b.filter(f -> f.terms(t -> t.field("genres").terms(v -> v.value(toValues(genres)))));
+                    }
+                    if (categories != null && !categories.isEmpty()) {
+                        b.filter(f -> f.terms(t -> t.field("categories").terms(v -> v.value(toValues(categories)))));
+                    }
+                    if (keyword != null && !keyword.isBlank()) {
+                        b.must(m -> m.multiMatch(mm -> mm
+                                .query(keyword)
+                                .fields("title^3", "tags^2", "bio")
+                                .fuzziness("AUTO")));
+                    }
+                    return b;
+                }))
+                .functions(f -> f.weight(1.0))
+                .functions(f -> f.fieldValueFactor(v -> v
+                        .field("like_count").modifier(FieldValueFactorModifier.Ln1p).missing(0.0)))
+                .functions(f -> f.fieldValueFactor(v -> v
+                        .field("share_count").factor(2.0).modifier(FieldValueFactorModifier.Ln1p).missing(0.0)))
+                .scoreMode(FunctionScoreMode.Sum)
+                .boostMode(FunctionBoostMode.Multiply)));
+    }
+
+    private synchronized void count(String id, String property, long delta) {
+        pendingCounters.computeIfAbsent(id, key -> new HashMap<>()).merge(property, delta, Long::sum);
+    }
+
+    // Counters are left out so a late or replayed create never resets them
+    @SuppressWarnings("unchecked")
+    private Content toContent(String id, Map<String, Object> map) {
+        Object userId = map.get(KafkaDomain.USER_ID.toString());
+        return Content
+                .builder()
+                .id(id)
+                .title((String) map.get(KafkaDomain.CONTENT_TITLE.toString()))
+                .bio((String) map.get(KafkaDomain.CONTENT_BIO.toString()))
+                .tags(toSet(map.get(KafkaDomain.CONTENT_TAG.toString())))
+                .genres(toSet(map.get(KafkaDomain.CONTENT_GENRE.toString())))
+                .categories(toSet(map.get(KafkaDomain.CONTENT_CATEGORY.toString())))
+                .userId(userId == null ? null : userId.toString())
+                .username((String) map.get(KafkaDomain.USERNAME.toString()))
+                .displayName((String) map.get(KafkaDomain.DISPLAY_NAME.toString()))
+                .created(toDateTime(map.get(KafkaDomain.TIME_OF_CREATION.toString())))
+                .enable(true)
+                .build();
+    }
+
+    private static Set<String> toSet(Object value) {
+        if (!(value instanceof Collection<?> collection)) {
+            return Set.of();
+        }
+        Set<String> set = new HashSet<>();
+        collection.forEach(item -> set.add(item.toString()));
+        return set;
+    }
+
+    // LocalDateTime arrives as [year, month, day, hour, minute, second, nanos], trailing zeros omitted
+    @SuppressWarnings("unchecked")
+    private static LocalDateTime toDateTime(Object value) {
+        if (value instanceof String text) {
+            return LocalDateTime.parse(text);
+        }
+        if (!(value instanceof List<?> list) || list.size() < 5) {
+            return LocalDateTime.now();
+        }
+        List<Integer> time = (List<Integer>) list;
+        return LocalDateTime.of(time.get(0), time.get(1), time.get(2), time.get(3), time.get(4),
+                time.size() > 5 ? time.get(5) : 0, time.size() > 6 ? time.get(6) : 0);
+    }
+
+    private static List<FieldValue> toValues(Set<String> values) {
+        return values.stream().map(FieldValue::of).toList();
+    }
+
+    private static ContentSearchResponseDto toResponse(Content content) {
+        return ContentSearchResponseDto
+                .builder()
+                .id(content.getId())
+                .title(content.getTitle())
+                .bio(content.getBio())
+                .tags(content.getTags())
+                .genres(content.getGenres())
+                .categories(content.getCategories())
+                .userId(content.getUserId())
+                .username(content.getUsername())
+                .displayName(content.getDisplayName())
+                .created(content.getCreated())
+                .likeCount(content.getLikeCount() == null ? 0 : content.getLikeCount())
+                .commentCount(content.getCommentCount() == null ? 0 : content.getCommentCount())
+                .shareCount(content.getShareCount() == null ? 0 : content.getShareCount())
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.project.search_service.service;
+
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import com.project.search_service.domain.dto.CursorPageDto;
+import com.project.search_service.domain.dto.GroupSearchResponseDto;
+import com.project.search_service.domain.dto.UserSearchHit;
+import com.project.search_service.domain.dto.UserSearchResponseDto;
+import com.project.search_service.domain.entity.Group;
+import com.project.search_service.domain.entity.Users;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over relevance ordered results with search_after: every page continues
+ * from the sort values of the last hit, so a deep page costs what the first one does. Ties on
+ * score are broken on the document id, or on _shard_doc inside a point in time, which also
+ * keeps the result set fixed while a client walks it. The cursor is opaque to clients.
+ */
+@Slf4j
+@Service
+@Profile("!lucene")
+public class CursorSearchService {
+
+    private record Cursor(double score, String tiebreaker, String pointInTime) {
+    }
+
+    private final ElasticsearchOperations operations;
+    private final int pageSize;
+    private final int trackTotalHitsUpTo;
+    private final Duration keepAlive;
+
+    public CursorSearchService(
+            ElasticsearchOperations operations,
+            @Value("${search.cursor.page-size:12}") int pageSize,
+            @Value("${search.cursor.track-total-hits-up-to:1000}") int trackTotalHitsUpTo,
+            @Value("${search.cursor.pit-keep-alive-seconds:60}") long keepAliveSeconds) {
+        this.operations = operations;
+        this.pageSize = pageSize;
+        this.trackTotalHitsUpTo = trackTotalHitsUpTo;
+        this.keepAlive = Duration.ofSeconds(keepAliveSeconds);
+    }
+
+    // Same query as UsersRepository.searchByKeyword, paged by cursor instead of page number
+    public CursorPageDto<UserSearchResponseDto> searchUsers(String keyword, String cursor, boolean pointInTime) {
+        Query query = Query.of(q -> q.bool(b -> b
+                .filter(f -> f.term(t -> t.field("enable").value(true)))
+                .should(s -> s.multiMatch(m -> m
+                        .query(keyword)
+                        .fields("username^3", "display_name^2")
+                        .type(TextQueryType.Phrase)))
+                .should(s -> s.multiMatch(m -> m
+                        .query(keyword)
+                        .fields("username^3", "display_name^2", "bio^1")
+                        .fuzziness("AUTO")))
+                .minimumShouldMatch("1")));
+
+        return search(query, Users.class, cursor, pointInTime,
+                users -> new UserSearchHit(users.getId(), users.getUsername(), users.getDisplayName()));
+    }
+
+    // Same query as GroupRepository.searchByKeyword, paged by cursor instead of page number
+    public CursorPageDto<GroupSearchResponseDto> searchGroups(String keyword, String cursor, boolean pointInTime) {
+        Query query = Query.of(q -> q.bool(b -> b
+                .filter(f -> f.term(t -> t.field("enable").value(true)))
+                .should(s -> s.multiMatch(m -> m
+                        .query(keyword)
+                        .fields("groupName^4", "leader_display_name^1")
+                        .type(TextQueryType.Phrase)))
+                .should(s -> s.multiMatch(m -> m
+                        .query(keyword)
+                        .fields("groupName^4", "leader_display_name^1", "bio^3", "leader_username^1")
+                        .fuzziness("AUTO")))
+                .minimumShouldMatch("1")));
+
+        return search(query, Group.class, cursor, pointInTime,
+                group -> GroupSearchResponseDto
+                        .builder()
+                        .id(group.getId())
+                        .groupName(group.getGroupName())
+                        .bio(group.getBio())
+                        .leaderUsername(group.getLeaderUsername())
+                        .leaderDisplayName(group.getLeaderDisplayName())
+                        .build());
+    }
+
+    // A point in time is opened on the first page when asked for, later pages follow the cursor
+    public <T, R> CursorPageDto<R> search(Query query, Class<T> type, String cursor, boolean pointInTime,
+                                          Function<T, R> mapper) {
+        Cursor after = cursor == null || cursor.isBlank() ? null : decode(cursor);
+        String pit = after != null ? after.pointInTime() : null;
+        if (after == null && pointInTime) {
+            pit = operations.openPointInTime(IndexCoordinates.of(indexOf(type)), keepAlive, false);
+        }
+        boolean inPit = pit != null;
+
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(query)
+                // one extra hit tells whether there is a next page
+                .withPageable(PageRequest.of(0, pageSize + 1))
+                .withSort(s -> s.score(score -> score.order(SortOrder.Desc)))
+                .withSort(s -> s.field(f -> f.field(inPit ? "_shard_doc" : "id").order(SortOrder.Asc)));
+        if (inPit) {
+            builder.withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(pit, keepAlive));
+        }
+        if (after != null) {
+            builder.withSearchAfter(List.of(after.score(),
+                    inPit ? Long.parseLong(after.tiebreaker()) : after.tiebreaker()));
+        }
+        // only the first page reports a total, and only up to the cap
+        if (after == null && trackTotalHitsUpTo > 0) {
+            builder.withTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        } else {
+            builder.withTrackTotalHits(false);
+        }
+
+        SearchHits<T> hits = operations.search(builder.build(), type);
+        List<SearchHit<T>> page = hits.getSearchHits();
+        boolean hasNext = page.size() > pageSize;
+        if (hasNext) {
+            page = page.subList(0, pageSize);
+        }
+
+        String next = null;
+        String nextPit = inPit && hits.getPointInTimeId() != null ? hits.getPointInTimeId() : pit;
+        if (hasNext) {
+            List<Object> sortValues = page.getLast().getSortValues();
+            next = encode(new Cursor(((Number) sortValues.get(0)).doubleValue(),
+                    String.valueOf(sortValues.get(1)), nextPit));
+        } else if (inPit) {
+            operations.closePointInTime(nextPit);
+        }
+
+        boolean counted = after == null && trackTotalHitsUpTo > 0;
+        return CursorPageDto.<R>builder()
+                .content(page.stream().map(hit -> mapper.apply(hit.getContent())).toList())
+                .nextCursor(next)
+                .total(counted ? hits.getTotalHits() : null)
+                .totalIsLowerBound(counted && hits.getTotalHitsRelation() == TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO)
+                .build();
+    }
+
+    private String indexOf(Class<?> type) {
+        return operations.getElasticsearchConverter().getMappingContext()
+                .getRequiredPersistentEntity(type).getIndexCoordinates().getIndexName();
+    }
+
+    private static String encode(Cursor cursor) {
+        String raw = cursor.score() + "\n" + cursor.tiebreaker()
+                + (cursor.pointInTime() == null ? "" : "\n" + cursor.pointInTime());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+            return new Cursor(Double.parseDouble(parts[0]), parts[1], parts.length > 2 ? parts[2] : null);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            // search-service has no exception handlers, so the status is set here
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
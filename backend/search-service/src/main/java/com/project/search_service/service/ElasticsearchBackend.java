@@ -0,0 +1,51 @@
+package com.project.search_service.service;
+
+import com.project.search_service.domain.dto.GroupSearchResponseDto;
+import com.project.search_service.domain.dto.UserSearchResponseDto;
+import com.project.search_service.repository.GroupRepository;
+import com.project.search_service.repository.UsersRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Service
+@Profile("!lucene")
+@AllArgsConstructor
+public class ElasticsearchBackend implements SearchBackend {
+
+    private final UsersRepository usersRepository;
+    private final GroupRepository groupRepository;
+    private final BulkIndexer bulkIndexer;
+    private final QueryCache queryCache;
+
+    @Override
+    public void upsert(String id, Object entity, int partition, long offset) {
+        bulkIndexer.upsert(id, entity, partition, offset);
+    }
+
+    @Override
+    public void update(String id, Class<?> type, Map<String, Object> properties, int partition, long offset) {
+        bulkIndexer.update(id, type, properties, partition, offset);
+    }
+
+    @Override
+    public void flush() {
+        bulkIndexer.flush();
+    }
+
+    @Override
+    public Page<UserSearchResponseDto> searchUsers(String keyword, Pageable pageable) {
+        return queryCache.get("users", keyword, pageable.getPageNumber(),
+                () -> usersRepository.searchByKeyword(keyword, pageable));
+    }
+
+    @Override
+    public Page<GroupSearchResponseDto> searchGroups(String keyword, Pageable pageable) {
+        return queryCache.get("groups", keyword, pageable.getPageNumber(),
+                () -> groupRepository.searchByKeyword(keyword, pageable));
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.search_service.service;
+
+import com.project.search_service.domain.dto.CursorPageDto;
+import com.project.search_service.domain.dto.FederatedSearchDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Users, groups and content for one keyword in a single call. The sections are searched
+ * concurrently, each with its own cursor, and all of them share one deadline: a section that has
+ * not answered by then is reported as timed out and the others are returned as they are.
+ */
+@Slf4j
+@Service
+@Profile("!lucene")
+public class FederatedSearchService {
+
+    public static final String USERS = "users";
+    public static final String GROUPS = "groups";
+    public static final String CONTENT = "content";
+
+    private final CursorSearchService cursorSearchService;
+    private final ContentService contentService;
+    private final long timeoutMillis;
+
+    // searches block on the Elasticsearch client, so a virtual thread each
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public FederatedSearchService(
+            CursorSearchService cursorSearchService,
+            ContentService contentService,
+            @Value("${search.federated.timeout-millis:800}") long timeoutMillis) {
+        this.cursorSearchService = cursorSearchService;
+        this.contentService = contentService;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // cursors maps a section to the nextCursor it returned last, absent sections start from the top
+    public FederatedSearchDto search(String keyword, Set<String> sections, Map<String, String> cursors) {
+        Map<String, Future<CursorPageDto<?>>> futures = new LinkedHashMap<>();
+        if (sections.contains(USERS)) {
+            futures.put(USERS, submit(() -> cursorSearchService.searchUsers(keyword, cursors.get(USERS), false)));
+        }
+        if (sections.contains(GROUPS)) {
+            futures.put(GROUPS, submit(() -> cursorSearchService.searchGroups(keyword, cursors.get(GROUPS), false)));
+        }
+        if (sections.contains(CONTENT)) {
+            futures.put(CONTENT, submit(() -> contentService.searchContent(keyword, cursors.get(CONTENT))));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, CursorPageDto<?>> results = new HashMap<>();
+        List<String> timedOut = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        futures.forEach((section, future) -> {
+            try {
+                results.put(section, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                timedOut.add(section);
+            } catch (ExecutionException e) {
+                log.warn("Federated search of {} failed : {}", section, e.getCause().getMessage());
+                failed.add(section);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                timedOut.add(section);
+            }
+        });
+        if (!timedOut.isEmpty()) {
+            log.info("Federated search for {} returned without {} after {} ms", keyword, timedOut, timeoutMillis);
+        }
+
+        return FederatedSearchDto.builder()
+                .users(section(results, USERS))
+                .groups(section(results, GROUPS))
+                .content(section(results, CONTENT))
+                .timedOut(timedOut)
+                .failed(failed)
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Future<CursorPageDto<?>> submit(Supplier<CursorPageDto<?>> search) {
+        return executor.submit(search::get);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> CursorPageDto<T> section(Map<String, CursorPageDto<?>> results, String section) {
+        return (CursorPageDto<T>) results.get(section);
+    }
+}
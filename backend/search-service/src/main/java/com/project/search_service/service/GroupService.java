@@ -3,7 +3,6 @@ package com.project.search_service.service;
 import com.project.search_service.domain.dto.SearchGroupDto;
 import com.project.search_service.domain.dto.GroupSearchResponseDto;
 import com.project.search_service.domain.entity.Group;
-import com.project.search_service.repository.GroupRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -11,12 +10,15 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Slf4j
 @Service
 @AllArgsConstructor
 public class GroupService {
 
-    private final GroupRepository groupRepository;
+    private final SearchBackend searchBackend;
     private static final int PAGE_LENGTH = 12;
 
     public void createGroup(SearchGroupDto requestDto) {
@@ -32,41 +34,20 @@ public class GroupService {
                 .build();
 
         log.info("Group with Id : {} and Name : {} is Created", requestDto.getId(), requestDto.getGroupUsername());
-        groupRepository.save(group);
+        searchBackend.upsert(group.getId(), group, requestDto.getPartition(), requestDto.getOffset());
     }
 
+    // Only the fields present in the event, as one versioned partial update
     public void updateGroup(SearchGroupDto requestDto) {
-        Group group = groupRepository.findById(requestDto.getId()).orElse(null);
-
-        if (group == null) {
-            log.info("Group : {} not found", requestDto.getId());
-            return;
-        }
-
-        java.util.List<String> updated = new java.util.ArrayList<>();
-
-        if (requestDto.getGroupUsername() != null) {
-            group.setGroupName(requestDto.getGroupUsername());
-            updated.add("Group Name");
-        }
-
-        if (requestDto.getBio() != null) {
-            group.setBio(requestDto.getBio());
-            updated.add("Bio");
-        }
-
-        if (requestDto.getLeaderUsername() != null) {
-            group.setLeaderUsername(requestDto.getLeaderUsername());
-            updated.add("Leader Username");
-        }
-
-        if (requestDto.getLeaderDisplayName() != null) {
-            group.setLeaderDisplayName(requestDto.getLeaderDisplayName());
-            updated.add("Leader Display Name");
-        }
-
-        groupRepository.save(group);
-        log.info("Group : {} ({}) update : {}", group.getId(), group.getGroupName(), updated.toString());
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("groupName", requestDto.getGroupUsername());
+        fields.put("bio", requestDto.getBio());
+        fields.put("leaderUsername", requestDto.getLeaderUsername());
+        fields.put("leaderDisplayName", requestDto.getLeaderDisplayName());
+
+        searchBackend.update(requestDto.getId(), Group.class, fields, requestDto.getPartition(), requestDto.getOffset());
+        log.info("Group : {} update : {}", requestDto.getId(), fields.entrySet().stream()
+                .filter(entry -> entry.getValue() != null).map(Map.Entry::getKey).toList());
     }
 
     public Page<GroupSearchResponseDto> searchGroup(String keyword, int page) {
@@ -74,7 +55,7 @@ public class GroupService {
             page = 0;
         }
         Pageable pageable = PageRequest.of(page, PAGE_LENGTH);
-        return groupRepository.searchByKeyword(keyword, pageable);
+        return searchBackend.searchGroups(keyword, pageable);
     }
 
 }
@@ -0,0 +1,48 @@
+package com.project.search_service.service;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import search.export.v1.ExportRequest;
+import search.export.v1.GroupRecord;
+import search.export.v1.SearchExportGrpc;
+import search.export.v1.UserRecord;
+
+import java.util.Iterator;
+import java.util.UUID;
+
+@Service
+@Profile("!lucene")
+public class GrpcServices {
+
+    private final SearchExportGrpc.SearchExportBlockingStub blockingStub;
+
+    public GrpcServices(
+            @Value("${user.service.address}") String address, @Value("${user.service.port}") int port) {
+        ManagedChannel channel = ManagedChannelBuilder
+                .forAddress(address, port)
+                .usePlaintext()
+                .build();
+
+        blockingStub = SearchExportGrpc.newBlockingStub(channel);
+    }
+
+    // Up to limit users with an id after the given one, in id order; null starts from the first
+    public Iterator<UserRecord> exportUsers(UUID after, int limit) {
+        return blockingStub.exportUsers(request(after, limit));
+    }
+
+    public Iterator<GroupRecord> exportGroups(UUID after, int limit) {
+        return blockingStub.exportGroups(request(after, limit));
+    }
+
+    private static ExportRequest request(UUID after, int limit) {
+        return ExportRequest.newBuilder()
+                .setAfterMsb(after == null ? 0 : after.getMostSignificantBits())
+                .setAfterLsb(after == null ? 0 : after.getLeastSignificantBits())
+                .setLimit(limit)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.search_service.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Approximate top-K of a stream of keys. A Count-Min sketch estimates how often each key was
+ * seen in fixed memory, never under-counting; the K keys with the highest estimates are tracked
+ * exactly. All counts are halved every {@code decayEvery} observations, so keys that stop being
+ * popular fall out of the top instead of staying there on old traffic. Not thread safe.
+ */
+public final class HeavyHitters {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final long[][] counts;
+    private final int mask;
+    private final int k;
+    private final long decayEvery;
+    private final Map<String, Long> top = new HashMap<>();
+    // Same entries as top, ordered by count, so the smallest is found without scanning all K
+    private final TreeSet<Tracked> byCount = new TreeSet<>(
+            Comparator.comparingLong(Tracked::count).thenComparing(Tracked::key));
+    private long observed;
+
+    // width is rounded up to a power of two
+    public HeavyHitters(int width, int k, long decayEvery) {
+        int size = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.counts = new long[SEEDS.length][size];
+        this.mask = size - 1;
+        this.k = k;
+        this.decayEvery = decayEvery;
+    }
+
+    // Counts one occurrence and returns the key's new estimate
+    public long add(String key) {
+        if (++observed % decayEvery == 0) {
+            decay();
+        }
+
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int column = index(hash, row);
+            estimate = Math.min(estimate, ++counts[row][column]);
+        }
+
+        Long tracked = top.get(key);
+        if (tracked != null) {
+            byCount.remove(new Tracked(key, tracked));
+            track(key, estimate);
+        } else if (top.size() < k) {
+            track(key, estimate);
+        } else if (!byCount.isEmpty() && estimate > byCount.first().count()) {
+            top.remove(byCount.pollFirst().key());
+            track(key, estimate);
+        }
+        return estimate;
+    }
+
+    public boolean isTop(String key) {
+        return top.containsKey(key);
+    }
+
+    private void track(String key, long count) {
+        top.put(key, count);
+        byCount.add(new Tracked(key, count));
+    }
+
+    private int index(int hash, int row) {
+        long mixed = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % SEEDS.length];
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private void decay() {
+        for (long[] row : counts) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        top.replaceAll((key, count) -> count >>> 1);
+        // Halving can tie counts that were apart, so the order is rebuilt rather than patched
+        byCount.clear();
+        top.forEach((key, count) -> byCount.add(new Tracked(key, count)));
+    }
+
+    private record Tracked(String key, long count) {
+    }
+}
@@ -0,0 +1,239 @@
+package com.project.search_service.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import com.project.search_service.domain.dto.IndexRebuildStatus;
+import com.project.search_service.domain.entity.Group;
+import com.project.search_service.domain.entity.Users;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import search.export.v1.GroupRecord;
+import search.export.v1.UserRecord;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds the users or groups index without downtime. The entity index names are aliases over
+ * versioned physical indices: a rebuild creates a new index from the current mapping, copies
+ * live writes into it, streams every user or group from user-service into it, then moves the
+ * alias over in one _aliases call and drops the old index. The first rebuild also turns an index
+ * created under the alias name into a plain index behind the alias.
+ */
+@Slf4j
+@Service
+@Profile("!lucene")
+public class IndexRebuildService {
+
+    private static final class Run {
+        private final String alias;
+        private final String index;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong exported = new AtomicLong();
+        private volatile String state = "RUNNING";
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Run(String alias, String index) {
+            this.alias = alias;
+            this.index = index;
+        }
+
+        private IndexRebuildStatus status() {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            double seconds = Duration.between(startedAt, end).toMillis() / 1000.0;
+            return IndexRebuildStatus.builder()
+                    .alias(alias)
+                    .index(index)
+                    .state(state)
+                    .exported(exported.get())
+                    .documentsPerSecond(seconds == 0 ? 0 : exported.get() / seconds)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    private final ElasticsearchClient client;
+    private final ElasticsearchOperations operations;
+    private final BulkIndexer bulkIndexer;
+    private final GrpcServices grpcServices;
+    private final int exportPageSize;
+
+    // one rebuild at a time, the latest run per alias is kept for status
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+
+    public IndexRebuildService(
+            ElasticsearchClient client,
+            ElasticsearchOperations operations,
+            BulkIndexer bulkIndexer,
+            GrpcServices grpcServices,
+            @Value("${search.rebuild.export-page-size:10000}") int exportPageSize) {
+        this.client = client;
+        this.operations = operations;
+        this.bulkIndexer = bulkIndexer;
+        this.grpcServices = grpcServices;
+        this.exportPageSize = exportPageSize;
+    }
+
+    public synchronized IndexRebuildStatus start(String alias) {
+        Class<?> type = switch (alias) {
+            case "users" -> Users.class;
+            case "groups" -> Group.class;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown index : " + alias);
+        };
+        Run current = runs.get(alias);
+        if (current != null && current.finishedAt == null) {
+            return current.status();
+        }
+
+        Run run = new Run(alias, alias + "_v" + System.currentTimeMillis());
+        runs.put(alias, run);
+        executor.submit(() -> rebuild(run, type));
+        return run.status();
+    }
+
+    public List<IndexRebuildStatus> status() {
+        return runs.values().stream().map(Run::status).toList();
+    }
+
+    private void rebuild(Run run, Class<?> type) {
+        log.info("Rebuild of {} into {} started", run.alias, run.index);
+        try {
+            IndexOperations aliasOps = operations.indexOps(type);
+            operations.indexOps(IndexCoordinates.of(run.index))
+                    .create(aliasOps.createSettings(type), aliasOps.createMapping(type));
+
+            // live events from here on reach both indices, the snapshot only fills what they left empty
+            bulkIndexer.startShadow(run.alias, run.index);
+            // the snapshot is buffered on this thread, so its flushes never carry the listener's events
+            if (type == Users.class) {
+                backfillUsers(run);
+            } else {
+                backfillGroups(run);
+            }
+            bulkIndexer.flush();
+            bulkIndexer.endBulkLoad();
+            client.indices().refresh(r -> r.index(run.index));
+
+            run.state = "SWAPPING";
+            swapAlias(run.alias, run.index);
+            bulkIndexer.markWritten(run.alias);
+            bulkIndexer.stopShadow(run.alias);
+            run.state = "DONE";
+            log.info("Rebuild of {} done, {} documents in {}", run.alias, run.exported.get(), run.index);
+        } catch (RuntimeException | IOException e) {
+            bulkIndexer.discard();
+            bulkIndexer.stopShadow(run.alias);
+            run.state = "FAILED";
+            run.error = e.getMessage();
+            log.error("Rebuild of {} into {} failed", run.alias, run.index, e);
+            dropQuietly(run.index);
+        } finally {
+            run.finishedAt = Instant.now();
+        }
+    }
+
+    private void backfillUsers(Run run) {
+        UUID after = null;
+        int count;
+        do {
+            count = 0;
+            Iterator<UserRecord> records = grpcServices.exportUsers(after, exportPageSize);
+            while (records.hasNext()) {
+                UserRecord record = records.next();
+                after = new UUID(record.getMsb(), record.getLsb());
+                Users users = Users
+                        .builder()
+                        .id(after.toString())
+                        .username(record.getUsername())
+                        .displayName(emptyToNull(record.getDisplayName()))
+                        .bio(emptyToNull(record.getBio()))
+                        .enable(record.getEnable())
+                        .build();
+                bulkIndexer.fill(run.index, users.getId(), users);
+                count++;
+            }
+            run.exported.addAndGet(count);
+        } while (count == exportPageSize);
+    }
+
+    private void backfillGroups(Run run) {
+        UUID after = null;
+        int count;
+        do {
+            count = 0;
+            Iterator<GroupRecord> records = grpcServices.exportGroups(after, exportPageSize);
+            while (records.hasNext()) {
+                GroupRecord record = records.next();
+                after = new UUID(record.getMsb(), record.getLsb());
+                Group group = Group
+                        .builder()
+                        .id(after.toString())
+                        .groupName(record.getGroupName())
+                        .bio(emptyToNull(record.getBio()))
+                        .leaderUsername(emptyToNull(record.getLeaderUsername()))
+                        .leaderDisplayName(emptyToNull(record.getLeaderDisplayName()))
+                        .enable(record.getEnable())
+                        .build();
+                bulkIndexer.fill(run.index, group.getId(), group);
+                count++;
+            }
+            run.exported.addAndGet(count);
+        } while (count == exportPageSize);
+    }
+
+    // One _aliases call, so searches see either the old index or the new one
+    private void swapAlias(String alias, String index) throws IOException {
+        List<String> previous = new ArrayList<>();
+        boolean concrete = false;
+        try {
+            previous.addAll(client.indices().getAlias(g -> g.name(alias)).aliases().keySet());
+        } catch (ElasticsearchException e) {
+            if (e.status() != 404) {
+                throw e;
+            }
+            // indices created before aliases were introduced carry the alias name themselves
+            concrete = client.indices().exists(x -> x.index(alias)).value();
+        }
+
+        List<Action> actions = new ArrayList<>();
+        if (concrete) {
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+        }
+        previous.forEach(old -> actions.add(Action.of(a -> a.remove(r -> r.index(old).alias(alias)))));
+        actions.add(Action.of(a -> a.add(add -> add.index(index).alias(alias))));
+        client.indices().updateAliases(u -> u.actions(actions));
+        log.info("Alias {} moved from {} to {}", alias, concrete ? alias : previous, index);
+
+        previous.forEach(this::dropQuietly);
+    }
+
+    private void dropQuietly(String index) {
+        try {
+            client.indices().delete(d -> d.index(index).ignoreUnavailable(true));
+        } catch (IOException | ElasticsearchException e) {
+            log.warn("Index {} could not be deleted : {}", index, e.getMessage());
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -24,6 +24,8 @@ public class KafkaService {
                 .username(transfer.getMap().get(KafkaDataTransferFields.USERNAME.toString()))
                 .displayName(transfer.getMap().get(KafkaDataTransferFields.DISPLAY_NAME.toString()))
                 .bio(transfer.getMap().get(KafkaDataTransferFields.BIO.toString()))
+                .partition(transfer.getPartition())
+                .offset(transfer.getOffset())
                 .build();
 
         userService.createUser(requestDto);
@@ -38,6 +40,8 @@ public class KafkaService {
                 .username(transfer.getMap().get(KafkaDataTransferFields.USERNAME.toString()))
                 .displayName(transfer.getMap().get(KafkaDataTransferFields.DISPLAY_NAME.toString()))
                 .bio(transfer.getMap().get(KafkaDataTransferFields.BIO.toString()))
+                .partition(transfer.getPartition())
+                .offset(transfer.getOffset())
                 .build();
 
         userService.updateUser(requestDto);
@@ -51,6 +55,8 @@ public class KafkaService {
                 .bio(transfer.getMap().get(KafkaDataTransferFields.BIO.toString()))
                 .leaderUsername(transfer.getMap().get(KafkaDataTransferFields.LEADER_USERNAME.toString()))
                 .leaderDisplayName(transfer.getMap().get(KafkaDataTransferFields.LEADER_DISPLAYNAME.toString()))
+                .partition(transfer.getPartition())
+                .offset(transfer.getOffset())
                 .build();
 
         groupService.createGroup(requestDto);
@@ -64,6 +70,8 @@ public class KafkaService {
                 .bio(transfer.getMap().get(KafkaDataTransferFields.BIO.toString()))
                 .leaderUsername(transfer.getMap().get(KafkaDataTransferFields.LEADER_USERNAME.toString()))
                 .leaderDisplayName(transfer.getMap().get(KafkaDataTransferFields.LEADER_DISPLAYNAME.toString()))
+                .partition(transfer.getPartition())
+                .offset(transfer.getOffset())
                 .build();
 
         groupService.updateGroup(requestDto);
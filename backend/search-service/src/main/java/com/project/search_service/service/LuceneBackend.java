@@ -0,0 +1,344 @@
+package com.project.search_service.service;
+
+import com.project.search_service.domain.dto.GroupSearchResponseDto;
+import com.project.search_service.domain.dto.UserSearchHit;
+import com.project.search_service.domain.dto.UserSearchResponseDto;
+import com.project.search_service.domain.entity.Group;
+import com.project.search_service.domain.entity.Users;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Users and groups in an embedded Lucene index per type under search.lucene.path, for running
+ * without an Elasticsearch cluster. Documents keep the entity property names as field names and
+ * follow the same partition / offset versioning as BulkIndexer; the queries mirror the repository
+ * ones. Writes become searchable and durable on flush, which runs before every Kafka commit.
+ */
+@Slf4j
+@Service
+@Profile("lucene")
+public class LuceneBackend implements SearchBackend {
+
+    private static final String ID = "id";
+    private static final String ENABLE = "enable";
+    private static final String EVENT_PARTITION = "eventPartition";
+    private static final String EVENT_VERSION = "eventVersion";
+
+    private static final class Index {
+        private final String name;
+        private final Map<String, Float> phraseFields;
+        private final Map<String, Float> fuzzyFields;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+
+        // documents written since the last refresh, which the searcher cannot see yet
+        private final Map<String, Map<String, Object>> unrefreshed = new HashMap<>();
+
+        private Index(String name, Path path, Analyzer analyzer,
+                      Map<String, Float> phraseFields, Map<String, Float> fuzzyFields) throws IOException {
+            this.name = name;
+            this.phraseFields = phraseFields;
+            this.fuzzyFields = fuzzyFields;
+            this.writer = new IndexWriter(new MMapDirectory(path.resolve(name)), new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.searcherManager = new SearcherManager(writer, null);
+        }
+    }
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Index users;
+    private final Index groups;
+
+    public LuceneBackend(@Value("${search.lucene.path}") String path) throws IOException {
+        Path root = Path.of(path);
+        this.users = new Index("users", root, analyzer,
+                fields("username", 3f, "displayName", 2f),
+                fields("username", 3f, "displayName", 2f, "bio", 1f));
+        this.groups = new Index("groups", root, analyzer,
+                fields("groupName", 4f, "leaderDisplayName", 1f),
+                fields("groupName", 4f, "leaderDisplayName", 1f, "bio", 3f, "leaderUsername", 1f));
+        log.info("Lucene indices opened under {}", root.toAbsolutePath());
+    }
+
+    @Override
+    public void upsert(String id, Object entity, int partition, long offset) {
+        Map<String, Object> fields = new HashMap<>();
+        if (entity instanceof Users user) {
+            fields.put("username", user.getUsername());
+            fields.put("displayName", user.getDisplayName());
+            fields.put("bio", user.getBio());
+            fields.put(ENABLE, user.getEnable());
+        } else if (entity instanceof Group group) {
+            fields.put("groupName", group.getGroupName());
+            fields.put("bio", group.getBio());
+            fields.put("leaderUsername", group.getLeaderUsername());
+            fields.put("leaderDisplayName", group.getLeaderDisplayName());
+            fields.put(ENABLE, group.getEnable());
+        } else {
+            throw new IllegalArgumentException("Not a searchable entity : " + entity.getClass().getSimpleName());
+        }
+        update(id, entity.getClass(), fields, partition, offset);
+    }
+
+    // Same rule as BulkIndexer's versioned update, applied over the stored copy of the document
+    @Override
+    public void update(String id, Class<?> type, Map<String, Object> properties, int partition, long offset) {
+        Index index = index(type);
+        synchronized (index) {
+            Map<String, Object> current = read(index, id);
+            if (current != null && Objects.equals(current.get(EVENT_PARTITION), partition)
+                    && current.get(EVENT_VERSION) instanceof Long version && version >= offset) {
+                return;
+            }
+            Map<String, Object> document = current == null ? new HashMap<>() : current;
+            properties.forEach((key, value) -> {
+                if (value != null) {
+                    document.put(key, value);
+                }
+            });
+            document.put(EVENT_PARTITION, partition);
+            document.put(EVENT_VERSION, offset);
+
+            try {
+                index.writer.updateDocument(new Term(ID, id), toDocument(id, document));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Lucene write to " + index.name + " failed", e);
+            }
+            index.unrefreshed.put(id, document);
+        }
+    }
+
+    @Override
+    public void flush() {
+        for (Index index : List.of(users, groups)) {
+            synchronized (index) {
+                if (index.unrefreshed.isEmpty()) {
+                    continue;
+                }
+                try {
+                    index.writer.commit();
+                    index.searcherManager.maybeRefreshBlocking();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Lucene commit of " + index.name + " failed", e);
+                }
+                log.debug("{} documents committed to {}", index.unrefreshed.size(), index.name);
+                index.unrefreshed.clear();
+            }
+        }
+    }
+
+    @Override
+    public Page<UserSearchResponseDto> searchUsers(String keyword, Pageable pageable) {
+        return search(users, keyword, pageable, document -> new UserSearchHit(
+                document.get(ID), document.get("username"), document.get("displayName")));
+    }
+
+    @Override
+    public Page<GroupSearchResponseDto> searchGroups(String keyword, Pageable pageable) {
+        return search(groups, keyword, pageable, document -> GroupSearchResponseDto
+                .builder()
+                .id(document.get(ID))
+                .groupName(document.get("groupName"))
+                .bio(document.get("bio"))
+                .leaderUsername(document.get("leaderUsername"))
+                .leaderDisplayName(document.get("leaderDisplayName"))
+                .build());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        flush();
+        for (Index index : List.of(users, groups)) {
+            index.searcherManager.close();
+            index.writer.close();
+        }
+    }
+
+    private <T> Page<T> search(Index index, String keyword, Pageable pageable, Function<Document, T> mapper) {
+        Query query = query(index, keyword);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+        try {
+            IndexSearcher searcher = index.searcherManager.acquire();
+            try {
+                int total = searcher.count(query);
+                int from = (int) pageable.getOffset();
+                if (from >= total) {
+                    return new PageImpl<>(List.of(), pageable, total);
+                }
+                ScoreDoc[] hits = searcher.search(query, from + pageable.getPageSize()).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<T> content = new ArrayList<>();
+                for (int i = from; i < hits.length; i++) {
+                    content.add(mapper.apply(storedFields.document(hits[i].doc)));
+                }
+                return new PageImpl<>(content, pageable, total);
+            } finally {
+                index.searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene search on " + index.name + " failed", e);
+        }
+    }
+
+    // filter enable, should [phrase multi_match, fuzzy best_fields multi_match], one should required
+    private Query query(Index index, String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        List<Query> phrases = new ArrayList<>();
+        index.phraseFields.forEach((field, boost) -> {
+            Query phrase = builder.createPhraseQuery(field, keyword);
+            if (phrase != null) {
+                phrases.add(new BoostQuery(phrase, boost));
+            }
+        });
+
+        List<Query> matches = new ArrayList<>();
+        index.fuzzyFields.forEach((field, boost) -> {
+            BooleanQuery.Builder match = new BooleanQuery.Builder();
+            for (String term : analyze(field, keyword)) {
+                match.add(new FuzzyQuery(new Term(field, term), autoFuzziness(term), 0, 50, true),
+                        BooleanClause.Occur.SHOULD);
+            }
+            BooleanQuery query = match.build();
+            if (!query.clauses().isEmpty()) {
+                matches.add(new BoostQuery(query, boost));
+            }
+        });
+        if (phrases.isEmpty() && matches.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder bool = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(ENABLE, "true")), BooleanClause.Occur.FILTER)
+                .setMinimumNumberShouldMatch(1);
+        if (!phrases.isEmpty()) {
+            bool.add(new DisjunctionMaxQuery(phrases, 0f), BooleanClause.Occur.SHOULD);
+        }
+        if (!matches.isEmpty()) {
+            bool.add(new DisjunctionMaxQuery(matches, 0f), BooleanClause.Occur.SHOULD);
+        }
+        return bool.build();
+    }
+
+    private List<String> analyze(String field, String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(field, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Map<String, Object> read(Index index, String id) {
+        Map<String, Object> pending = index.unrefreshed.get(id);
+        if (pending != null) {
+            return new HashMap<>(pending);
+        }
+        try {
+            IndexSearcher searcher = index.searcherManager.acquire();
+            try {
+                TopDocs hits = searcher.search(new TermQuery(new Term(ID, id)), 1);
+                if (hits.scoreDocs.length == 0) {
+                    return null;
+                }
+                return toMap(searcher.storedFields().document(hits.scoreDocs[0].doc));
+            } finally {
+                index.searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene read from " + index.name + " failed", e);
+        }
+    }
+
+    private Index index(Class<?> type) {
+        if (type == Users.class) {
+            return users;
+        }
+        if (type == Group.class) {
+            return groups;
+        }
+        throw new IllegalArgumentException("Not a searchable entity : " + type.getSimpleName());
+    }
+
+    private static Document toDocument(String id, Map<String, Object> fields) {
+        Document document = new Document();
+        document.add(new StringField(ID, id, Field.Store.YES));
+        fields.forEach((name, value) -> {
+            switch (name) {
+                case ENABLE -> document.add(new StringField(ENABLE, value.toString(), Field.Store.YES));
+                case EVENT_PARTITION -> document.add(new StoredField(name, (Integer) value));
+                case EVENT_VERSION -> document.add(new StoredField(name, (Long) value));
+                default -> document.add(new TextField(name, value.toString(), Field.Store.YES));
+            }
+        });
+        return document;
+    }
+
+    private static Map<String, Object> toMap(Document document) {
+        Map<String, Object> fields = new HashMap<>();
+        for (IndexableField field : document.getFields()) {
+            switch (field.name()) {
+                case ID -> {
+                }
+                case ENABLE -> fields.put(ENABLE, Boolean.parseBoolean(field.stringValue()));
+                case EVENT_PARTITION -> fields.put(EVENT_PARTITION, field.numericValue().intValue());
+                case EVENT_VERSION -> fields.put(EVENT_VERSION, field.numericValue().longValue());
+                default -> fields.put(field.name(), field.stringValue());
+            }
+        }
+        return fields;
+    }
+
+    // Elasticsearch's AUTO: exact up to 2 characters, one edit up to 5, two beyond
+    private static int autoFuzziness(String term) {
+        int length = term.codePointCount(0, term.length());
+        return length <= 2 ? 0 : length <= 5 ? 1 : 2;
+    }
+
+    private static Map<String, Float> fields(Object... fieldsAndBoosts) {
+        Map<String, Float> fields = new LinkedHashMap<>();
+        for (int i = 0; i < fieldsAndBoosts.length; i += 2) {
+            fields.put((String) fieldsAndBoosts[i], (Float) fieldsAndBoosts[i + 1]);
+        }
+        return fields;
+    }
+}
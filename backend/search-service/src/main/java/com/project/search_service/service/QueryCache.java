@@ -0,0 +1,112 @@
+package com.project.search_service.service;
+
+import com.project.search_service.domain.dto.QueryCacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Results of hot keyword searches. Every search is counted in a heavy-hitter sketch and only
+ * queries among the current top ones, seen at least min-count times, are stored, so one-off
+ * queries never push popular ones out. An entry remembers the write generation of its index and
+ * is ignored once BulkIndexer has written to that index since; the TTL covers the refresh
+ * interval between a write reaching the index and becoming searchable.
+ */
+@Service
+@Profile("!lucene")
+public class QueryCache {
+
+    private record Entry(Object value, long generation, long expiresAt) {
+    }
+
+    private final BulkIndexer bulkIndexer;
+    private final long ttlMillis;
+    private final int minCount;
+    private final HeavyHitters heavyHitters;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    public QueryCache(
+            BulkIndexer bulkIndexer,
+            @Value("${search.query-cache.size:2000}") int size,
+            @Value("${search.query-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${search.query-cache.min-count:3}") int minCount,
+            @Value("${search.query-cache.top-k:500}") int topK,
+            @Value("${search.query-cache.sketch-width:16384}") int sketchWidth,
+            @Value("${search.query-cache.decay-every:100000}") long decayEvery) {
+        this.bulkIndexer = bulkIndexer;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.minCount = minCount;
+        this.heavyHitters = new HeavyHitters(sketchWidth, topK, decayEvery);
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > size;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String index, String keyword, int page, Supplier<T> search) {
+        String query = index + "|" + normalize(keyword);
+        String key = query + "|" + page;
+        long generation = bulkIndexer.generation(index);
+        long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            if (entry.generation() == generation) {
+                hits.increment();
+                observe(query);
+                return (T) entry.value();
+            }
+            stale.increment();
+        }
+
+        misses.increment();
+        boolean hot = observe(query);
+        T result = search.get();
+        if (hot) {
+            admitted.increment();
+            entries.put(key, new Entry(result, generation, now + ttlMillis));
+        } else if (entry != null) {
+            entries.remove(key);
+        }
+        return result;
+    }
+
+    public QueryCacheStats stats() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return QueryCacheStats.builder()
+                .hits(hitCount)
+                .misses(misses.sum())
+                .admitted(admitted.sum())
+                .stale(stale.sum())
+                .size(entries.size())
+                .hitRatio(total == 0 ? 0 : (double) hitCount / total)
+                .build();
+    }
+
+    private boolean observe(String query) {
+        synchronized (heavyHitters) {
+            long count = heavyHitters.add(query);
+            return count >= minCount && heavyHitters.isTop(query);
+        }
+    }
+
+    private static String normalize(String keyword) {
+        return keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
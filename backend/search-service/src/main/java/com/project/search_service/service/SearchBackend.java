@@ -0,0 +1,29 @@
+package com.project.search_service.service;
+
+import com.project.search_service.domain.dto.GroupSearchResponseDto;
+import com.project.search_service.domain.dto.UserSearchResponseDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+
+/**
+ * Where users and groups are indexed and searched: Elasticsearch by default, or an embedded
+ * Lucene index under the lucene profile. Writes carry the Kafka position of their event and are
+ * skipped when the document already holds a later event of the same partition.
+ */
+public interface SearchBackend {
+
+    // Whole Users or Group document
+    void upsert(String id, Object entity, int partition, long offset);
+
+    // Partial update keyed by entity property names; null values are left out
+    void update(String id, Class<?> type, Map<String, Object> properties, int partition, long offset);
+
+    // Called at the end of every Kafka batch, before its offsets are committed
+    void flush();
+
+    Page<UserSearchResponseDto> searchUsers(String keyword, Pageable pageable);
+
+    Page<GroupSearchResponseDto> searchGroups(String keyword, Pageable pageable);
+}
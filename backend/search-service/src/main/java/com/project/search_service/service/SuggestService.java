@@ -0,0 +1,120 @@
+package com.project.search_service.service;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import com.project.search_service.domain.dto.SuggestionDto;
+import com.project.search_service.domain.entity.Group;
+import com.project.search_service.domain.entity.Users;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Typeahead over the .suggest subfields of users and groups, a single bool_prefix query per
+ * keystroke instead of the fuzzy and phrase queries of /user/get and /group/get. Short prefixes
+ * are shared by most users and change slowly, so their answers are kept in a small LRU with a
+ * TTL; new names show up there once the entry expires.
+ */
+@Slf4j
+@Service
+@Profile("!lucene")
+public class SuggestService {
+
+    private record Entry(List<SuggestionDto> suggestions, long expiresAt) {
+    }
+
+    private final ElasticsearchOperations operations;
+    private final int size;
+    @Getter
+    private final int minChars;
+    @Getter
+    private final long debounceMillis;
+    private final int cachedPrefixLength;
+    private final long ttlMillis;
+    private final Map<String, Entry> cache;
+
+    public SuggestService(
+            ElasticsearchOperations operations,
+            @Value("${search.suggest.size:8}") int size,
+            @Value("${search.suggest.min-chars:2}") int minChars,
+            @Value("${search.suggest.debounce-millis:150}") long debounceMillis,
+            @Value("${search.suggest.cached-prefix-length:4}") int cachedPrefixLength,
+            @Value("${search.suggest.cache-size:10000}") int cacheSize,
+            @Value("${search.suggest.ttl-seconds:30}") long ttlSeconds) {
+        this.operations = operations;
+        this.size = size;
+        this.minChars = minChars;
+        this.debounceMillis = debounceMillis;
+        this.cachedPrefixLength = cachedPrefixLength;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public List<SuggestionDto> suggestUsers(String prefix) {
+        return suggest("user", prefix, Users.class, List.of("username", "display_name"),
+                users -> new SuggestionDto(users.getId(), users.getUsername(), users.getDisplayName()));
+    }
+
+    public List<SuggestionDto> suggestGroups(String prefix) {
+        return suggest("group", prefix, Group.class, List.of("groupName"),
+                group -> new SuggestionDto(group.getId(), group.getGroupName(), null));
+    }
+
+    private <T> List<SuggestionDto> suggest(String type, String prefix, Class<T> entity, List<String> fields,
+                                            Function<T, SuggestionDto> mapper) {
+        String normalized = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        if (normalized.length() < minChars) {
+            return List.of();
+        }
+
+        boolean cacheable = normalized.length() <= cachedPrefixLength;
+        String key = type + ":" + normalized;
+        long now = System.currentTimeMillis();
+        if (cacheable) {
+            Entry entry = cache.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                return entry.suggestions();
+            }
+        }
+
+        // the search_as_you_type subfield and its shingles, the last term matched as a prefix
+        List<String> suggestFields = new ArrayList<>();
+        fields.forEach(field -> {
+            suggestFields.add(field + ".suggest");
+            suggestFields.add(field + ".suggest._2gram");
+            suggestFields.add(field + ".suggest._3gram");
+        });
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b
+                        .filter(f -> f.term(t -> t.field("enable").value(true)))
+                        .must(m -> m.multiMatch(mm -> mm
+                                .query(normalized)
+                                .type(TextQueryType.BoolPrefix)
+                                .operator(Operator.And)
+                                .fields(suggestFields)))))
+                .withPageable(PageRequest.of(0, size))
+                .withTrackTotalHits(false)
+                .build();
+
+        List<SuggestionDto> suggestions = operations.search(query, entity).stream()
+                .map(hit -> mapper.apply(hit.getContent()))
+                .toList();
+        if (cacheable) {
+            cache.put(key, new Entry(suggestions, now + ttlMillis));
+        }
+        return suggestions;
+    }
+}
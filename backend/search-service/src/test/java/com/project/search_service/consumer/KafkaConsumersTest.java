@@ -3,22 +3,28 @@ package com.project.search_service.consumer;
 import com.project.search_service.domain.dto.kafka.DataTransfer;
 import com.project.search_service.domain.enums.KafkaDataTransferFields;
 import com.project.search_service.service.KafkaService;
+import com.project.search_service.service.SearchBackend;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.inOrder;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("KafkaConsumers Tests")
@@ -27,6 +33,9 @@ class KafkaConsumersTest {
     @Mock
     private KafkaService kafkaService;
 
+    @Mock
+    private SearchBackend searchBackend;
+
     @InjectMocks
     private KafkaConsumers kafkaConsumers;
 
@@ -247,4 +256,36 @@ class KafkaConsumersTest {
             verify(kafkaService, never()).updateUser(any());
         }
     }
+
+    @Nested
+    @DisplayName("When consuming a polled batch")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Should route every transfer and flush once at the end")
+        void testBatchFlushesAfterRouting() {
+            DataTransfer groupUpdate = DataTransfer.builder()
+                    .type(KafkaDataTransferFields.GROUP_UPDATE.toString())
+                    .map(testData)
+                    .build();
+
+            kafkaConsumers.consumeBatch(List.of(
+                    new ConsumerRecord<>("SaveUserDatabase", 0, 41L, null, testTransfer),
+                    new ConsumerRecord<>("SaveUserDatabase", 0, 42L, null, groupUpdate)));
+
+            InOrder order = inOrder(kafkaService, searchBackend);
+            order.verify(kafkaService).createUser(testTransfer);
+            order.verify(kafkaService).updateGroup(groupUpdate);
+            order.verify(searchBackend, times(1)).flush();
+        }
+
+        @Test
+        @DisplayName("Should stamp each transfer with the position of its record")
+        void testBatchStampsRecordPosition() {
+            kafkaConsumers.consumeBatch(List.of(new ConsumerRecord<>("SaveUserDatabase", 2, 7L, null, testTransfer)));
+
+            assertThat(testTransfer.getPartition()).isEqualTo(2);
+            assertThat(testTransfer.getOffset()).isEqualTo(7L);
+        }
+    }
 }
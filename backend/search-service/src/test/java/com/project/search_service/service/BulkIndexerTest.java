@@ -0,0 +1,259 @@
+package com.project.search_service.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.elasticsearch.core.bulk.UpdateOperation;
+import com.project.search_service.domain.dto.BulkIndexStats;
+import com.project.search_service.domain.entity.Content;
+import com.project.search_service.domain.entity.Users;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkIndexerTest {
+
+    @Mock
+    private ElasticsearchClient client;
+
+    private BulkIndexer bulkIndexer;
+
+    @BeforeEach
+    void setUp() {
+        MappingElasticsearchConverter converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        bulkIndexer = new BulkIndexer(client, converter, 3, 5_000_000, 2, 1, 1000, "1s", "30s");
+    }
+
+    @Test
+    @DisplayName("Should send buffered writes as one bulk request into the entity's index")
+    void testFlushSendsOneRequest() throws IOException {
+        when(client.bulk(any(BulkRequest.class))).thenReturn(response(item("1", 201), item("2", 201)));
+
+        bulkIndexer.index("1", user("1"));
+        bulkIndexer.index("2", user("2"));
+        verify(client, never()).bulk(any(BulkRequest.class));
+        bulkIndexer.flush();
+
+        ArgumentCaptor<BulkRequest> request = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client).bulk(request.capture());
+        assertThat(request.getValue().operations()).hasSize(2);
+        assertThat(request.getValue().operations().getFirst().index().index()).isEqualTo("users");
+        assertThat(bulkIndexer.stats().getDocuments()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should flush on its own once max actions are buffered")
+    void testFlushesAtMaxActions() throws IOException {
+        when(client.bulk(any(BulkRequest.class))).thenReturn(response(item("1", 201), item("2", 201), item("3", 201)));
+
+        bulkIndexer.index("1", user("1"));
+        bulkIndexer.index("2", user("2"));
+        bulkIndexer.index("3", user("3"));
+
+        verify(client, times(1)).bulk(any(BulkRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should retry only items rejected for load and drop the others")
+    void testRetriesRejectedItems() throws IOException {
+        when(client.bulk(any(BulkRequest.class)))
+                .thenReturn(response(item("1", 201), item("2", 429), item("3", 400)))
+                .thenReturn(response(item("2", 201)));
+
+        bulkIndexer.index("1", user("1"));
+        bulkIndexer.index("2", user("2"));
+        bulkIndexer.index("3", user("3"));
+
+        ArgumentCaptor<BulkRequest> request = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client, times(2)).bulk(request.capture());
+        assertThat(request.getAllValues().get(1).operations()).hasSize(1);
+        assertThat(request.getAllValues().get(1).operations().getFirst().index().id()).isEqualTo("2");
+
+        BulkIndexStats stats = bulkIndexer.stats();
+        assertThat(stats.getDocuments()).isEqualTo(2);
+        assertThat(stats.getFailed()).isEqualTo(1);
+        assertThat(stats.getRetries()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should throw once a failing request has used up its retries")
+    void testThrowsAfterRetries() throws IOException {
+        when(client.bulk(any(BulkRequest.class))).thenThrow(new IOException("connection refused"));
+
+        bulkIndexer.index("1", user("1"));
+
+        assertThatThrownBy(() -> bulkIndexer.flush()).isInstanceOf(IllegalStateException.class);
+        verify(client, times(3)).bulk(any(BulkRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should send event writes as versioned scripted upserts")
+    void testUpsertIsVersioned() throws IOException {
+        when(client.bulk(any(BulkRequest.class))).thenReturn(response(item("1", 200)));
+
+        bulkIndexer.upsert("1", user("1"), 0, 42L);
+        bulkIndexer.flush();
+
+        ArgumentCaptor<BulkRequest> request = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client).bulk(request.capture());
+        UpdateOperation<?, ?> update = request.getValue().operations().getFirst().update();
+        assertThat(update.index()).isEqualTo("users");
+        assertThat(update.id()).isEqualTo("1");
+        assertThat(update.action().scriptedUpsert()).isTrue();
+        assertThat(update.action().script().params().get("version").to(Long.class)).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should update only the non null fields under their index names")
+    void testUpdateSendsPartialFields() throws IOException {
+        when(client.bulk(any(BulkRequest.class))).thenReturn(response(item("1", 200)));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("displayName", "New Name");
+        properties.put("bio", null);
+
+        bulkIndexer.update("1", Users.class, properties, 0, 43L);
+        bulkIndexer.flush();
+
+        ArgumentCaptor<BulkRequest> request = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client).bulk(request.capture());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> fields = request.getValue().operations().getFirst().update().action().script()
+                .params().get("fields").to(Map.class);
+        assertThat(fields).containsOnlyKeys("display_name");
+    }
+
+    @Test
+    @DisplayName("Should skip an update without fields")
+    void testEmptyUpdateIsSkipped() throws IOException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("bio", null);
+
+        bulkIndexer.update("1", Users.class, properties, 0, 44L);
+        bulkIndexer.flush();
+
+        verify(client, never()).bulk(any(BulkRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should copy writes to an alias into the index being rebuilt until the shadow stops")
+    void testShadowCopiesWrites() throws IOException {
+        when(client.bulk(any(BulkRequest.class)))
+                .thenReturn(response(item("1", 200), item("1", 200)))
+                .thenReturn(response(item("2", 200)));
+
+        bulkIndexer.startShadow("users", "users_v2");
+        bulkIndexer.upsert("1", user("1"), 0, 45L);
+        bulkIndexer.flush();
+        bulkIndexer.stopShadow("users");
+        bulkIndexer.upsert("2", user("2"), 0, 46L);
+        bulkIndexer.flush();
+
+        ArgumentCaptor<BulkRequest> request = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client, times(2)).bulk(request.capture());
+        assertThat(request.getAllValues().get(0).operations())
+                .extracting(operation -> operation.update().index())
+                .containsExactly("users", "users_v2");
+        assertThat(request.getAllValues().get(1).operations()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should backfill into the given index without versioning")
+    void testFillTargetsIndex() throws IOException {
+        when(client.bulk(any(BulkRequest.class))).thenReturn(response(item("1", 201)));
+
+        bulkIndexer.fill("users_v2", "1", user("1"));
+        bulkIndexer.flush();
+
+        ArgumentCaptor<BulkRequest> request = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client).bulk(request.capture());
+        UpdateOperation<?, ?> update = request.getValue().operations().getFirst().update();
+        assertThat(update.index()).isEqualTo("users_v2");
+        assertThat(update.action().script().params()).containsOnlyKeys("fields");
+    }
+
+    @Test
+    @DisplayName("Should only send and fail the writes of the flushing thread")
+    void testFlushIsScopedToCaller() throws Exception {
+        when(client.bulk(any(BulkRequest.class))).thenThrow(new IOException("connection refused"));
+
+        bulkIndexer.upsert("1", user("1"), 0, 47L);
+        Thread backfill = new Thread(() -> {
+            bulkIndexer.fill("users_v2", "2", user("2"));
+            assertThatThrownBy(() -> bulkIndexer.flush()).isInstanceOf(IllegalStateException.class);
+        });
+        backfill.start();
+        backfill.join();
+
+        ArgumentCaptor<BulkRequest> request = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client, times(3)).bulk(request.capture());
+        assertThat(request.getAllValues())
+                .allSatisfy(sent -> assertThat(sent.operations())
+                        .extracting(operation -> operation.update().index())
+                        .containsExactly("users_v2"));
+
+        // the listener's write is still buffered and its own flush reports the failure
+        assertThatThrownBy(() -> bulkIndexer.flush()).isInstanceOf(IllegalStateException.class);
+        verify(client, times(6)).bulk(any(BulkRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should send counter increments from their own thread as scripted upserts")
+    void testIncrementsAreSentApart() throws Exception {
+        when(client.bulk(any(BulkRequest.class))).thenReturn(response(item("c1", 201)));
+
+        bulkIndexer.upsert("1", user("1"), 0, 48L);
+        Thread counters = new Thread(() -> {
+            bulkIndexer.increment("c1", Content.class, Map.of("likeCount", 2L));
+            bulkIndexer.flush();
+        });
+        counters.start();
+        counters.join();
+
+        ArgumentCaptor<BulkRequest> request = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client).bulk(request.capture());
+        UpdateOperation<?, ?> update = request.getValue().operations().getFirst().update();
+        assertThat(request.getValue().operations()).hasSize(1);
+        assertThat(update.index()).isEqualTo("content");
+        assertThat(update.action().scriptedUpsert()).isTrue();
+        assertThat(update.action().script().params().get("deltas").to(Map.class)).containsOnlyKeys("like_count");
+    }
+
+    private static Users user(String id) {
+        return Users.builder().id(id).username("user" + id).enable(true).build();
+    }
+
+    private static BulkResponseItem item(String id, int status) {
+        return BulkResponseItem.of(i -> {
+            i.operationType(OperationType.Index).index("users").id(id).status(status);
+            if (status >= 300) {
+                i.error(e -> e.type("error").reason("status " + status));
+            }
+            return i;
+        });
+    }
+
+    private static BulkResponse response(BulkResponseItem... items) {
+        boolean errors = List.of(items).stream().anyMatch(item -> item.error() != null);
+        return BulkResponse.of(r -> r.errors(errors).took(1).items(List.of(items)));
+    }
+}
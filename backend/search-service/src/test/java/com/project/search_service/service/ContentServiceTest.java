@@ -0,0 +1,92 @@
+package com.project.search_service.service;
+
+import com.project.search_service.domain.dto.kafka.KafkaDto;
+import com.project.search_service.domain.entity.Content;
+import com.project.search_service.domain.enums.KafkaDomain;
+import com.project.search_service.domain.enums.KafkaType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentServiceTest {
+
+    @Mock
+    private BulkIndexer bulkIndexer;
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Mock
+    private CursorSearchService cursorSearchService;
+
+    @InjectMocks
+    private ContentService contentService;
+
+    @Test
+    @DisplayName("Should upsert a created content with the event position as its version")
+    void testCreateIsVersionedUpsert() {
+        Map<String, Object> map = new HashMap<>();
+        map.put(KafkaDomain.CONTENT_ID.toString(), "c1");
+        map.put(KafkaDomain.CONTENT_TITLE.toString(), "Title");
+        map.put(KafkaDomain.CONTENT_GENRE.toString(), List.of("ACTION"));
+        map.put(KafkaDomain.TIME_OF_CREATION.toString(), List.of(2025, 3, 4, 10, 30));
+
+        contentService.apply(event(KafkaType.CREATE, map, 7));
+
+        ArgumentCaptor<Content> content = ArgumentCaptor.forClass(Content.class);
+        verify(bulkIndexer).upsert(eq("c1"), content.capture(), eq(0), eq(7L));
+        assertThat(content.getValue().getGenres()).containsExactly("ACTION");
+        assertThat(content.getValue().getCreated()).isEqualTo(LocalDateTime.of(2025, 3, 4, 10, 30));
+        assertThat(content.getValue().getLikeCount()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should sum reactions per content and send them as one increment on flush")
+    void testCountersAreSummedUntilFlush() {
+        contentService.apply(event(KafkaType.LIKE, Map.of(KafkaDomain.CONTENT_ID.toString(), "c1"), 1));
+        contentService.apply(event(KafkaType.LIKE, Map.of(KafkaDomain.CONTENT_ID.toString(), "c1"), 2));
+        contentService.apply(event(KafkaType.CHANGE_TO_DISLIKE, Map.of(KafkaDomain.CONTENT_ID.toString(), "c1"), 3));
+        verify(bulkIndexer, never()).increment(any(), any(), anyMap());
+
+        contentService.flushCounters();
+
+        verify(bulkIndexer).increment("c1", Content.class, Map.of("likeCount", 1L, "dislikeCount", 1L));
+        verify(bulkIndexer).flush();
+
+        contentService.flushCounters();
+        verify(bulkIndexer, times(1)).flush();
+    }
+
+    @Test
+    @DisplayName("Should drop pending counters of a deleted content")
+    void testDeleteDropsCounters() {
+        contentService.apply(event(KafkaType.SHARE, Map.of(KafkaDomain.CONTENT_ID.toString(), "c1"), 1));
+        contentService.apply(event(KafkaType.DELETE, Map.of(KafkaDomain.CONTENT_ID.toString(), "c1"), 2));
+
+        contentService.flushCounters();
+
+        verify(bulkIndexer).delete("c1", Content.class);
+        verify(bulkIndexer, never()).increment(any(), any(), anyMap());
+    }
+
+    private static KafkaDto event(KafkaType type, Map<String, Object> map, long offset) {
+        return KafkaDto.builder().TopicType(type.name()).map(map).partition(0).offset(offset).build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.search_service.service;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.project.search_service.domain.dto.CursorPageDto;
+import com.project.search_service.domain.entity.Users;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CursorSearchServiceTest {
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Mock
+    private SearchHits<Users> hits;
+
+    private CursorSearchService cursorSearchService;
+
+    private final Query query = Query.of(q -> q.matchAll(m -> m));
+
+    @BeforeEach
+    void setUp() {
+        cursorSearchService = new CursorSearchService(operations, 2, 100, 60);
+    }
+
+    @Test
+    @DisplayName("Should continue from the sort values of the last returned hit")
+    void testNextPageSearchesAfterLastHit() {
+        List<SearchHit<Users>> firstPage = hitList(3);
+        when(hits.getSearchHits()).thenReturn(firstPage);
+        when(operations.search(any(NativeQuery.class), eq(Users.class))).thenReturn(hits);
+
+        CursorPageDto<String> first = cursorSearchService.search(query, Users.class, null, false, Users::getId);
+
+        assertThat(first.getContent()).containsExactly("u0", "u1");
+        assertThat(first.getNextCursor()).isNotNull();
+
+        List<SearchHit<Users>> secondPage = hitList(1);
+        when(hits.getSearchHits()).thenReturn(secondPage);
+        CursorPageDto<String> second = cursorSearchService.search(query, Users.class, first.getNextCursor(), false, Users::getId);
+
+        ArgumentCaptor<NativeQuery> request = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(operations, times(2)).search(request.capture(), eq(Users.class));
+        assertThat(request.getAllValues().get(1).getSearchAfter()).containsExactly(9.0, "u1");
+        assertThat(request.getAllValues().get(1).getTrackTotalHits()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getTotal()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor it did not issue")
+    void testInvalidCursor() {
+        assertThatThrownBy(() -> cursorSearchService.search(query, Users.class, "%%%", false, Users::getId))
+                .isInstanceOf(ResponseStatusException.class);
+        verifyNoInteractions(operations);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SearchHit<Users>> hitList(int count) {
+        List<SearchHit<Users>> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SearchHit<Users> hit = mock(SearchHit.class, withSettings().strictness(Strictness.LENIENT));
+            when(hit.getContent()).thenReturn(Users.builder().id("u" + i).build());
+            when(hit.getSortValues()).thenReturn(List.of(10.0 - i, "u" + i));
+            list.add(hit);
+        }
+        return list;
+    }
+}
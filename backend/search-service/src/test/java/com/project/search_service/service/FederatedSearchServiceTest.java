@@ -0,0 +1,92 @@
+package com.project.search_service.service;
+
+import com.project.search_service.domain.dto.CursorPageDto;
+import com.project.search_service.domain.dto.FederatedSearchDto;
+import com.project.search_service.domain.dto.GroupSearchResponseDto;
+import com.project.search_service.domain.dto.UserSearchHit;
+import com.project.search_service.domain.dto.UserSearchResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FederatedSearchServiceTest {
+
+    @Mock
+    private CursorSearchService cursorSearchService;
+
+    @Mock
+    private ContentService contentService;
+
+    private FederatedSearchService federatedSearchService;
+
+    @BeforeEach
+    void setUp() {
+        federatedSearchService = new FederatedSearchService(cursorSearchService, contentService, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        federatedSearchService.close();
+    }
+
+    @Test
+    @DisplayName("Should return the sections that answered and list the slow one as timed out")
+    void testSlowSectionIsCutOff() {
+        CursorPageDto<UserSearchResponseDto> users = CursorPageDto.<UserSearchResponseDto>builder()
+                .content(List.of(new UserSearchHit("u1", "johnny", "John")))
+                .nextCursor("next")
+                .build();
+        when(cursorSearchService.searchUsers("john", "after", false)).thenReturn(users);
+        when(cursorSearchService.searchGroups("john", null, false)).thenReturn(CursorPageDto.<GroupSearchResponseDto>builder()
+                .content(List.of())
+                .build());
+        when(contentService.searchContent("john", (String) null)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return null;
+        });
+
+        Map<String, String> cursors = new HashMap<>();
+        cursors.put(FederatedSearchService.USERS, "after");
+        long start = System.nanoTime();
+        FederatedSearchDto result = federatedSearchService.search("john",
+                Set.of(FederatedSearchService.USERS, FederatedSearchService.GROUPS, FederatedSearchService.CONTENT),
+                cursors);
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(2_000);
+        assertThat(result.getUsers()).isSameAs(users);
+        assertThat(result.getGroups().getContent()).isEmpty();
+        assertThat(result.getContent()).isNull();
+        assertThat(result.getTimedOut()).containsExactly(FederatedSearchService.CONTENT);
+        assertThat(result.getFailed()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only search the requested sections and report failures separately")
+    void testFailedSection() {
+        when(cursorSearchService.searchGroups("john", "bad", false))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor"));
+
+        FederatedSearchDto result = federatedSearchService.search("john",
+                Set.of(FederatedSearchService.GROUPS), Map.of(FederatedSearchService.GROUPS, "bad"));
+
+        assertThat(result.getGroups()).isNull();
+        assertThat(result.getFailed()).containsExactly(FederatedSearchService.GROUPS);
+        verifyNoInteractions(contentService);
+        verify(cursorSearchService, never()).searchUsers(any(), any(), anyBoolean());
+    }
+}
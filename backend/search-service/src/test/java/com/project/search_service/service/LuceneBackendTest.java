@@ -0,0 +1,89 @@
+package com.project.search_service.service;
+
+import com.project.search_service.domain.dto.GroupSearchResponseDto;
+import com.project.search_service.domain.dto.UserSearchResponseDto;
+import com.project.search_service.domain.entity.Group;
+import com.project.search_service.domain.entity.Users;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LuceneBackendTest {
+
+    @TempDir
+    private Path path;
+
+    private LuceneBackend backend;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        backend = new LuceneBackend(path.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        backend.close();
+    }
+
+    @Test
+    @DisplayName("Should find users by phrase and by misspelled keyword once flushed")
+    void testSearchUsers() {
+        backend.upsert("u1", user("u1", "johnny", "John Smith"), 0, 1);
+        backend.upsert("u2", user("u2", "alice", "Alice Brown"), 0, 2);
+        assertThat(backend.searchUsers("johnny", PageRequest.of(0, 12))).isEmpty();
+
+        backend.flush();
+
+        Page<UserSearchResponseDto> exact = backend.searchUsers("John Smith", PageRequest.of(0, 12));
+        assertThat(exact.getContent()).extracting(UserSearchResponseDto::getId).containsExactly("u1");
+        Page<UserSearchResponseDto> fuzzy = backend.searchUsers("jonny", PageRequest.of(0, 12));
+        assertThat(fuzzy.getContent()).extracting(UserSearchResponseDto::getUsername).containsExactly("johnny");
+    }
+
+    @Test
+    @DisplayName("Should skip an update older than the one already applied from the same partition")
+    void testVersionedUpdate() {
+        backend.upsert("u1", user("u1", "johnny", "John"), 0, 5);
+        backend.update("u1", Users.class, Map.of("displayName", "Old"), 0, 4);
+        backend.update("u1", Users.class, Map.of("displayName", "Newer"), 0, 6);
+        backend.flush();
+        backend.update("u1", Users.class, Map.of("displayName", "Replayed"), 0, 6);
+        backend.flush();
+
+        Page<UserSearchResponseDto> result = backend.searchUsers("johnny", PageRequest.of(0, 12));
+        assertThat(result.getContent()).extracting(UserSearchResponseDto::getDisplayName).containsExactly("Newer");
+    }
+
+    @Test
+    @DisplayName("Should leave disabled groups out and keep fields missing from an update")
+    void testDisabledGroupsAndPartialUpdates() {
+        backend.upsert("g1", Group.builder().id("g1").groupName("hiking club").bio("mountains")
+                .leaderUsername("johnny").enable(true).build(), 0, 1);
+        backend.upsert("g2", Group.builder().id("g2").groupName("hiking team").enable(true).build(), 0, 2);
+        Map<String, Object> disable = new HashMap<>();
+        disable.put("enable", false);
+        disable.put("bio", null);
+        backend.update("g2", Group.class, disable, 0, 3);
+        backend.flush();
+
+        Page<GroupSearchResponseDto> result = backend.searchGroups("hiking", PageRequest.of(0, 12));
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent().getFirst().getBio()).isEqualTo("mountains");
+        assertThat(result.getContent().getFirst().getLeaderUsername()).isEqualTo("johnny");
+    }
+
+    private static Users user(String id, String username, String displayName) {
+        return Users.builder().id(id).username(username).displayName(displayName).enable(true).build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.search_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryCacheTest {
+
+    @Mock
+    private BulkIndexer bulkIndexer;
+
+    private QueryCache queryCache;
+
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        queryCache = new QueryCache(bulkIndexer, 100, 30, 2, 2, 1024, 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Should only store a query once it is frequent enough")
+    void testAdmitsHotQueries() {
+        when(bulkIndexer.generation("users")).thenReturn(0L);
+
+        search("Naruto");
+        search("naruto ");
+        search(" NARUTO");
+
+        assertThat(searches.get()).isEqualTo(2);
+        assertThat(queryCache.stats().getHits()).isEqualTo(1);
+        assertThat(queryCache.stats().getAdmitted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should search again once the index was written to")
+    void testGenerationInvalidates() {
+        when(bulkIndexer.generation("users")).thenReturn(0L, 0L, 1L);
+
+        search("naruto");
+        search("naruto");
+        search("naruto");
+
+        assertThat(searches.get()).isEqualTo(3);
+        assertThat(queryCache.stats().getStale()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the most frequent keys in the top and forget one-off keys")
+    void testHeavyHittersTop() {
+        HeavyHitters heavyHitters = new HeavyHitters(256, 2, 1_000_000);
+        for (int i = 0; i < 5; i++) {
+            heavyHitters.add("a");
+            heavyHitters.add("b");
+        }
+        heavyHitters.add("c");
+
+        assertThat(heavyHitters.isTop("a")).isTrue();
+        assertThat(heavyHitters.isTop("b")).isTrue();
+        assertThat(heavyHitters.isTop("c")).isFalse();
+        assertThat(heavyHitters.add("a")).isGreaterThanOrEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should replace the least frequent key in the top once another key overtakes it")
+    void testHeavyHittersEvictsSmallest() {
+        HeavyHitters heavyHitters = new HeavyHitters(256, 2, 1_000_000);
+        for (int i = 0; i < 5; i++) {
+            heavyHitters.add("a");
+        }
+        heavyHitters.add("b");
+        for (int i = 0; i < 3; i++) {
+            heavyHitters.add("c");
+        }
+
+        assertThat(heavyHitters.isTop("a")).isTrue();
+        assertThat(heavyHitters.isTop("b")).isFalse();
+        assertThat(heavyHitters.isTop("c")).isTrue();
+    }
+
+    private void search(String keyword) {
+        queryCache.get("users", keyword, 0, () -> "result-" + searches.incrementAndGet());
+    }
+}
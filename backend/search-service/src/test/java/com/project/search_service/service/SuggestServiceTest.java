@@ -0,0 +1,80 @@
+package com.project.search_service.service;
+
+import com.project.search_service.domain.dto.SuggestionDto;
+import com.project.search_service.domain.entity.Users;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestServiceTest {
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Mock
+    private SearchHits<Users> hits;
+
+    @Mock
+    private SearchHit<Users> hit;
+
+    private SuggestService suggestService;
+
+    @BeforeEach
+    void setUp() {
+        suggestService = new SuggestService(operations, 8, 2, 150, 4, 100, 30);
+    }
+
+    @Test
+    @DisplayName("Should answer short prefixes without Elasticsearch")
+    void testTooShortPrefix() {
+        assertThat(suggestService.suggestUsers(" a ")).isEmpty();
+        verifyNoInteractions(operations);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated short prefix from the local cache")
+    void testShortPrefixIsCached() {
+        stubHits();
+
+        List<SuggestionDto> first = suggestService.suggestUsers("nar");
+        List<SuggestionDto> second = suggestService.suggestUsers("NAR ");
+
+        assertThat(first).extracting(SuggestionDto::getName).containsExactly("naruto");
+        assertThat(second).isSameAs(first);
+        verify(operations, times(1)).search(any(NativeQuery.class), eq(Users.class));
+    }
+
+    @Test
+    @DisplayName("Should always query Elasticsearch for prefixes longer than the cached length")
+    void testLongPrefixIsNotCached() {
+        stubHits();
+
+        suggestService.suggestUsers("narut");
+        suggestService.suggestUsers("narut");
+
+        verify(operations, times(2)).search(any(NativeQuery.class), eq(Users.class));
+    }
+
+    private void stubHits() {
+        Users users = Users.builder().id("1").username("naruto").displayName("Naruto").build();
+        when(hit.getContent()).thenReturn(users);
+        when(hits.stream()).thenAnswer(invocation -> Stream.of(hit));
+        when(operations.search(any(NativeQuery.class), eq(Users.class))).thenReturn(hits);
+    }
+}
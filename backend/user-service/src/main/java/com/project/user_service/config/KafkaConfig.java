@@ -12,4 +12,9 @@ public class KafkaConfig {
         return new NewTopic("SaveUserDatabase", 1, (short) 1);
     }
 
+    @Bean
+    public NewTopic userRelationTopic() {
+        return new NewTopic("UserRelation", 1, (short) 1);
+    }
+
 }
@@ -30,10 +30,13 @@ public class SecurityConfig {
                                                                 "/v3/swagger-ui/**",
                                                                 "/swagger-ui.html",
                                                                 "/error",
+                                                                "/image/**",
                                                                 "/grpc.**",
                                                                 "/Recommendation/**",
                                                                 "/recommendation/**",
-                                                                "/recommendation.Recommendation/**")
+                                                                "/recommendation.Recommendation/**",
+                                                                "/recommendation.v2.RecommendationV2/**",
+                                                                "/search.export.v1.SearchExport/**")
                                                 .permitAll()
                                                 .anyRequest().authenticated())
                                 .sessionManagement(session -> session
@@ -2,6 +2,8 @@ package com.project.user_service.controller;
 
 import com.project.user_service.domain.dto.request.BioUpdateGroupRequestDto;
 import com.project.user_service.domain.dto.request.CreateGroupRequestDto;
+import com.project.user_service.domain.dto.response.CursorSlice;
+import com.project.user_service.domain.dto.response.GetFollowResponse;
 import com.project.user_service.domain.dto.response.GetGroups;
 import com.project.user_service.domain.dto.response.GroupResponseDto;
 import com.project.user_service.service.GroupService;
@@ -34,10 +36,8 @@ public class GroupController {
     }
 
     @GetMapping("/get")
-    public ResponseEntity<GroupResponseDto> getGroup(
-            @RequestParam UUID id,
-            @RequestParam(defaultValue = "false") Boolean image) {
-        GroupResponseDto responseDto = groupService.getGroup(id, image);
+    public ResponseEntity<GroupResponseDto> getGroup(@RequestParam UUID id) {
+        GroupResponseDto responseDto = groupService.getGroup(id);
         return new ResponseEntity<>(responseDto, HttpStatus.OK);
     }
 
@@ -96,6 +96,12 @@ public class GroupController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/members")
+    public ResponseEntity<CursorSlice<GetFollowResponse>> getMembers(
+            @RequestParam UUID groupId, @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(groupService.getMembers(groupId, cursor));
+    }
+
     @GetMapping("/user/{id}")
     public ResponseEntity<List<GetGroups>> getGroupsByUser(@PathVariable UUID id) {
         return ResponseEntity.ok(groupService.getGroups(id));
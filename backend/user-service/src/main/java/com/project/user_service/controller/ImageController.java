@@ -0,0 +1,64 @@
+package com.project.user_service.controller;
+
+import com.project.user_service.domain.enums.ImageVariantKind;
+import com.project.user_service.service.ImageVariantService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/image")
+public class ImageController {
+
+    private final ImageVariantService imageVariantService;
+
+    @GetMapping("/user/{id}/{size}")
+    public ResponseEntity<byte[]> getUserImage(
+            @PathVariable UUID id,
+            @PathVariable String size,
+            @RequestParam(required = false) Long v,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        ImageVariantKind kind = ImageVariantKind.fromPath(size);
+        return respond(imageVariantService.getUserImage(id, kind, v), "u-" + id + "-" + kind.path(), v, ifNoneMatch);
+    }
+
+    @GetMapping("/group/{id}/{size}")
+    public ResponseEntity<byte[]> getGroupImage(
+            @PathVariable UUID id,
+            @PathVariable String size,
+            @RequestParam(required = false) Long v,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        ImageVariantKind kind = ImageVariantKind.fromPath(size);
+        return respond(imageVariantService.getGroupImage(id, kind, v), "g-" + id + "-" + kind.path(), v, ifNoneMatch);
+    }
+
+    // Only a generated variant matching the requested version may be cached for good
+    private ResponseEntity<byte[]> respond(ImageVariantService.ImageContent content, String tag,
+                                           Long v, String ifNoneMatch) {
+        String etag = "\"" + tag + "-" + content.version() + (content.variant() ? "" : "-o") + "\"";
+        CacheControl cacheControl = content.variant() && v != null && v == content.version()
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.noCache();
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(content.contentType()))
+                .contentLength(content.data().length)
+                .body(content.data());
+    }
+}
@@ -2,12 +2,20 @@ package com.project.user_service.controller;
 
 import com.project.user_service.domain.dto.request.CreateUserDetailsRequestDto;
 import com.project.user_service.domain.dto.request.UpdateUserProfileRequestDto;
+import com.project.user_service.domain.dto.response.CursorSlice;
 import com.project.user_service.domain.dto.response.GetFollowResponse;
+import com.project.user_service.domain.dto.response.SingleFlightStats;
+import com.project.user_service.domain.dto.response.SuggestionDto;
+import com.project.user_service.domain.dto.response.UserCardDto;
 import com.project.user_service.domain.dto.response.UserProfileResponseDto;
+import com.project.user_service.domain.enums.RelationType;
+import com.project.user_service.service.SingleFlightLoader;
+import com.project.user_service.service.SuggestionService;
+import com.project.user_service.service.UserCardService;
+import com.project.user_service.service.UserRelationService;
 import com.project.user_service.service.UserService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +31,10 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserCardService userCardService;
+    private final SingleFlightLoader singleFlightLoader;
+    private final SuggestionService suggestionService;
+    private final UserRelationService userRelationService;
 
     @PreAuthorize("authentication.principal.id.equals(#requestDto.id)")
     @PostMapping("/profile/create")
@@ -34,12 +46,28 @@ public class UserController {
     }
 
     @GetMapping("/profile/get")
-    public ResponseEntity<UserProfileResponseDto> getUser(
-            @RequestParam UUID id, @RequestParam Boolean image) {
-        UserProfileResponseDto responseDto = userService.getProfile(id, image);
+    public ResponseEntity<UserProfileResponseDto> getUser(@RequestParam UUID id) {
+        UserProfileResponseDto responseDto = userService.getProfile(id);
         return new ResponseEntity<>(responseDto, HttpStatus.OK);
     }
 
+    @PostMapping("/card/get")
+    public ResponseEntity<List<UserCardDto>> getUserCards(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok().body(userCardService.getCards(ids));
+    }
+
+    @PreAuthorize("authentication.principal.id.equals(#id)")
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<SuggestionDto>> getSuggestions(@RequestParam UUID id) {
+        return ResponseEntity.ok().body(suggestionService.getSuggestions(id));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/single-flight")
+    public ResponseEntity<SingleFlightStats> getSingleFlightStats() {
+        return ResponseEntity.ok().body(singleFlightLoader.stats());
+    }
+
     @PutMapping("/profile/image/update")
     @PreAuthorize("authentication.principal.id.equals(#id)")
     public ResponseEntity<Boolean> uploadImage(
@@ -74,19 +102,55 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{userId}/block/{targetId}")
+    @PreAuthorize("authentication.principal.id.equals(#userId)")
+    public ResponseEntity<Void> blockUser(
+            @PathVariable UUID userId,
+            @PathVariable UUID targetId) {
+        userRelationService.relate(userId, targetId, RelationType.BLOCK);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/{userId}/block/{targetId}")
+    @PreAuthorize("authentication.principal.id.equals(#userId)")
+    public ResponseEntity<Void> unblockUser(
+            @PathVariable UUID userId,
+            @PathVariable UUID targetId) {
+        userRelationService.unrelate(userId, targetId, RelationType.BLOCK);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/{userId}/mute/{targetId}")
+    @PreAuthorize("authentication.principal.id.equals(#userId)")
+    public ResponseEntity<Void> muteUser(
+            @PathVariable UUID userId,
+            @PathVariable UUID targetId) {
+        userRelationService.relate(userId, targetId, RelationType.MUTE);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/{userId}/mute/{targetId}")
+    @PreAuthorize("authentication.principal.id.equals(#userId)")
+    public ResponseEntity<Void> unmuteUser(
+            @PathVariable UUID userId,
+            @PathVariable UUID targetId) {
+        userRelationService.unrelate(userId, targetId, RelationType.MUTE);
+        return ResponseEntity.ok().build();
+    }
+
     @PreAuthorize("hasAuthority('user:get')")
     @GetMapping("/following/list")
-    public ResponseEntity<Page<GetFollowResponse>> getFollowing(
-            @RequestParam UUID id, @RequestParam int page) {
-        Page<GetFollowResponse> responseDto = userService.getFollowing(id, page);
+    public ResponseEntity<CursorSlice<GetFollowResponse>> getFollowing(
+            @RequestParam UUID id, @RequestParam(required = false) String cursor) {
+        CursorSlice<GetFollowResponse> responseDto = userService.getFollowing(id, cursor);
         return new ResponseEntity<>(responseDto, HttpStatus.OK);
     }
 
     @PreAuthorize("hasAuthority('user:get')")
     @GetMapping("/follower/list")
-    public ResponseEntity<Page<GetFollowResponse>> getFollower(
-            @RequestParam UUID id, @RequestParam int page) {
-        Page<GetFollowResponse> responseDto = userService.getFollower(id, page);
+    public ResponseEntity<CursorSlice<GetFollowResponse>> getFollower(
+            @RequestParam UUID id, @RequestParam(required = false) String cursor) {
+        CursorSlice<GetFollowResponse> responseDto = userService.getFollower(id, cursor);
         return new ResponseEntity<>(responseDto, HttpStatus.OK);
     }
 }
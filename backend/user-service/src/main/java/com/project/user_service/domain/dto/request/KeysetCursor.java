@@ -0,0 +1,35 @@
+package com.project.user_service.domain.dto.request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a list ordered by (created_at DESC, id DESC). Sent to clients as an opaque
+ * base64 token; the next page starts strictly after it, so paging costs the same at any depth.
+ */
+public record KeysetCursor(LocalDateTime at, UUID id) {
+
+    // Sorts after every real row, used for the first page
+    public static final KeysetCursor FIRST = new KeysetCursor(
+            LocalDateTime.of(9999, 12, 31, 0, 0), new UUID(-1L, -1L));
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, split)), UUID.fromString(raw.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((at + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
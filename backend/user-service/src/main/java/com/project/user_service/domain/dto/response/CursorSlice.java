@@ -0,0 +1,29 @@
+package com.project.user_service.domain.dto.response;
+
+import com.project.user_service.domain.dto.request.KeysetCursor;
+import lombok.*;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorSlice<T> {
+
+    private List<T> content;
+    private boolean hasNext;
+    // null on the last slice
+    private String nextCursor;
+
+    public static <T> CursorSlice<T> of(Slice<T> slice, Function<T, KeysetCursor> position) {
+        List<T> content = slice.getContent();
+        String next = slice.hasNext() && !content.isEmpty()
+                ? position.apply(content.getLast()).encode()
+                : null;
+        return new CursorSlice<>(content, next != null, next);
+    }
+}
@@ -2,6 +2,7 @@ package com.project.user_service.domain.dto.response;
 
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Getter
@@ -14,4 +15,8 @@ public class GetFollowResponse {
     private String displayName;
     private String username;
     private boolean isValidated;
+    private String avatarUrl;
+    private long avatarVersion;
+    // When the follow or group join happened, the list order
+    private LocalDateTime since;
 }
@@ -14,4 +14,6 @@ public class GetGroups {
     private String groupName;
     private String leaderUsername;
     private UUID leaderId;
+    private String profileImageUrl;
+    private long profileImageVersion;
 }
@@ -0,0 +1,26 @@
+package com.project.user_service.domain.dto.response;
+
+import lombok.*;
+
+import java.util.UUID;
+
+// One group as search-service indexes it
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupExportDto {
+
+    private UUID id;
+
+    private String groupName;
+
+    private String bio;
+
+    private String leaderUsername;
+
+    private String leaderDisplayName;
+
+    private Boolean enable;
+}
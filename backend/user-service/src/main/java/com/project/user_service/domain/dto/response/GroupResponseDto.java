@@ -1,7 +1,5 @@
 package com.project.user_service.domain.dto.response;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.Lob;
 import lombok.*;
 
 import java.time.LocalDate;
@@ -9,7 +7,7 @@ import java.util.UUID;
 
 @Setter
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class GroupResponseDto {
@@ -22,9 +20,11 @@ public class GroupResponseDto {
     private String leaderDisplayName;
     private long memberCount;
     private LocalDate dateOfCreation;
+    // Resolved per viewer, never cached
     private Boolean isMember;
-    private byte[] profileImage;
-    private String profileImageType;
-    private byte[] bgImage;
-    private String bgImageType;
+    // null when the group has no such image
+    private String profileImageUrl;
+    private long profileImageVersion;
+    private String bgImageUrl;
+    private long bgImageVersion;
 }
@@ -0,0 +1,32 @@
+package com.project.user_service.domain.dto.response;
+
+import lombok.*;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class IdSetDelta {
+
+    // added holds the whole set when full is true
+    private boolean full;
+
+    private Set<UUID> added;
+
+    private Set<UUID> removed;
+
+    private long version;
+
+    // graph the version belongs to, 0 when the set did not come from the graph
+    private long generation;
+
+    public static IdSetDelta full(Set<UUID> ids, long version) {
+        return full(ids, version, 0);
+    }
+
+    public static IdSetDelta full(Set<UUID> ids, long version, long generation) {
+        return new IdSetDelta(true, ids, Set.of(), version, generation);
+    }
+}
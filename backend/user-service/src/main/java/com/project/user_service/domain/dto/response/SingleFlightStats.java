@@ -0,0 +1,22 @@
+package com.project.user_service.domain.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SingleFlightStats {
+
+    // cache misses that went to the database
+    private long loads;
+    // requests that joined a load already running on this instance
+    private long localWaits;
+    // requests that waited for a load holding the lock on another instance
+    private long remoteWaits;
+    private long remoteHits;
+    // remote waits that gave up and loaded themselves
+    private long remoteTimeouts;
+    private double avgWaitMillis;
+}
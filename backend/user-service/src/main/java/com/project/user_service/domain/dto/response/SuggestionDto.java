@@ -0,0 +1,23 @@
+package com.project.user_service.domain.dto.response;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+
+    private UUID id;
+
+    // how many of the viewer's followees follow this user
+    private int mutualFollows;
+
+    private int sharedGroups;
+
+    // filled in when served, not stored with the precomputed list
+    private UserCardDto user;
+}
@@ -0,0 +1,26 @@
+package com.project.user_service.domain.dto.response;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCardDto {
+
+    private UUID id;
+
+    private String username;
+
+    private String displayName;
+
+    private Boolean isVerified;
+
+    // null when the user has no avatar
+    private String avatarUrl;
+
+    private long avatarVersion;
+}
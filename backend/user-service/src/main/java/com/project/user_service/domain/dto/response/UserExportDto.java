@@ -0,0 +1,24 @@
+package com.project.user_service.domain.dto.response;
+
+import lombok.*;
+
+import java.util.UUID;
+
+// One user as search-service indexes it
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserExportDto {
+
+    private UUID id;
+
+    private String username;
+
+    private String displayName;
+
+    private String bio;
+
+    private boolean enable;
+}
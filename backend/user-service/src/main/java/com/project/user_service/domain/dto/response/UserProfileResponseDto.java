@@ -6,7 +6,7 @@ import java.util.UUID;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserProfileResponseDto {
@@ -25,9 +25,10 @@ public class UserProfileResponseDto {
 
     private String location;
 
-    private byte[] profileImg;
+    // null when the user has no avatar
+    private String avatarUrl;
 
-    private String imageType;
+    private long avatarVersion;
 
     private Boolean isVerified;
 
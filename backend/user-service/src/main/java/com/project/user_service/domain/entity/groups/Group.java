@@ -3,6 +3,8 @@ package com.project.user_service.domain.entity.groups;
 import com.project.user_service.domain.entity.users.Users;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -11,6 +13,7 @@ import java.util.UUID;
 
 @Table(name = "groups", uniqueConstraints = @UniqueConstraint(name = "group_name_unique", columnNames = "group_name"))
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @Builder
@@ -36,6 +39,13 @@ public class Group {
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "group")
     private Set<GroupMember> members = new HashSet<>();
 
+    // Members plus the leader, only ever changed by GroupRepository.adjustMemberCount;
+    // @DynamicUpdate keeps entity saves from writing back a stale value
+    @Builder.Default
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private long memberCount = 1;
+
     @Column(nullable = false, updatable = false)
     private LocalDate dateOfCreation;
 
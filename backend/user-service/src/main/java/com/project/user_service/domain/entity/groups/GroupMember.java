@@ -6,13 +6,15 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Table(
         uniqueConstraints = @UniqueConstraint(
                 name = "unique_members" ,
                 columnNames = {"users_id", "group_id"}
-        )
+        ),
+        indexes = @Index(name = "group_member_group_created_idx", columnList = "group_id, created_at, users_id")
 )
 @Entity
 @Setter
@@ -38,8 +40,12 @@ public class GroupMember {
     @Column(nullable = false , updatable = false)
     private LocalDate joinDate;
 
+    @Column(nullable = false, updatable = false, columnDefinition = "timestamp default now()")
+    private LocalDateTime createdAt;
+
     @PrePersist
     private void atCreation(){
         joinDate = LocalDate.now();
+        createdAt = LocalDateTime.now();
     }
 }
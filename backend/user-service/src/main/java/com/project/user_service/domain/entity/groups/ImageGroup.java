@@ -32,4 +32,13 @@ public class ImageGroup {
     private byte[] bgImage;
 
     private String bgImageType;
+
+    // Bumped on every upload so image URLs can be cached forever
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long profileImageVersion = 0;
+
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long bgImageVersion = 0;
 }
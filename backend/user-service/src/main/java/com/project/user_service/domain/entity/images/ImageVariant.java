@@ -0,0 +1,46 @@
+package com.project.user_service.domain.entity.images;
+
+import com.project.user_service.domain.enums.ImageOwner;
+import com.project.user_service.domain.enums.ImageVariantKind;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+// Resized copy of a user avatar or group image, generated after upload
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "image_variant", uniqueConstraints = @UniqueConstraint(
+        name = "uk_image_variant_owner_kind",
+        columnNames = { "owner", "owner_id", "kind" }))
+public class ImageVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ImageOwner owner;
+
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ImageVariantKind kind;
+
+    // version of the source image this was generated from
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private byte[] data;
+}
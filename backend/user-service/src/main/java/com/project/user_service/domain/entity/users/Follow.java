@@ -3,12 +3,18 @@ package com.project.user_service.domain.entity.users;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Table(
         name = "follows",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"follower_id", "following_id"})
+        },
+        // Keyset order of the following / follower lists, with the listed user as tie-breaker
+        indexes = {
+                @Index(name = "follows_follower_created_idx", columnList = "follower_id, created_at, following_id"),
+                @Index(name = "follows_following_created_idx", columnList = "following_id, created_at, follower_id")
         }
 )
 @Entity
@@ -30,4 +36,12 @@ public class Follow {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "following_id", nullable = false)
     private Users following;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "timestamp default now()")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    private void atCreation() {
+        createdAt = LocalDateTime.now();
+    }
 }
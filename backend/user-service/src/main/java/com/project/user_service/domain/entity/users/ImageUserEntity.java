@@ -21,4 +21,9 @@ public class ImageUserEntity {
 
     private String imageType;
 
+    // Bumped on every upload so image URLs can be cached forever
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long imageVersion = 0;
+
 }
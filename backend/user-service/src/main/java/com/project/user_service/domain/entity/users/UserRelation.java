@@ -0,0 +1,51 @@
+package com.project.user_service.domain.entity.users;
+
+import com.project.user_service.domain.enums.RelationType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Table(
+        name = "user_relation",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"owner_id", "target_id", "type"})
+        },
+        // the unique constraint covers lookups by owner, this one finds who blocked a user
+        indexes = {
+                @Index(name = "user_relation_target_type_idx", columnList = "target_id, type")
+        }
+)
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRelation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    private Users owner;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "target_id", nullable = false)
+    private Users target;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RelationType type;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "timestamp default now()")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    private void atCreation() {
+        createdAt = LocalDateTime.now();
+    }
+}
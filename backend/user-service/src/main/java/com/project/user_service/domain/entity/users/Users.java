@@ -4,6 +4,7 @@ import com.project.user_service.domain.entity.groups.GroupMember;
 import com.project.user_service.domain.entity.groups.Group;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -49,6 +50,17 @@ public class Users {
     @OneToMany(mappedBy = "follower")
     private Set<Follow> following = new HashSet<>();
 
+    // Maintained with the follow rows, see UserService.followUser / reconcileFollowCounts
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long followerCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long followingCount = 0;
+
     @OneToOne(cascade = CascadeType.ALL , orphanRemoval = true , fetch = FetchType.LAZY)
     private ImageUserEntity imageUserEntity;
 
@@ -0,0 +1,6 @@
+package com.project.user_service.domain.enums;
+
+public enum ImageOwner {
+    USER,
+    GROUP
+}
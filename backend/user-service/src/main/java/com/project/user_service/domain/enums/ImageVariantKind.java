@@ -0,0 +1,38 @@
+package com.project.user_service.domain.enums;
+
+import java.util.Locale;
+
+public enum ImageVariantKind {
+    SMALL(64, 64),
+    MEDIUM(200, 200),
+    LARGE(512, 512),
+    BANNER(1500, 500);
+
+    private final int width;
+    private final int height;
+
+    ImageVariantKind(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public String path() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ImageVariantKind fromPath(String path) {
+        try {
+            return valueOf(path.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown image size : " + path);
+        }
+    }
+}
@@ -5,10 +5,15 @@ public enum KafkaDataTransferFields {
     USER_UPDATE,
     GROUP_SAVE,
     GROUP_UPDATE,
+    USER_BLOCK,
+    USER_UNBLOCK,
+    USER_MUTE,
+    USER_UNMUTE,
     ID,
     USERNAME,
     DISPLAY_NAME,
     BIO,
     LEADER_USERNAME,
-    LEADER_DISPLAYNAME
+    LEADER_DISPLAYNAME,
+    TARGET_ID
 }
@@ -2,5 +2,10 @@ package com.project.user_service.domain.enums;
 
 public enum RedisMethod {
     USER_,
-    GROUP_
+    USER_CARD_,
+    GROUP_,
+    GROUP_MEMBERS_,
+    LOCK_,
+    SUGGESTIONS_,
+    SUGGESTIONS_ACTIVE
 }
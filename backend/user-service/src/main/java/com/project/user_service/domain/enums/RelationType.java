@@ -0,0 +1,8 @@
+package com.project.user_service.domain.enums;
+
+public enum RelationType {
+    // hides both users from each other
+    BLOCK,
+    // hides the target from the owner only
+    MUTE
+}
@@ -5,6 +5,7 @@ import com.project.user_service.repository.FollowRepository;
 import com.project.user_service.repository.GroupMemberRepository;
 import com.project.user_service.repository.GroupRepository;
 import com.project.user_service.repository.UsersRepository;
+import com.project.user_service.service.SocialGraphService;
 import io.grpc.stub.StreamObserver;
 import lombok.AllArgsConstructor;
 import org.springframework.grpc.server.service.GrpcService;
@@ -24,6 +25,7 @@ public class GRPCService extends RecommendationGrpc.RecommendationImplBase {
     private final GroupMemberRepository groupMemberRepository;
     private final UsersRepository usersRepository;
     private final GroupRepository groupRepository;
+    private final SocialGraphService socialGraphService;
 
     @Override
     public void getUserGroupMembersByGroupId(GetUserGroupMemberByGroupId request,
@@ -31,8 +33,13 @@ public class GRPCService extends RecommendationGrpc.RecommendationImplBase {
         String groupIdString = request.getGroupId();
         UUID groupId = UUID.fromString(groupIdString);
 
-        Set<UUID> groupIds = groupMemberRepository.getAllMemberOfGroup(groupId);
-        groupIds.add(groupRepository.getGroupLeaderId(groupId));
+        Set<UUID> groupIds;
+        if (socialGraphService.isReady()) {
+            groupIds = socialGraphService.getGroupMembers(groupId);
+        } else {
+            groupIds = groupMemberRepository.getAllMemberOfGroup(groupId);
+            groupIds.add(groupRepository.getGroupLeaderId(groupId));
+        }
         GetUserIds groupIdResponse = GetUserIds.newBuilder()
                 .addAllUserIds(
                         groupIds.stream()
@@ -52,10 +59,15 @@ public class GRPCService extends RecommendationGrpc.RecommendationImplBase {
         String userIdString = request.getUserId();
         UUID userId = UUID.fromString(userIdString);
 
-        Set<UUID> groupIds = groupMemberRepository.getUserGroup(userId);
-        Set<UUID> leaderIds = groupMemberRepository.getAllGroupLeaderId(userId);
-        Set<UUID> userIds = groupMemberRepository.getGroupMemberByGroupId(groupIds);
-        userIds.addAll(leaderIds);
+        Set<UUID> userIds;
+        if (socialGraphService.isReady()) {
+            userIds = socialGraphService.getCoMembers(userId);
+        } else {
+            Set<UUID> groupIds = groupMemberRepository.getUserGroup(userId);
+            Set<UUID> leaderIds = groupMemberRepository.getAllGroupLeaderId(userId);
+            userIds = groupMemberRepository.getGroupMemberByGroupId(groupIds);
+            userIds.addAll(leaderIds);
+        }
 
         GetUserIds userIdResponse = GetUserIds.newBuilder()
                 .addAllUserIds(
@@ -76,7 +88,9 @@ public class GRPCService extends RecommendationGrpc.RecommendationImplBase {
         String userIdString = request.getUserId();
         UUID userId = UUID.fromString(userIdString);
 
-        Set<UUID> following = followRepository.getFollowingForUser(userId);
+        Set<UUID> following = socialGraphService.isReady()
+                ? socialGraphService.getFollowing(userId)
+                : followRepository.getFollowingForUser(userId);
         GetUserIds userIds = GetUserIds.newBuilder()
                 .addAllUserIds(
                         following.stream()
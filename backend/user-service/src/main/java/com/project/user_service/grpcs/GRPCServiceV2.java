@@ -0,0 +1,159 @@
+package com.project.user_service.grpcs;
+
+import com.project.user_service.domain.dto.response.IdSetDelta;
+import com.project.user_service.domain.dto.response.UserCardDto;
+import com.project.user_service.repository.FollowRepository;
+import com.project.user_service.repository.GroupMemberRepository;
+import com.project.user_service.repository.GroupRepository;
+import com.project.user_service.service.SocialGraphService;
+import com.project.user_service.service.UserCardService;
+import com.project.user_service.service.UserRelationService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.AllArgsConstructor;
+import org.springframework.grpc.server.service.GrpcService;
+import recommendation.v2.IdChunk;
+import recommendation.v2.IdRequest;
+import recommendation.v2.RecommendationV2Grpc;
+import recommendation.v2.UserCard;
+import recommendation.v2.UserCardRequest;
+import recommendation.v2.UserCardResponse;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@GrpcService
+@AllArgsConstructor
+public class GRPCServiceV2 extends RecommendationV2Grpc.RecommendationV2ImplBase {
+
+    // 4096 ids = 64 KiB of payload per message
+    private static final int CHUNK_SIZE = 4096;
+
+    private final SocialGraphService socialGraphService;
+    private final FollowRepository followRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final GroupRepository groupRepository;
+    private final UserCardService userCardService;
+    private final UserRelationService userRelationService;
+
+    @Override
+    public void getUserFollowing(IdRequest request, StreamObserver<IdChunk> responseObserver) {
+        UUID userId = new UUID(request.getMsb(), request.getLsb());
+
+        IdSetDelta delta = socialGraphService.isReady()
+                ? socialGraphService.getFollowingSince(userId, request.getSinceVersion(), request.getGeneration())
+                : IdSetDelta.full(followRepository.getFollowingForUser(userId), 0);
+
+        stream(delta, responseObserver);
+    }
+
+    @Override
+    public void getGroupMembers(IdRequest request, StreamObserver<IdChunk> responseObserver) {
+        UUID groupId = new UUID(request.getMsb(), request.getLsb());
+
+        IdSetDelta delta;
+        if (socialGraphService.isReady()) {
+            delta = socialGraphService.getGroupMembersSince(groupId, request.getSinceVersion(), request.getGeneration());
+        } else {
+            Set<UUID> members = groupMemberRepository.getAllMemberOfGroup(groupId);
+            members.add(groupRepository.getGroupLeaderId(groupId));
+            delta = IdSetDelta.full(members, 0);
+        }
+
+        stream(delta, responseObserver);
+    }
+
+    // Spans every group of the user, so it is always answered in full
+    @Override
+    public void getUserAllGroupsMembers(IdRequest request, StreamObserver<IdChunk> responseObserver) {
+        UUID userId = new UUID(request.getMsb(), request.getLsb());
+
+        IdSetDelta delta;
+        if (socialGraphService.isReady()) {
+            long version = socialGraphService.getVersion();
+            delta = IdSetDelta.full(socialGraphService.getCoMembers(userId), version, socialGraphService.getGeneration());
+        } else {
+            Set<UUID> groupIds = groupMemberRepository.getUserGroup(userId);
+            Set<UUID> userIds = groupMemberRepository.getGroupMemberByGroupId(groupIds);
+            userIds.addAll(groupMemberRepository.getAllGroupLeaderId(userId));
+            delta = IdSetDelta.full(userIds, 0);
+        }
+
+        stream(delta, responseObserver);
+    }
+
+    // Small per user, so it is always answered in full; blocks and mutes are also published as events
+    @Override
+    public void getHiddenUsers(IdRequest request, StreamObserver<IdChunk> responseObserver) {
+        UUID userId = new UUID(request.getMsb(), request.getLsb());
+        stream(IdSetDelta.full(userRelationService.getHiddenUsers(userId), 0), responseObserver);
+    }
+
+    @Override
+    public void getUserCards(UserCardRequest request, StreamObserver<UserCardResponse> responseObserver) {
+        List<UUID> ids = new ArrayList<>(request.getIdsCount() / 2);
+        for (int i = 0; i + 1 < request.getIdsCount(); i += 2) {
+            ids.add(new UUID(request.getIds(i), request.getIds(i + 1)));
+        }
+
+        List<UserCardDto> cards;
+        try {
+            cards = userCardService.getCards(ids);
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+
+        UserCardResponse.Builder response = UserCardResponse.newBuilder();
+        for (UserCardDto card : cards) {
+            UserCard.Builder builder = UserCard.newBuilder()
+                    .setMsb(card.getId().getMostSignificantBits())
+                    .setLsb(card.getId().getLeastSignificantBits())
+                    .setUsername(card.getUsername())
+                    .setIsVerified(Boolean.TRUE.equals(card.getIsVerified()))
+                    .setAvatarVersion(card.getAvatarVersion());
+            if (card.getDisplayName() != null) {
+                builder.setDisplayName(card.getDisplayName());
+            }
+            if (card.getAvatarUrl() != null) {
+                builder.setAvatarUrl(card.getAvatarUrl());
+            }
+            response.addCards(builder);
+        }
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    private void stream(IdSetDelta delta, StreamObserver<IdChunk> responseObserver) {
+        Iterator<UUID> added = delta.getAdded().iterator();
+        Iterator<UUID> removed = delta.getRemoved().iterator();
+
+        do {
+            IdChunk.Builder chunk = IdChunk.newBuilder()
+                    .setVersion(delta.getVersion())
+                    .setGeneration(delta.getGeneration())
+                    .setFull(delta.isFull());
+
+            int count = 0;
+            while (count < CHUNK_SIZE && added.hasNext()) {
+                UUID id = added.next();
+                chunk.addIds(id.getMostSignificantBits()).addIds(id.getLeastSignificantBits());
+                count++;
+            }
+            while (count < CHUNK_SIZE && removed.hasNext()) {
+                UUID id = removed.next();
+                chunk.addRemovedIds(id.getMostSignificantBits()).addRemovedIds(id.getLeastSignificantBits());
+                count++;
+            }
+
+            chunk.setLast(!added.hasNext() && !removed.hasNext());
+            responseObserver.onNext(chunk.build());
+        } while (added.hasNext() || removed.hasNext());
+
+        responseObserver.onCompleted();
+    }
+}
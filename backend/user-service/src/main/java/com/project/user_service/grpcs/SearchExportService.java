@@ -0,0 +1,81 @@
+package com.project.user_service.grpcs;
+
+import com.project.user_service.domain.dto.response.GroupExportDto;
+import com.project.user_service.domain.dto.response.UserExportDto;
+import com.project.user_service.repository.GroupRepository;
+import com.project.user_service.repository.UsersRepository;
+import io.grpc.stub.StreamObserver;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.grpc.server.service.GrpcService;
+import search.export.v1.ExportRequest;
+import search.export.v1.GroupRecord;
+import search.export.v1.SearchExportGrpc;
+import search.export.v1.UserRecord;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Keyset reads in pages of PAGE_SIZE, so a call never holds more than one page in memory
+@GrpcService
+@AllArgsConstructor
+public class SearchExportService extends SearchExportGrpc.SearchExportImplBase {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int MAX_LIMIT = 50_000;
+
+    private final UsersRepository usersRepository;
+    private final GroupRepository groupRepository;
+
+    @Override
+    public void exportUsers(ExportRequest request, StreamObserver<UserRecord> responseObserver) {
+        export(request, usersRepository::exportAfter, UserExportDto::getId, user -> responseObserver.onNext(
+                UserRecord.newBuilder()
+                        .setMsb(user.getId().getMostSignificantBits())
+                        .setLsb(user.getId().getLeastSignificantBits())
+                        .setUsername(user.getUsername())
+                        .setDisplayName(nullToEmpty(user.getDisplayName()))
+                        .setBio(nullToEmpty(user.getBio()))
+                        .setEnable(user.isEnable())
+                        .build()));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void exportGroups(ExportRequest request, StreamObserver<GroupRecord> responseObserver) {
+        export(request, groupRepository::exportAfter, GroupExportDto::getId, group -> responseObserver.onNext(
+                GroupRecord.newBuilder()
+                        .setMsb(group.getId().getMostSignificantBits())
+                        .setLsb(group.getId().getLeastSignificantBits())
+                        .setGroupName(group.getGroupName())
+                        .setBio(nullToEmpty(group.getBio()))
+                        .setLeaderUsername(nullToEmpty(group.getLeaderUsername()))
+                        .setLeaderDisplayName(nullToEmpty(group.getLeaderDisplayName()))
+                        .setEnable(Boolean.TRUE.equals(group.getEnable()))
+                        .build()));
+        responseObserver.onCompleted();
+    }
+
+    private <T> void export(ExportRequest request, BiFunction<UUID, PageRequest, List<T>> page,
+                            Function<T, UUID> idOf, Consumer<T> send) {
+        UUID after = new UUID(request.getAfterMsb(), request.getAfterLsb());
+        int remaining = request.getLimit() <= 0 ? MAX_LIMIT : Math.min(request.getLimit(), MAX_LIMIT);
+
+        while (remaining > 0) {
+            List<T> rows = page.apply(after, PageRequest.of(0, Math.min(PAGE_SIZE, remaining)));
+            rows.forEach(send);
+            remaining -= rows.size();
+            if (rows.size() < PAGE_SIZE) {
+                return;
+            }
+            after = idOf.apply(rows.getLast());
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
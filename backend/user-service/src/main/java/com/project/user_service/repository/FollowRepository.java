@@ -3,7 +3,7 @@ package com.project.user_service.repository;
 import com.project.user_service.domain.dto.response.GetFollowResponse;
 import com.project.user_service.domain.entity.users.Follow;
 import com.project.user_service.domain.entity.users.Users;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -32,27 +33,49 @@ public interface FollowRepository extends JpaRepository<Follow, UUID> {
 
     @Query("""
     SELECT new com.project.user_service.domain.dto.response.GetFollowResponse(
-        f.following.id,
-        f.following.displayName,
-        f.following.username,
-        f.following.isVerified
+        u.id,
+        u.displayName,
+        u.username,
+        u.isVerified,
+        null,
+        CASE WHEN i.imageType IS NULL THEN -1L ELSE i.imageVersion END,
+        f.createdAt
     )
     FROM Follow f
+    JOIN f.following u
+    LEFT JOIN u.imageUserEntity i
     WHERE f.follower.id = :followerId
+      AND (f.createdAt < :at OR (f.createdAt = :at AND f.following.id < :after))
+    ORDER BY f.createdAt DESC, f.following.id DESC
 """)
-    Page<GetFollowResponse> getFollowing(@Param("followerId") UUID followerId , Pageable pageable);
+    Slice<GetFollowResponse> getFollowing(
+            @Param("followerId") UUID followerId,
+            @Param("at") LocalDateTime at,
+            @Param("after") UUID after,
+            Pageable pageable);
 
     @Query("""
     SELECT new com.project.user_service.domain.dto.response.GetFollowResponse(
-        f.follower.id,
-        f.follower.displayName,
-        f.follower.username,
-        f.follower.isVerified
+        u.id,
+        u.displayName,
+        u.username,
+        u.isVerified,
+        null,
+        CASE WHEN i.imageType IS NULL THEN -1L ELSE i.imageVersion END,
+        f.createdAt
     )
     FROM Follow f
+    JOIN f.follower u
+    LEFT JOIN u.imageUserEntity i
     WHERE f.following.id = :id
+      AND (f.createdAt < :at OR (f.createdAt = :at AND f.follower.id < :after))
+    ORDER BY f.createdAt DESC, f.follower.id DESC
 """)
-    Page<GetFollowResponse> getFollower(@Param("id") UUID id , Pageable pageable);
+    Slice<GetFollowResponse> getFollower(
+            @Param("id") UUID id,
+            @Param("at") LocalDateTime at,
+            @Param("after") UUID after,
+            Pageable pageable);
 
     @Query(
             "SELECT f.following.id " +
@@ -1,13 +1,18 @@
 package com.project.user_service.repository;
 
+import com.project.user_service.domain.dto.response.GetFollowResponse;
 import com.project.user_service.domain.dto.response.GetGroups;
 import com.project.user_service.domain.dto.response.GroupDetailResponseDto;
 import com.project.user_service.domain.entity.groups.GroupMember;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -19,6 +24,39 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, UUID>
     @Query("SELECT gm FROM GroupMember gm WHERE gm.group.id = :groupId AND gm.users.id = :userId")
     Optional<GroupMember> findByGroupIdAndUserId(@Param("groupId") UUID groupId, @Param("userId") UUID userId);
 
+    // Served by the unique_members (users_id, group_id) index
+    boolean existsByGroup_IdAndUsers_Id(UUID groupId, UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM GroupMember gm WHERE gm.group.id = :groupId AND gm.users.id = :userId")
+    int deleteByGroupIdAndUserId(@Param("groupId") UUID groupId, @Param("userId") UUID userId);
+
+    @Query("SELECT gm.users.id FROM GroupMember gm WHERE gm.group.id = :groupId")
+    List<UUID> getMemberIds(@Param("groupId") UUID groupId);
+
+    @Query("""
+        SELECT new com.project.user_service.domain.dto.response.GetFollowResponse(
+            u.id,
+            u.displayName,
+            u.username,
+            u.isVerified,
+            null,
+            CASE WHEN i.imageType IS NULL THEN -1L ELSE i.imageVersion END,
+            gm.createdAt
+        )
+        FROM GroupMember gm
+        JOIN gm.users u
+        LEFT JOIN u.imageUserEntity i
+        WHERE gm.group.id = :groupId
+          AND (gm.createdAt < :at OR (gm.createdAt = :at AND gm.users.id < :after))
+        ORDER BY gm.createdAt DESC, gm.users.id DESC
+    """)
+    Slice<GetFollowResponse> getMembers(
+            @Param("groupId") UUID groupId,
+            @Param("at") LocalDateTime at,
+            @Param("after") UUID after,
+            Pageable pageable);
+
     @Query("SELECT COUNT(gm) FROM GroupMember gm WHERE gm.group.id = :groupId")
     long countByGroupId(@Param("groupId") UUID groupId);
 
@@ -39,9 +77,11 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, UUID>
                     "g.group.id ," +
                     "g.group.groupName ," +
                     "g.group.leader.username ," +
-                    "g.group.leader.id" +
+                    "g.group.leader.id ," +
+                    "null ," +
+                    "CASE WHEN ig.profileImageType IS NULL THEN -1L ELSE ig.profileImageVersion END" +
                     ")" +
-                    "FROM GroupMember g WHERE g.users.id = :id OR g.group.leader.id = :id"
+                    "FROM GroupMember g LEFT JOIN g.group.images ig WHERE g.users.id = :id OR g.group.leader.id = :id"
     )
     List<GetGroups> getGroupOfUser(@Param("id") UUID id);
 
@@ -1,9 +1,11 @@
 package com.project.user_service.repository;
 
 import com.project.user_service.domain.dto.response.GroupDetailResponseDto;
+import com.project.user_service.domain.dto.response.GroupExportDto;
 import com.project.user_service.domain.dto.response.GroupResponseDto;
 import com.project.user_service.domain.entity.groups.Group;
 import com.project.user_service.domain.entity.groups.ImageGroup;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -25,13 +27,15 @@ public interface GroupRepository extends JpaRepository<Group, UUID> {
                         "g.leader.username, " +
                         "g.leader.id, " +
                         "g.leader.displayName, " +
-                        "SIZE(g.members) + 1, " +
+                        "g.memberCount, " +
                         "g.dateOfCreation, " +
-                        "(CASE WHEN g.leader.id = :userId OR :userId IN (SELECT m.id FROM g.members m) THEN true ELSE false END),"
-                        +
-                        "null, null, null, null) " +
-                        "FROM Group g WHERE g.id = :id AND g.enable = true")
-        Optional<GroupResponseDto> getGroupById(@Param("id") UUID id, @Param("userId") UUID userId);
+                        "null, " +
+                        "null, " +
+                        "CASE WHEN ig.profileImageType IS NULL THEN -1L ELSE ig.profileImageVersion END, " +
+                        "null, " +
+                        "CASE WHEN ig.bgImageType IS NULL THEN -1L ELSE ig.bgImageVersion END) " +
+                        "FROM Group g LEFT JOIN g.images ig WHERE g.id = :id AND g.enable = true")
+        Optional<GroupResponseDto> getGroupById(@Param("id") UUID id);
 
         @Query("""
                             SELECT ig
@@ -45,10 +49,25 @@ public interface GroupRepository extends JpaRepository<Group, UUID> {
         @Query("UPDATE Group g SET g.bio = :bio WHERE g.id = :id AND g.enable = true")
         int updateTheBio(@Param("id") UUID id, @Param("bio") String bio);
 
+        @Modifying
+        @Query("UPDATE Group g SET g.memberCount = g.memberCount + :delta WHERE g.id = :id")
+        int adjustMemberCount(@Param("id") UUID id, @Param("delta") long delta);
+
+        boolean existsByIdAndLeader_Id(UUID id, UUID leaderId);
+
         @Query("SELECT g.leader.id FROM Group g WHERE g.id = :id")
         UUID getGroupLeaderId(@Param("id") UUID id);
 
         @Query("SELECT g.leader.id FROM Group g WHERE g.id IN :id")
         Set<UUID> getAllGroupLeaderId(@Param("id") Set<UUID> id);
 
+        @Query("""
+                            SELECT new com.project.user_service.domain.dto.response.GroupExportDto(
+                                g.id, g.groupName, g.bio, g.leader.username, g.leader.displayName, g.enable)
+                            FROM Group g
+                            WHERE g.id > :after
+                            ORDER BY g.id
+                        """)
+        List<GroupExportDto> exportAfter(@Param("after") UUID after, Pageable pageable);
+
 }
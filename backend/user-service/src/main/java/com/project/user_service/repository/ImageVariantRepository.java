@@ -0,0 +1,16 @@
+package com.project.user_service.repository;
+
+import com.project.user_service.domain.entity.images.ImageVariant;
+import com.project.user_service.domain.enums.ImageOwner;
+import com.project.user_service.domain.enums.ImageVariantKind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, UUID> {
+
+    Optional<ImageVariant> findByOwnerAndOwnerIdAndKind(ImageOwner owner, UUID ownerId, ImageVariantKind kind);
+}
@@ -0,0 +1,34 @@
+package com.project.user_service.repository;
+
+import com.project.user_service.domain.entity.users.UserRelation;
+import com.project.user_service.domain.enums.RelationType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface UserRelationRepository extends JpaRepository<UserRelation, UUID> {
+
+    boolean existsByOwner_IdAndTarget_IdAndType(UUID ownerId, UUID targetId, RelationType type);
+
+    @Modifying
+    @Query("""
+    DELETE FROM UserRelation r
+    WHERE r.owner.id = :ownerId AND r.target.id = :targetId AND r.type = :type
+""")
+    int deleteRelation(
+            @Param("ownerId") UUID ownerId,
+            @Param("targetId") UUID targetId,
+            @Param("type") RelationType type);
+
+    @Query("SELECT r.target.id FROM UserRelation r WHERE r.owner.id = :ownerId")
+    Set<UUID> getTargetIds(@Param("ownerId") UUID ownerId);
+
+    @Query("SELECT r.owner.id FROM UserRelation r WHERE r.target.id = :targetId AND r.type = :type")
+    Set<UUID> getOwnerIds(@Param("targetId") UUID targetId, @Param("type") RelationType type);
+}
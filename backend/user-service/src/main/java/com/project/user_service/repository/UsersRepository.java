@@ -1,12 +1,18 @@
 package com.project.user_service.repository;
 
+import com.project.user_service.domain.dto.response.UserCardDto;
+import com.project.user_service.domain.dto.response.UserExportDto;
 import com.project.user_service.domain.dto.response.UserProfileResponseDto;
 import com.project.user_service.domain.entity.users.Users;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -39,18 +45,71 @@ public interface UsersRepository extends JpaRepository<Users, UUID> {
         u.username,
         u.displayName,
         u.bio,
-        (SELECT COUNT(f) FROM Follow f WHERE f.following.id = u.id),
-        (SELECT COUNT(f) FROM Follow f WHERE f.follower.id = u.id),
+        u.followerCount,
+        u.followingCount,
         u.location,
         null,
-        null,
+        CASE WHEN i.imageType IS NULL THEN -1L ELSE i.imageVersion END,
         u.isVerified,
         null
     )
     FROM Users u
+    LEFT JOIN u.imageUserEntity i
     WHERE u.id = :id AND u.enable = true
 """)
     Optional<UserProfileResponseDto> getUserWithDetails(UUID id);
 
     boolean existsByIdAndEnableTrue(UUID id);
+
+    @Query("""
+        SELECT new com.project.user_service.domain.dto.response.UserCardDto(
+            u.id,
+            u.username,
+            u.displayName,
+            u.isVerified,
+            null,
+            CASE WHEN i.imageType IS NULL THEN -1L ELSE i.imageVersion END
+        )
+        FROM Users u
+        LEFT JOIN u.imageUserEntity i
+        WHERE u.id IN :ids AND u.enable = true
+    """)
+    List<UserCardDto> getUserCards(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE Users u SET u.followerCount = u.followerCount + :delta WHERE u.id = :id")
+    int adjustFollowerCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Users u SET u.followingCount = u.followingCount + :delta WHERE u.id = :id")
+    int adjustFollowingCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Query("SELECT u.id FROM Users u WHERE u.id > :after ORDER BY u.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("""
+        SELECT new com.project.user_service.domain.dto.response.UserExportDto(
+            u.id, u.username, u.displayName, u.bio, u.enable)
+        FROM Users u
+        WHERE u.id > :after
+        ORDER BY u.id
+    """)
+    List<UserExportDto> exportAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("""
+        SELECT u.id FROM Users u
+        WHERE u.id IN :ids
+          AND (u.followerCount <> (SELECT COUNT(f) FROM Follow f WHERE f.following.id = u.id)
+            OR u.followingCount <> (SELECT COUNT(f) FROM Follow f WHERE f.follower.id = u.id))
+    """)
+    List<UUID> findDriftedFollowCounts(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("""
+        UPDATE Users u SET
+            u.followerCount = (SELECT COUNT(f) FROM Follow f WHERE f.following.id = u.id),
+            u.followingCount = (SELECT COUNT(f) FROM Follow f WHERE f.follower.id = u.id)
+        WHERE u.id IN :ids
+    """)
+    int recountFollows(@Param("ids") Collection<UUID> ids);
 }
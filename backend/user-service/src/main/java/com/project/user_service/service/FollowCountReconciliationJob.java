@@ -0,0 +1,41 @@
+package com.project.user_service.service;
+
+import com.project.user_service.repository.UsersRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class FollowCountReconciliationJob {
+
+    private static final int BATCH_SIZE = 500;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final UsersRepository userRepository;
+    private final UserService userService;
+
+    // Walks every user in id order and recounts only the rows whose counters drifted
+    @Scheduled(cron = "${user.follow-count.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        UUID after = FIRST_ID;
+        int corrected = 0;
+
+        while (true) {
+            List<UUID> ids = userRepository.findIdsAfter(after, PageRequest.of(0, BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            corrected += userService.reconcileFollowCounts(ids);
+            after = ids.getLast();
+        }
+
+        log.info("Follow counter reconciliation finished, {} users corrected", corrected);
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.enums.RedisMethod;
+import com.project.user_service.repository.GroupMemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis copy of the member ids (leader included) of large groups, for membership checks that
+ * don't touch Postgres. Small groups are answered by the unique index on group_member and never
+ * get a set. A set is built on the first miss for a large group, patched after join / leave
+ * commits while it exists, and simply left to expire otherwise.
+ */
+@Slf4j
+@Service
+public class GroupMembershipService {
+
+    private static final long BUILD_LOCK_MILLIS = 10_000L;
+
+    private final GroupMemberRepository groupMemberRepository;
+    private final RedisService redisService;
+    private final long threshold;
+    private final long ttlSeconds;
+
+    public GroupMembershipService(
+            GroupMemberRepository groupMemberRepository,
+            RedisService redisService,
+            @Value("${user.group.membership-cache-threshold:1000}") long threshold,
+            @Value("${user.group.membership-cache-ttl-seconds:3600}") long ttlSeconds) {
+        this.groupMemberRepository = groupMemberRepository;
+        this.redisService = redisService;
+        this.threshold = threshold;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    // null when no set is cached for the group
+    public Boolean contains(UUID groupId, UUID userId) {
+        return redisService.setContains(key(groupId), userId.toString());
+    }
+
+    // Builds the set for a large group; the lock keeps concurrent misses from loading it twice
+    public void warm(UUID groupId, UUID leaderId, long memberCount) {
+        if (memberCount < threshold) {
+            return;
+        }
+        String key = key(groupId);
+        if (!redisService.tryLock(RedisMethod.LOCK_ + key, UUID.randomUUID().toString(), BUILD_LOCK_MILLIS)) {
+            return;
+        }
+
+        List<UUID> memberIds = groupMemberRepository.getMemberIds(groupId);
+        List<String> members = new ArrayList<>(memberIds.size() + 1);
+        memberIds.forEach(id -> members.add(id.toString()));
+        members.add(leaderId.toString());
+        redisService.replaceSet(key, members, ttlSeconds);
+        log.info("Membership set of group : {} cached with {} ids", groupId, members.size());
+    }
+
+    public void added(UUID groupId, UUID userId) {
+        afterCommit(() -> redisService.setAddIfPresent(key(groupId), userId.toString()));
+    }
+
+    public void removed(UUID groupId, UUID userId) {
+        afterCommit(() -> redisService.setRemoveIfPresent(key(groupId), userId.toString()));
+    }
+
+    public void evict(UUID groupId) {
+        afterCommit(() -> redisService.delete(key(groupId)));
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private static String key(UUID groupId) {
+        return RedisMethod.GROUP_MEMBERS_ + groupId.toString();
+    }
+}
@@ -2,12 +2,16 @@ package com.project.user_service.service;
 
 import com.project.user_service.domain.dto.request.BioUpdateGroupRequestDto;
 import com.project.user_service.domain.dto.request.CreateGroupRequestDto;
+import com.project.user_service.domain.dto.request.KeysetCursor;
+import com.project.user_service.domain.dto.response.CursorSlice;
+import com.project.user_service.domain.dto.response.GetFollowResponse;
 import com.project.user_service.domain.dto.response.GetGroups;
 import com.project.user_service.domain.dto.response.GroupResponseDto;
 import com.project.user_service.domain.entity.groups.Group;
 import com.project.user_service.domain.entity.groups.GroupMember;
 import com.project.user_service.domain.entity.groups.ImageGroup;
 import com.project.user_service.domain.entity.users.Users;
+import com.project.user_service.domain.enums.ImageVariantKind;
 import com.project.user_service.domain.enums.RedisMethod;
 import com.project.user_service.domain.security.UserDetailCustom;
 import com.project.user_service.exception.customException.GroupNotFoundException;
@@ -21,9 +25,13 @@ import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.security.core.context.SecurityContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -40,6 +48,10 @@ public class GroupService {
     private final ImageGroupRepository imageGroupRepository;
     private final KafkaService kafkaService;
     private final GroupMemberRepository groupMemberRepository;
+    private final SocialGraphService socialGraphService;
+    private final ImageVariantService imageVariantService;
+    private final SingleFlightLoader singleFlightLoader;
+    private final GroupMembershipService groupMembershipService;
 
     private static final long MAX_IMAGE_SIZE = 5L * 1024 * 1024;
     private static final int PAGE_LIMIT = 10;
@@ -129,6 +141,8 @@ public class GroupService {
         imageGroupRepository.save(imageGroup);
 
         user.getLeaderOfGroup().add(group);
+        socialGraphService.addMember(group.getId(), user.getId());
+        imageVariantService.scheduleGroup(group.getId(), profileImageBytes != null, bgImageBytes != null);
 
         log.info("Group is created by Id : {} and groupName : {} by leader : {} ({})",
                 group.getId().toString(), group.getGroupName(), user.getId().toString(), user.getUsername());
@@ -143,11 +157,10 @@ public class GroupService {
                 .leaderUsername(user.getUsername())
                 .leaderDisplayName(user.getDisplayName())
                 .leaderId(user.getId())
-                .profileImage(imageGroup.getProfileImage())
-                .profileImageType(imageGroup.getProfileImageType())
-                .bgImage(imageGroup.getBgImage())
-                .bgImageType(imageGroup.getBgImageType())
+                .profileImageVersion(profileImageBytes == null ? -1 : imageGroup.getProfileImageVersion())
+                .bgImageVersion(bgImageBytes == null ? -1 : imageGroup.getBgImageVersion())
                 .build();
+        withImageUrls(responseDto);
 
         kafkaService.saveIntoGroupDatabase(responseDto);
 
@@ -155,7 +168,7 @@ public class GroupService {
         return responseDto;
     }
 
-    public GroupResponseDto getGroup(UUID id, Boolean giveImage) {
+    public GroupResponseDto getGroup(UUID id) {
         if (id == null) {
             throw new IllegalArgumentException("Id can't be Null");
         }
@@ -163,56 +176,46 @@ public class GroupService {
         String redisKey = RedisMethod.GROUP_ + id.toString();
         GroupResponseDto groupResponseDto = redisService.get(redisKey, GroupResponseDto.class);
         if (groupResponseDto != null) {
-
-            redisService.set(redisKey, groupResponseDto, TIME_REDIS);
-
-            if (!giveImage || groupResponseDto.getProfileImage() != null) {
-                return groupResponseDto;
-            }
-
-            ImageGroup imageGroup = imageGroupRepository.findById(id).orElse(null);
-            if (imageGroup == null) {
-                return groupResponseDto;
-            }
-            groupResponseDto.setBgImage(imageGroup.getBgImage());
-            groupResponseDto.setBgImageType(imageGroup.getBgImageType());
-            groupResponseDto.setProfileImage(imageGroup.getProfileImage());
-            groupResponseDto.setProfileImageType(imageGroup.getProfileImageType());
-
-            return groupResponseDto;
-        }
-        
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        UserDetailCustom userDetail;
-        if (principal instanceof UserDetailCustom) {
-            userDetail = (UserDetailCustom) principal;
-        } else {
-            throw new IllegalStateException("Principal is not of type UserDetailCustom");
-        }
-        Optional<GroupResponseDto> getResponseOption = groupRepository.getGroupById(id, userDetail.getId());
-        if (getResponseOption.isEmpty()) {
-            throw new GroupNotFoundException("Group : " + id);
+            redisService.expire(redisKey, groupTtl(groupResponseDto));
+            return withViewerMembership(groupResponseDto);
         }
 
-        long time = TIME_REDIS + getResponseOption.get().getMemberCount();
-        time = Math.min(time, TIME_REDIS_MAX);
-        redisService.set(RedisMethod.GROUP_ + id.toString(), getResponseOption.get(), time);
-        if (!giveImage) {
-            return getResponseOption.get();
-        }
+        GroupResponseDto loaded = singleFlightLoader.load(redisKey,
+                () -> redisService.get(redisKey, GroupResponseDto.class),
+                () -> {
+                    GroupResponseDto fromDatabase = groupRepository.getGroupById(id)
+                            .map(this::withImageUrls)
+                            .orElseThrow(() -> new GroupNotFoundException("Group : " + id));
 
-        ImageGroup imageGroup = imageGroupRepository.findById(id).orElse(null);
-        if (imageGroup == null) {
-            return getResponseOption.get();
-        }
+                    redisService.set(redisKey, fromDatabase, groupTtl(fromDatabase));
+                    return fromDatabase;
+                });
+        return withViewerMembership(loaded);
+    }
+
+    // Bigger groups stay cached longer
+    private long groupTtl(GroupResponseDto responseDto) {
+        return Math.min(TIME_REDIS + responseDto.getMemberCount(), TIME_REDIS_MAX);
+    }
 
-        groupResponseDto = getResponseOption.get();
-        groupResponseDto.setProfileImageType(imageGroup.getProfileImageType());
-        groupResponseDto.setProfileImage(imageGroup.getProfileImage());
-        groupResponseDto.setBgImage(imageGroup.getBgImage());
-        groupResponseDto.setBgImageType(imageGroup.getBgImageType());
+    // The cached copy is shared by every viewer, so isMember is filled in on a copy
+    private GroupResponseDto withViewerMembership(GroupResponseDto responseDto) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean member = authentication != null
+                && authentication.getPrincipal() instanceof UserDetailCustom viewer
+                && isMember(viewer.getId(), responseDto.getId(), responseDto.getLeaderId(), responseDto.getMemberCount());
+        return responseDto.toBuilder().isMember(member).build();
+    }
 
-        return groupResponseDto;
+    // The queries mark a missing image with version -1
+    private GroupResponseDto withImageUrls(GroupResponseDto responseDto) {
+        responseDto.setProfileImageUrl(imageVariantService.groupImageUrl(
+                responseDto.getId(), responseDto.getProfileImageVersion(), ImageVariantKind.LARGE));
+        responseDto.setProfileImageVersion(Math.max(responseDto.getProfileImageVersion(), 0));
+        responseDto.setBgImageUrl(imageVariantService.groupImageUrl(
+                responseDto.getId(), responseDto.getBgImageVersion(), ImageVariantKind.BANNER));
+        responseDto.setBgImageVersion(Math.max(responseDto.getBgImageVersion(), 0));
+        return responseDto;
     }
 
     @Transactional
@@ -251,6 +254,7 @@ public class GroupService {
 
                 imageGroup.setProfileImage(profileImageBytes);
                 imageGroup.setProfileImageType(profileImageType);
+                imageGroup.setProfileImageVersion(imageGroup.getProfileImageVersion() + 1);
                 imageUpdate.add("Profile Image");
             }
         } catch (IOException e) {
@@ -266,6 +270,7 @@ public class GroupService {
 
                 imageGroup.setBgImage(bgImageBytes);
                 imageGroup.setBgImageType(bgImageType);
+                imageGroup.setBgImageVersion(imageGroup.getBgImageVersion() + 1);
 
                 imageUpdate.add("Background Image");
             }
@@ -276,6 +281,7 @@ public class GroupService {
 
         imageGroupRepository.save(imageGroup);
         redisService.delete(RedisMethod.GROUP_ + id.toString());
+        imageVariantService.scheduleGroup(id, profileImageBytes != null, bgImageBytes != null);
 
         log.info("Group : {} is updated with {}", id.toString(), imageUpdate.toString());
         return imageUpdate;
@@ -316,12 +322,7 @@ public class GroupService {
             return false;
         }
 
-        Group group = groupRepository.findById(groupId).orElse(null);
-        if (group == null) {
-            return false;
-        }
-
-        return group.getLeader().getId().equals(userId);
+        return groupRepository.existsByIdAndLeader_Id(groupId, userId);
     }
 
     @Transactional
@@ -350,8 +351,8 @@ public class GroupService {
             throw new UserNotFoundException(newLeaderId.toString());
         }
 
-        Optional<GroupMember> memberCheck = groupMemberRepository.findByGroupIdAndUserId(groupId, newLeaderId);
-        if (memberCheck.isEmpty()) {
+        // The new leader leaves the member rows and the old leader joins them, so the count holds
+        if (groupMemberRepository.deleteByGroupIdAndUserId(groupId, newLeaderId) == 0) {
             throw new IllegalArgumentException("New leader must be a member of the group");
         }
 
@@ -359,26 +360,23 @@ public class GroupService {
 
         oldLeader.getLeaderOfGroup().remove(group);
 
-        Optional<GroupMember> oldLeaderAsMember = groupMemberRepository.findByGroupIdAndUserId(groupId,
-                currentLeaderId);
-
-        if (oldLeaderAsMember.isEmpty()) {
-            GroupMember newMember = GroupMember.builder()
+        long memberCount = group.getMemberCount();
+        if (groupMemberRepository.existsByGroup_IdAndUsers_Id(groupId, currentLeaderId)) {
+            // Old data could hold the leader as a member too, which counted them twice
+            groupRepository.adjustMemberCount(groupId, -1);
+            memberCount--;
+        } else {
+            groupMemberRepository.save(GroupMember.builder()
                     .users(oldLeader)
                     .group(group)
-                    .build();
-            group.getMembers().add(newMember);
-            groupMemberRepository.save(newMember);
+                    .build());
         }
 
-        GroupMember memberToRemove = memberCheck.get();
-        group.getMembers().remove(memberToRemove);
-        groupMemberRepository.delete(memberToRemove);
-
         group.setLeader(newLeader);
         newLeader.getLeaderOfGroup().add(group);
 
         groupRepository.save(group);
+        groupMembershipService.added(groupId, currentLeaderId);
 
         log.info("Group : {} leadership transferred from {} to {}",
                 groupId, oldLeader.getUsername(), newLeader.getUsername());
@@ -390,14 +388,10 @@ public class GroupService {
                 .groupName(group.getGroupName())
                 .groupBio(group.getBio())
                 .dateOfCreation(group.getDateOfCreation())
-                .memberCount(group.getMembers().size() + 1) // Members + leader
+                .memberCount(memberCount)
                 .leaderUsername(newLeader.getUsername())
                 .leaderDisplayName(newLeader.getDisplayName())
                 .leaderId(newLeader.getId())
-                .profileImage(null)
-                .profileImageType(null)
-                .bgImage(null)
-                .bgImageType(null)
                 .build();
 
         kafkaService.updateIntoGroupDatabase(groupId, null, null, newLeader.getId().toString(),
@@ -425,6 +419,8 @@ public class GroupService {
         group.setEnable(false);
         groupRepository.save(group);
         redisService.delete(RedisMethod.GROUP_ + groupId.toString());
+        groupMembershipService.evict(groupId);
+        socialGraphService.removeGroup(groupId);
 
         log.info("Group : {} ({}) has been deleted by leader : {} ({})",
                 groupId, group.getGroupName(), leaderId, leader.getUsername());
@@ -454,21 +450,19 @@ public class GroupService {
         }
 
         // Check if already a member
-        Optional<GroupMember> existingMember = groupMemberRepository.findByGroupIdAndUserId(groupId, userId);
-        if (existingMember.isPresent()) {
+        if (groupMemberRepository.existsByGroup_IdAndUsers_Id(groupId, userId)) {
             throw new IllegalArgumentException("User is already a member of this group");
         }
 
-        GroupMember newMember = GroupMember.builder()
+        groupMemberRepository.save(GroupMember.builder()
                 .users(user)
                 .group(group)
-                .build();
-
-        group.getMembers().add(newMember);
-        groupMemberRepository.save(newMember);
+                .build());
+        groupRepository.adjustMemberCount(groupId, 1);
+        socialGraphService.addMember(groupId, userId);
+        groupMembershipService.added(groupId, userId);
 
-        // Invalidate cache
-        redisService.delete(RedisMethod.GROUP_ + groupId.toString());
+        afterCommit(() -> redisService.delete(RedisMethod.GROUP_ + groupId.toString()));
 
         log.info("User : {} ({}) joined group : {} ({})",
                 userId, user.getUsername(), groupId, group.getGroupName());
@@ -489,17 +483,15 @@ public class GroupService {
                     "Leader cannot leave the group. Transfer leadership or delete the group.");
         }
 
-        Optional<GroupMember> memberOpt = groupMemberRepository.findByGroupIdAndUserId(groupId, userId);
-        if (memberOpt.isEmpty()) {
+        if (groupMemberRepository.deleteByGroupIdAndUserId(groupId, userId) == 0) {
             throw new IllegalArgumentException("User is not a member of this group");
         }
 
-        GroupMember member = memberOpt.get();
-        group.getMembers().remove(member);
-        groupMemberRepository.delete(member);
+        groupRepository.adjustMemberCount(groupId, -1);
+        socialGraphService.removeMember(groupId, userId);
+        groupMembershipService.removed(groupId, userId);
 
-        // Invalidate cache
-        redisService.delete(RedisMethod.GROUP_ + groupId.toString());
+        afterCommit(() -> redisService.delete(RedisMethod.GROUP_ + groupId.toString()));
 
         log.info("User : {} left group : {} ({})",
                 userId, groupId, group.getGroupName());
@@ -510,21 +502,73 @@ public class GroupService {
             return false;
         }
 
-        // Check if user is the leader
-        Group group = groupRepository.findById(groupId).orElse(null);
-        if (group == null) {
+        Boolean cached = groupMembershipService.contains(groupId, userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        UUID leaderId = groupRepository.getGroupLeaderId(groupId);
+        if (leaderId == null) {
             return false;
         }
+        return leaderId.equals(userId) || groupMemberRepository.existsByGroup_IdAndUsers_Id(groupId, userId);
+    }
 
-        if (group.getLeader().getId().equals(userId)) {
+    // The cached group carries the member count; it reloads from the column once the change is committed
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    // Leader and count come from the cached group, so this costs at most one index lookup
+    private boolean isMember(UUID userId, UUID groupId, UUID leaderId, long memberCount) {
+        if (userId.equals(leaderId)) {
             return true;
         }
 
-        // Check if user is a member
-        return groupMemberRepository.findByGroupIdAndUserId(groupId, userId).isPresent();
+        Boolean cached = groupMembershipService.contains(groupId, userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean member = groupMemberRepository.existsByGroup_IdAndUsers_Id(groupId, userId);
+        groupMembershipService.warm(groupId, leaderId, memberCount);
+        return member;
+    }
+
+    // Keyset paged member rows, newest first; the leader is not a member row and is not listed
+    public CursorSlice<GetFollowResponse> getMembers(UUID groupId, String cursor) {
+        if (groupId == null) {
+            throw new IllegalArgumentException("Group ID is required");
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<GetFollowResponse> slice = groupMemberRepository.getMembers(
+                groupId, after.at(), after.id(), PageRequest.of(0, PAGE_LIMIT));
+
+        slice.forEach(member -> {
+            member.setAvatarUrl(imageVariantService.userImageUrl(
+                    member.getId(), member.getAvatarVersion(), ImageVariantKind.SMALL));
+            member.setAvatarVersion(Math.max(member.getAvatarVersion(), 0));
+        });
+        return CursorSlice.of(slice, member -> new KeysetCursor(member.getSince(), member.getId()));
     }
 
     public List<GetGroups> getGroups(UUID id) {
-        return groupMemberRepository.getGroupOfUser(id);
+        List<GetGroups> groups = groupMemberRepository.getGroupOfUser(id);
+        groups.forEach(group -> {
+            group.setProfileImageUrl(imageVariantService.groupImageUrl(
+                    group.getId(), group.getProfileImageVersion(), ImageVariantKind.SMALL));
+            group.setProfileImageVersion(Math.max(group.getProfileImageVersion(), 0));
+        });
+        return groups;
     }
 }
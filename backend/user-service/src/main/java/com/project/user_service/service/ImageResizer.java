@@ -0,0 +1,79 @@
+package com.project.user_service.service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Scales an uploaded image to cover a fixed box, cropping the overflow around the centre.
+ * Opaque images are written as JPEG, images with transparency as PNG.
+ */
+final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    record Resized(byte[] data, String contentType) {
+    }
+
+    private ImageResizer() {
+    }
+
+    // null when ImageIO cannot decode the source (e.g. WEBP without a plugin)
+    static Resized resize(byte[] source, int width, int height) throws IOException {
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(source));
+        if (original == null) {
+            return null;
+        }
+
+        double scale = Math.max((double) width / original.getWidth(), (double) height / original.getHeight());
+        int scaledWidth = (int) Math.ceil(original.getWidth() * scale);
+        int scaledHeight = (int) Math.ceil(original.getHeight() * scale);
+
+        boolean alpha = original.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, (width - scaledWidth) / 2, (height - scaledHeight) / 2,
+                    scaledWidth, scaledHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return alpha
+                ? new Resized(writePng(target), "image/png")
+                : new Resized(writeJpeg(target), "image/jpeg");
+    }
+
+    private static byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,243 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.entity.groups.ImageGroup;
+import com.project.user_service.domain.entity.images.ImageVariant;
+import com.project.user_service.domain.entity.users.ImageUserEntity;
+import com.project.user_service.domain.enums.ImageOwner;
+import com.project.user_service.domain.enums.ImageVariantKind;
+import com.project.user_service.exception.customException.GroupNotFoundException;
+import com.project.user_service.exception.customException.UserNotFoundException;
+import com.project.user_service.repository.ImageGroupRepository;
+import com.project.user_service.repository.ImageUserEntityRepository;
+import com.project.user_service.repository.ImageVariantRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the fixed-size variants of user avatars and group images and serves them.
+ * Uploads only bump the source version; resizing runs after commit on a small bounded pool,
+ * and until a variant for the current version exists the original is served uncached.
+ * URLs carry the source version, so a URL whose version matches what is served never changes.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private static final List<ImageVariantKind> AVATAR_KINDS = List.of(
+            ImageVariantKind.SMALL, ImageVariantKind.MEDIUM, ImageVariantKind.LARGE);
+
+    public record ImageContent(byte[] data, String contentType, long version, boolean variant) {
+    }
+
+    private record Source(byte[] data, String contentType, long version) {
+    }
+
+    private final ImageVariantRepository imageVariantRepository;
+    private final ImageUserEntityRepository imageUserEntityRepository;
+    private final ImageGroupRepository imageGroupRepository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final String basePath;
+    private final ThreadPoolExecutor workers;
+    // owner:id:kind keys already queued, so repeated uploads or misses don't pile up work
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantService(
+            ImageVariantRepository imageVariantRepository,
+            ImageUserEntityRepository imageUserEntityRepository,
+            ImageGroupRepository imageGroupRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${user.image.base-path:/api/profile/image}") String basePath,
+            @Value("${user.image.workers:2}") int workerCount,
+            @Value("${user.image.queue-size:200}") int queueSize) {
+        this.imageVariantRepository = imageVariantRepository;
+        this.imageUserEntityRepository = imageUserEntityRepository;
+        this.imageGroupRepository = imageGroupRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.basePath = basePath;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    // ---- URLs ----
+
+    // null when there is no image, marked by a negative version
+    public String userImageUrl(UUID userId, long version, ImageVariantKind kind) {
+        return url(ImageOwner.USER, userId, version, kind);
+    }
+
+    public String groupImageUrl(UUID groupId, long version, ImageVariantKind kind) {
+        return url(ImageOwner.GROUP, groupId, version, kind);
+    }
+
+    private String url(ImageOwner owner, UUID id, long version, ImageVariantKind kind) {
+        if (version < 0) {
+            return null;
+        }
+        return basePath + "/" + owner.name().toLowerCase() + "/" + id + "/" + kind.path() + "?v=" + version;
+    }
+
+    // ---- generation ----
+
+    public void scheduleUser(UUID userId) {
+        afterCommit(() -> AVATAR_KINDS.forEach(kind -> submit(ImageOwner.USER, userId, kind)));
+    }
+
+    public void scheduleGroup(UUID groupId, boolean profileImage, boolean bgImage) {
+        afterCommit(() -> {
+            if (profileImage) {
+                AVATAR_KINDS.forEach(kind -> submit(ImageOwner.GROUP, groupId, kind));
+            }
+            if (bgImage) {
+                submit(ImageOwner.GROUP, groupId, ImageVariantKind.BANNER);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private void submit(ImageOwner owner, UUID id, ImageVariantKind kind) {
+        String key = owner + ":" + id + ":" + kind;
+        if (!queued.add(key)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                queued.remove(key);
+                generate(owner, id, kind);
+            });
+        } catch (RejectedExecutionException e) {
+            // the next request for this image schedules it again
+            queued.remove(key);
+            log.warn("Image variant queue full, skipped {} {} {}", owner, id, kind);
+        }
+    }
+
+    private void generate(ImageOwner owner, UUID id, ImageVariantKind kind) {
+        try {
+            Source source = readTransaction.execute(status -> readSource(owner, id, kind));
+            if (source == null) {
+                return;
+            }
+
+            ImageResizer.Resized resized = ImageResizer.resize(source.data(), kind.getWidth(), kind.getHeight());
+            if (resized == null) {
+                // format ImageIO cannot decode, serve the original at every size
+                resized = new ImageResizer.Resized(source.data(), source.contentType());
+            }
+
+            ImageResizer.Resized result = resized;
+            writeTransaction.executeWithoutResult(status -> {
+                ImageVariant variant = imageVariantRepository.findByOwnerAndOwnerIdAndKind(owner, id, kind)
+                        .orElseGet(() -> ImageVariant.builder().owner(owner).ownerId(id).kind(kind).build());
+
+                // a slower job for an older upload must not overwrite a newer variant
+                if (variant.getId() != null && variant.getVersion() > source.version()) {
+                    return;
+                }
+                variant.setVersion(source.version());
+                variant.setContentType(result.contentType());
+                variant.setData(result.data());
+                imageVariantRepository.save(variant);
+            });
+        } catch (IOException e) {
+            log.error("Image variant {} {} {} failed : {}", owner, id, kind, e.getMessage());
+        } catch (Exception e) {
+            log.error("Image variant {} {} {} failed", owner, id, kind, e);
+        }
+    }
+
+    private Source readSource(ImageOwner owner, UUID id, ImageVariantKind kind) {
+        if (owner == ImageOwner.USER) {
+            ImageUserEntity image = imageUserEntityRepository.findById(id).orElse(null);
+            if (image == null || image.getImage() == null || image.getImageType() == null) {
+                return null;
+            }
+            return new Source(image.getImage(), image.getImageType(), image.getImageVersion());
+        }
+
+        ImageGroup image = imageGroupRepository.findById(id).orElse(null);
+        if (image == null) {
+            return null;
+        }
+        if (kind == ImageVariantKind.BANNER) {
+            return image.getBgImage() == null || image.getBgImageType() == null
+                    ? null
+                    : new Source(image.getBgImage(), image.getBgImageType(), image.getBgImageVersion());
+        }
+        return image.getProfileImage() == null || image.getProfileImageType() == null
+                ? null
+                : new Source(image.getProfileImage(), image.getProfileImageType(), image.getProfileImageVersion());
+    }
+
+    // ---- serving ----
+
+    public ImageContent getUserImage(UUID userId, ImageVariantKind kind, Long version) {
+        if (kind == ImageVariantKind.BANNER) {
+            throw new IllegalArgumentException("Users have no banner image");
+        }
+        return get(ImageOwner.USER, userId, kind, version);
+    }
+
+    public ImageContent getGroupImage(UUID groupId, ImageVariantKind kind, Long version) {
+        return get(ImageOwner.GROUP, groupId, kind, version);
+    }
+
+    private ImageContent get(ImageOwner owner, UUID id, ImageVariantKind kind, Long version) {
+        ImageVariant variant = imageVariantRepository.findByOwnerAndOwnerIdAndKind(owner, id, kind).orElse(null);
+        if (variant != null && (version == null || variant.getVersion() >= version)) {
+            return new ImageContent(variant.getData(), variant.getContentType(), variant.getVersion(), true);
+        }
+
+        // not generated yet, or generated for an older upload
+        Source source = readTransaction.execute(status -> readSource(owner, id, kind));
+        if (source == null) {
+            if (owner == ImageOwner.USER) {
+                throw new UserNotFoundException("Image " + id);
+            }
+            throw new GroupNotFoundException("Image " + id);
+        }
+        if (variant == null || variant.getVersion() < source.version()) {
+            submit(owner, id, kind);
+        }
+        return new ImageContent(source.data(), source.contentType(), source.version(), false);
+    }
+}
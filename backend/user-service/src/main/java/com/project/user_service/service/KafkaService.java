@@ -21,6 +21,10 @@ public class KafkaService {
 
     private KafkaTemplate<String, DataTransfer> kafkaTemplate;
     private static final String userTopic = "SaveUserDatabase";
+    private static final String relationTopic = "UserRelation";
+
+    // Every send is keyed by the entity id: search-service orders writes by partition and offset,
+    // which only works while all events of one entity land on the same partition
 
     public void saveIntoUserDatabase(Users users) {
 
@@ -37,7 +41,7 @@ public class KafkaService {
                 .build();
 
         try {
-            kafkaTemplate.send(userTopic, transfer);
+            kafkaTemplate.send(userTopic, users.getId().toString(), transfer);
             log.info("User is send with ID ; {} and Username : {}", users.getId().toString(), users.getUsername());
         } catch (Exception e) {
             log.error("User saved is Failed with ID : {} and Username : {}", users.getId().toString(),
@@ -60,7 +64,7 @@ public class KafkaService {
                 .build();
 
         try {
-            kafkaTemplate.send(userTopic, transfer);
+            kafkaTemplate.send(userTopic, id.toString(), transfer);
             log.info("User is send with ID ; {} and Username : {} for Update", id.toString(), username);
         } catch (Exception e) {
             log.error("User Failed to update with ID : {} and Username : {}", id.toString(), username);
@@ -84,7 +88,7 @@ public class KafkaService {
                 .build();
 
         try {
-            kafkaTemplate.send(userTopic, transfer);
+            kafkaTemplate.send(userTopic, group.getId().toString(), transfer);
             log.info("Group is send with ID ; {} and Username : {}", group.getId().toString(), group.getGroupName());
         } catch (Exception e) {
             log.error("Group saved is Failed with ID : {} and Username : {}", group.getId().toString(),
@@ -110,7 +114,7 @@ public class KafkaService {
                 .build();
 
         try {
-            kafkaTemplate.send(userTopic, transfer);
+            kafkaTemplate.send(userTopic, id.toString(), transfer);
             log.info("Group is send with ID ; {} for Update", id.toString());
         } catch (Exception e) {
             log.error("Group update Failed with ID : {}", id.toString());
@@ -118,4 +122,26 @@ public class KafkaService {
         }
     }
 
+    // Keyed by owner so the events of one user stay in order
+    public void sendUserRelation(KafkaDataTransferFields type, UUID ownerId, UUID targetId) {
+
+        Map<String, String> map = new HashMap<>();
+        map.put(KafkaDataTransferFields.ID.toString(), ownerId.toString());
+        map.put(KafkaDataTransferFields.TARGET_ID.toString(), targetId.toString());
+
+        DataTransfer transfer = DataTransfer
+                .builder()
+                .type(type.toString())
+                .map(map)
+                .build();
+
+        try {
+            kafkaTemplate.send(relationTopic, ownerId.toString(), transfer);
+            log.info("Relation {} is send from ID : {} to ID : {}", type, ownerId, targetId);
+        } catch (Exception e) {
+            log.error("Relation {} Failed from ID : {} to ID : {}", type, ownerId, targetId);
+            log.error(e.getMessage());
+        }
+    }
+
 }
@@ -3,15 +3,63 @@ package com.project.user_service.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class RedisService {
 
+    private static final RedisScript<String> TRY_LOCK = new DefaultRedisScript<>(
+            "return redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2])", String.class);
+
+    // Deletes the lock only while it still holds the caller's token
+    private static final RedisScript<String> UNLOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                return 'OK'
+            end
+            return nil
+            """, String.class);
+
+    // 1 / 0 for membership, -1 when the set is not cached
+    private static final RedisScript<Long> SET_CONTAINS = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end
+            return redis.call('SISMEMBER', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    // Only touches a set that is already cached, so a partial set is never created
+    private static final RedisScript<Long> SET_ADD_IF_PRESENT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end
+            return redis.call('SADD', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    private static final RedisScript<Long> SET_REMOVE_IF_PRESENT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end
+            return redis.call('SREM', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    // Integer replies come back as Long already; this only types the call and covers a bulk reply
+    private static final RedisSerializer<Long> LONG_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    private static final int SET_CHUNK = 1000;
+
     private RedisTemplate<String, Object> redisTemplate;
     private ObjectMapper objectMapper = new ObjectMapper().registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
 
@@ -42,7 +90,158 @@ public class RedisService {
         }
     }
 
+    // One MGET round trip; the result lines up with keys and holds null for every miss
+    public <T> List<T> multiGet(List<String> keys, Class<T> valueObjectType) {
+        List<T> result = new ArrayList<>(keys.size());
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            for (int i = 0; i < keys.size(); i++) {
+                Object value = values == null ? null : values.get(i);
+                result.add(value == null ? null : objectMapper.convertValue(value, valueObjectType));
+            }
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+            result.clear();
+            keys.forEach(key -> result.add(null));
+        }
+        return result;
+    }
+
+    public void setAll(Map<String, ?> values, long ttl) {
+        if (values.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    values.forEach((key, value) -> operations.opsForValue().set(key, value, ttl, TimeUnit.SECONDS));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+        }
+    }
+
+    // Slides the TTL of a cached value without writing it back
+    public void expire(String key, long ttl) {
+        try {
+            redisTemplate.expire(key, ttl, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+        }
+    }
+
+    // true when the lock was taken, or when Redis is unreachable so the caller goes ahead on its own
+    public boolean tryLock(String key, String token, long ttlMillis) {
+        try {
+            return redisTemplate.execute(TRY_LOCK, RedisSerializer.string(), RedisSerializer.string(),
+                    List.of(key), token, String.valueOf(ttlMillis)) != null;
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+            return true;
+        }
+    }
+
+    public void unlock(String key, String token) {
+        try {
+            redisTemplate.execute(UNLOCK, RedisSerializer.string(), RedisSerializer.string(), List.of(key), token);
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+        }
+    }
+
+    // null when the set is not cached or Redis is unreachable
+    public Boolean setContains(String key, String member) {
+        try {
+            Long result = redisTemplate.execute(SET_CONTAINS, RedisSerializer.string(), LONG_RESULT,
+                    List.of(key), member);
+            return result == null || result < 0 ? null : result == 1;
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public void setAddIfPresent(String key, String member) {
+        try {
+            redisTemplate.execute(SET_ADD_IF_PRESENT, RedisSerializer.string(), LONG_RESULT,
+                    List.of(key), member);
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+            delete(key);
+        }
+    }
+
+    public void setRemoveIfPresent(String key, String member) {
+        try {
+            redisTemplate.execute(SET_REMOVE_IF_PRESENT, RedisSerializer.string(), LONG_RESULT,
+                    List.of(key), member);
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+            delete(key);
+        }
+    }
+
+    // Builds the set under a scratch key and renames it into place, so readers never see it half filled
+    public void replaceSet(String key, Collection<String> members, long ttl) {
+        if (members.isEmpty()) {
+            return;
+        }
+        byte[] target = RedisSerializer.string().serialize(key);
+        byte[] scratch = RedisSerializer.string().serialize(key + ":building:" + UUID.randomUUID());
+        List<byte[]> values = members.stream().map(member -> RedisSerializer.string().serialize(member)).toList();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int from = 0; from < values.size(); from += SET_CHUNK) {
+                    List<byte[]> chunk = values.subList(from, Math.min(from + SET_CHUNK, values.size()));
+                    connection.setCommands().sAdd(scratch, chunk.toArray(new byte[0][]));
+                }
+                connection.keyCommands().expire(scratch, ttl);
+                connection.keyCommands().rename(scratch, target);
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+        }
+    }
+
+    public void sortedSetAdd(String key, String member, double score) {
+        try {
+            redisTemplate.opsForZSet().add(key, member, score);
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+        }
+    }
+
+    // Drops members scored below min and returns up to limit of the rest, highest score first
+    public List<String> sortedSetTrimAndRange(String key, double min, int limit) {
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, min);
+            Set<Object> members = redisTemplate.opsForZSet()
+                    .reverseRangeByScore(key, min, Double.POSITIVE_INFINITY, 0, limit);
+            return members == null ? List.of() : members.stream().map(Object::toString).toList();
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+            return List.of();
+        }
+    }
+
     public void delete(String key) {
         redisTemplate.delete(key);
     }
+
+    // One DEL for the whole batch
+    public void deleteAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.error("Redis service : {}", e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.dto.response.SingleFlightStats;
+import com.project.user_service.domain.enums.RedisMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lets only one caller rebuild a missing cache entry. Callers on the same instance join the
+ * running load; across instances a short Redis lock picks the loader and the others poll the
+ * cache for a moment before giving up and loading themselves, so a lost lock holder never
+ * blocks anyone for long.
+ */
+@Slf4j
+@Service
+public class SingleFlightLoader {
+
+    private final RedisService redisService;
+    private final long lockMillis;
+    private final long waitMillis;
+    private final long pollMillis;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder localWaits = new LongAdder();
+    private final LongAdder remoteWaits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteTimeouts = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public SingleFlightLoader(
+            RedisService redisService,
+            @Value("${user.single-flight.lock-millis:2000}") long lockMillis,
+            @Value("${user.single-flight.wait-millis:300}") long waitMillis,
+            @Value("${user.single-flight.poll-millis:25}") long pollMillis) {
+        this.redisService = redisService;
+        this.lockMillis = lockMillis;
+        this.waitMillis = waitMillis;
+        this.pollMillis = pollMillis;
+    }
+
+    /**
+     * @param key    cache key being rebuilt
+     * @param cached reads the cache, returning null on a miss
+     * @param loader loads the value and writes it to the cache
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> cached, Supplier<T> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+
+        if (running != null) {
+            localWaits.increment();
+            long start = System.nanoTime();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            } finally {
+                waitNanos.add(System.nanoTime() - start);
+            }
+        }
+
+        try {
+            T value = loadOnce(key, cached, loader);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public SingleFlightStats stats() {
+        long waits = localWaits.sum() + remoteWaits.sum();
+        return SingleFlightStats.builder()
+                .loads(loads.sum())
+                .localWaits(localWaits.sum())
+                .remoteWaits(remoteWaits.sum())
+                .remoteHits(remoteHits.sum())
+                .remoteTimeouts(remoteTimeouts.sum())
+                .avgWaitMillis(waits == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / waits)
+                .build();
+    }
+
+    private <T> T loadOnce(String key, Supplier<T> cached, Supplier<T> loader) {
+        String lockKey = RedisMethod.LOCK_ + key;
+        String token = UUID.randomUUID().toString();
+
+        if (redisService.tryLock(lockKey, token, lockMillis)) {
+            try {
+                loads.increment();
+                return loader.get();
+            } finally {
+                redisService.unlock(lockKey, token);
+            }
+        }
+
+        remoteWaits.increment();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(pollMillis);
+                T value = cached.get();
+                if (value != null) {
+                    remoteHits.increment();
+                    return value;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waitNanos.add(System.nanoTime() - start);
+        }
+
+        remoteTimeouts.increment();
+        log.debug("Single flight wait for {} timed out, loading directly", key);
+        loads.increment();
+        return loader.get();
+    }
+}
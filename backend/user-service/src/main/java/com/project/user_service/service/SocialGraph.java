@@ -0,0 +1,421 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.dto.response.IdSetDelta;
+import com.project.user_service.domain.dto.response.SuggestionDto;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Follow and group membership adjacency keyed by dense int ids.
+ * <p>
+ * Writes are serialized by the owner ({@link SocialGraphService}). Once published, a bitmap is
+ * never modified in place: a write clones it, changes the copy and swaps it in, so readers can
+ * walk whatever bitmap they fetched without locking.
+ * A group's member bitmap includes its leader, and a leader's group bitmap includes the group.
+ * <p>
+ * Every edge change made after publishing is also kept in a bounded log, so follow and member
+ * lists can be answered as a delta against a version the caller already holds. Versions only
+ * mean something within one graph instance, so each instance has a random generation and a
+ * caller holding another generation's version gets the full set.
+ */
+final class SocialGraph {
+
+    private static final int SNAPSHOT_MAGIC = 0x53474248;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int CHANGE_LOG_CAPACITY = 100_000;
+    private static final byte FOLLOW_EDGE = 0;
+    private static final byte MEMBER_EDGE = 1;
+
+    private record Change(long version, byte kind, int subject, int object, boolean added) {
+    }
+
+    private final Map<UUID, Integer> userIndex = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> groupIndex = new ConcurrentHashMap<>();
+    private volatile UUID[] users = new UUID[1024];
+    private volatile UUID[] groups = new UUID[256];
+    private int userCount;
+    private int groupCount;
+
+    private final Map<Integer, RoaringBitmap> following = new ConcurrentHashMap<>();
+    private final Map<Integer, RoaringBitmap> groupMembers = new ConcurrentHashMap<>();
+    private final Map<Integer, RoaringBitmap> userGroups = new ConcurrentHashMap<>();
+
+    private volatile long version;
+    private final long generation = newGeneration();
+    private boolean published;
+
+    private final ArrayDeque<Change> changes = new ArrayDeque<>();
+    // deltas can be served for any since_version at or after this one
+    private long changesCoverFrom;
+
+    // ---- writes, called under the owner's lock ----
+
+    void follow(UUID follower, UUID target) {
+        int followerId = internUser(follower);
+        int targetId = internUser(target);
+        mutate(following, followerId, bitmap -> bitmap.add(targetId));
+        record(FOLLOW_EDGE, followerId, targetId, true);
+    }
+
+    void unfollow(UUID follower, UUID target) {
+        Integer followerId = userIndex.get(follower);
+        Integer targetId = userIndex.get(target);
+        if (followerId != null && targetId != null) {
+            mutate(following, followerId, bitmap -> bitmap.remove(targetId));
+            record(FOLLOW_EDGE, followerId, targetId, false);
+        }
+    }
+
+    void addMember(UUID groupId, UUID userId) {
+        int group = internGroup(groupId);
+        int user = internUser(userId);
+        mutate(groupMembers, group, bitmap -> bitmap.add(user));
+        mutate(userGroups, user, bitmap -> bitmap.add(group));
+        record(MEMBER_EDGE, group, user, true);
+    }
+
+    void removeMember(UUID groupId, UUID userId) {
+        Integer group = groupIndex.get(groupId);
+        Integer user = userIndex.get(userId);
+        if (group != null && user != null) {
+            mutate(groupMembers, group, bitmap -> bitmap.remove(user));
+            mutate(userGroups, user, bitmap -> bitmap.remove(group));
+            record(MEMBER_EDGE, group, user, false);
+        }
+    }
+
+    void removeGroup(UUID groupId) {
+        Integer group = groupIndex.get(groupId);
+        if (group == null) {
+            return;
+        }
+        RoaringBitmap members = groupMembers.remove(group);
+        if (members != null) {
+            version++;
+            members.forEach((int user) -> {
+                mutate(userGroups, user, bitmap -> bitmap.remove(group));
+                record(MEMBER_EDGE, group, user, false);
+            });
+        }
+    }
+
+    // Keeps versions increasing when a rebuilt graph replaces an older one
+    void advanceVersionPast(long previous) {
+        if (version <= previous) {
+            version = previous + 1;
+        }
+    }
+
+    void publish() {
+        following.values().forEach(RoaringBitmap::runOptimize);
+        groupMembers.values().forEach(RoaringBitmap::runOptimize);
+        userGroups.values().forEach(RoaringBitmap::runOptimize);
+        changesCoverFrom = version;
+        published = true;
+    }
+
+    // ---- reads, lock free ----
+
+    long version() {
+        return version;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    int userCount() {
+        return userCount;
+    }
+
+    Set<UUID> getFollowing(UUID userId) {
+        Integer user = userIndex.get(userId);
+        return user == null ? new HashSet<>() : toUserIds(following.get(user));
+    }
+
+    boolean isFollowing(UUID follower, UUID target) {
+        Integer followerId = userIndex.get(follower);
+        Integer targetId = userIndex.get(target);
+        if (followerId == null || targetId == null) {
+            return false;
+        }
+        RoaringBitmap bitmap = following.get(followerId);
+        return bitmap != null && bitmap.contains(targetId);
+    }
+
+    Set<UUID> getGroupMembers(UUID groupId) {
+        Integer group = groupIndex.get(groupId);
+        return group == null ? new HashSet<>() : toUserIds(groupMembers.get(group));
+    }
+
+    // Everyone sharing at least one group with the user, the user included
+    Set<UUID> getCoMembers(UUID userId) {
+        Integer user = userIndex.get(userId);
+        RoaringBitmap memberOf = user == null ? null : userGroups.get(user);
+        if (memberOf == null || memberOf.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        List<RoaringBitmap> memberSets = new ArrayList<>(memberOf.getCardinality());
+        memberOf.forEach((int group) -> {
+            RoaringBitmap members = groupMembers.get(group);
+            if (members != null) {
+                memberSets.add(members);
+            }
+        });
+        return toUserIds(FastAggregation.or(memberSets.iterator()));
+    }
+
+    /**
+     * Friends of friends ranked by how many of the user's followees follow them, plus people
+     * sharing a group with the user; a shared group weighs half a mutual follow. The work is
+     * bounded however dense the neighbourhood is: at most {@code sampleSize} followees are
+     * walked (a random sample above that), each contributes at most {@code candidateBudget}
+     * ids, groups above {@code maxGroupSize} are skipped and only the first
+     * {@code candidateBudget} distinct candidates are scored.
+     */
+    List<SuggestionDto> suggest(UUID userId, int limit, int sampleSize, int candidateBudget, int maxGroupSize,
+            Random random) {
+        Integer user = userIndex.get(userId);
+        if (user == null) {
+            return List.of();
+        }
+
+        RoaringBitmap followed = following.get(user);
+        RoaringBitmap excluded = followed == null ? new RoaringBitmap() : followed.clone();
+        excluded.add(user);
+
+        // candidate -> {mutual follows, shared groups}
+        Map<Integer, int[]> scores = new HashMap<>();
+        if (followed != null) {
+            for (int followee : sample(followed, sampleSize, random)) {
+                RoaringBitmap theirs = following.get(followee);
+                if (theirs != null) {
+                    tally(scores, RoaringBitmap.andNot(theirs, excluded), 0, candidateBudget);
+                }
+            }
+        }
+
+        RoaringBitmap memberOf = userGroups.get(user);
+        if (memberOf != null) {
+            memberOf.forEach((int group) -> {
+                RoaringBitmap members = groupMembers.get(group);
+                if (members != null && members.getCardinality() <= maxGroupSize) {
+                    tally(scores, RoaringBitmap.andNot(members, excluded), 1, candidateBudget);
+                }
+            });
+        }
+
+        UUID[] ids = users;
+        return scores.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Integer, int[]>>comparingInt(
+                                entry -> 2 * entry.getValue()[0] + entry.getValue()[1])
+                        .thenComparingInt(entry -> entry.getValue()[0])
+                        .reversed())
+                .limit(limit)
+                .map(entry -> SuggestionDto.builder()
+                        .id(ids[entry.getKey()])
+                        .mutualFollows(entry.getValue()[0])
+                        .sharedGroups(entry.getValue()[1])
+                        .build())
+                .toList();
+    }
+
+    private static int[] sample(RoaringBitmap bitmap, int size, Random random) {
+        int cardinality = bitmap.getCardinality();
+        if (cardinality <= size) {
+            return bitmap.toArray();
+        }
+        return random.ints(0, cardinality).distinct().limit(size).map(bitmap::select).toArray();
+    }
+
+    private static void tally(Map<Integer, int[]> scores, RoaringBitmap candidates, int field, int budget) {
+        IntIterator iterator = candidates.getIntIterator();
+        for (int seen = 0; seen < budget && iterator.hasNext(); seen++) {
+            int candidate = iterator.next();
+            int[] score = scores.get(candidate);
+            if (score == null) {
+                if (scores.size() >= budget) {
+                    continue;
+                }
+                score = new int[2];
+                scores.put(candidate, score);
+            }
+            score[field]++;
+        }
+    }
+
+    // Delta reads walk the change log, so they are called under the owner's lock
+
+    IdSetDelta followingSince(UUID userId, long since, long sinceGeneration) {
+        return delta(FOLLOW_EDGE, userIndex.get(userId), since, sinceGeneration, () -> getFollowing(userId));
+    }
+
+    IdSetDelta groupMembersSince(UUID groupId, long since, long sinceGeneration) {
+        return delta(MEMBER_EDGE, groupIndex.get(groupId), since, sinceGeneration, () -> getGroupMembers(groupId));
+    }
+
+    private IdSetDelta delta(byte kind, Integer subject, long since, long sinceGeneration,
+                             Supplier<Set<UUID>> fullSet) {
+        long current = version;
+        if (since <= 0 || sinceGeneration != generation || since < changesCoverFrom || since > current) {
+            return IdSetDelta.full(fullSet.get(), current, generation);
+        }
+
+        Map<Integer, Boolean> net = new HashMap<>();
+        if (subject != null) {
+            for (Change change : changes) {
+                if (change.version() > since && change.kind() == kind && change.subject() == subject) {
+                    net.put(change.object(), change.added());
+                }
+            }
+        }
+
+        UUID[] ids = users;
+        Set<UUID> added = new HashSet<>();
+        Set<UUID> removed = new HashSet<>();
+        net.forEach((user, isAdded) -> (isAdded ? added : removed).add(ids[user]));
+        return new IdSetDelta(false, added, removed, current, generation);
+    }
+
+    private Set<UUID> toUserIds(RoaringBitmap bitmap) {
+        if (bitmap == null) {
+            return new HashSet<>();
+        }
+        UUID[] ids = users;
+        Set<UUID> result = HashSet.newHashSet(bitmap.getCardinality());
+        bitmap.forEach((int user) -> result.add(ids[user]));
+        return result;
+    }
+
+    // ---- internals ----
+
+    // Never 0, which callers send when they hold no version
+    private static long newGeneration() {
+        long generation;
+        do {
+            generation = ThreadLocalRandom.current().nextLong();
+        } while (generation == 0);
+        return generation;
+    }
+
+    private void mutate(Map<Integer, RoaringBitmap> adjacency, int key, Consumer<RoaringBitmap> change) {
+        RoaringBitmap current = adjacency.get(key);
+        RoaringBitmap next = current == null ? new RoaringBitmap() : published ? current.clone() : current;
+        change.accept(next);
+        adjacency.put(key, next);
+        version++;
+    }
+
+    private void record(byte kind, int subject, int object, boolean added) {
+        if (!published) {
+            return;
+        }
+        changes.addLast(new Change(version, kind, subject, object, added));
+        if (changes.size() > CHANGE_LOG_CAPACITY) {
+            changesCoverFrom = changes.pollFirst().version();
+        }
+    }
+
+    private int internUser(UUID id) {
+        Integer existing = userIndex.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        if (userCount == users.length) {
+            users = Arrays.copyOf(users, users.length * 2);
+        }
+        int assigned = userCount++;
+        // publish the reverse mapping before the forward one so readers never see a dangling int
+        users[assigned] = id;
+        userIndex.put(id, assigned);
+        return assigned;
+    }
+
+    private int internGroup(UUID id) {
+        Integer existing = groupIndex.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        if (groupCount == groups.length) {
+            groups = Arrays.copyOf(groups, groups.length * 2);
+        }
+        int assigned = groupCount++;
+        groups[assigned] = id;
+        groupIndex.put(id, assigned);
+        return assigned;
+    }
+
+    // ---- snapshot ----
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_FORMAT);
+        out.writeLong(version);
+        writeIds(out, users, userCount);
+        writeIds(out, groups, groupCount);
+        writeAdjacency(out, following);
+        writeAdjacency(out, groupMembers);
+        writeAdjacency(out, userGroups);
+    }
+
+    static SocialGraph readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+            throw new IOException("Not a social graph snapshot");
+        }
+        SocialGraph graph = new SocialGraph();
+        long version = in.readLong();
+
+        int users = in.readInt();
+        for (int i = 0; i < users; i++) {
+            graph.internUser(new UUID(in.readLong(), in.readLong()));
+        }
+        int groups = in.readInt();
+        for (int i = 0; i < groups; i++) {
+            graph.internGroup(new UUID(in.readLong(), in.readLong()));
+        }
+        readAdjacency(in, graph.following);
+        readAdjacency(in, graph.groupMembers);
+        readAdjacency(in, graph.userGroups);
+
+        graph.version = version;
+        return graph;
+    }
+
+    private static void writeIds(DataOutputStream out, UUID[] ids, int count) throws IOException {
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeLong(ids[i].getMostSignificantBits());
+            out.writeLong(ids[i].getLeastSignificantBits());
+        }
+    }
+
+    private static void writeAdjacency(DataOutputStream out, Map<Integer, RoaringBitmap> adjacency) throws IOException {
+        Map<Integer, RoaringBitmap> copy = Map.copyOf(adjacency);
+        out.writeInt(copy.size());
+        for (Map.Entry<Integer, RoaringBitmap> entry : copy.entrySet()) {
+            out.writeInt(entry.getKey());
+            entry.getValue().serialize(out);
+        }
+    }
+
+    private static void readAdjacency(DataInputStream in, Map<Integer, RoaringBitmap> adjacency) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            int key = in.readInt();
+            RoaringBitmap bitmap = new RoaringBitmap();
+            bitmap.deserialize(in);
+            adjacency.put(key, bitmap);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.project.user_service.service;
+
+import jakarta.annotation.PreDestroy;
+import com.project.user_service.domain.dto.response.IdSetDelta;
+import com.project.user_service.domain.dto.response.SuggestionDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Holds the follow / group membership graph in memory for the gRPC lookups.
+ * It is built from Postgres (or a snapshot file) at startup, kept current by the follow and
+ * group write paths after their transaction commits, and rebuilt nightly. Until the first graph
+ * is ready, {@link #isReady()} is false and callers fall back to the database.
+ * <p>
+ * Only this instance's own writes reach the graph between rebuilds; follows and memberships are
+ * not published on any topic. With more than one user-service instance a lookup can miss another
+ * instance's writes until the next rebuild (up to a day with the default cron), so run a single
+ * instance or shorten {@code user.graph.rebuild-cron} to the staleness you can accept.
+ */
+@Slf4j
+@Service
+public class SocialGraphService {
+
+    private static final String LOAD_FOLLOWS = "SELECT follower_id, following_id FROM follows";
+    private static final String LOAD_LEADERS = "SELECT id, leader_id FROM groups WHERE enable = true";
+    private static final String LOAD_MEMBERS = """
+            SELECT gm.group_id, gm.users_id
+            FROM group_member gm
+            JOIN groups g ON g.id = gm.group_id
+            WHERE g.enable = true
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String snapshotPath;
+    private final Object writeLock = new Object();
+
+    private volatile SocialGraph graph;
+    // Writes that arrive while a rebuild is loading, replayed onto the new graph before the swap
+    private List<Consumer<SocialGraph>> pending;
+
+    public SocialGraphService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${user.graph.snapshot-path:}") String snapshotPath) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotPath = snapshotPath;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void atStartup() {
+        SocialGraph snapshot = readSnapshot();
+        if (snapshot != null) {
+            snapshot.publish();
+            graph = snapshot;
+            log.info("Social graph restored from snapshot with {} users", snapshot.userCount());
+        }
+        // Serve from the snapshot (or the database) while the authoritative copy loads
+        Thread.ofVirtual().name("social-graph-bootstrap").start(this::rebuild);
+    }
+
+    @Scheduled(cron = "${user.graph.rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            if (pending != null) {
+                return;
+            }
+            pending = new ArrayList<>();
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            SocialGraph fresh = load();
+
+            synchronized (writeLock) {
+                pending.forEach(event -> event.accept(fresh));
+                if (graph != null) {
+                    fresh.advanceVersionPast(graph.version());
+                }
+                fresh.publish();
+                graph = fresh;
+                pending = null;
+            }
+            log.info("Social graph loaded with {} users in {} ms", fresh.userCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            synchronized (writeLock) {
+                pending = null;
+            }
+            log.error("Social graph rebuild failed : {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${user.graph.snapshot-cron:0 */15 * * * *}")
+    @PreDestroy
+    public void writeSnapshot() {
+        if (snapshotPath.isBlank() || graph == null) {
+            return;
+        }
+
+        Path target = Path.of(snapshotPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            synchronized (writeLock) {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    graph.writeTo(out);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Social graph snapshot written to {}", target);
+        } catch (IOException e) {
+            log.error("Social graph snapshot failed : {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return graph != null;
+    }
+
+    public Set<UUID> getFollowing(UUID userId) {
+        return graph.getFollowing(userId);
+    }
+
+    public boolean isFollowing(UUID follower, UUID target) {
+        return graph.isFollowing(follower, target);
+    }
+
+    public Set<UUID> getGroupMembers(UUID groupId) {
+        return graph.getGroupMembers(groupId);
+    }
+
+    public Set<UUID> getCoMembers(UUID userId) {
+        return graph.getCoMembers(userId);
+    }
+
+    public List<SuggestionDto> suggest(UUID userId, int limit, int sampleSize, int candidateBudget, int maxGroupSize) {
+        return graph.suggest(userId, limit, sampleSize, candidateBudget, maxGroupSize, ThreadLocalRandom.current());
+    }
+
+    public IdSetDelta getFollowingSince(UUID userId, long sinceVersion, long sinceGeneration) {
+        synchronized (writeLock) {
+            return graph.followingSince(userId, sinceVersion, sinceGeneration);
+        }
+    }
+
+    public IdSetDelta getGroupMembersSince(UUID groupId, long sinceVersion, long sinceGeneration) {
+        synchronized (writeLock) {
+            return graph.groupMembersSince(groupId, sinceVersion, sinceGeneration);
+        }
+    }
+
+    public long getVersion() {
+        return graph.version();
+    }
+
+    public long getGeneration() {
+        return graph.generation();
+    }
+
+    // ---- write paths ----
+
+    public void follow(UUID follower, UUID target) {
+        afterCommit(g -> g.follow(follower, target));
+    }
+
+    public void unfollow(UUID follower, UUID target) {
+        afterCommit(g -> g.unfollow(follower, target));
+    }
+
+    public void addMember(UUID groupId, UUID userId) {
+        afterCommit(g -> g.addMember(groupId, userId));
+    }
+
+    public void removeMember(UUID groupId, UUID userId) {
+        afterCommit(g -> g.removeMember(groupId, userId));
+    }
+
+    public void removeGroup(UUID groupId) {
+        afterCommit(g -> g.removeGroup(groupId));
+    }
+
+    private void afterCommit(Consumer<SocialGraph> event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(event);
+                }
+            });
+        } else {
+            apply(event);
+        }
+    }
+
+    // Every graph operation is idempotent, so replaying a write the load already saw is harmless
+    private void apply(Consumer<SocialGraph> event) {
+        synchronized (writeLock) {
+            if (graph != null) {
+                event.accept(graph);
+            }
+            if (pending != null) {
+                pending.add(event);
+            }
+        }
+    }
+
+    private SocialGraph load() {
+        SocialGraph fresh = new SocialGraph();
+        jdbcTemplate.query(LOAD_FOLLOWS, (RowCallbackHandler) rs ->
+                fresh.follow(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)));
+        jdbcTemplate.query(LOAD_LEADERS, (RowCallbackHandler) rs ->
+                fresh.addMember(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)));
+        jdbcTemplate.query(LOAD_MEMBERS, (RowCallbackHandler) rs ->
+                fresh.addMember(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)));
+        return fresh;
+    }
+
+    private SocialGraph readSnapshot() {
+        if (snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(Path.of(snapshotPath))))) {
+            return SocialGraph.readFrom(in);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable social graph snapshot {} : {}", snapshotPath, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.enums.RedisMethod;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class SuggestionRefreshJob {
+
+    private static final int MAX_USERS_PER_RUN = 20_000;
+    private static final long LOCK_MILLIS = 20 * 60 * 1000L;
+
+    private final SuggestionService suggestionService;
+    private final SocialGraphService socialGraphService;
+    private final RedisService redisService;
+
+    // One instance per run recomputes the lists of recently active users
+    @Scheduled(cron = "${user.suggestions.refresh-cron:0 0 */6 * * *}")
+    public void refresh() {
+        if (!socialGraphService.isReady()) {
+            return;
+        }
+        String lockKey = RedisMethod.LOCK_ + RedisMethod.SUGGESTIONS_ACTIVE.name();
+        String token = UUID.randomUUID().toString();
+        if (!redisService.tryLock(lockKey, token, LOCK_MILLIS)) {
+            return;
+        }
+
+        try {
+            List<UUID> users = suggestionService.activeUsers(MAX_USERS_PER_RUN);
+            users.forEach(suggestionService::refresh);
+            log.info("Suggestions refreshed for {} active users", users.size());
+        } finally {
+            redisService.unlock(lockKey, token);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.dto.response.SuggestionDto;
+import com.project.user_service.domain.dto.response.UserCardDto;
+import com.project.user_service.domain.enums.RedisMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "People you may know". Lists are computed from the in-memory social graph and kept in Redis;
+ * {@link SuggestionRefreshJob} recomputes them for users who asked recently, so a request
+ * normally only reads the stored list, drops anyone followed since and attaches user cards.
+ */
+@Slf4j
+@Service
+public class SuggestionService {
+
+    public static final int MAX_SUGGESTIONS = 30;
+
+    private static final String ACTIVE_KEY = RedisMethod.SUGGESTIONS_ACTIVE.name();
+
+    private final SocialGraphService socialGraphService;
+    private final UserCardService userCardService;
+    private final RedisService redisService;
+    private final int sampleSize;
+    private final int candidateBudget;
+    private final int maxGroupSize;
+    private final long ttlSeconds;
+    private final long activeMillis;
+
+    public SuggestionService(
+            SocialGraphService socialGraphService,
+            UserCardService userCardService,
+            RedisService redisService,
+            @Value("${user.suggestions.sample-size:200}") int sampleSize,
+            @Value("${user.suggestions.candidate-budget:5000}") int candidateBudget,
+            @Value("${user.suggestions.max-group-size:2000}") int maxGroupSize,
+            @Value("${user.suggestions.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${user.suggestions.active-days:7}") long activeDays) {
+        this.socialGraphService = socialGraphService;
+        this.userCardService = userCardService;
+        this.redisService = redisService;
+        this.sampleSize = sampleSize;
+        this.candidateBudget = candidateBudget;
+        this.maxGroupSize = maxGroupSize;
+        this.ttlSeconds = ttlSeconds;
+        this.activeMillis = activeDays * 24 * 3600 * 1000;
+    }
+
+    public List<SuggestionDto> getSuggestions(UUID userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("Id can't be Null");
+        }
+        redisService.sortedSetAdd(ACTIVE_KEY, userId.toString(), System.currentTimeMillis());
+
+        SuggestionDto[] stored = redisService.get(key(userId), SuggestionDto[].class);
+        List<SuggestionDto> suggestions = stored != null ? Arrays.asList(stored) : refresh(userId);
+        if (suggestions.isEmpty()) {
+            return List.of();
+        }
+
+        List<SuggestionDto> current = socialGraphService.isReady()
+                ? suggestions.stream().filter(s -> !socialGraphService.isFollowing(userId, s.getId())).toList()
+                : suggestions;
+
+        // cards leave out disabled users, so they drop out here as well
+        Map<UUID, UserCardDto> cards = userCardService.getCards(current.stream().map(SuggestionDto::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(UserCardDto::getId, Function.identity()));
+
+        List<SuggestionDto> result = new ArrayList<>(current.size());
+        for (SuggestionDto suggestion : current) {
+            UserCardDto card = cards.get(suggestion.getId());
+            if (card != null) {
+                result.add(suggestion.toBuilder().user(card).build());
+            }
+        }
+        return result;
+    }
+
+    // Recomputes and stores the list; empty while the graph is still loading
+    public List<SuggestionDto> refresh(UUID userId) {
+        if (!socialGraphService.isReady()) {
+            return List.of();
+        }
+        List<SuggestionDto> suggestions = socialGraphService.suggest(
+                userId, MAX_SUGGESTIONS, sampleSize, candidateBudget, maxGroupSize);
+        // stored as an array, the JSON serializer cannot rebuild the immutable list type
+        redisService.set(key(userId), suggestions.toArray(SuggestionDto[]::new), ttlSeconds);
+        return suggestions;
+    }
+
+    // Users who asked for suggestions within the active window, most recent first
+    public List<UUID> activeUsers(int limit) {
+        return redisService.sortedSetTrimAndRange(ACTIVE_KEY, System.currentTimeMillis() - activeMillis, limit)
+                .stream()
+                .map(UUID::fromString)
+                .toList();
+    }
+
+    private static String key(UUID userId) {
+        return RedisMethod.SUGGESTIONS_ + userId.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.dto.response.UserCardDto;
+import com.project.user_service.domain.enums.ImageVariantKind;
+import com.project.user_service.domain.enums.RedisMethod;
+import com.project.user_service.repository.UsersRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Compact author cards for feed hydration. A batch is answered from a small in-process LRU of
+ * hot authors first, then one Redis MGET, then one database query for whatever is still missing.
+ * Local entries live for a few seconds only, so a profile change reaches every instance quickly.
+ */
+@Slf4j
+@Service
+public class UserCardService {
+
+    public static final int MAX_BATCH = 500;
+
+    private static final long TIME_REDIS = 3600L;
+
+    private record LocalCard(UserCardDto card, long expiresAt) {
+    }
+
+    private final UsersRepository usersRepository;
+    private final RedisService redisService;
+    private final ImageVariantService imageVariantService;
+    private final long localTtlMillis;
+    private final Map<UUID, LocalCard> localCards;
+
+    public UserCardService(
+            UsersRepository usersRepository,
+            RedisService redisService,
+            ImageVariantService imageVariantService,
+            @Value("${user.card.local-size:10000}") int localSize,
+            @Value("${user.card.local-ttl-seconds:30}") long localTtlSeconds) {
+        this.usersRepository = usersRepository;
+        this.redisService = redisService;
+        this.imageVariantService = imageVariantService;
+        this.localTtlMillis = localTtlSeconds * 1000;
+        this.localCards = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, LocalCard> eldest) {
+                return size() > localSize;
+            }
+        });
+    }
+
+    // Cards come back in request order; unknown and disabled users are left out
+    public List<UserCardDto> getCards(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        LinkedHashSet<UUID> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH + " user cards per request");
+        }
+
+        Map<UUID, UserCardDto> found = HashMap.newHashMap(requested.size());
+        long now = System.currentTimeMillis();
+
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : requested) {
+            LocalCard local = localCards.get(id);
+            if (local != null && local.expiresAt() > now) {
+                found.put(id, local.card());
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<String> keys = missing.stream().map(UserCardService::key).toList();
+            List<UserCardDto> cached = redisService.multiGet(keys, UserCardDto.class);
+
+            List<UUID> fromDatabase = new ArrayList<>();
+            for (int i = 0; i < missing.size(); i++) {
+                UserCardDto card = cached.get(i);
+                if (card != null) {
+                    found.put(missing.get(i), card);
+                    remember(card, now);
+                } else {
+                    fromDatabase.add(missing.get(i));
+                }
+            }
+
+            if (!fromDatabase.isEmpty()) {
+                Map<String, UserCardDto> toCache = new HashMap<>();
+                for (UserCardDto card : usersRepository.getUserCards(fromDatabase)) {
+                    withAvatar(card);
+                    found.put(card.getId(), card);
+                    toCache.put(key(card.getId()), card);
+                    remember(card, now);
+                }
+                redisService.setAll(toCache, TIME_REDIS);
+            }
+        }
+
+        List<UserCardDto> result = new ArrayList<>(found.size());
+        for (UUID id : requested) {
+            UserCardDto card = found.get(id);
+            if (card != null) {
+                result.add(card);
+            }
+        }
+        return result;
+    }
+
+    public void evict(UUID id) {
+        localCards.remove(id);
+        redisService.delete(key(id));
+    }
+
+    // The query marks users without an avatar with version -1
+    private void withAvatar(UserCardDto card) {
+        card.setAvatarUrl(imageVariantService.userImageUrl(card.getId(), card.getAvatarVersion(), ImageVariantKind.SMALL));
+        card.setAvatarVersion(Math.max(card.getAvatarVersion(), 0));
+    }
+
+    private void remember(UserCardDto card, long now) {
+        localCards.put(card.getId(), new LocalCard(card, now + localTtlMillis));
+    }
+
+    private static String key(UUID id) {
+        return RedisMethod.USER_CARD_ + id.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.entity.users.UserRelation;
+import com.project.user_service.domain.enums.KafkaDataTransferFields;
+import com.project.user_service.domain.enums.RelationType;
+import com.project.user_service.exception.customException.UserNotFoundException;
+import com.project.user_service.repository.UserRelationRepository;
+import com.project.user_service.repository.UsersRepository;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Blocks and mutes. Every change is published on the UserRelation topic once it commits, so
+ * content-service can patch the filters it keeps per viewer instead of reloading them.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class UserRelationService {
+
+    private final UserRelationRepository userRelationRepository;
+    private final UsersRepository usersRepository;
+    private final KafkaService kafkaService;
+
+    // Adding an existing relation is a no-op
+    @Transactional
+    public void relate(UUID ownerId, UUID targetId, RelationType type) {
+
+        if (ownerId.equals(targetId)) {
+            throw new IllegalArgumentException("You cannot " + type.name().toLowerCase() + " yourself");
+        }
+
+        if (!usersRepository.existsByIdAndEnableTrue(targetId)) {
+            throw new UserNotFoundException(targetId.toString());
+        }
+
+        if (userRelationRepository.existsByOwner_IdAndTarget_IdAndType(ownerId, targetId, type)) {
+            return;
+        }
+
+        userRelationRepository.save(
+                UserRelation.builder()
+                        .owner(usersRepository.getReferenceById(ownerId))
+                        .target(usersRepository.getReferenceById(targetId))
+                        .type(type)
+                        .build());
+
+        publish(type == RelationType.BLOCK ? KafkaDataTransferFields.USER_BLOCK : KafkaDataTransferFields.USER_MUTE,
+                ownerId, targetId);
+        log.info("User {} added {} on {}", ownerId, type, targetId);
+    }
+
+    // Removing a missing relation is a no-op
+    @Transactional
+    public void unrelate(UUID ownerId, UUID targetId, RelationType type) {
+
+        if (userRelationRepository.deleteRelation(ownerId, targetId, type) == 0) {
+            return;
+        }
+
+        publish(type == RelationType.BLOCK ? KafkaDataTransferFields.USER_UNBLOCK : KafkaDataTransferFields.USER_UNMUTE,
+                ownerId, targetId);
+        log.info("User {} removed {} on {}", ownerId, type, targetId);
+    }
+
+    // Authors hidden from the user: everyone they block or mute, and everyone blocking them
+    public Set<UUID> getHiddenUsers(UUID userId) {
+        Set<UUID> hidden = new HashSet<>(userRelationRepository.getTargetIds(userId));
+        hidden.addAll(userRelationRepository.getOwnerIds(userId, RelationType.BLOCK));
+        return hidden;
+    }
+
+    private void publish(KafkaDataTransferFields type, UUID ownerId, UUID targetId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    kafkaService.sendUserRelation(type, ownerId, targetId);
+                }
+            });
+        } else {
+            kafkaService.sendUserRelation(type, ownerId, targetId);
+        }
+    }
+}
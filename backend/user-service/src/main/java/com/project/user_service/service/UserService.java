@@ -1,12 +1,15 @@
 package com.project.user_service.service;
 
 import com.project.user_service.domain.dto.request.CreateUserDetailsRequestDto;
+import com.project.user_service.domain.dto.request.KeysetCursor;
 import com.project.user_service.domain.dto.request.UpdateUserProfileRequestDto;
+import com.project.user_service.domain.dto.response.CursorSlice;
 import com.project.user_service.domain.dto.response.GetFollowResponse;
 import com.project.user_service.domain.dto.response.UserProfileResponseDto;
 import com.project.user_service.domain.entity.users.Follow;
 import com.project.user_service.domain.entity.users.ImageUserEntity;
 import com.project.user_service.domain.entity.users.Users;
+import com.project.user_service.domain.enums.ImageVariantKind;
 import com.project.user_service.domain.enums.RedisMethod;
 import com.project.user_service.domain.security.UserDetailCustom;
 import com.project.user_service.exception.customException.ImageUploadFailedException;
@@ -18,12 +21,13 @@ import com.project.user_service.repository.UsersRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -39,6 +43,10 @@ public class UserService {
     private final FollowRepository followRepository;
     private final KafkaService kafkaService;
     private final ImageUserEntityRepository imageUserEntityRepository;
+    private final SocialGraphService socialGraphService;
+    private final UserCardService userCardService;
+    private final ImageVariantService imageVariantService;
+    private final SingleFlightLoader singleFlightLoader;
 
     private static final long MAX_IMAGE_SIZE = 5L * 1024 * 1024;
     private static final int PAGE_LIMIT = 15;
@@ -111,6 +119,11 @@ public class UserService {
 
         log.info("User {} created with id {}", user.getUsername(), user.getId());
 
+        long avatarVersion = image == null ? -1 : imageEntity.getImageVersion();
+        if (image != null) {
+            imageVariantService.scheduleUser(user.getId());
+        }
+
         UserProfileResponseDto responseDto = UserProfileResponseDto
                 .builder()
                 .id(requestDto.getId())
@@ -118,67 +131,78 @@ public class UserService {
                 .username(requestDto.getUsername())
                 .bio(user.getBio())
                 .location(user.getLocation())
-                .profileImg(user.getImageUserEntity().getImage())
-                .imageType(user.getImageUserEntity().getImageType())
+                .avatarVersion(avatarVersion)
                 .isVerified(false)
                 .followers(0)
                 .following(0)
                 .build();
-        responseDto.setIsFollow(false);
+        withAvatarUrl(responseDto);
 
+        // The cached profile is shared by every viewer, so it never holds isFollow
         redisService.set(RedisMethod.USER_ + user.getId().toString(), responseDto, TIME_REDIS);
+
+        responseDto.setIsFollow(false);
         kafkaService.saveIntoUserDatabase(user);
 
         return responseDto;
     }
 
     @Transactional
-    public UserProfileResponseDto getProfile(UUID id, Boolean image) {
+    public UserProfileResponseDto getProfile(UUID id) {
 
-        UserProfileResponseDto responseDto = redisService.get(RedisMethod.USER_ + id.toString(),
-                UserProfileResponseDto.class);
+        String key = RedisMethod.USER_ + id.toString();
+        UserProfileResponseDto responseDto = redisService.get(key, UserProfileResponseDto.class);
 
         if (responseDto != null) {
-            long time = TIME_REDIS + responseDto.getFollowers();
-            time = Math.min(time, TIME_REDIS_MAX);
-            redisService.set(RedisMethod.USER_ + id.toString(), responseDto, time);
-            return responseDto;
+            redisService.expire(key, profileTtl(responseDto));
+        } else {
+            // Coalesced callers share one instance, so each personalizes its own copy
+            responseDto = singleFlightLoader.load(key,
+                    () -> redisService.get(key, UserProfileResponseDto.class),
+                    () -> {
+                        UserProfileResponseDto loaded = userRepository.getUserWithDetails(id)
+                                .orElseThrow(() -> new UserNotFoundException(id.toString()));
+                        withAvatarUrl(loaded);
+                        redisService.set(key, loaded, profileTtl(loaded));
+                        return loaded;
+                    }).toBuilder().build();
         }
 
-        Optional<UserProfileResponseDto> optUser = userRepository.getUserWithDetails(id);
-        if (optUser.isEmpty()) {
-            throw new UserNotFoundException(id.toString());
-        }
-
-        byte[] imagebytes = null;
-        String imageType = null;
-        if (image) {
-            ImageUserEntity imageUserEntity = imageUserEntityRepository.findById(id)
-                    .orElseThrow(() -> new UserNotFoundException(id.toString()));
+        responseDto.setIsFollow(isFollowedByViewer(id));
+        return responseDto;
+    }
 
-            imagebytes = imageUserEntity.getImage();
-            imageType = imageUserEntity.getImageType();
-        }
-        responseDto = optUser.get();
-        responseDto.setImageType(imageType);
-        responseDto.setProfileImg(imagebytes);
+    // The queries mark users without an avatar with version -1
+    private void withAvatarUrl(UserProfileResponseDto responseDto) {
+        responseDto.setAvatarUrl(imageVariantService.userImageUrl(
+                responseDto.getId(), responseDto.getAvatarVersion(), ImageVariantKind.LARGE));
+        responseDto.setAvatarVersion(Math.max(responseDto.getAvatarVersion(), 0));
+    }
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        Boolean following = false;
+    private GetFollowResponse withAvatarUrl(GetFollowResponse response) {
+        response.setAvatarUrl(imageVariantService.userImageUrl(
+                response.getId(), response.getAvatarVersion(), ImageVariantKind.SMALL));
+        response.setAvatarVersion(Math.max(response.getAvatarVersion(), 0));
+        return response;
+    }
 
-        if (authentication != null) {
-            UserDetailCustom userDetailCustom = (UserDetailCustom) authentication.getPrincipal();
+    // Popular profiles stay cached longer
+    private long profileTtl(UserProfileResponseDto responseDto) {
+        return Math.min(TIME_REDIS + responseDto.getFollowers(), TIME_REDIS_MAX);
+    }
 
-            following = followRepository.existsByFollower_IdAndFollowing_Id(userDetailCustom.getId(), id);
+    private boolean isFollowedByViewer(UUID id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailCustom viewer)) {
+            return false;
+        }
+        if (viewer.getId().equals(id)) {
+            return false;
         }
 
-        responseDto.setIsFollow(following);
-
-        long time = TIME_REDIS + optUser.get().getFollowers();
-        time = Math.min(time, TIME_REDIS_MAX);
-        redisService.set(RedisMethod.USER_ + optUser.get().getId().toString(), responseDto, time);
-        return responseDto;
-
+        return socialGraphService.isReady()
+                ? socialGraphService.isFollowing(viewer.getId(), id)
+                : followRepository.existsByFollower_IdAndFollowing_Id(viewer.getId(), id);
     }
 
     @Transactional
@@ -199,10 +223,13 @@ public class UserService {
 
             imageUserEntity.setImage(file.getBytes());
             imageUserEntity.setImageType(file.getContentType());
+            imageUserEntity.setImageVersion(imageUserEntity.getImageVersion() + 1);
 
             imageUserEntityRepository.save(imageUserEntity);
 
             redisService.delete(RedisMethod.USER_ + id.toString());
+            userCardService.evict(id);
+            imageVariantService.scheduleUser(id);
 
         } catch (IOException e) {
             throw new ImageUploadFailedException(e.getMessage());
@@ -258,6 +285,9 @@ public class UserService {
         log.info("User : {} ({}) updated its : {}", user.getId().toString(), user.getUsername(), updated.toString());
 
         redisService.delete(RedisMethod.USER_ + user.getId().toString());
+        if (displayName != null) {
+            userCardService.evict(user.getId());
+        }
 
         if (displayName != null || bio != null) {
             kafkaService.updateIntoUserDatabase(user.getId(), displayName, bio, user.getUsername());
@@ -295,8 +325,11 @@ public class UserService {
                         .following(targetUser)
                         .build());
 
-        redisService.delete(RedisMethod.USER_ + userId.toString());
-        redisService.delete(RedisMethod.USER_ + targetUserId.toString());
+        userRepository.adjustFollowingCount(userId, 1);
+        userRepository.adjustFollowerCount(targetUserId, 1);
+        socialGraphService.follow(userId, targetUserId);
+
+        evictProfiles(userId, targetUserId);
 
         log.info("User {} followed {}", userId, targetUserId);
     }
@@ -322,40 +355,83 @@ public class UserService {
             throw new IllegalStateException("You are not following this user");
         }
 
-        redisService.delete(RedisMethod.USER_ + userId.toString());
-        redisService.delete(RedisMethod.USER_ + targetUserId.toString());
+        userRepository.adjustFollowingCount(userId, -1);
+        userRepository.adjustFollowerCount(targetUserId, -1);
+        socialGraphService.unfollow(userId, targetUserId);
+
+        evictProfiles(userId, targetUserId);
 
         log.info("User {} unfollowed {}", userId, targetUserId);
     }
 
     @Transactional
-    public Page<GetFollowResponse> getFollowing(UUID id, int page) {
-        if (id == null) {
-            throw new IllegalArgumentException("ID");
+    public int reconcileFollowCounts(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
         }
 
-        if (page < 0) {
-            page = 0;
+        List<UUID> drifted = userRepository.findDriftedFollowCounts(ids);
+        if (!drifted.isEmpty()) {
+            userRepository.recountFollows(drifted);
+            log.info("Follow counters corrected for {} users", drifted.size());
         }
 
-        Pageable pageable = PageRequest.of(page, PAGE_LIMIT);
-
-        return followRepository.getFollowing(id, pageable);
+        // A cached profile can be stale even when the row is right (a load racing a follow), and hits keep
+        // sliding its TTL, so every profile in the batch is dropped and reloads from the columns
+        redisService.deleteAll(ids.stream().map(id -> RedisMethod.USER_ + id.toString()).toList());
+        return drifted.size();
     }
 
+    // Keyset paged, newest first; a null cursor asks for the first slice
     @Transactional
-    public Page<GetFollowResponse> getFollower(UUID id, int page) {
+    public CursorSlice<GetFollowResponse> getFollowing(UUID id, String cursor) {
         if (id == null) {
             throw new IllegalArgumentException("ID");
         }
 
-        if (page < 0) {
-            page = 0;
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<GetFollowResponse> slice = followRepository.getFollowing(
+                id, after.at(), after.id(), PageRequest.of(0, PAGE_LIMIT));
+
+        return CursorSlice.of(slice.map(this::withAvatarUrl), UserService::position);
+    }
+
+    @Transactional
+    public CursorSlice<GetFollowResponse> getFollower(UUID id, String cursor) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID");
         }
 
-        Pageable pageable = PageRequest.of(page, PAGE_LIMIT);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<GetFollowResponse> slice = followRepository.getFollower(
+                id, after.at(), after.id(), PageRequest.of(0, PAGE_LIMIT));
+
+        return CursorSlice.of(slice.map(this::withAvatarUrl), UserService::position);
+    }
+
+    // Cached profiles carry the counts; they reload from the columns once the follow is committed
+    private void evictProfiles(UUID userId, UUID targetUserId) {
+        afterCommit(() -> {
+            redisService.delete(RedisMethod.USER_ + userId.toString());
+            redisService.delete(RedisMethod.USER_ + targetUserId.toString());
+        });
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
 
-        return followRepository.getFollower(id, pageable);
+    private static KeysetCursor position(GetFollowResponse response) {
+        return new KeysetCursor(response.getSince(), response.getId());
     }
 
 }
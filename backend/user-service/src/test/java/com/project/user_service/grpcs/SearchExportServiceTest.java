@@ -0,0 +1,80 @@
+package com.project.user_service.grpcs;
+
+import com.project.user_service.domain.entity.users.Users;
+import com.project.user_service.repository.UsersRepository;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import search.export.v1.ExportRequest;
+import search.export.v1.SearchExportGrpc;
+import search.export.v1.UserRecord;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// search-service calls the export without User-Id / User-Role headers, through the servlet and its security chain
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "server.http2.enabled=true")
+@ActiveProfiles("test")
+class SearchExportServiceTest {
+
+        @Value("${local.server.port}")
+        private int port;
+
+        @Autowired
+        private UsersRepository usersRepository;
+
+        private ManagedChannel channel;
+        private Users user;
+
+        @BeforeEach
+        void setUp() {
+                user = usersRepository.save(Users.builder()
+                                .id(UUID.randomUUID())
+                                .username("exported")
+                                .displayName("Exported User")
+                                .bio("Exported bio")
+                                .location("Location")
+                                .dateOfBirth(LocalDate.of(2000, 1, 1))
+                                .enable(true)
+                                .isVerified(false)
+                                .createdAt(LocalDateTime.now())
+                                .build());
+                channel = ManagedChannelBuilder.forAddress("localhost", port).usePlaintext().build();
+        }
+
+        @AfterEach
+        void tearDown() {
+                channel.shutdownNow();
+                usersRepository.deleteById(user.getId());
+        }
+
+        @Test
+        @DisplayName("Should stream users to an unauthenticated gRPC caller")
+        void testExportUsersPassesSecurity() {
+                List<UserRecord> records = new ArrayList<>();
+                SearchExportGrpc.newBlockingStub(channel)
+                                .exportUsers(ExportRequest.newBuilder().setLimit(100).build())
+                                .forEachRemaining(records::add);
+
+                assertThat(records)
+                                .filteredOn(record -> new UUID(record.getMsb(), record.getLsb()).equals(user.getId()))
+                                .singleElement()
+                                .satisfies(record -> {
+                                        assertThat(record.getUsername()).isEqualTo("exported");
+                                        assertThat(record.getDisplayName()).isEqualTo("Exported User");
+                                        assertThat(record.getEnable()).isTrue();
+                                });
+        }
+}
@@ -1,5 +1,6 @@
 package com.project.user_service.repository;
 
+import com.project.user_service.domain.dto.request.KeysetCursor;
 import com.project.user_service.domain.dto.response.GetFollowResponse;
 import com.project.user_service.domain.entity.users.Follow;
 import com.project.user_service.domain.entity.users.Users;
@@ -10,7 +11,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
@@ -288,7 +289,8 @@ class FollowRepositoryTest {
 
 
                 Pageable page = PageRequest.of(0, 12);
-                Page<GetFollowResponse> followerPage = followRepository.getFollower(user1.getId(), page);
+                Slice<GetFollowResponse> followerPage = followRepository.getFollower(
+                        user1.getId(), KeysetCursor.FIRST.at(), KeysetCursor.FIRST.id(), page);
                 Set<GetFollowResponse> followers = followerPage.toSet();
 
                 assertThat(followers).hasSize(2);
@@ -302,10 +304,11 @@ class FollowRepositoryTest {
             void testGetFollowerWhenNoFollowers() {
 
                 Pageable page = PageRequest.of(0, 12);
-                Page<GetFollowResponse> followerPage = followRepository.getFollower(user1.getId(), page);
+                Slice<GetFollowResponse> followerPage = followRepository.getFollower(
+                        user1.getId(), KeysetCursor.FIRST.at(), KeysetCursor.FIRST.id(), page);
 
                 assertThat(followerPage.getContent()).isEmpty();
-                assertThat(followerPage.getTotalElements()).isZero();
+                assertThat(followerPage.hasNext()).isFalse();
             }
 
             @Test
@@ -346,11 +349,21 @@ class FollowRepositoryTest {
                 entityManager.clear();
 
                 Pageable page = PageRequest.of(0, 2);
-                Page<GetFollowResponse> followerPage = followRepository.getFollower(user1.getId(), page);
+                Slice<GetFollowResponse> followerPage = followRepository.getFollower(
+                        user1.getId(), KeysetCursor.FIRST.at(), KeysetCursor.FIRST.id(), page);
 
                 assertThat(followerPage.getContent()).hasSize(2);
-                assertThat(followerPage.getTotalElements()).isEqualTo(3);
-                assertThat(followerPage.getTotalPages()).isEqualTo(2);
+                assertThat(followerPage.hasNext()).isTrue();
+
+                GetFollowResponse last = followerPage.getContent().getLast();
+                Slice<GetFollowResponse> nextPage = followRepository.getFollower(
+                        user1.getId(), last.getSince(), last.getId(), page);
+
+                assertThat(nextPage.getContent()).hasSize(1);
+                assertThat(nextPage.hasNext()).isFalse();
+                assertThat(nextPage.getContent())
+                        .extracting(GetFollowResponse::getId)
+                        .doesNotContainAnyElementsOf(followerPage.map(GetFollowResponse::getId).toList());
             }
         }
 
@@ -377,7 +390,8 @@ class FollowRepositoryTest {
                 entityManager.clear();
 
                 Pageable page = PageRequest.of(0, 12);
-                Page<GetFollowResponse> followingPage = followRepository.getFollowing(user1.getId(), page);
+                Slice<GetFollowResponse> followingPage = followRepository.getFollowing(
+                        user1.getId(), KeysetCursor.FIRST.at(), KeysetCursor.FIRST.id(), page);
                 Set<GetFollowResponse> following = followingPage.toSet();
 
                 assertThat(following).hasSize(2);
@@ -391,10 +405,11 @@ class FollowRepositoryTest {
             void testGetFollowingWhenNotFollowingAnyone() {
 
                 Pageable page = PageRequest.of(0, 12);
-                Page<GetFollowResponse> followingPage = followRepository.getFollowing(user1.getId(), page);
+                Slice<GetFollowResponse> followingPage = followRepository.getFollowing(
+                        user1.getId(), KeysetCursor.FIRST.at(), KeysetCursor.FIRST.id(), page);
 
                 assertThat(followingPage.getContent()).isEmpty();
-                assertThat(followingPage.getTotalElements()).isZero();
+                assertThat(followingPage.hasNext()).isFalse();
             }
         }
     }
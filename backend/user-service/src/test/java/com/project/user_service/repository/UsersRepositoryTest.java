@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -226,6 +227,9 @@ class UsersRepositoryTest {
                                 .build();
                 followRepository.save(follow3);
 
+                usersRepository.adjustFollowerCount(testUser.getId(), 2);
+                usersRepository.adjustFollowingCount(testUser.getId(), 1);
+
                 entityManager.flush();
                 entityManager.clear();
 
@@ -240,6 +244,28 @@ class UsersRepositoryTest {
                 assertThat(profile.get().getIsVerified()).isFalse();
         }
 
+        @Test
+        @Transactional
+        @DisplayName("Should find and recount drifted follow counters")
+        void testRecountFollows() {
+                followRepository.save(Follow.builder().follower(follower1).following(testUser).build());
+                followRepository.save(Follow.builder().follower(follower2).following(testUser).build());
+                entityManager.flush();
+
+                List<UUID> ids = List.of(testUser.getId(), follower1.getId(), follower2.getId());
+                assertThat(usersRepository.findDriftedFollowCounts(ids))
+                                .containsExactlyInAnyOrder(testUser.getId(), follower1.getId(), follower2.getId());
+
+                usersRepository.recountFollows(ids);
+                entityManager.clear();
+
+                assertThat(usersRepository.findDriftedFollowCounts(ids)).isEmpty();
+                Optional<UserProfileResponseDto> profile = usersRepository.getUserWithDetails(testUser.getId());
+                assertThat(profile).isPresent();
+                assertThat(profile.get().getFollowers()).isEqualTo(2L);
+                assertThat(profile.get().getFollowing()).isZero();
+        }
+
         @Test
         @Transactional
         @DisplayName("Should check if enabled user exists by id")
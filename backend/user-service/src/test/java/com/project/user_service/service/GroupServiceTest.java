@@ -2,11 +2,15 @@ package com.project.user_service.service;
 
 import com.project.user_service.domain.dto.request.BioUpdateGroupRequestDto;
 import com.project.user_service.domain.dto.request.CreateGroupRequestDto;
+import com.project.user_service.domain.dto.request.KeysetCursor;
+import com.project.user_service.domain.dto.response.CursorSlice;
+import com.project.user_service.domain.dto.response.GetFollowResponse;
 import com.project.user_service.domain.dto.response.GroupResponseDto;
 import com.project.user_service.domain.entity.groups.Group;
 import com.project.user_service.domain.entity.groups.GroupMember;
 import com.project.user_service.domain.entity.groups.ImageGroup;
 import com.project.user_service.domain.entity.users.Users;
+import com.project.user_service.domain.enums.ImageVariantKind;
 import com.project.user_service.domain.enums.RedisMethod;
 import com.project.user_service.exception.customException.GroupNotFoundException;
 import com.project.user_service.exception.customException.ImageUploadFailedException;
@@ -20,15 +24,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,6 +64,18 @@ class GroupServiceTest {
         @Mock
         private KafkaService kafkaService;
 
+        @Mock
+        private SocialGraphService socialGraphService;
+
+        @Mock
+        private ImageVariantService imageVariantService;
+
+        @Mock
+        private SingleFlightLoader singleFlightLoader;
+
+        @Mock
+        private GroupMembershipService groupMembershipService;
+
         @InjectMocks
         private GroupService groupService;
 
@@ -66,6 +86,9 @@ class GroupServiceTest {
 
         @BeforeEach
         void setUp() {
+                lenient().when(singleFlightLoader.load(anyString(), any(), any()))
+                                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
                 user = Users
                                 .builder()
                                 .id(UUID.randomUUID())
@@ -288,45 +311,39 @@ class GroupServiceTest {
                                         .memberCount(1)
                                         .build();
 
-                        when(groupRepository.getGroupById(eq(group1.getId()), any()))
+                        when(groupRepository.getGroupById(eq(group1.getId())))
                                         .thenReturn(Optional.of(groupResponseDto));
                         when(groupRepository.findById(eq(group1.getId()))).thenReturn(Optional.of(group1));
 
-                        GroupResponseDto responseDto = groupService.getGroup(group1.getId(), false);
+                        GroupResponseDto responseDto = groupService.getGroup(group1.getId());
 
                         assertNotNull(responseDto);
                         assertEquals(groupResponseDto.getGroupName(), responseDto.getGroupName());
                         verify(redisService, times(1)).set(eq(RedisMethod.GROUP_ + group1.getId().toString()), any(),
                                         anyLong());
-                        verify(groupRepository).getGroupById(eq(group1.getId()), any());
+                        verify(groupRepository).getGroupById(eq(group1.getId()));
                 }
 
                 @Test
                 @DisplayName("Should throw an Exception For No Id")
                 void testGetGroupWithNoId() {
-                        assertThatThrownBy(() -> groupService.getGroup(null, true))
+                        assertThatThrownBy(() -> groupService.getGroup(null))
                                         .isInstanceOf(IllegalArgumentException.class)
                                         .hasMessageContaining("Id can't be Null");
 
                         verify(redisService, never()).set(any(), any(), anyLong());
-                        verify(groupRepository, never()).getGroupById(any(), any());
+                        verify(groupRepository, never()).getGroupById(any());
                 }
 
                 @Test
                 @DisplayName("Should throw GroupNotFoundException when group not found")
                 void testGetGroupNotFound() {
-                        // Mock SecurityContextHolder
-                        org.mockito.Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
-                        org.mockito.Mockito.when(authentication.getPrincipal())
-                                        .thenReturn(new com.project.user_service.domain.security.UserDetailCustom(
-                                                        java.util.UUID.randomUUID(),
-                                                        com.project.user_service.domain.enums.Roles.USER));
-                        org.springframework.security.core.context.SecurityContextHolder.setContext(securityContext);
+                        // Throws before the viewer's membership is looked up, so no security context is needed
                         UUID groupId = UUID.randomUUID();
                         when(redisService.get(any(), any())).thenReturn(null);
-                        when(groupRepository.getGroupById(eq(groupId), any())).thenReturn(Optional.empty());
+                        when(groupRepository.getGroupById(eq(groupId))).thenReturn(Optional.empty());
 
-                        assertThatThrownBy(() -> groupService.getGroup(groupId, false))
+                        assertThatThrownBy(() -> groupService.getGroup(groupId))
                                         .isInstanceOf(GroupNotFoundException.class);
                 }
 
@@ -357,19 +374,19 @@ class GroupServiceTest {
                                         .build();
 
                         when(redisService.get(any(), any())).thenReturn(null);
-                        when(groupRepository.getGroupById(eq(disabledGroup.getId()), any()))
+                        when(groupRepository.getGroupById(eq(disabledGroup.getId())))
                                         .thenReturn(Optional.of(dto));
                         when(groupRepository.findById(eq(disabledGroup.getId())))
                                         .thenReturn(Optional.of(disabledGroup));
 
-                        assertThatThrownBy(() -> groupService.getGroup(disabledGroup.getId(), false))
+                        assertThatThrownBy(() -> groupService.getGroup(disabledGroup.getId()))
                                         .isInstanceOf(IllegalArgumentException.class)
                                         .hasMessageContaining("Group is Block");
                 }
 
                 @Test
-                @DisplayName("Should get group with images")
-                void testGetGroupWithImages() {
+                @DisplayName("Should return image URLs instead of image bytes")
+                void testGetGroupWithImageUrls() {
                         // Mock SecurityContextHolder
                         org.mockito.Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
                         org.mockito.Mockito.when(authentication.getPrincipal())
@@ -378,41 +395,28 @@ class GroupServiceTest {
                                                         com.project.user_service.domain.enums.Roles.USER));
                         org.springframework.security.core.context.SecurityContextHolder.setContext(securityContext);
                         UUID groupId = UUID.randomUUID();
-                        byte[] imageData = new byte[] { 1, 2, 3 };
-
-                        ImageGroup imageGroup = ImageGroup.builder()
-                                        .profileImage(imageData)
-                                        .profileImageType("image/jpeg")
-                                        .bgImage(imageData)
-                                        .bgImageType("image/jpeg")
-                                        .build();
 
                         GroupResponseDto dto = GroupResponseDto.builder()
                                         .id(groupId)
                                         .groupName("Test Group")
                                         .groupBio("Bio")
                                         .memberCount(1)
-                                        .build();
-
-                        Group group = Group.builder()
-                                        .id(groupId)
-                                        .groupName("Test Group")
-                                        .bio("Bio")
-                                        .leader(user)
-                                        .members(new HashSet<>())
-                                        .enable(true)
+                                        .profileImageVersion(2)
+                                        .bgImageVersion(-1)
                                         .build();
 
                         when(redisService.get(any(), any())).thenReturn(null);
-                        when(groupRepository.getGroupById(eq(groupId), any())).thenReturn(Optional.of(dto));
-                        when(groupRepository.findById(eq(groupId))).thenReturn(Optional.of(group));
-                        when(imageGroupRepository.findById(eq(groupId))).thenReturn(Optional.of(imageGroup));
+                        when(groupRepository.getGroupById(eq(groupId))).thenReturn(Optional.of(dto));
+                        when(imageVariantService.groupImageUrl(groupId, 2L, ImageVariantKind.LARGE))
+                                        .thenReturn("/image/group/" + groupId + "/large?v=2");
 
-                        GroupResponseDto result = groupService.getGroup(groupId, true);
+                        GroupResponseDto result = groupService.getGroup(groupId);
 
                         assertNotNull(result);
-                        assertNotNull(result.getProfileImage());
-                        assertNotNull(result.getBgImage());
+                        assertEquals("/image/group/" + groupId + "/large?v=2", result.getProfileImageUrl());
+                        assertNull(result.getBgImageUrl());
+                        assertEquals(0, result.getBgImageVersion());
+                        verify(imageGroupRepository, never()).findById(any());
                 }
         }
 
@@ -442,8 +446,10 @@ class GroupServiceTest {
                         List<String> result = groupService.updateImage(group1.getId(), profileImage, null);
 
                         assertTrue(result.contains("Profile Image"));
+                        assertEquals(1, imageGroup.getProfileImageVersion());
                         verify(imageGroupRepository).save(imageGroup);
                         verify(redisService).delete(RedisMethod.GROUP_ + group1.getId().toString());
+                        verify(imageVariantService).scheduleGroup(group1.getId(), true, false);
                 }
 
                 @Test
@@ -633,17 +639,18 @@ class GroupServiceTest {
                 @Test
                 @DisplayName("Should return true when user is leader")
                 void testIsLeaderTrue() {
-                        when(groupRepository.findById(group1.getId())).thenReturn(Optional.of(group1));
+                        when(groupRepository.existsByIdAndLeader_Id(group1.getId(), user.getId())).thenReturn(true);
 
                         boolean result = groupService.isLeader(user.getId(), group1.getId());
 
                         assertTrue(result);
+                        verify(groupRepository, never()).findById(any());
                 }
 
                 @Test
                 @DisplayName("Should return false when user is not leader")
                 void testIsLeaderFalse() {
-                        when(groupRepository.findById(group1.getId())).thenReturn(Optional.of(group1));
+                        when(groupRepository.existsByIdAndLeader_Id(group1.getId(), otherUser.getId())).thenReturn(false);
 
                         boolean result = groupService.isLeader(otherUser.getId(), group1.getId());
 
@@ -653,7 +660,7 @@ class GroupServiceTest {
                 @Test
                 @DisplayName("Should return false when group not found")
                 void testIsLeaderGroupNotFound() {
-                        when(groupRepository.findById(group1.getId())).thenReturn(Optional.empty());
+                        when(groupRepository.existsByIdAndLeader_Id(group1.getId(), user.getId())).thenReturn(false);
 
                         boolean result = groupService.isLeader(user.getId(), group1.getId());
 
@@ -676,18 +683,14 @@ class GroupServiceTest {
                 @Test
                 @DisplayName("Should change leader successfully")
                 void testChangeLeaderSuccess() {
-                        GroupMember member = GroupMember.builder()
-                                        .id(UUID.randomUUID())
-                                        .users(otherUser)
-                                        .group(group1)
-                                        .build();
+                        group1.setMemberCount(2);
 
                         when(groupRepository.findById(group1.getId())).thenReturn(Optional.of(group1));
                         when(usersRepository.findByIdAndEnableTrue(otherUser.getId())).thenReturn(otherUser);
-                        when(groupMemberRepository.findByGroupIdAndUserId(group1.getId(), otherUser.getId()))
-                                        .thenReturn(Optional.of(member));
-                        when(groupMemberRepository.findByGroupIdAndUserId(group1.getId(), user.getId()))
-                                        .thenReturn(Optional.empty());
+                        when(groupMemberRepository.deleteByGroupIdAndUserId(group1.getId(), otherUser.getId()))
+                                        .thenReturn(1);
+                        when(groupMemberRepository.existsByGroup_IdAndUsers_Id(group1.getId(), user.getId()))
+                                        .thenReturn(false);
                         when(groupRepository.save(any(Group.class))).thenReturn(group1);
 
                         GroupResponseDto result = groupService.changeLeader(group1.getId(), otherUser.getId(),
@@ -696,8 +699,9 @@ class GroupServiceTest {
                         assertNotNull(result);
                         assertEquals(otherUser.getId(), result.getLeaderId());
                         assertEquals(otherUser.getUsername(), result.getLeaderUsername());
-                        verify(groupMemberRepository).delete(member);
+                        assertEquals(2, result.getMemberCount());
                         verify(groupMemberRepository).save(any(GroupMember.class));
+                        verify(groupMembershipService).added(group1.getId(), user.getId());
                         verify(groupRepository).save(group1);
                         verify(redisService).delete(RedisMethod.GROUP_ + group1.getId().toString());
                 }
@@ -768,8 +772,8 @@ class GroupServiceTest {
                 void testChangeLeaderNotMember() {
                         when(groupRepository.findById(group1.getId())).thenReturn(Optional.of(group1));
                         when(usersRepository.findByIdAndEnableTrue(otherUser.getId())).thenReturn(otherUser);
-                        when(groupMemberRepository.findByGroupIdAndUserId(group1.getId(), otherUser.getId()))
-                                        .thenReturn(Optional.empty());
+                        when(groupMemberRepository.deleteByGroupIdAndUserId(group1.getId(), otherUser.getId()))
+                                        .thenReturn(0);
 
                         assertThatThrownBy(() -> groupService.changeLeader(group1.getId(), otherUser.getId(),
                                         user.getId()))
@@ -806,6 +810,7 @@ class GroupServiceTest {
                         assertFalse(group1.getEnable());
                         verify(groupRepository).save(group1);
                         verify(redisService).delete(RedisMethod.GROUP_ + group1.getId().toString());
+                        verify(groupMembershipService).evict(group1.getId());
                 }
 
                 @Test
@@ -838,6 +843,143 @@ class GroupServiceTest {
                 }
         }
 
+        @Nested
+        @DisplayName("When joining, leaving and checking membership")
+        class MembershipTest {
+
+                @Test
+                @DisplayName("Should count the new member without loading the member collection")
+                void testJoinGroupAdjustsCount() {
+                        when(groupRepository.findById(group1.getId())).thenReturn(Optional.of(group1));
+                        when(usersRepository.findByIdAndEnableTrue(otherUser.getId())).thenReturn(otherUser);
+                        when(groupMemberRepository.existsByGroup_IdAndUsers_Id(group1.getId(), otherUser.getId()))
+                                        .thenReturn(false);
+
+                        groupService.joinGroup(group1.getId(), otherUser.getId());
+
+                        verify(groupMemberRepository).save(any(GroupMember.class));
+                        verify(groupRepository).adjustMemberCount(group1.getId(), 1);
+                        verify(groupMembershipService).added(group1.getId(), otherUser.getId());
+                        verify(redisService).delete(RedisMethod.GROUP_ + group1.getId().toString());
+                }
+
+                @Test
+                @DisplayName("Should reject a second join")
+                void testJoinGroupTwice() {
+                        when(groupRepository.findById(group1.getId())).thenReturn(Optional.of(group1));
+                        when(usersRepository.findByIdAndEnableTrue(otherUser.getId())).thenReturn(otherUser);
+                        when(groupMemberRepository.existsByGroup_IdAndUsers_Id(group1.getId(), otherUser.getId()))
+                                        .thenReturn(true);
+
+                        assertThatThrownBy(() -> groupService.joinGroup(group1.getId(), otherUser.getId()))
+                                        .isInstanceOf(IllegalArgumentException.class)
+                                        .hasMessageContaining("already a member");
+
+                        verify(groupRepository, never()).adjustMemberCount(any(), anyLong());
+                }
+
+                @Test
+                @DisplayName("Should uncount a member that leaves")
+                void testLeaveGroupAdjustsCount() {
+                        when(groupRepository.findById(group1.getId())).thenReturn(Optional.of(group1));
+                        when(groupMemberRepository.deleteByGroupIdAndUserId(group1.getId(), otherUser.getId()))
+                                        .thenReturn(1);
+
+                        groupService.leaveGroup(group1.getId(), otherUser.getId());
+
+                        verify(groupRepository).adjustMemberCount(group1.getId(), -1);
+                        verify(groupMembershipService).removed(group1.getId(), otherUser.getId());
+                        verify(redisService).delete(RedisMethod.GROUP_ + group1.getId().toString());
+                }
+
+                @Test
+                @DisplayName("Should not uncount a user that was no member")
+                void testLeaveGroupNotMember() {
+                        when(groupRepository.findById(group1.getId())).thenReturn(Optional.of(group1));
+                        when(groupMemberRepository.deleteByGroupIdAndUserId(group1.getId(), otherUser.getId()))
+                                        .thenReturn(0);
+
+                        assertThatThrownBy(() -> groupService.leaveGroup(group1.getId(), otherUser.getId()))
+                                        .isInstanceOf(IllegalArgumentException.class)
+                                        .hasMessageContaining("not a member");
+
+                        verify(groupRepository, never()).adjustMemberCount(any(), anyLong());
+                }
+
+                @Test
+                @DisplayName("Should list members one keyset slice at a time")
+                void testGetMembersSlice() {
+                        GetFollowResponse member = GetFollowResponse.builder()
+                                        .id(otherUser.getId())
+                                        .username(otherUser.getUsername())
+                                        .since(java.time.LocalDateTime.of(2026, 3, 1, 12, 0))
+                                        .avatarVersion(-1)
+                                        .build();
+                        when(groupMemberRepository.getMembers(eq(group1.getId()), any(), any(), any()))
+                                        .thenReturn(new SliceImpl<>(List.of(member), PageRequest.of(0, 1), true));
+
+                        CursorSlice<GetFollowResponse> result = groupService.getMembers(group1.getId(), null);
+
+                        assertEquals(1, result.getContent().size());
+                        assertTrue(result.isHasNext());
+                        assertEquals(new KeysetCursor(member.getSince(), member.getId()),
+                                        KeysetCursor.decode(result.getNextCursor()));
+                        assertEquals(0, result.getContent().getFirst().getAvatarVersion());
+                }
+
+                @Test
+                @DisplayName("Should answer from the cached membership set when present")
+                void testIsMemberFromCachedSet() {
+                        when(groupMembershipService.contains(group1.getId(), otherUser.getId())).thenReturn(true);
+
+                        assertTrue(groupService.isMember(otherUser.getId(), group1.getId()));
+
+                        verify(groupMemberRepository, never()).existsByGroup_IdAndUsers_Id(any(), any());
+                        verify(groupRepository, never()).findById(any());
+                }
+
+                @Test
+                @DisplayName("Should fall back to the indexed existence check")
+                void testIsMemberFromDatabase() {
+                        when(groupMembershipService.contains(group1.getId(), otherUser.getId())).thenReturn(null);
+                        when(groupRepository.getGroupLeaderId(group1.getId())).thenReturn(user.getId());
+                        when(groupMemberRepository.existsByGroup_IdAndUsers_Id(group1.getId(), otherUser.getId()))
+                                        .thenReturn(true);
+
+                        assertTrue(groupService.isMember(otherUser.getId(), group1.getId()));
+                        verify(groupRepository, never()).findById(any());
+                }
+
+                @Test
+                @DisplayName("Should resolve isMember per viewer on a cached group")
+                void testGetGroupResolvesMembershipPerViewer() {
+                        when(securityContext.getAuthentication()).thenReturn(authentication);
+                        when(authentication.getPrincipal())
+                                        .thenReturn(new com.project.user_service.domain.security.UserDetailCustom(
+                                                        otherUser.getId(),
+                                                        com.project.user_service.domain.enums.Roles.USER));
+                        org.springframework.security.core.context.SecurityContextHolder.setContext(securityContext);
+
+                        GroupResponseDto cached = GroupResponseDto.builder()
+                                        .id(group1.getId())
+                                        .groupName("Test_Group")
+                                        .leaderId(user.getId())
+                                        .memberCount(5000)
+                                        .build();
+                        when(redisService.get(any(), any())).thenReturn(cached);
+                        when(groupMembershipService.contains(group1.getId(), otherUser.getId())).thenReturn(null);
+                        when(groupMemberRepository.existsByGroup_IdAndUsers_Id(group1.getId(), otherUser.getId()))
+                                        .thenReturn(true);
+
+                        GroupResponseDto result = groupService.getGroup(group1.getId());
+
+                        assertTrue(result.getIsMember());
+                        assertNull(cached.getIsMember());
+                        verify(groupMembershipService).warm(group1.getId(), user.getId(), 5000);
+                        verify(groupRepository, never()).getGroupById(any());
+                }
+        }
+
         @Nested
         @DisplayName("Integration Tests")
         class IntegrationTests {
@@ -0,0 +1,48 @@
+package com.project.user_service.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageResizerTest {
+
+    private static byte[] image(int width, int height, int type, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, type), format, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Should crop a wide image to the exact box as JPEG")
+    void testResizeCoversBox() throws IOException {
+        ImageResizer.Resized resized = ImageResizer.resize(
+                image(800, 400, BufferedImage.TYPE_INT_RGB, "jpg"), 200, 200);
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(resized.data()));
+        assertThat(resized.contentType()).isEqualTo("image/jpeg");
+        assertThat(result.getWidth()).isEqualTo(200);
+        assertThat(result.getHeight()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should keep transparency as PNG")
+    void testResizeKeepsAlpha() throws IOException {
+        ImageResizer.Resized resized = ImageResizer.resize(
+                image(100, 100, BufferedImage.TYPE_INT_ARGB, "png"), 64, 64);
+
+        assertThat(resized.contentType()).isEqualTo("image/png");
+    }
+
+    @Test
+    @DisplayName("Should return null for bytes ImageIO cannot decode")
+    void testResizeUnsupported() throws IOException {
+        assertThat(ImageResizer.resize(new byte[] { 1, 2, 3 }, 64, 64)).isNull();
+    }
+}
@@ -51,12 +51,13 @@ class KafkaServiceTest {
     class SaveIntoUserDatabaseTests {
 
         @Test
-        @DisplayName("Should send user data to SaveUserDatabase topic")
+        @DisplayName("Should send user data keyed by user id to SaveUserDatabase topic")
         void testSaveIntoUserDatabaseSuccess() {
             kafkaService.saveIntoUserDatabase(testUser);
 
             verify(kafkaTemplate, times(1)).send(
                     eq("SaveUserDatabase"),
+                    eq(testUser.getId().toString()),
                     ArgumentCaptor.forClass(DataTransfer.class).capture());
         }
 
@@ -66,7 +67,7 @@ class KafkaServiceTest {
             kafkaService.saveIntoUserDatabase(testUser);
 
             ArgumentCaptor<DataTransfer> dataTransferCaptor = ArgumentCaptor.forClass(DataTransfer.class);
-            verify(kafkaTemplate).send(eq("SaveUserDatabase"), dataTransferCaptor.capture());
+            verify(kafkaTemplate).send(eq("SaveUserDatabase"), eq(testUser.getId().toString()), dataTransferCaptor.capture());
 
             DataTransfer sentData = dataTransferCaptor.getValue();
 
@@ -85,7 +86,7 @@ class KafkaServiceTest {
             kafkaService.saveIntoUserDatabase(testUser);
 
             ArgumentCaptor<DataTransfer> dataTransferCaptor = ArgumentCaptor.forClass(DataTransfer.class);
-            verify(kafkaTemplate).send(eq("SaveUserDatabase"), dataTransferCaptor.capture());
+            verify(kafkaTemplate).send(eq("SaveUserDatabase"), eq(testUser.getId().toString()), dataTransferCaptor.capture());
 
             DataTransfer sentData = dataTransferCaptor.getValue();
             assertThat(sentData.getMap()).hasSize(4);
@@ -95,11 +96,11 @@ class KafkaServiceTest {
         @DisplayName("Should handle exception when Kafka send fails gracefully")
         void testHandleExceptionOnKafkaSendFailure() {
             doThrow(new RuntimeException("Kafka connection failed"))
-                    .when(kafkaTemplate).send(anyString(), ArgumentCaptor.forClass(DataTransfer.class).capture());
+                    .when(kafkaTemplate).send(anyString(), anyString(), ArgumentCaptor.forClass(DataTransfer.class).capture());
 
             kafkaService.saveIntoUserDatabase(testUser);
 
-            verify(kafkaTemplate, times(1)).send(anyString(), ArgumentCaptor.forClass(DataTransfer.class).capture());
+            verify(kafkaTemplate, times(1)).send(anyString(), anyString(), ArgumentCaptor.forClass(DataTransfer.class).capture());
         }
 
         @Test
@@ -110,7 +111,7 @@ class KafkaServiceTest {
             kafkaService.saveIntoUserDatabase(testUser);
 
             ArgumentCaptor<DataTransfer> dataTransferCaptor = ArgumentCaptor.forClass(DataTransfer.class);
-            verify(kafkaTemplate).send(eq("SaveUserDatabase"), dataTransferCaptor.capture());
+            verify(kafkaTemplate).send(eq("SaveUserDatabase"), eq(testUser.getId().toString()), dataTransferCaptor.capture());
 
             DataTransfer sentData = dataTransferCaptor.getValue();
             assertThat(sentData.getMap()).containsEntry(KafkaDataTransferFields.BIO.toString(), null);
@@ -122,9 +123,31 @@ class KafkaServiceTest {
             kafkaService.saveIntoUserDatabase(testUser);
 
             ArgumentCaptor<String> topicCaptor = ArgumentCaptor.forClass(String.class);
-            verify(kafkaTemplate).send(topicCaptor.capture(), ArgumentCaptor.forClass(DataTransfer.class).capture());
+            verify(kafkaTemplate).send(topicCaptor.capture(), anyString(), ArgumentCaptor.forClass(DataTransfer.class).capture());
 
             assertThat(topicCaptor.getValue()).isEqualTo("SaveUserDatabase");
         }
     }
+
+    @Nested
+    @DisplayName("When publishing user relations")
+    class SendUserRelationTests {
+
+        @Test
+        @DisplayName("Should send the relation keyed by its owner to the UserRelation topic")
+        void testSendUserRelation() {
+            UUID targetId = UUID.randomUUID();
+
+            kafkaService.sendUserRelation(KafkaDataTransferFields.USER_BLOCK, testUser.getId(), targetId);
+
+            ArgumentCaptor<DataTransfer> dataTransferCaptor = ArgumentCaptor.forClass(DataTransfer.class);
+            verify(kafkaTemplate).send(eq("UserRelation"), eq(testUser.getId().toString()), dataTransferCaptor.capture());
+
+            DataTransfer sentData = dataTransferCaptor.getValue();
+            assertThat(sentData.getType()).isEqualTo(KafkaDataTransferFields.USER_BLOCK.toString());
+            assertThat(sentData.getMap())
+                    .containsEntry(KafkaDataTransferFields.ID.toString(), testUser.getId().toString())
+                    .containsEntry(KafkaDataTransferFields.TARGET_ID.toString(), targetId.toString());
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.dto.response.SingleFlightStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightLoaderTest {
+
+    @Mock
+    private RedisService redisService;
+
+    private SingleFlightLoader singleFlightLoader;
+
+    @BeforeEach
+    void setUp() {
+        singleFlightLoader = new SingleFlightLoader(redisService, 2000, 200, 5);
+    }
+
+    @Test
+    @DisplayName("Should run one load for concurrent misses on the same key")
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        when(redisService.tryLock(anyString(), anyString(), anyLong())).thenReturn(true);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<String> first = executor.submit(() -> singleFlightLoader.load("k", () -> null, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                awaitQuietly(release);
+                return "value";
+            }));
+            loading.await();
+
+            Future<String> second = executor.submit(() -> singleFlightLoader.load("k", () -> null, () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            while (singleFlightLoader.stats().getLocalWaits() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertThat(first.get()).isEqualTo("value");
+            assertThat(second.get()).isEqualTo("value");
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        verify(redisService).unlock(eq("LOCK_k"), anyString());
+    }
+
+    @Test
+    @DisplayName("Should read the cache filled by the instance holding the lock")
+    void testWaitsForRemoteLoader() {
+        when(redisService.tryLock(anyString(), anyString(), anyLong())).thenReturn(false);
+        AtomicInteger polls = new AtomicInteger();
+
+        String value = singleFlightLoader.load("k",
+                () -> polls.incrementAndGet() < 3 ? null : "remote",
+                () -> "local");
+
+        SingleFlightStats stats = singleFlightLoader.stats();
+        assertThat(value).isEqualTo("remote");
+        assertThat(stats.getRemoteHits()).isEqualTo(1);
+        assertThat(stats.getLoads()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load directly when the remote loader does not finish in time")
+    void testRemoteWaitTimesOut() {
+        when(redisService.tryLock(anyString(), anyString(), anyLong())).thenReturn(false);
+
+        String value = singleFlightLoader.load("k", () -> null, () -> "local");
+
+        assertThat(value).isEqualTo("local");
+        assertThat(singleFlightLoader.stats().getRemoteTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should pass the loader's exception through and allow a retry")
+    void testLoaderFailure() {
+        when(redisService.tryLock(anyString(), anyString(), anyLong())).thenReturn(true);
+
+        assertThatThrownBy(() -> singleFlightLoader.load("k", () -> null, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlightLoader.load("k", () -> null, () -> "ok")).isEqualTo("ok");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.dto.response.IdSetDelta;
+import com.project.user_service.domain.dto.response.SuggestionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SocialGraphTest {
+
+    private SocialGraph graph;
+    private UUID alice;
+    private UUID bob;
+    private UUID carol;
+    private UUID group;
+
+    @BeforeEach
+    void setUp() {
+        graph = new SocialGraph();
+        alice = UUID.randomUUID();
+        bob = UUID.randomUUID();
+        carol = UUID.randomUUID();
+        group = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should add and remove follows")
+    void testFollowAndUnfollow() {
+        graph.follow(alice, bob);
+        graph.follow(alice, carol);
+        graph.publish();
+
+        assertThat(graph.getFollowing(alice)).containsExactlyInAnyOrder(bob, carol);
+
+        graph.unfollow(alice, bob);
+
+        assertThat(graph.getFollowing(alice)).containsExactly(carol);
+        assertThat(graph.getFollowing(bob)).isEmpty();
+        assertThat(graph.isFollowing(alice, carol)).isTrue();
+        assertThat(graph.isFollowing(alice, bob)).isFalse();
+        assertThat(graph.isFollowing(carol, alice)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not change a set already handed to a reader")
+    void testCopyOnWriteAfterPublish() {
+        graph.follow(alice, bob);
+        graph.publish();
+        Set<UUID> before = graph.getFollowing(alice);
+
+        graph.follow(alice, carol);
+
+        assertThat(before).containsExactly(bob);
+        assertThat(graph.getFollowing(alice)).containsExactlyInAnyOrder(bob, carol);
+    }
+
+    @Test
+    @DisplayName("Should return members of every group the user belongs to")
+    void testCoMembers() {
+        UUID otherGroup = UUID.randomUUID();
+        graph.addMember(group, alice);
+        graph.addMember(group, bob);
+        graph.addMember(otherGroup, alice);
+        graph.addMember(otherGroup, carol);
+        graph.publish();
+
+        assertThat(graph.getCoMembers(alice)).containsExactlyInAnyOrder(alice, bob, carol);
+        assertThat(graph.getCoMembers(bob)).containsExactlyInAnyOrder(alice, bob);
+
+        graph.removeGroup(otherGroup);
+
+        assertThat(graph.getCoMembers(alice)).containsExactlyInAnyOrder(alice, bob);
+        assertThat(graph.getGroupMembers(otherGroup)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should restore the same graph from a snapshot")
+    void testSnapshotRoundTrip() throws IOException {
+        graph.follow(alice, bob);
+        graph.addMember(group, carol);
+        graph.addMember(group, alice);
+        graph.publish();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        graph.writeTo(new DataOutputStream(bytes));
+        SocialGraph restored = SocialGraph.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored.version()).isEqualTo(graph.version());
+        assertThat(restored.getFollowing(alice)).containsExactly(bob);
+        assertThat(restored.getGroupMembers(group)).containsExactlyInAnyOrder(alice, carol);
+        assertThat(restored.getCoMembers(carol)).containsExactlyInAnyOrder(alice, carol);
+    }
+
+    @Test
+    @DisplayName("Should answer with only the changes since a known version")
+    void testFollowingDelta() {
+        graph.follow(alice, bob);
+        graph.publish();
+        long known = graph.followingSince(alice, 0, 0).getVersion();
+
+        graph.follow(alice, carol);
+        graph.unfollow(alice, bob);
+        IdSetDelta delta = graph.followingSince(alice, known, graph.generation());
+
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.getAdded()).containsExactly(carol);
+        assertThat(delta.getRemoved()).containsExactly(bob);
+        assertThat(graph.followingSince(alice, delta.getVersion(), delta.getGeneration()).getAdded()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the full set for unknown versions")
+    void testDeltaFallsBackToFullSet() {
+        graph.follow(alice, bob);
+        graph.publish();
+
+        IdSetDelta delta = graph.followingSince(alice, graph.version() + 10, graph.generation());
+
+        assertThat(delta.isFull()).isTrue();
+        assertThat(delta.getAdded()).containsExactly(bob);
+    }
+
+    @Test
+    @DisplayName("Should answer in full for a version from another graph, such as one restored from a snapshot")
+    void testDeltaFromOtherGenerationIsFull() throws IOException {
+        graph.follow(alice, bob);
+        graph.publish();
+        IdSetDelta known = graph.followingSince(alice, 0, 0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        graph.writeTo(new DataOutputStream(bytes));
+        SocialGraph restored = SocialGraph.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        IdSetDelta delta = restored.followingSince(alice, known.getVersion(), known.getGeneration());
+
+        assertThat(restored.generation()).isNotEqualTo(graph.generation());
+        assertThat(delta.isFull()).isTrue();
+        assertThat(delta.getAdded()).containsExactly(bob);
+        assertThat(delta.getGeneration()).isEqualTo(restored.generation());
+    }
+
+    @Test
+    @DisplayName("Should rank friends of friends by mutual follows and skip known users")
+    void testSuggestByMutualFollows() {
+        UUID dave = UUID.randomUUID();
+        UUID erin = UUID.randomUUID();
+        graph.follow(alice, bob);
+        graph.follow(alice, carol);
+        graph.follow(bob, dave);
+        graph.follow(carol, dave);
+        graph.follow(carol, erin);
+        graph.follow(bob, carol);
+        graph.follow(bob, alice);
+        graph.publish();
+
+        List<SuggestionDto> suggestions = graph.suggest(alice, 10, 100, 100, 100, new Random(1));
+
+        assertThat(suggestions).extracting(SuggestionDto::getId).containsExactly(dave, erin);
+        assertThat(suggestions.getFirst().getMutualFollows()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should add group co-members and leave out oversized groups")
+    void testSuggestFromGroups() {
+        UUID bigGroup = UUID.randomUUID();
+        graph.addMember(group, alice);
+        graph.addMember(group, bob);
+        graph.addMember(bigGroup, alice);
+        graph.addMember(bigGroup, carol);
+        graph.addMember(bigGroup, UUID.randomUUID());
+        graph.publish();
+
+        List<SuggestionDto> suggestions = graph.suggest(alice, 10, 100, 100, 2, new Random(1));
+
+        assertThat(suggestions).extracting(SuggestionDto::getId).containsExactly(bob);
+        assertThat(suggestions.getFirst().getSharedGroups()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stay within the sample and candidate budget for high-degree users")
+    void testSuggestIsBounded() {
+        for (int i = 0; i < 50; i++) {
+            UUID followee = UUID.randomUUID();
+            graph.follow(alice, followee);
+            for (int j = 0; j < 20; j++) {
+                graph.follow(followee, UUID.randomUUID());
+            }
+        }
+        graph.publish();
+
+        List<SuggestionDto> suggestions = graph.suggest(alice, 1000, 5, 30, 100, new Random(1));
+
+        assertThat(suggestions).hasSizeLessThanOrEqualTo(30);
+        assertThat(suggestions).allMatch(s -> s.getMutualFollows() == 1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.dto.response.SuggestionDto;
+import com.project.user_service.domain.dto.response.UserCardDto;
+import com.project.user_service.domain.enums.RedisMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionServiceTest {
+
+    @Mock
+    private SocialGraphService socialGraphService;
+
+    @Mock
+    private UserCardService userCardService;
+
+    @Mock
+    private RedisService redisService;
+
+    private SuggestionService suggestionService;
+    private UUID userId;
+    private UUID suggestedId;
+    private UUID followedSinceId;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new SuggestionService(socialGraphService, userCardService, redisService,
+                200, 5000, 2000, 3600, 7);
+        userId = UUID.randomUUID();
+        suggestedId = UUID.randomUUID();
+        followedSinceId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should serve the stored list without users followed since and with their cards")
+    void testServesStoredList() {
+        SuggestionDto[] stored = {
+                SuggestionDto.builder().id(followedSinceId).mutualFollows(5).build(),
+                SuggestionDto.builder().id(suggestedId).mutualFollows(3).build()
+        };
+        when(redisService.get(RedisMethod.SUGGESTIONS_ + userId.toString(), SuggestionDto[].class)).thenReturn(stored);
+        when(socialGraphService.isReady()).thenReturn(true);
+        when(socialGraphService.isFollowing(userId, followedSinceId)).thenReturn(true);
+        when(userCardService.getCards(List.of(suggestedId)))
+                .thenReturn(List.of(UserCardDto.builder().id(suggestedId).username("suggested").build()));
+
+        List<SuggestionDto> result = suggestionService.getSuggestions(userId);
+
+        assertThat(result).extracting(SuggestionDto::getId).containsExactly(suggestedId);
+        assertThat(result.getFirst().getUser().getUsername()).isEqualTo("suggested");
+        verify(socialGraphService, never()).suggest(any(), anyInt(), anyInt(), anyInt(), anyInt());
+        verify(redisService).sortedSetAdd(eq(RedisMethod.SUGGESTIONS_ACTIVE.name()), eq(userId.toString()), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Should compute and store the list on a miss")
+    void testComputesOnMiss() {
+        when(redisService.get(any(), eq(SuggestionDto[].class))).thenReturn(null);
+        when(socialGraphService.isReady()).thenReturn(true);
+        when(socialGraphService.suggest(eq(userId), anyInt(), eq(200), eq(5000), eq(2000)))
+                .thenReturn(List.of(SuggestionDto.builder().id(suggestedId).mutualFollows(1).build()));
+        when(userCardService.getCards(List.of(suggestedId)))
+                .thenReturn(List.of(UserCardDto.builder().id(suggestedId).build()));
+
+        List<SuggestionDto> result = suggestionService.getSuggestions(userId);
+
+        assertThat(result).hasSize(1);
+        verify(redisService).set(eq(RedisMethod.SUGGESTIONS_ + userId.toString()), any(SuggestionDto[].class), eq(3600L));
+    }
+
+    @Test
+    @DisplayName("Should return nothing while the graph is still loading")
+    void testEmptyWhileGraphLoads() {
+        when(redisService.get(any(), eq(SuggestionDto[].class))).thenReturn(null);
+        when(socialGraphService.isReady()).thenReturn(false);
+
+        assertThat(suggestionService.getSuggestions(userId)).isEmpty();
+        verify(redisService, never()).set(any(), any(), anyLong());
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.dto.response.UserCardDto;
+import com.project.user_service.domain.enums.ImageVariantKind;
+import com.project.user_service.domain.enums.RedisMethod;
+import com.project.user_service.repository.UsersRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCardServiceTest {
+
+    @Mock
+    private UsersRepository usersRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    private UserCardService userCardService;
+    private UUID cachedId;
+    private UUID storedId;
+
+    @BeforeEach
+    void setUp() {
+        userCardService = new UserCardService(usersRepository, redisService, imageVariantService, 100, 30);
+        cachedId = UUID.randomUUID();
+        storedId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should load only Redis misses from the database and keep request order")
+    void testGetCardsMixesRedisAndDatabase() {
+        UserCardDto cached = UserCardDto.builder().id(cachedId).username("cached").avatarUrl("/image/x?v=2").avatarVersion(2).build();
+        UserCardDto stored = new UserCardDto(storedId, "stored", "Stored", true, null, -1L);
+
+        when(redisService.multiGet(anyList(), eq(UserCardDto.class))).thenReturn(Arrays.asList(null, cached));
+        when(usersRepository.getUserCards(List.of(storedId))).thenReturn(List.of(stored));
+
+        List<UserCardDto> cards = userCardService.getCards(List.of(storedId, cachedId));
+
+        assertThat(cards).extracting(UserCardDto::getId).containsExactly(storedId, cachedId);
+        assertThat(cards.getFirst().getAvatarUrl()).isNull();
+        assertThat(cards.getFirst().getAvatarVersion()).isZero();
+        verify(redisService).setAll(argThat(map -> map.containsKey(RedisMethod.USER_CARD_ + storedId.toString())), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the local cache")
+    void testGetCardsUsesLocalCache() {
+        UserCardDto stored = new UserCardDto(storedId, "stored", "Stored", false, null, 3L);
+        when(redisService.multiGet(anyList(), eq(UserCardDto.class))).thenReturn(Collections.singletonList(null));
+        when(usersRepository.getUserCards(anyCollection())).thenReturn(List.of(stored));
+        when(imageVariantService.userImageUrl(storedId, 3L, ImageVariantKind.SMALL))
+                .thenReturn("/image/" + storedId + "?v=3");
+
+        userCardService.getCards(List.of(storedId));
+        List<UserCardDto> again = userCardService.getCards(List.of(storedId));
+
+        assertThat(again.getFirst().getAvatarUrl()).isEqualTo("/image/" + storedId + "?v=3");
+        verify(usersRepository, times(1)).getUserCards(anyCollection());
+        verify(redisService, times(1)).multiGet(anyList(), eq(UserCardDto.class));
+    }
+
+    @Test
+    @DisplayName("Should reject batches over the limit")
+    void testGetCardsRejectsLargeBatch() {
+        List<UUID> ids = IntStream.rangeClosed(0, UserCardService.MAX_BATCH).mapToObj(i -> UUID.randomUUID()).toList();
+
+        assertThatThrownBy(() -> userCardService.getCards(ids))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(redisService, usersRepository);
+    }
+}
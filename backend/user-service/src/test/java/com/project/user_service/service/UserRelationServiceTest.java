@@ -0,0 +1,106 @@
+package com.project.user_service.service;
+
+import com.project.user_service.domain.entity.users.UserRelation;
+import com.project.user_service.domain.enums.KafkaDataTransferFields;
+import com.project.user_service.domain.enums.RelationType;
+import com.project.user_service.exception.customException.UserNotFoundException;
+import com.project.user_service.repository.UserRelationRepository;
+import com.project.user_service.repository.UsersRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserRelationServiceTest {
+
+    @Mock
+    private UserRelationRepository userRelationRepository;
+
+    @Mock
+    private UsersRepository usersRepository;
+
+    @Mock
+    private KafkaService kafkaService;
+
+    @InjectMocks
+    private UserRelationService userRelationService;
+
+    private UUID ownerId;
+    private UUID targetId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = UUID.randomUUID();
+        targetId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should store a block and publish it")
+    void testBlock() {
+        when(usersRepository.existsByIdAndEnableTrue(targetId)).thenReturn(true);
+        when(userRelationRepository.existsByOwner_IdAndTarget_IdAndType(ownerId, targetId, RelationType.BLOCK))
+                .thenReturn(false);
+
+        userRelationService.relate(ownerId, targetId, RelationType.BLOCK);
+
+        verify(userRelationRepository).save(any(UserRelation.class));
+        verify(kafkaService).sendUserRelation(KafkaDataTransferFields.USER_BLOCK, ownerId, targetId);
+    }
+
+    @Test
+    @DisplayName("Should not store or publish a mute twice")
+    void testMuteTwice() {
+        when(usersRepository.existsByIdAndEnableTrue(targetId)).thenReturn(true);
+        when(userRelationRepository.existsByOwner_IdAndTarget_IdAndType(ownerId, targetId, RelationType.MUTE))
+                .thenReturn(true);
+
+        userRelationService.relate(ownerId, targetId, RelationType.MUTE);
+
+        verify(userRelationRepository, never()).save(any());
+        verifyNoInteractions(kafkaService);
+    }
+
+    @Test
+    @DisplayName("Should reject blocking yourself or an unknown user")
+    void testRejectsInvalidTargets() {
+        assertThatThrownBy(() -> userRelationService.relate(ownerId, ownerId, RelationType.BLOCK))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        when(usersRepository.existsByIdAndEnableTrue(targetId)).thenReturn(false);
+        assertThatThrownBy(() -> userRelationService.relate(ownerId, targetId, RelationType.BLOCK))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should publish an unblock only when a block was removed")
+    void testUnblock() {
+        when(userRelationRepository.deleteRelation(ownerId, targetId, RelationType.BLOCK)).thenReturn(1, 0);
+
+        userRelationService.unrelate(ownerId, targetId, RelationType.BLOCK);
+        userRelationService.unrelate(ownerId, targetId, RelationType.BLOCK);
+
+        verify(kafkaService, times(1)).sendUserRelation(KafkaDataTransferFields.USER_UNBLOCK, ownerId, targetId);
+    }
+
+    @Test
+    @DisplayName("Should hide blocked, muted and blocking users")
+    void testHiddenUsers() {
+        UUID blockerId = UUID.randomUUID();
+        when(userRelationRepository.getTargetIds(ownerId)).thenReturn(Set.of(targetId));
+        when(userRelationRepository.getOwnerIds(ownerId, RelationType.BLOCK)).thenReturn(Set.of(blockerId));
+
+        assertThat(userRelationService.getHiddenUsers(ownerId)).containsExactlyInAnyOrder(targetId, blockerId);
+    }
+}
@@ -1,13 +1,18 @@
 package com.project.user_service.service;
 
 import com.project.user_service.domain.dto.request.CreateUserDetailsRequestDto;
+import com.project.user_service.domain.dto.request.KeysetCursor;
 import com.project.user_service.domain.dto.request.UpdateUserProfileRequestDto;
+import com.project.user_service.domain.dto.response.CursorSlice;
 import com.project.user_service.domain.dto.response.GetFollowResponse;
 import com.project.user_service.domain.dto.response.UserProfileResponseDto;
 import com.project.user_service.domain.entity.users.Follow;
 import com.project.user_service.domain.entity.users.ImageUserEntity;
 import com.project.user_service.domain.entity.users.Users;
+import com.project.user_service.domain.enums.ImageVariantKind;
 import com.project.user_service.domain.enums.RedisMethod;
+import com.project.user_service.domain.enums.Roles;
+import com.project.user_service.domain.security.UserDetailCustom;
 import com.project.user_service.exception.customException.UserAlreadyExistsException;
 import com.project.user_service.exception.customException.UserNotFoundException;
 import com.project.user_service.repository.FollowRepository;
@@ -21,13 +26,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -52,6 +62,18 @@ class UserServiceTest {
     @Mock
     private ImageUserEntityRepository imageUserEntityRepository;
 
+    @Mock
+    private SocialGraphService socialGraphService;
+
+    @Mock
+    private UserCardService userCardService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private SingleFlightLoader singleFlightLoader;
+
     @InjectMocks
     private UserService userService;
 
@@ -64,6 +86,9 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(singleFlightLoader.load(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
         testUserId = UUID.randomUUID();
         targetUserId = UUID.randomUUID();
 
@@ -141,13 +166,16 @@ class UserServiceTest {
             when(userRepository.existsById(testUserId)).thenReturn(false);
             when(userRepository.save(any(Users.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
+            when(imageVariantService.userImageUrl(testUserId, 0L, ImageVariantKind.LARGE))
+                    .thenReturn("/image/user/" + testUserId + "/large?v=0");
+
             UserProfileResponseDto result = userService.createUser(createUserDto, file);
 
             assertThat(result).isNotNull();
-            assertThat(result.getProfileImg()).isNotNull();
-            assertThat(result.getImageType()).isEqualTo("image/jpeg");
+            assertThat(result.getAvatarUrl()).isEqualTo("/image/user/" + testUserId + "/large?v=0");
 
             verify(userRepository).save(any(Users.class));
+            verify(imageVariantService).scheduleUser(testUserId);
         }
 
         @Test
@@ -213,14 +241,41 @@ class UserServiceTest {
             when(redisService.get(RedisMethod.USER_ + testUserId.toString(), UserProfileResponseDto.class))
                     .thenReturn(cachedProfile);
 
-            UserProfileResponseDto result = userService.getProfile(testUserId, false);
+            UserProfileResponseDto result = userService.getProfile(testUserId);
 
             assertThat(result).isEqualTo(cachedProfile);
-            verify(redisService).set(eq(RedisMethod.USER_ + testUserId.toString()), any(UserProfileResponseDto.class),
-                    anyLong());
+            assertThat(result.getIsFollow()).isFalse();
+            verify(redisService).expire(eq(RedisMethod.USER_ + testUserId.toString()), anyLong());
+            verify(redisService, never()).set(anyString(), any(), anyLong());
             verify(userRepository, never()).getUserWithDetails(any());
         }
 
+        @Test
+        @DisplayName("Should resolve isFollow for the viewer outside the cached profile")
+        void testGetProfileResolvesFollowPerViewer() {
+            UserProfileResponseDto cachedProfile = UserProfileResponseDto.builder()
+                    .id(targetUserId)
+                    .username("targetuser")
+                    .followers(1)
+                    .build();
+
+            when(redisService.get(RedisMethod.USER_ + targetUserId.toString(), UserProfileResponseDto.class))
+                    .thenReturn(cachedProfile);
+            when(socialGraphService.isReady()).thenReturn(true);
+            when(socialGraphService.isFollowing(testUserId, targetUserId)).thenReturn(true);
+
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    new UserDetailCustom(testUserId, Roles.USER), null));
+            try {
+                UserProfileResponseDto result = userService.getProfile(targetUserId);
+
+                assertThat(result.getIsFollow()).isTrue();
+                verify(followRepository, never()).existsByFollower_IdAndFollowing_Id(any(), any());
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+
         @Test
         @DisplayName("Should fetch from database when not in cache")
         void testGetProfileFromDatabase() {
@@ -237,12 +292,13 @@ class UserServiceTest {
             when(redisService.get(anyString(), eq(UserProfileResponseDto.class))).thenReturn(null);
             when(userRepository.getUserWithDetails(testUserId)).thenReturn(Optional.of(dbProfile));
 
-            UserProfileResponseDto result = userService.getProfile(testUserId, false);
+            UserProfileResponseDto result = userService.getProfile(testUserId);
 
             assertThat(result).isNotNull();
             assertThat(result.getUsername()).isEqualTo("testuser");
             verify(userRepository).getUserWithDetails(testUserId);
             verify(redisService).set(anyString(), any(UserProfileResponseDto.class), anyLong());
+            verify(imageUserEntityRepository, never()).findById(any());
         }
 
         @Test
@@ -251,7 +307,7 @@ class UserServiceTest {
             when(redisService.get(anyString(), eq(UserProfileResponseDto.class))).thenReturn(null);
             when(userRepository.getUserWithDetails(testUserId)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> userService.getProfile(testUserId, false))
+            assertThatThrownBy(() -> userService.getProfile(testUserId))
                     .isInstanceOf(UserNotFoundException.class);
         }
     }
@@ -348,6 +404,8 @@ class UserServiceTest {
             userService.followUser(testUserId, targetUserId);
 
             verify(followRepository).save(any(Follow.class));
+            verify(userRepository).adjustFollowingCount(testUserId, 1);
+            verify(userRepository).adjustFollowerCount(targetUserId, 1);
             verify(redisService).delete(RedisMethod.USER_ + testUserId.toString());
             verify(redisService).delete(RedisMethod.USER_ + targetUserId.toString());
         }
@@ -401,6 +459,8 @@ class UserServiceTest {
             userService.unfollowUser(testUserId, targetUserId);
 
             verify(followRepository).deleteFollowerAndFollowing(testUser, targetUser);
+            verify(userRepository).adjustFollowingCount(testUserId, -1);
+            verify(userRepository).adjustFollowerCount(targetUserId, -1);
             verify(redisService).delete(RedisMethod.USER_ + testUserId.toString());
             verify(redisService).delete(RedisMethod.USER_ + targetUserId.toString());
         }
@@ -415,6 +475,37 @@ class UserServiceTest {
             assertThatThrownBy(() -> userService.unfollowUser(testUserId, targetUserId))
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessageContaining("You are not following this user");
+            verify(userRepository, never()).adjustFollowerCount(any(), anyLong());
+        }
+    }
+
+    @Nested
+    @DisplayName("When reconciling follow counters")
+    class ReconcileFollowCountTests {
+
+        @Test
+        @DisplayName("Should recount only drifted users and evict the whole batch")
+        void testReconcileDrifted() {
+            List<UUID> batch = List.of(testUserId, targetUserId);
+            when(userRepository.findDriftedFollowCounts(batch)).thenReturn(List.of(targetUserId));
+
+            int corrected = userService.reconcileFollowCounts(batch);
+
+            assertThat(corrected).isEqualTo(1);
+            verify(userRepository).recountFollows(List.of(targetUserId));
+            verify(redisService).deleteAll(List.of(
+                    RedisMethod.USER_ + testUserId.toString(), RedisMethod.USER_ + targetUserId.toString()));
+        }
+
+        @Test
+        @DisplayName("Should skip the update when nothing drifted")
+        void testReconcileNothingDrifted() {
+            List<UUID> batch = List.of(testUserId);
+            when(userRepository.findDriftedFollowCounts(batch)).thenReturn(List.of());
+
+            assertThat(userService.reconcileFollowCounts(batch)).isZero();
+            verify(userRepository, never()).recountFollows(any());
+            verify(redisService).deleteAll(List.of(RedisMethod.USER_ + testUserId.toString()));
         }
     }
 
@@ -437,8 +528,11 @@ class UserServiceTest {
             boolean result = userService.uploadImage(testUserId, file);
 
             assertThat(result).isTrue();
+            assertThat(imageUserEntity.getImageVersion()).isEqualTo(1);
             verify(imageUserEntityRepository).save(any(ImageUserEntity.class));
             verify(redisService).delete(RedisMethod.USER_ + testUserId.toString());
+            verify(userCardService).evict(testUserId);
+            verify(imageVariantService).scheduleUser(testUserId);
         }
 
         @Test
@@ -471,52 +565,58 @@ class UserServiceTest {
         @Test
         @DisplayName("Should get followers list")
         void testGetFollowers() {
-            GetFollowResponse follower1 = new GetFollowResponse(UUID.randomUUID(), "user1", "User 1", false);
-            GetFollowResponse follower2 = new GetFollowResponse(UUID.randomUUID(), "user2", "User 2", true);
+            GetFollowResponse follower1 = GetFollowResponse.builder().id(UUID.randomUUID()).username("user1")
+                    .since(LocalDateTime.now()).avatarVersion(-1).build();
+            GetFollowResponse follower2 = GetFollowResponse.builder().id(UUID.randomUUID()).username("user2")
+                    .since(LocalDateTime.now()).avatarVersion(-1).build();
 
-            Page<GetFollowResponse> page = new PageImpl<>(Arrays.asList(follower1, follower2));
-            when(followRepository.getFollower(eq(testUserId), any(Pageable.class))).thenReturn(page);
+            Slice<GetFollowResponse> slice = new SliceImpl<>(Arrays.asList(follower1, follower2));
+            when(followRepository.getFollower(eq(testUserId), any(), any(), any(Pageable.class))).thenReturn(slice);
 
-            Page<GetFollowResponse> result = userService.getFollower(testUserId, 0);
+            CursorSlice<GetFollowResponse> result = userService.getFollower(testUserId, null);
 
             assertThat(result.getContent()).hasSize(2);
-            assertThat(result.getTotalElements()).isEqualTo(2);
-            verify(followRepository).getFollower(eq(testUserId), any(Pageable.class));
+            assertThat(result.isHasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+            verify(followRepository).getFollower(eq(testUserId), eq(KeysetCursor.FIRST.at()),
+                    eq(KeysetCursor.FIRST.id()), any(Pageable.class));
         }
 
         @Test
-        @DisplayName("Should get following list")
+        @DisplayName("Should continue the following list after the cursor")
         void testGetFollowing() {
-            GetFollowResponse following1 = new GetFollowResponse(UUID.randomUUID(), "user1", "User 1", false);
-            GetFollowResponse following2 = new GetFollowResponse(UUID.randomUUID(), "user2", "User 2", true);
+            GetFollowResponse following1 = GetFollowResponse.builder().id(UUID.randomUUID()).username("user1")
+                    .since(LocalDateTime.of(2026, 1, 2, 10, 0)).avatarVersion(-1).build();
+            GetFollowResponse following2 = GetFollowResponse.builder().id(UUID.randomUUID()).username("user2")
+                    .since(LocalDateTime.of(2026, 1, 1, 10, 0)).avatarVersion(-1).build();
+            KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2026, 2, 1, 0, 0), UUID.randomUUID());
 
-            Page<GetFollowResponse> page = new PageImpl<>(Arrays.asList(following1, following2));
-            when(followRepository.getFollowing(eq(testUserId), any(Pageable.class))).thenReturn(page);
+            Slice<GetFollowResponse> slice = new SliceImpl<>(Arrays.asList(following1, following2),
+                    PageRequest.of(0, 2), true);
+            when(followRepository.getFollowing(eq(testUserId), eq(cursor.at()), eq(cursor.id()), any(Pageable.class)))
+                    .thenReturn(slice);
 
-            Page<GetFollowResponse> result = userService.getFollowing(testUserId, 0);
+            CursorSlice<GetFollowResponse> result = userService.getFollowing(testUserId, cursor.encode());
 
             assertThat(result.getContent()).hasSize(2);
-            assertThat(result.getTotalElements()).isEqualTo(2);
-            verify(followRepository).getFollowing(eq(testUserId), any(Pageable.class));
+            assertThat(result.isHasNext()).isTrue();
+            assertThat(KeysetCursor.decode(result.getNextCursor()))
+                    .isEqualTo(new KeysetCursor(following2.getSince(), following2.getId()));
         }
 
         @Test
-        @DisplayName("Should handle negative page number")
-        void testGetFollowersWithNegativePage() {
-            Page<GetFollowResponse> page = new PageImpl<>(Collections.emptyList());
-            when(followRepository.getFollower(eq(testUserId), any(Pageable.class))).thenReturn(page);
-
-            Page<GetFollowResponse> result = userService.getFollower(testUserId, -1);
-
-            assertThat(result).isNotNull();
-            assertThat(result.getContent()).isEmpty();
+        @DisplayName("Should reject a malformed cursor")
+        void testGetFollowersWithBadCursor() {
+            assertThatThrownBy(() -> userService.getFollower(testUserId, "not-a-cursor"))
+                    .isInstanceOf(IllegalArgumentException.class);
 
+            verify(followRepository, never()).getFollower(any(), any(), any(), any());
         }
 
         @Test
         @DisplayName("Should throw exception for null user id in getFollowing")
         void testGetFollowingNullId() {
-            assertThatThrownBy(() -> userService.getFollowing(null, 0))
+            assertThatThrownBy(() -> userService.getFollowing(null, null))
                     .isInstanceOf(IllegalArgumentException.class);
         }
     }
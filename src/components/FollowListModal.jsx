@@ -30,8 +30,8 @@ const FollowListModal = ({ isOpen, onClose, type = 'followers', accent, motionSa
   const [items, setItems] = useState([])
   const [loading, setLoading] = useState(false)
   const [error, setError] = useState('')
-  const [page, setPage] = useState(0)
-  const [totalPages, setTotalPages] = useState(0)
+  const [nextCursor, setNextCursor] = useState(null)
+  const [hasNext, setHasNext] = useState(false)
   const abortRef = useRef(null)
   const sentinelRef = useRef(null)
   const [infiniteEnabled, setInfiniteEnabled] = useState(false)
@@ -45,8 +45,8 @@ const FollowListModal = ({ isOpen, onClose, type = 'followers', accent, motionSa
         if (!entry.isIntersecting) return
         if (loading) return
         
-        if (totalPages === 0 || page < totalPages - 1) {
-          fetchPage(page + 1)
+        if (hasNext && nextCursor) {
+          fetchPage(nextCursor)
         }
       })
     }, { root: null, rootMargin: '0px', threshold: 0.4 })
@@ -55,16 +55,16 @@ const FollowListModal = ({ isOpen, onClose, type = 'followers', accent, motionSa
     if (el) observer.observe(el)
     return () => observer.disconnect()
     
-  }, [isOpen, page, totalPages, loading, infiniteEnabled])
+  }, [isOpen, nextCursor, hasNext, loading, infiniteEnabled])
 
   useEffect(() => {
     if (!isOpen) return
     setItems([])
-    setPage(0)
-    setTotalPages(0)
+    setNextCursor(null)
+    setHasNext(false)
     setError('')
     
-    fetchPage(0)
+    fetchPage(null)
     return () => {
       if (abortRef.current) abortRef.current.abort()
     }
@@ -80,7 +80,8 @@ const FollowListModal = ({ isOpen, onClose, type = 'followers', accent, motionSa
     }
   }
 
-  const fetchPage = async (p) => {
+  // cursor is the nextCursor of the previous slice, null for the first one
+  const fetchPage = async (cursor) => {
     setLoading(true)
     setError('')
     if (abortRef.current) abortRef.current.abort()
@@ -94,9 +95,10 @@ const FollowListModal = ({ isOpen, onClose, type = 'followers', accent, motionSa
       return
     }
 
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''
     const endpoint = type === 'following'
-      ? `${import.meta.env.VITE_API_BASE_URL}profile/user/following/list?id=${encodeURIComponent(cookieUserId)}&page=${p}`
-      : `${import.meta.env.VITE_API_BASE_URL}profile/user/follower/list?id=${encodeURIComponent(cookieUserId)}&page=${p}`
+      ? `${import.meta.env.VITE_API_BASE_URL}profile/user/following/list?id=${encodeURIComponent(cookieUserId)}${cursorParam}`
+      : `${import.meta.env.VITE_API_BASE_URL}profile/user/follower/list?id=${encodeURIComponent(cookieUserId)}${cursorParam}`
 
     const token = getBearerToken()
     try {
@@ -112,26 +114,22 @@ const FollowListModal = ({ isOpen, onClose, type = 'followers', accent, motionSa
         id: it.id || it.userId || it.userId || idx,
         displayName: it.displayName || it.DisplayName || it.displayname || 'Unknown Otaku',
         username: it.username || it.userName || it.login || 'unknown',
-        avatar: it.avatar || it.profileImg || it.imageUrl || '',
+        avatar: it.avatarUrl ? new URL(it.avatarUrl, import.meta.env.VITE_API_BASE_URL).toString() : (it.avatar || it.profileImg || it.imageUrl || ''),
       }))
 
       
       const meta = {
-        numberOfElements: data?.numberOfElements ?? data?.content?.length ?? mapped.length,
-        pageSize: data?.pageSize ?? data?.size ?? mapped.length,
-        size: data?.size ?? data?.pageSize ?? mapped.length,
-        totalPages: data?.totalPages ?? data?.totalPages ?? (typeof data?.totalPages === 'number' ? data.totalPages : (data?.totalPages ?? 0)),
+        numberOfElements: mapped.length,
+        hasNext: Boolean(data?.hasNext),
       }
-      setTotalPages(meta.totalPages || 0)
+      setHasNext(meta.hasNext)
+      setNextCursor(data?.nextCursor ?? null)
       saveMetaToLocal(cookieUserId, meta)
-      setPage(p)
 
       
       setItems((prev) => {
-        const newArr = p === 0 ? mapped : [...prev, ...mapped]
-        const knownTotal = data?.numberOfElements ?? data?.totalElements ?? ((meta.pageSize && meta.totalPages) ? (meta.pageSize * meta.totalPages) : undefined)
-        const shouldEnable = (knownTotal !== undefined && knownTotal > 15) || newArr.length > 15
-        setInfiniteEnabled(Boolean(shouldEnable))
+        const newArr = cursor ? [...prev, ...mapped] : mapped
+        setInfiniteEnabled(meta.hasNext)
         return newArr
       })
     } catch (err) {
@@ -228,7 +226,7 @@ const FollowListModal = ({ isOpen, onClose, type = 'followers', accent, motionSa
 
             {/* Infinite scroll sentinel */}
             <div ref={sentinelRef} className="h-6" />
-            {loading && page > 0 && <div className="text-center text-slate-300 py-4">Loading more…</div>}
+            {loading && items.length > 0 && <div className="text-center text-slate-300 py-4">Loading more…</div>}
 
           </div>
 
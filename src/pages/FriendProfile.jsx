@@ -83,7 +83,7 @@ function FriendProfile() {
     const accessToken = getCookie('AccessToken') || ''
     setLoading(true)
     setError('')
-    fetch(`${import.meta.env.VITE_API_BASE_URL}profile/user/profile/get?id=${encodeURIComponent(friendId)}&image=true`, {
+    fetch(`${import.meta.env.VITE_API_BASE_URL}profile/user/profile/get?id=${encodeURIComponent(friendId)}`, {
       headers: {
         Authorization: accessToken.toLowerCase().startsWith('bearer ')
           ? accessToken
@@ -108,7 +108,7 @@ function FriendProfile() {
           followers: p.followers || 0,
           following: p.following || 0,
           location: p.location || '',
-          profileImg: p.profileImg ? `data:image/jpeg;base64,${p.profileImg}` : '',
+          profileImg: p.avatarUrl ? new URL(p.avatarUrl, import.meta.env.VITE_API_BASE_URL).toString() : '',
           isVerified: !!p.isVerified,
         })
       
@@ -44,7 +44,7 @@ function GroupProfile() {
     setLoading(true)
     setError('')
 
-    fetch(`${import.meta.env.VITE_API_BASE_URL}profile/group/get?id=${encodeURIComponent(groupId)}&image=true`, {
+    fetch(`${import.meta.env.VITE_API_BASE_URL}profile/group/get?id=${encodeURIComponent(groupId)}`, {
       headers: {
         Authorization: accessToken.toLowerCase().startsWith('bearer ') ? accessToken : `Bearer ${accessToken}`,
       },
@@ -79,8 +79,8 @@ function GroupProfile() {
           activity: p.activity || p.activityFrequency || '',
           leaderId: p.leaderId || p.leader?.id || p.ownerId || '',
           leaderName: p.leaderUsername || 'The leader was just your genjutsu',
-          image: p.profileImage ? `data:image/jpeg;base64,${p.profileImage}` : (p.icon || p.image || p.imageUrl || ''),
-          backgroundImage: p.bgImage ? `data:image/jpeg;base64,${p.bgImage}` : (p.backgroundImage || p.bg || ''),
+          image: p.profileImageUrl ? new URL(p.profileImageUrl, import.meta.env.VITE_API_BASE_URL).toString() : (p.icon || p.image || p.imageUrl || ''),
+          backgroundImage: p.bgImageUrl ? new URL(p.bgImageUrl, import.meta.env.VITE_API_BASE_URL).toString() : (p.backgroundImage || p.bg || ''),
           createdAt: p.createdAt || p.created || null,
           raw: p,
         }
@@ -358,7 +358,7 @@ function Home() {
         name: g.name || g.groupName || 'Untitled Group',
         members: g.members || g.memberCount || g.totalMembers || (Array.isArray(g.members) ? g.members.length : 0) || 0,
         activity: g.activity || g.activityFrequency || 'Unknown',
-        image: g.profileImage ? `data:image/jpeg;base64,${g.profileImage}` : (g.icon || g.image || g.imageUrl || ''),
+        image: g.profileImageUrl ? new URL(g.profileImageUrl, import.meta.env.VITE_API_BASE_URL).toString() : (g.icon || g.image || g.imageUrl || ''),
       }))
       setGroups(mapped)
     } catch (err) {
@@ -215,7 +215,8 @@ export default function Post() {
     setCommentsLoading(true)
     setCommentsError('')
     try {
-      const url = `${import.meta.env.VITE_API_BASE_URL}content/content/comments?contentId=${encodeURIComponent(post.id)}&page=${page}&size=${COMMENTS_PAGE_SIZE}`
+      const currentUserId = getCookie('id') || getCookie('userId') || ''
+      const url = `${import.meta.env.VITE_API_BASE_URL}content/content/comments?contentId=${encodeURIComponent(post.id)}&currentUserId=${encodeURIComponent(currentUserId)}&page=${page}&size=${COMMENTS_PAGE_SIZE}`
       const tokenRaw = getCookie('AccessToken') || localStorage.getItem('AccessToken') || ''
       const auth = tokenRaw ? (tokenRaw.toLowerCase().startsWith('bearer ') ? tokenRaw : `Bearer ${tokenRaw}`) : ''
       try { console.log('[Post] fetching comments URL:', url, 'authPresent:', !!auth) } catch (e) {}
@@ -173,7 +173,7 @@ function Profile() {
     setLoading(true)
     setError('')
     const accessToken = getCookie('AccessToken') || ''
-    fetch(`${import.meta.env.VITE_API_BASE_URL}profile/user/profile/get?id=${encodeURIComponent(userId)}&image=true`, {
+    fetch(`${import.meta.env.VITE_API_BASE_URL}profile/user/profile/get?id=${encodeURIComponent(userId)}`, {
       headers: {
         Authorization: accessToken.toLowerCase().startsWith('bearer ')
           ? accessToken
@@ -197,7 +197,7 @@ function Profile() {
           followers: p.followers || 0,
           following: p.following || 0,
           location: p.location || '',
-          profileImg: p.profileImg ? `data:image/jpeg;base64,${p.profileImg}` : '',
+          profileImg: p.avatarUrl ? new URL(p.avatarUrl, import.meta.env.VITE_API_BASE_URL).toString() : '',
           isVerified: !!p.isVerified,
         })
         